@@ -0,0 +1,167 @@
+package ch.jalu.injector.apt;
+
+import ch.jalu.injector.context.ObjectIdentifier;
+import ch.jalu.injector.handlers.instantiation.GeneratedInjection;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes the source code of the {@link GeneratedInjection} factory of a class.
+ */
+class FactoryWriter {
+
+    private final Elements elements;
+    private final Types types;
+    private final ProcessingEnvironment processingEnv;
+    private final TypeElement type;
+    private final ExecutableElement constructor;
+    private final List<VariableElement> fields;
+
+    /**
+     * Constructor.
+     *
+     * @param processingEnv the processing environment
+     * @param type the class to generate the factory for
+     * @param constructor the constructor to create objects with
+     * @param fields the fields to inject after instantiation
+     */
+    FactoryWriter(ProcessingEnvironment processingEnv, TypeElement type, ExecutableElement constructor,
+                  List<VariableElement> fields) {
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.processingEnv = processingEnv;
+        this.type = type;
+        this.constructor = constructor;
+        this.fields = fields;
+    }
+
+    /**
+     * Generates the factory's source file.
+     *
+     * @throws IOException if the file could not be written
+     */
+    void write() throws IOException {
+        String factoryName = GeneratedInjection.getFactoryClassName(elements.getBinaryName(type).toString());
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        String simpleFactoryName = factoryName.substring(factoryName.lastIndexOf('.') + 1);
+        String typeName = type.getQualifiedName().toString();
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(factoryName, type);
+        try (PrintWriter out = new PrintWriter(file.openWriter())) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("/**");
+            out.println(" * Injector factory of {@link " + typeName + "}.");
+            out.println(" * Generated by " + InjectorProcessor.class.getName() + "; do not edit.");
+            out.println(" */");
+            out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+            out.println("public final class " + simpleFactoryName + " extends "
+                + GeneratedInjection.class.getName() + "<" + typeName + "> {");
+            out.println();
+            writeCreateDependencies(out, typeName);
+            out.println();
+            writeInstantiateWith(out, typeName);
+            out.println("}");
+        }
+    }
+
+    private void writeCreateDependencies(PrintWriter out, String typeName) {
+        List<String> parameterClasses = new ArrayList<>();
+        for (VariableElement parameter : constructor.getParameters()) {
+            parameterClasses.add(getRawTypeName(parameter.asType()) + ".class");
+        }
+
+        out.println("    @Override");
+        out.println("    protected java.util.List<" + ObjectIdentifier.class.getName() + "> createDependencies()");
+        out.println("            throws ReflectiveOperationException {");
+        out.print("        return dependenciesOf(" + typeName + ".class.getDeclaredConstructor("
+            + String.join(", ", parameterClasses) + ")");
+        for (VariableElement field : fields) {
+            out.println(",");
+            out.print("            " + getDeclaringTypeName(field) + ".class.getDeclaredField(\""
+                + field.getSimpleName() + "\")");
+        }
+        out.println(");");
+        out.println("    }");
+    }
+
+    private void writeInstantiateWith(PrintWriter out, String typeName) {
+        List<String> arguments = new ArrayList<>();
+        int index = 0;
+        for (VariableElement parameter : constructor.getParameters()) {
+            arguments.add("(" + getCastTypeName(parameter.asType()) + ") values[" + index++ + "]");
+        }
+
+        out.println("    @Override");
+        out.println("    public " + typeName + " instantiateWith(Object... values) {");
+        out.println("        checkNumberOfValues(values, " + (arguments.size() + fields.size()) + ");");
+        out.println("        " + typeName + " instance = new " + typeName + "(" + String.join(", ", arguments) + ");");
+        for (VariableElement field : fields) {
+            String declaringTypeName = getDeclaringTypeName(field);
+            String target = declaringTypeName.equals(typeName)
+                ? "instance"
+                : "((" + declaringTypeName + ") instance)";
+            out.println("        " + target + "." + field.getSimpleName() + " = ("
+                + getCastTypeName(field.asType()) + ") values[" + index++ + "];");
+        }
+        out.println("        return instance;");
+        out.println("    }");
+    }
+
+    private static String getDeclaringTypeName(VariableElement field) {
+        return ((TypeElement) field.getEnclosingElement()).getQualifiedName().toString();
+    }
+
+    /**
+     * Returns the name of the type to cast a value to, i.e. the boxed type for primitives and the
+     * raw type otherwise.
+     *
+     * @param type the type of the member the value is for
+     * @return name of the type to cast to
+     */
+    private String getCastTypeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return types.boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return getRawTypeName(type);
+    }
+
+    /**
+     * Returns the source code name of the erasure of the given type.
+     *
+     * @param type the type to process
+     * @return the name of the raw type
+     */
+    private String getRawTypeName(TypeMirror type) {
+        switch (type.getKind()) {
+            case DECLARED:
+                return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+            case ARRAY:
+                return getRawTypeName(((ArrayType) type).getComponentType()) + "[]";
+            case TYPEVAR:
+                return getRawTypeName(types.erasure(type));
+            default:
+                if (type.getKind().isPrimitive()) {
+                    return type.getKind().name().toLowerCase(Locale.ROOT);
+                }
+                throw new IllegalStateException("Unsupported type '" + type + "'");
+        }
+    }
+}
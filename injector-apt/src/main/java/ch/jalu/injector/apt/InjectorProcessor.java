@@ -0,0 +1,292 @@
+package ch.jalu.injector.apt;
+
+import ch.jalu.injector.annotations.NoFieldScan;
+import ch.jalu.injector.annotations.NoMethodScan;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.inject.Inject;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Annotation processor which validates the usage of {@link Inject} and {@link PostConstruct} at compile time
+ * and generates a factory for each injectable class (see
+ * {@link ch.jalu.injector.handlers.instantiation.GeneratedInjection GeneratedInjection}).
+ * <p>
+ * The rules of the {@link ch.jalu.injector.handlers.instantiation.DefaultInjectionProvider DefaultInjectionProvider}
+ * and of the {@link ch.jalu.injector.handlers.postconstruct.PostConstructMethodInvoker PostConstructMethodInvoker}
+ * are reported as compile errors. No factory is generated for classes whose constructor or fields cannot be
+ * accessed from the class's package (e.g. private fields); such classes are instantiated with reflection at runtime.
+ */
+public class InjectorProcessor extends AbstractProcessor {
+
+    private static final String INJECT = Inject.class.getName();
+    private static final String POST_CONSTRUCT = PostConstruct.class.getName();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new HashSet<>(Arrays.asList(INJECT, POST_CONSTRUCT));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> types = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                Element enclosing = element.getEnclosingElement();
+                if (enclosing != null && enclosing.getKind().isClass()) {
+                    types.add((TypeElement) enclosing);
+                }
+            }
+        }
+
+        for (TypeElement type : types) {
+            if (validate(type)) {
+                generateFactoryIfPossible(type);
+            }
+        }
+        return false;
+    }
+
+    // ------------
+    // Validation
+    // ------------
+
+    /**
+     * Reports all invalid usages of {@code @Inject} and {@code @PostConstruct} in the given class as errors.
+     *
+     * @param type the class to validate
+     * @return true if the class is valid, false if an error was reported
+     */
+    private boolean validate(TypeElement type) {
+        boolean isValid = true;
+        if (!hasAnnotation(type, NoMethodScan.class.getName())) {
+            isValid = validateMethods(type);
+        }
+
+        List<VariableElement> injectFields = getOwnInjectFields(type);
+        for (VariableElement field : injectFields) {
+            if (field.getModifiers().contains(Modifier.FINAL)) {
+                isValid = error(field, "Field '" + field + "' may not be final and have @Inject");
+            } else if (field.getModifiers().contains(Modifier.STATIC)) {
+                isValid = error(field, "@Inject may not be placed on static fields (found violation: '"
+                    + field + "')");
+            }
+        }
+
+        ExecutableElement injectConstructor = null;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (hasAnnotation(constructor, INJECT)) {
+                if (injectConstructor != null) {
+                    isValid = error(constructor, "Class '" + type + "' may not have multiple @Inject constructors");
+                } else if (!injectFields.isEmpty()) {
+                    isValid = error(constructor, type + " may not have @Inject constructor and @Inject fields. "
+                        + "Pass the fields via the constructor as well or remove the @Inject constructor");
+                }
+                injectConstructor = constructor;
+            }
+        }
+        return isValid;
+    }
+
+    private boolean validateMethods(TypeElement type) {
+        boolean isValid = true;
+        ExecutableElement postConstructMethod = null;
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (hasAnnotation(method, INJECT)) {
+                isValid = error(method, "@Inject on methods is not supported, but found it on '" + method
+                    + "' in '" + type + "'");
+            }
+            if (hasAnnotation(method, POST_CONSTRUCT)) {
+                if (postConstructMethod != null) {
+                    isValid = error(method, "Multiple methods with @PostConstruct in " + type);
+                } else if (!method.getParameters().isEmpty() || method.getModifiers().contains(Modifier.STATIC)) {
+                    isValid = error(method, "@PostConstruct method may not be static or have any parameters. "
+                        + "Invalid method in " + type);
+                } else if (method.getReturnType().getKind() != TypeKind.VOID) {
+                    isValid = error(method, "@PostConstruct method must have return type void. "
+                        + "Offending class: " + type);
+                }
+                postConstructMethod = method;
+            }
+        }
+        return isValid;
+    }
+
+    private boolean error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+        return false;
+    }
+
+    // ------------
+    // Generation
+    // ------------
+
+    private void generateFactoryIfPossible(TypeElement type) {
+        if (!isInstantiableFromPackage(type)) {
+            return;
+        }
+        ExecutableElement constructor = getInjectionConstructor(type);
+        if (constructor == null || constructor.getModifiers().contains(Modifier.PRIVATE)) {
+            return;
+        }
+        List<VariableElement> fields = getFieldsToInject(type);
+        if (fields == null) {
+            return;
+        }
+
+        try {
+            new FactoryWriter(processingEnv, type, constructor, fields).write();
+        } catch (IOException e) {
+            error(type, "Could not generate the injector factory for " + type + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean isInstantiableFromPackage(TypeElement type) {
+        return type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)
+            && isAccessibleFromPackage(type);
+    }
+
+    /**
+     * Returns whether the given class can be referenced from other classes in its package, i.e. whether it
+     * is a top-level class or a non-private static member class of such a class.
+     *
+     * @param type the class to check
+     * @return true if the class is accessible from its package, false otherwise
+     */
+    private static boolean isAccessibleFromPackage(TypeElement type) {
+        Element element = type;
+        while (element.getKind().isClass() || element.getKind().isInterface()) {
+            TypeElement currentType = (TypeElement) element;
+            if (currentType.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            } else if (currentType.getNestingKind() == NestingKind.MEMBER) {
+                if (!currentType.getModifiers().contains(Modifier.STATIC)) {
+                    return false;
+                }
+            } else if (currentType.getNestingKind() != NestingKind.TOP_LEVEL) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the constructor the injector uses to create objects of the given class: the {@code @Inject}
+     * constructor, or the no-args constructor if the class has {@code @Inject} fields.
+     *
+     * @param type the class to process
+     * @return the constructor, or null if none is applicable
+     */
+    private ExecutableElement getInjectionConstructor(TypeElement type) {
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        for (ExecutableElement constructor : constructors) {
+            if (hasAnnotation(constructor, INJECT)) {
+                return constructor;
+            }
+        }
+        if (!getOwnInjectFields(type).isEmpty()) {
+            for (ExecutableElement constructor : constructors) {
+                if (constructor.getParameters().isEmpty()) {
+                    return constructor;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the fields to inject in the class and its parents, or null if any field cannot be set by
+     * a factory in the class's package.
+     *
+     * @param type the class to process
+     * @return the fields to inject, null if a factory cannot be generated
+     */
+    private List<VariableElement> getFieldsToInject(TypeElement type) {
+        List<VariableElement> fields = new ArrayList<>();
+        TypeElement currentType = type;
+        while (currentType != null) {
+            for (VariableElement field : getOwnInjectFields(currentType)) {
+                if (!isAccessibleFromPackageOf(field, type)) {
+                    return null;
+                }
+                fields.add(field);
+            }
+            currentType = getSuperclass(currentType);
+        }
+        return fields;
+    }
+
+    private boolean isAccessibleFromPackageOf(VariableElement field, TypeElement type) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)
+            || modifiers.contains(Modifier.FINAL)) {
+            return false;
+        }
+        TypeElement declaringType = (TypeElement) field.getEnclosingElement();
+        if (processingEnv.getElementUtils().getPackageOf(declaringType)
+            .equals(processingEnv.getElementUtils().getPackageOf(type))) {
+            return isAccessibleFromPackage(declaringType);
+        }
+        return modifiers.contains(Modifier.PUBLIC) && declaringType.getModifiers().contains(Modifier.PUBLIC)
+            && declaringType.getNestingKind() == NestingKind.TOP_LEVEL;
+    }
+
+    private List<VariableElement> getOwnInjectFields(TypeElement type) {
+        List<VariableElement> injectFields = new ArrayList<>();
+        if (!hasAnnotation(type, NoFieldScan.class.getName())) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                if (hasAnnotation(field, INJECT)) {
+                    injectFields.add(field);
+                }
+            }
+        }
+        return injectFields;
+    }
+
+    private static TypeElement getSuperclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement superType = (TypeElement) ((DeclaredType) superclass).asElement();
+        return superType.getQualifiedName().contentEquals(Object.class.getName()) ? null : superType;
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,161 @@
+package ch.jalu.injector.apt;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor which records the direct supertypes of all compiled classes in an index file, so that
+ * the handlers of injector-extras can look up subtypes without scanning the classpath at runtime.
+ * <p>
+ * The index is written to {@value #INDEX_RESOURCE}; each line consists of the binary name of a class, followed by
+ * a colon and the comma-separated binary names of its superclass and interfaces. Classes without any supertype
+ * other than {@link Object} are omitted. The packages of all compiled classes are listed first, each on a line
+ * starting with {@value #PACKAGE_PREFIX}, so that readers can tell which packages the index covers. Entries of an
+ * existing index in the output directory are kept for classes which are not recompiled, which supports
+ * incremental compilation.
+ */
+public class SubtypeIndexProcessor extends AbstractProcessor {
+
+    /** Location of the index in the class output; must match the location read by injector-extras. */
+    public static final String INDEX_RESOURCE = "META-INF/ch.jalu.injector/subtypes.index";
+    /** Prefix of the lines with the packages covered by the index; must match the prefix read by injector-extras. */
+    public static final String PACKAGE_PREFIX = "#package ";
+
+    private final Set<String> processedTypes = new HashSet<>();
+    private final Set<String> processedPackages = new TreeSet<>();
+    private final Map<String, List<String>> supertypesByType = new TreeMap<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (!processedTypes.isEmpty()) {
+                writeIndex();
+            }
+        } else {
+            for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+                String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+                if (!packageName.isEmpty()) {
+                    processedPackages.add(packageName);
+                }
+                processType(type);
+            }
+        }
+        return false;
+    }
+
+    private void processType(TypeElement type) {
+        String name = getBinaryName(type);
+        processedTypes.add(name);
+
+        List<String> supertypes = new ArrayList<>();
+        addIfRelevant(type.getSuperclass(), supertypes);
+        for (TypeMirror interfaceType : type.getInterfaces()) {
+            addIfRelevant(interfaceType, supertypes);
+        }
+        if (!supertypes.isEmpty()) {
+            supertypesByType.put(name, supertypes);
+        }
+
+        for (TypeElement nestedType : ElementFilter.typesIn(type.getEnclosedElements())) {
+            processType(nestedType);
+        }
+    }
+
+    private void addIfRelevant(TypeMirror supertype, List<String> supertypes) {
+        if (supertype.getKind() == TypeKind.DECLARED) {
+            String name = getBinaryName((TypeElement) ((DeclaredType) supertype).asElement());
+            if (!Object.class.getName().equals(name)) {
+                supertypes.add(name);
+            }
+        }
+    }
+
+    private void writeIndex() {
+        Set<String> packages = new TreeSet<>(processedPackages);
+        Map<String, List<String>> index = readExistingIndex(packages);
+        index.keySet().removeAll(processedTypes);
+        index.putAll(supertypesByType);
+
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                INDEX_RESOURCE);
+            try (PrintWriter out = new PrintWriter(file.openWriter())) {
+                for (String packageName : packages) {
+                    out.println(PACKAGE_PREFIX + packageName);
+                }
+                for (Map.Entry<String, List<String>> entry : index.entrySet()) {
+                    out.println(entry.getKey() + ":" + String.join(",", entry.getValue()));
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Could not write the subtype index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the index of a previous compilation from the output directory, if available.
+     *
+     * @param packages collection to add the covered packages of the existing index to
+     * @return the supertypes by type of the existing index
+     */
+    private Map<String, List<String>> readExistingIndex(Set<String> packages) {
+        Map<String, List<String>> index = new TreeMap<>();
+        try {
+            FileObject existingFile = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                INDEX_RESOURCE);
+            try (Reader reader = existingFile.openReader(true);
+                 BufferedReader bufferedReader = new BufferedReader(reader)) {
+                String line;
+                while ((line = bufferedReader.readLine()) != null) {
+                    int separator = line.indexOf(':');
+                    if (line.startsWith(PACKAGE_PREFIX)) {
+                        packages.add(line.substring(PACKAGE_PREFIX.length()));
+                    } else if (separator > 0) {
+                        List<String> supertypes = new ArrayList<>();
+                        Collections.addAll(supertypes, line.substring(separator + 1).split(","));
+                        index.put(line.substring(0, separator), supertypes);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No index from a previous compilation
+        }
+        return index;
+    }
+
+    private String getBinaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+}
@@ -0,0 +1,287 @@
+package ch.jalu.injector.apt;
+
+import ch.jalu.injector.context.ObjectIdentifier;
+import ch.jalu.injector.handlers.instantiation.GeneratedInjection;
+import ch.jalu.injector.handlers.instantiation.Resolution;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaFileObject;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static ch.jalu.injector.apt.TestCompiler.source;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Test for {@link InjectorProcessor}.
+ */
+class InjectorProcessorTest {
+
+    @TempDir
+    Path outputDirectory;
+
+    @Test
+    void shouldGenerateFactoryForConstructorInjection() throws Exception {
+        // given
+        JavaFileObject dependency = source("test.Dependency",
+            "package test;",
+            "public class Dependency { }");
+        JavaFileObject service = source("test.Service",
+            "package test;",
+            "import javax.inject.Inject;",
+            "import java.util.List;",
+            "public class Service {",
+            "    final Dependency dependency; final int size; final List<String> names;",
+            "    @Inject",
+            "    Service(Dependency dependency, int size, List<String> names) {",
+            "        this.dependency = dependency; this.size = size; this.names = names;",
+            "    }",
+            "}");
+
+        // when
+        List<String> errors = compile(dependency, service);
+
+        // then
+        assertThat(errors, empty());
+        ClassLoader classLoader = createClassLoader();
+        Resolution<?> factory = loadFactory(classLoader, "test.Service");
+        assertThat(factory.getDependencies().stream().map(ObjectIdentifier::getTypeAsClass)
+                .collect(Collectors.toList()),
+            contains(classLoader.loadClass("test.Dependency"), int.class, List.class));
+
+        Object dependencyInstance = classLoader.loadClass("test.Dependency").newInstance();
+        List<String> names = Arrays.asList("a", "b");
+        Object instance = factory.instantiateWith(dependencyInstance, 4, names);
+        assertThat(getFieldValue(instance, "dependency"), sameInstance(dependencyInstance));
+        assertThat(getFieldValue(instance, "size"), equalTo(4));
+        assertThat(getFieldValue(instance, "names"), sameInstance(names));
+    }
+
+    @Test
+    void shouldGenerateFactoryForFieldInjectionIncludingParentFields() throws Exception {
+        // given
+        JavaFileObject parent = source("test.Parent",
+            "package test;",
+            "import javax.inject.Inject;",
+            "public abstract class Parent {",
+            "    @Inject protected Long parentValue;",
+            "}");
+        JavaFileObject child = source("test.Outer",
+            "package test;",
+            "import javax.inject.Inject;",
+            "public class Outer {",
+            "    static class Child extends Parent {",
+            "        @Inject String childValue;",
+            "        @Inject double number;",
+            "    }",
+            "}");
+
+        // when
+        List<String> errors = compile(parent, child);
+
+        // then
+        assertThat(errors, empty());
+        ClassLoader classLoader = createClassLoader();
+        Resolution<?> factory = loadFactory(classLoader, "test.Outer$Child");
+        assertThat(factory.getDependencies().stream().map(ObjectIdentifier::getTypeAsClass)
+                .collect(Collectors.toList()),
+            contains(String.class, double.class, Long.class));
+
+        Object instance = factory.instantiateWith("test", 2.5, 17L);
+        assertThat(getFieldValue(instance, "childValue"), equalTo("test"));
+        assertThat(getFieldValue(instance, "number"), equalTo(2.5));
+        assertThat(getFieldValue(instance, "parentValue"), equalTo(17L));
+    }
+
+    @Test
+    void shouldGenerateSeparateFactoriesForNestedClassAndSimilarlyNamedTopLevelClass() throws Exception {
+        // given
+        JavaFileObject outer = source("test.Outer",
+            "package test;",
+            "import javax.inject.Inject;",
+            "public class Outer {",
+            "    public static class Inner {",
+            "        @Inject String nestedValue;",
+            "    }",
+            "}");
+        JavaFileObject topLevel = source("test.Outer_Inner",
+            "package test;",
+            "import javax.inject.Inject;",
+            "public class Outer_Inner {",
+            "    @Inject Integer topLevelValue;",
+            "}");
+
+        // when
+        List<String> errors = compile(outer, topLevel);
+
+        // then
+        assertThat(errors, empty());
+        ClassLoader classLoader = createClassLoader();
+        Object nested = loadFactory(classLoader, "test.Outer$Inner").instantiateWith("test");
+        Object topLevelInstance = loadFactory(classLoader, "test.Outer_Inner").instantiateWith(3);
+        assertThat(getFieldValue(nested, "nestedValue"), equalTo("test"));
+        assertThat(getFieldValue(topLevelInstance, "topLevelValue"), equalTo(3));
+    }
+
+    @Test
+    void shouldNotGenerateFactoryForInaccessibleMembers() throws Exception {
+        // given
+        JavaFileObject privateField = source("test.PrivateField",
+            "package test;",
+            "import javax.inject.Inject;",
+            "public class PrivateField {",
+            "    @Inject private String value;",
+            "}");
+        JavaFileObject privateConstructor = source("test.PrivateConstructor",
+            "package test;",
+            "import javax.inject.Inject;",
+            "public class PrivateConstructor {",
+            "    @Inject private PrivateConstructor(String value) { }",
+            "}");
+
+        // when
+        List<String> errors = compile(privateField, privateConstructor);
+
+        // then
+        assertThat(errors, empty());
+        try (Stream<Path> files = Files.walk(outputDirectory)) {
+            List<String> generatedFactories = files
+                .map(file -> file.getFileName().toString())
+                .filter(name -> name.contains(GeneratedInjection.FACTORY_SUFFIX))
+                .collect(Collectors.toList());
+            assertThat(generatedFactories, empty());
+        }
+    }
+
+    @Test
+    void shouldReportInvalidInjection() throws Exception {
+        // given
+        JavaFileObject finalField = source("test.FinalField",
+            "package test;",
+            "public class FinalField {",
+            "    @javax.inject.Inject final String value = null;",
+            "}");
+        JavaFileObject staticField = source("test.StaticField",
+            "package test;",
+            "public class StaticField {",
+            "    @javax.inject.Inject static String value;",
+            "}");
+        JavaFileObject injectMethod = source("test.InjectMethod",
+            "package test;",
+            "public class InjectMethod {",
+            "    @javax.inject.Inject void setValue(String value) { }",
+            "}");
+        JavaFileObject multipleConstructors = source("test.MultipleConstructors",
+            "package test;",
+            "public class MultipleConstructors {",
+            "    @javax.inject.Inject MultipleConstructors(String value) { }",
+            "    @javax.inject.Inject MultipleConstructors(Integer value) { }",
+            "}");
+        JavaFileObject constructorAndField = source("test.ConstructorAndField",
+            "package test;",
+            "public class ConstructorAndField {",
+            "    @javax.inject.Inject String value;",
+            "    @javax.inject.Inject ConstructorAndField(Integer value) { }",
+            "}");
+
+        // when
+        List<String> errors = compile(finalField, staticField, injectMethod, multipleConstructors,
+            constructorAndField);
+
+        // then
+        assertThat(errors, containsInAnyOrder(
+            "Field 'value' may not be final and have @Inject",
+            "@Inject may not be placed on static fields (found violation: 'value')",
+            "@Inject on methods is not supported, but found it on 'setValue(java.lang.String)' "
+                + "in 'test.InjectMethod'",
+            "Class 'test.MultipleConstructors' may not have multiple @Inject constructors",
+            "test.ConstructorAndField may not have @Inject constructor and @Inject fields. "
+                + "Pass the fields via the constructor as well or remove the @Inject constructor"));
+        assertThat(Files.exists(outputDirectory.resolve("test/FinalField_InjectorFactory.java")), equalTo(false));
+    }
+
+    @Test
+    void shouldReportInvalidPostConstructMethods() throws Exception {
+        // given
+        JavaFileObject multiplePostConstruct = source("test.MultiplePostConstruct",
+            "package test;",
+            "import javax.annotation.PostConstruct;",
+            "public class MultiplePostConstruct {",
+            "    @PostConstruct void init1() { }",
+            "    @PostConstruct void init2() { }",
+            "}");
+        JavaFileObject staticPostConstruct = source("test.StaticPostConstruct",
+            "package test;",
+            "import javax.annotation.PostConstruct;",
+            "public class StaticPostConstruct {",
+            "    @PostConstruct static void init() { }",
+            "}");
+        JavaFileObject postConstructWithReturnValue = source("test.PostConstructWithReturnValue",
+            "package test;",
+            "import javax.annotation.PostConstruct;",
+            "public class PostConstructWithReturnValue {",
+            "    @PostConstruct int init() { return 3; }",
+            "}");
+        JavaFileObject noMethodScan = source("test.NoMethodScanClass",
+            "package test;",
+            "import javax.annotation.PostConstruct;",
+            "@ch.jalu.injector.annotations.NoMethodScan",
+            "public class NoMethodScanClass {",
+            "    @PostConstruct static void init() { }",
+            "}");
+
+        // when
+        List<String> errors = compile(multiplePostConstruct, staticPostConstruct, postConstructWithReturnValue,
+            noMethodScan);
+
+        // then
+        assertThat(errors, containsInAnyOrder(
+            "Multiple methods with @PostConstruct in test.MultiplePostConstruct",
+            "@PostConstruct method may not be static or have any parameters. "
+                + "Invalid method in test.StaticPostConstruct",
+            "@PostConstruct method must have return type void. Offending class: test.PostConstructWithReturnValue"));
+    }
+
+    private List<String> compile(JavaFileObject... sources) {
+        return TestCompiler.compile(outputDirectory, new InjectorProcessor(), sources);
+    }
+
+    private ClassLoader createClassLoader() throws Exception {
+        return new URLClassLoader(new URL[]{ outputDirectory.toUri().toURL() }, getClass().getClassLoader());
+    }
+
+    private static Resolution<?> loadFactory(ClassLoader classLoader, String className) throws Exception {
+        Class<?> factoryClass = classLoader.loadClass(GeneratedInjection.getFactoryClassName(className));
+        Object factory = factoryClass.getDeclaredConstructor().newInstance();
+        assertThat(factory, instanceOf(GeneratedInjection.class));
+        return (Resolution<?>) factory;
+    }
+
+    private static Object getFieldValue(Object instance, String fieldName) throws Exception {
+        Class<?> clazz = instance.getClass();
+        while (clazz != null) {
+            try {
+                Field field = clazz.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                return field.get(instance);
+            } catch (NoSuchFieldException e) {
+                clazz = clazz.getSuperclass();
+            }
+        }
+        throw new IllegalStateException("Field '" + fieldName + "' not found in " + instance.getClass());
+    }
+}
@@ -0,0 +1,96 @@
+package ch.jalu.injector.apt;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaFileObject;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static ch.jalu.injector.apt.TestCompiler.source;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Test for {@link SubtypeIndexProcessor}.
+ */
+class SubtypeIndexProcessorTest {
+
+    @TempDir
+    Path outputDirectory;
+
+    @Test
+    void shouldWriteDirectSupertypesOfClasses() throws Exception {
+        // given
+        JavaFileObject animal = source("test.Animal",
+            "package test;",
+            "public interface Animal { }");
+        JavaFileObject bird = source("test.Bird",
+            "package test;",
+            "public abstract class Bird implements Animal, Comparable<Bird> { }");
+        JavaFileObject chicken = source("test.Chicken",
+            "package test;",
+            "public class Chicken extends Bird {",
+            "    public int compareTo(Bird other) { return 0; }",
+            "    static class Egg implements java.io.Serializable { }",
+            "}");
+
+        // when
+        List<String> errors = TestCompiler.compile(outputDirectory, new SubtypeIndexProcessor(),
+            animal, bird, chicken);
+
+        // then
+        assertThat(errors, empty());
+        assertThat(readIndex(), contains(
+            "#package test",
+            "test.Bird:test.Animal,java.lang.Comparable",
+            "test.Chicken:test.Bird",
+            "test.Chicken$Egg:java.io.Serializable"));
+    }
+
+    @Test
+    void shouldKeepEntriesOfClassesWhichAreNotRecompiled() throws Exception {
+        // given
+        TestCompiler.compile(outputDirectory, new SubtypeIndexProcessor(),
+            source("test.Animal", "package test;", "public interface Animal { }"),
+            source("test.Frog", "package test;", "public class Frog implements Animal { }"),
+            source("test.Lion", "package test;", "public class Lion implements Animal { }"));
+
+        // when
+        List<String> errors = TestCompiler.compile(outputDirectory, new SubtypeIndexProcessor(),
+            source("test.Lion", "package test;", "public class Lion { }"),
+            source("test.Snake", "package test;", "public class Snake implements Animal { }"));
+
+        // then
+        assertThat(errors, empty());
+        assertThat(readIndex(), contains(
+            "#package test",
+            "test.Frog:test.Animal",
+            "test.Snake:test.Animal"));
+    }
+
+    @Test
+    void shouldListPackagesOfClassesWithoutSupertypes() throws Exception {
+        // given
+        TestCompiler.compile(outputDirectory, new SubtypeIndexProcessor(),
+            source("test.animals.Animal", "package test.animals;", "public interface Animal { }"),
+            source("test.animals.Frog", "package test.animals;", "public class Frog implements Animal { }"));
+
+        // when
+        List<String> errors = TestCompiler.compile(outputDirectory, new SubtypeIndexProcessor(),
+            source("test.plants.Tree", "package test.plants;", "public class Tree { }"));
+
+        // then
+        assertThat(errors, empty());
+        assertThat(readIndex(), contains(
+            "#package test.animals",
+            "#package test.plants",
+            "test.animals.Frog:test.animals.Animal"));
+    }
+
+    private List<String> readIndex() throws Exception {
+        return Files.readAllLines(outputDirectory.resolve(SubtypeIndexProcessor.INDEX_RESOURCE));
+    }
+}
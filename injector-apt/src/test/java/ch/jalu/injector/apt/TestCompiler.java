@@ -0,0 +1,84 @@
+package ch.jalu.injector.apt;
+
+import ch.jalu.injector.handlers.instantiation.GeneratedInjection;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.processing.Processor;
+import javax.inject.Inject;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Compiles sources with an annotation processor in tests.
+ */
+final class TestCompiler {
+
+    private TestCompiler() {
+    }
+
+    /**
+     * Compiles the given sources with the processor into the given directory.
+     *
+     * @param outputDirectory the directory to write classes, generated sources and resources to
+     * @param processor the processor to run
+     * @param sources the sources to compile
+     * @return the messages of all reported errors
+     */
+    static List<String> compile(Path outputDirectory, Processor processor, JavaFileObject... sources) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        List<String> options = Arrays.asList(
+            "-classpath", getClasspath(outputDirectory),
+            "-d", outputDirectory.toString(),
+            "-s", outputDirectory.toString());
+
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null,
+            Arrays.asList(sources));
+        task.setProcessors(singletonList(processor));
+        task.call();
+
+        return diagnostics.getDiagnostics().stream()
+            .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+            .map(diagnostic -> diagnostic.getMessage(Locale.ROOT))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Creates a source file with the given lines.
+     *
+     * @param className the fully qualified name of the class
+     * @param lines the source code
+     * @return the source file
+     */
+    static JavaFileObject source(String className, String... lines) {
+        URI uri = URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+        String code = String.join("\n", lines);
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+
+    private static String getClasspath(Path outputDirectory) {
+        Stream<String> dependencies = Stream.of(Inject.class, PostConstruct.class, GeneratedInjection.class)
+            .map(clazz -> clazz.getProtectionDomain().getCodeSource().getLocation().getPath());
+        return Stream.concat(dependencies, Stream.of(outputDirectory.toString()))
+            .collect(Collectors.joining(File.pathSeparator));
+    }
+}
@@ -0,0 +1,176 @@
+package ch.jalu.injector.benchmarks;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Stored benchmark scores to compare new results with. Every benchmark (with its parameters) has an entry with
+ * the average time per operation, and an entry with the suffix {@value #ALLOCATION_SUFFIX} with the allocated
+ * bytes per operation as measured by the GC profiler. For both, lower is better.
+ */
+final class Baseline {
+
+    /** Suffix of the key for the allocated bytes per operation. */
+    static final String ALLOCATION_SUFFIX = ".alloc";
+
+    private static final String ALLOCATION_RESULT_LABEL = "gc.alloc.rate.norm";
+    private static final String PACKAGE_PREFIX = Baseline.class.getPackage().getName() + ".";
+
+    private Baseline() {
+    }
+
+    /**
+     * Extracts the scores from JMH results.
+     *
+     * @param results the results to process
+     * @return scores by key
+     */
+    static Map<String, Double> fromResults(Collection<RunResult> results) {
+        Map<String, Double> scores = new TreeMap<>();
+        for (RunResult result : results) {
+            String key = createKey(result.getParams());
+            scores.put(key, result.getPrimaryResult().getScore());
+            for (Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet()) {
+                if (secondary.getKey().endsWith(ALLOCATION_RESULT_LABEL)) {
+                    scores.put(key + ALLOCATION_SUFFIX, secondary.getValue().getScore());
+                }
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Loads a stored baseline.
+     *
+     * @param file the file to read
+     * @return scores by key
+     * @throws IOException if the file could not be read
+     */
+    static Map<String, Double> load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, Double> scores = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            scores.put(key, Double.parseDouble(properties.getProperty(key)));
+        }
+        return scores;
+    }
+
+    /**
+     * Saves the given scores as baseline, sorted by key.
+     *
+     * @param file the file to write to
+     * @param scores the scores to save
+     * @throws IOException if the file could not be written
+     */
+    static void save(Path file, Map<String, Double> scores) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# Benchmark baseline: time/op in the benchmark's unit, bytes/op for keys ending with "
+                + ALLOCATION_SUFFIX + System.lineSeparator());
+            writer.write("# Java " + System.getProperty("java.version") + ", " + System.getProperty("os.name")
+                + ", " + Runtime.getRuntime().availableProcessors() + " CPUs" + System.lineSeparator());
+            for (Map.Entry<String, Double> entry : new TreeMap<>(scores).entrySet()) {
+                // Keys (benchmark names and parameters) contain no characters which need escaping in properties files
+                writer.write(entry.getKey() + "=" + String.format(Locale.ROOT, "%.3f", entry.getValue())
+                    + System.lineSeparator());
+            }
+        }
+    }
+
+    /**
+     * Compares the current scores with the baseline. Only keys present in both are compared.
+     *
+     * @param baseline the baseline scores
+     * @param current the current scores
+     * @return the comparisons, sorted by key
+     */
+    static List<Comparison> compare(Map<String, Double> baseline, Map<String, Double> current) {
+        List<Comparison> comparisons = new ArrayList<>();
+        for (Map.Entry<String, Double> entry : new TreeMap<>(current).entrySet()) {
+            Double baselineScore = baseline.get(entry.getKey());
+            if (baselineScore != null) {
+                comparisons.add(new Comparison(entry.getKey(), baselineScore, entry.getValue()));
+            }
+        }
+        return comparisons;
+    }
+
+    private static String createKey(BenchmarkParams params) {
+        String benchmark = params.getBenchmark();
+        StringBuilder key = new StringBuilder(benchmark.startsWith(PACKAGE_PREFIX)
+            ? benchmark.substring(PACKAGE_PREFIX.length())
+            : benchmark);
+        if (!params.getParamsKeys().isEmpty()) {
+            String delimiter = "[";
+            for (String paramKey : params.getParamsKeys()) {
+                key.append(delimiter).append(paramKey).append('-').append(params.getParam(paramKey));
+                delimiter = ",";
+            }
+            key.append(']');
+        }
+        return key.toString();
+    }
+
+    /**
+     * Comparison of a score with its baseline.
+     */
+    static final class Comparison {
+
+        private final String key;
+        private final double baseline;
+        private final double current;
+
+        Comparison(String key, double baseline, double current) {
+            this.key = key;
+            this.baseline = baseline;
+            this.current = current;
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        /**
+         * @return relative change of the score, e.g. 0.25 if the score is 25% higher than the baseline
+         */
+        double getChange() {
+            if (baseline == 0) {
+                return current == 0 ? 0 : Double.POSITIVE_INFINITY;
+            }
+            return (current - baseline) / baseline;
+        }
+
+        /**
+         * Returns whether the score is worse than the baseline by more than the given threshold.
+         *
+         * @param threshold the accepted relative change, e.g. 0.1 for 10%
+         * @return true if the score has regressed, false otherwise
+         */
+        boolean isRegression(double threshold) {
+            return getChange() > threshold;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-70s %14.3f %14.3f %+8.1f%%", key, baseline, current,
+                getChange() * 100);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package ch.jalu.injector.benchmarks;
+
+import ch.jalu.injector.benchmarks.Baseline.Comparison;
+import ch.jalu.injector.benchmarks.samples.ShallowGraph;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the benchmarks with the GC profiler and compares the results with the stored baseline.
+ * <p>
+ * Arguments (all optional):
+ * <ul>
+ *   <li>{@code --baseline=<file>}: baseline file, {@code baseline.properties} by default</li>
+ *   <li>{@code --save-baseline}: saves the results to the baseline instead of comparing them; entries of benchmarks
+ *       which were not run are kept</li>
+ *   <li>{@code --threshold=<percent>}: accepted slowdown or additional allocation, 10 by default</li>
+ *   <li>any other argument is a regular expression of the benchmarks to run (all by default)</li>
+ * </ul>
+ * The process exits with status 1 if any score has regressed by more than the threshold. The full results are
+ * written to {@code jmh-result.json}.
+ */
+public final class BenchmarkRunner {
+
+    /** Root package of the sample classes used by the benchmarks. */
+    static final String SAMPLES_PACKAGE = ShallowGraph.class.getPackage().getName();
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String... args) throws RunnerException, IOException {
+        Path baselineFile = Paths.get("baseline.properties");
+        boolean saveBaseline = false;
+        double threshold = 0.10;
+        List<String> includes = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--baseline=")) {
+                baselineFile = Paths.get(arg.substring("--baseline=".length()));
+            } else if (arg.equals("--save-baseline")) {
+                saveBaseline = true;
+            } else if (arg.startsWith("--threshold=")) {
+                threshold = Double.parseDouble(arg.substring("--threshold=".length())) / 100;
+            } else {
+                includes.add(arg);
+            }
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result("jmh-result.json");
+        if (includes.isEmpty()) {
+            options.include(BenchmarkRunner.class.getPackage().getName() + "\\..*Benchmark");
+        } else {
+            includes.forEach(options::include);
+        }
+        Collection<RunResult> results = new Runner(options.build()).run();
+        Map<String, Double> scores = Baseline.fromResults(results);
+
+        if (saveBaseline) {
+            Map<String, Double> baseline = Files.exists(baselineFile) ? Baseline.load(baselineFile) : new TreeMap<>();
+            baseline.putAll(scores);
+            Baseline.save(baselineFile, baseline);
+            System.out.println("Saved baseline to " + baselineFile.toAbsolutePath());
+        } else if (!Files.exists(baselineFile)) {
+            System.out.println("No baseline at " + baselineFile.toAbsolutePath() + "; run with --save-baseline");
+        } else if (printComparison(Baseline.load(baselineFile), scores, threshold)) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Prints the comparison of all scores with the baseline and returns whether there are any regressions.
+     */
+    private static boolean printComparison(Map<String, Double> baseline, Map<String, Double> scores,
+                                           double threshold) {
+        System.out.println();
+        System.out.println(String.format("%-70s %14s %14s %9s", "Benchmark", "Baseline", "Current", "Change"));
+        List<Comparison> regressions = new ArrayList<>();
+        for (Comparison comparison : Baseline.compare(baseline, scores)) {
+            System.out.println(comparison);
+            if (comparison.isRegression(threshold)) {
+                regressions.add(comparison);
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            System.out.println();
+            System.out.println(regressions.size() + " regression(s) of more than " + Math.round(threshold * 100)
+                + "%:");
+            regressions.forEach(System.out::println);
+            return true;
+        }
+        return false;
+    }
+}
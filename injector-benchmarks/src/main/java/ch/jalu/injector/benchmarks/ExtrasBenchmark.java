@@ -0,0 +1,58 @@
+package ch.jalu.injector.benchmarks;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.benchmarks.samples.plugins.Plugin;
+import ch.jalu.injector.benchmarks.samples.plugins.PluginRegistry;
+import ch.jalu.injector.extras.handlers.AllInstancesAnnotationHandler;
+import ch.jalu.injector.extras.handlers.AllTypesAnnotationHandler;
+import ch.jalu.injector.extras.scanning.SubtypeLookup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolution of {@code @AllTypes} and {@code @AllInstances} dependencies, and the package scan behind them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExtrasBenchmark {
+
+    private static final String PLUGINS_PACKAGE = Plugin.class.getPackage().getName();
+
+    private Injector injector;
+
+    @Setup
+    public void createInjector() {
+        SubtypeLookup subtypeLookup = SubtypeLookup.forPackage(PLUGINS_PACKAGE);
+        injector = new InjectorBuilder()
+            .addHandlers(new AllTypesAnnotationHandler(subtypeLookup), new AllInstancesAnnotationHandler(subtypeLookup))
+            .addDefaultHandlers(BenchmarkRunner.SAMPLES_PACKAGE)
+            .create();
+        injector.newInstance(PluginRegistry.class);
+    }
+
+    @Benchmark
+    public Object newInstanceWithAllTypesAndAllInstances() {
+        return injector.newInstance(PluginRegistry.class);
+    }
+
+    @Benchmark
+    public Set<Class<? extends Plugin>> scanPackage() {
+        return SubtypeLookup.forPackage(PLUGINS_PACKAGE).getSubTypesOf(Plugin.class);
+    }
+}
@@ -0,0 +1,75 @@
+package ch.jalu.injector.benchmarks;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.benchmarks.samples.ShallowGraph;
+import ch.jalu.injector.benchmarks.samples.WideGraph;
+import ch.jalu.injector.context.ResolutionContext;
+import ch.jalu.injector.handlers.Handler;
+import ch.jalu.injector.handlers.instantiation.Resolution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of object creation with the number of additional handlers which take part in the resolution and
+ * the post processing of every object.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandlerChainBenchmark {
+
+    @Param({"0", "4", "16"})
+    public int additionalHandlers;
+
+    private Injector injector;
+
+    @Setup
+    public void createInjector() {
+        InjectorBuilder builder = new InjectorBuilder();
+        for (int i = 0; i < additionalHandlers; ++i) {
+            builder.addHandlers(new NoOpHandler());
+        }
+        injector = builder.addDefaultHandlers(BenchmarkRunner.SAMPLES_PACKAGE).create();
+    }
+
+    @Benchmark
+    public Object newInstanceShallow() {
+        return injector.newInstance(ShallowGraph.class);
+    }
+
+    @Benchmark
+    public Object newInstanceWide() {
+        return injector.newInstance(WideGraph.Root.class);
+    }
+
+    /**
+     * Handler which takes part in all phases but never does anything.
+     */
+    private static final class NoOpHandler implements Handler {
+
+        @Override
+        public Resolution<?> resolve(ResolutionContext context) {
+            return null;
+        }
+
+        @Override
+        public <T> T postProcess(T object, ResolutionContext context, Resolution<?> resolution) {
+            return null;
+        }
+    }
+}
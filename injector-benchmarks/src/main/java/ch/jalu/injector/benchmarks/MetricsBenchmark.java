@@ -0,0 +1,53 @@
+package ch.jalu.injector.benchmarks;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.benchmarks.samples.DeepGraph;
+import ch.jalu.injector.metrics.MetricsRecorder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of {@link ch.jalu.injector.metrics.InjectorMetrics}: creates a chain of 8 request-scoped objects on an
+ * injector without metrics and on one with a {@link MetricsRecorder}. Without metrics, the result should be the
+ * same as {@link NewInstanceBenchmark#newInstance} for the deep graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    @Param({"none", "recorder"})
+    public String metrics;
+
+    private Injector injector;
+
+    @Setup
+    public void createInjector() {
+        InjectorBuilder builder = new InjectorBuilder().addDefaultHandlers(BenchmarkRunner.SAMPLES_PACKAGE);
+        if ("recorder".equals(metrics)) {
+            builder.setMetrics(new MetricsRecorder());
+        }
+        injector = builder.create();
+        injector.newInstance(DeepGraph.Level1.class);
+    }
+
+    @Benchmark
+    public Object newInstance() {
+        return injector.newInstance(DeepGraph.Level1.class);
+    }
+}
@@ -0,0 +1,73 @@
+package ch.jalu.injector.benchmarks;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.benchmarks.samples.DeepGraph;
+import ch.jalu.injector.benchmarks.samples.ShallowGraph;
+import ch.jalu.injector.benchmarks.samples.WideGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of new objects: {@link #newInstance} on an injector which already knows the classes and has the
+ * dependencies as singletons, and {@link #newInstanceInNewInjector} which creates the entire graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NewInstanceBenchmark {
+
+    /** Shape of the object graph: no dependencies, a chain of 8 classes, 4 constructor or 4 field dependencies. */
+    @Param({"shallow", "deep", "wide", "wideFields"})
+    public String graph;
+
+    private Class<?> rootClass;
+    private Injector injector;
+
+    @Setup
+    public void createInjector() {
+        rootClass = getRootClass(graph);
+        injector = new InjectorBuilder().addDefaultHandlers(BenchmarkRunner.SAMPLES_PACKAGE).create();
+        injector.newInstance(rootClass);
+    }
+
+    @Benchmark
+    public Object newInstance() {
+        return injector.newInstance(rootClass);
+    }
+
+    @Benchmark
+    public Object newInstanceInNewInjector() {
+        return new InjectorBuilder().addDefaultHandlers(BenchmarkRunner.SAMPLES_PACKAGE).create()
+            .newInstance(rootClass);
+    }
+
+    private static Class<?> getRootClass(String graph) {
+        switch (graph) {
+            case "shallow":
+                return ShallowGraph.class;
+            case "deep":
+                return DeepGraph.Level1.class;
+            case "wide":
+                return WideGraph.Root.class;
+            case "wideFields":
+                return WideGraph.FieldRoot.class;
+            default:
+                throw new IllegalArgumentException("Unknown graph '" + graph + "'");
+        }
+    }
+}
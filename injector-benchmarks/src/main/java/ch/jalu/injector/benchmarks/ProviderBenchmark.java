@@ -0,0 +1,49 @@
+package ch.jalu.injector.benchmarks;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.benchmarks.samples.ProviderHolder;
+import ch.jalu.injector.benchmarks.samples.ShallowGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calls to injected {@link javax.inject.Provider} and {@link ch.jalu.injector.factory.Factory} objects, both of
+ * which create new instances with the injector.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProviderBenchmark {
+
+    private ProviderHolder holder;
+
+    @Setup
+    public void createHolder() {
+        Injector injector = new InjectorBuilder().addDefaultHandlers(BenchmarkRunner.SAMPLES_PACKAGE).create();
+        holder = injector.getSingleton(ProviderHolder.class);
+    }
+
+    @Benchmark
+    public Object providerGet() {
+        return holder.getProvider().get();
+    }
+
+    @Benchmark
+    public Object factoryNewInstance() {
+        return holder.getFactory().newInstance(ShallowGraph.class);
+    }
+}
@@ -0,0 +1,58 @@
+package ch.jalu.injector.benchmarks;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.benchmarks.samples.ClassCopies;
+import ch.jalu.injector.benchmarks.samples.Marker;
+import ch.jalu.injector.benchmarks.samples.ShallowGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Injector#retrieveAllOfType} with a given number of matching singletons among as many other singletons.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RetrieveAllOfTypeBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int singletons;
+
+    private Injector injector;
+
+    @Setup
+    public void registerSingletons() throws ReflectiveOperationException {
+        injector = new InjectorBuilder().addDefaultHandlers(BenchmarkRunner.SAMPLES_PACKAGE).create();
+        for (Class<? extends Marker> markerClass : ClassCopies.create(Marker.Impl.class, Marker.class, singletons)) {
+            register(markerClass);
+        }
+        for (Class<?> otherClass : ClassCopies.create(ShallowGraph.class, Object.class, singletons)) {
+            register(otherClass);
+        }
+    }
+
+    @Benchmark
+    public Collection<Marker> retrieveAllOfType() {
+        return injector.retrieveAllOfType(Marker.class);
+    }
+
+    private <T> void register(Class<T> clazz) throws ReflectiveOperationException {
+        injector.register(clazz, clazz.getDeclaredConstructor().newInstance());
+    }
+}
@@ -0,0 +1,62 @@
+package ch.jalu.injector.benchmarks;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.benchmarks.generator.SyntheticGraph;
+import ch.jalu.injector.benchmarks.generator.SyntheticGraphGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates all singletons of a {@link SyntheticGraph generated graph} in a new injector, to detect behavior which
+ * does not scale linearly with the number of classes or the depth of the graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScaleBenchmark {
+
+    @Param({"1000", "10000"})
+    public int classCount;
+
+    @Param({"10", "100"})
+    public int depth;
+
+    private SyntheticGraph graph;
+    private List<Class<?>> rootTypes;
+
+    @Setup
+    public void generateGraph() {
+        graph = new SyntheticGraphGenerator()
+            .classCount(classCount)
+            .depth(depth)
+            .seed(1)
+            .generate();
+        rootTypes = graph.getRootTypes();
+        // Load all classes so that class loading is not measured
+        graph.getTypes();
+    }
+
+    @Benchmark
+    public Injector createAllSingletons() {
+        Injector injector = graph.createInjector();
+        for (Class<?> rootType : rootTypes) {
+            injector.getSingleton(rootType);
+        }
+        return injector;
+    }
+}
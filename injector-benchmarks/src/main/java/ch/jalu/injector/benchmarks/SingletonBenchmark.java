@@ -0,0 +1,58 @@
+package ch.jalu.injector.benchmarks;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.benchmarks.samples.DeepGraph;
+import ch.jalu.injector.benchmarks.samples.ShallowGraph;
+import ch.jalu.injector.benchmarks.samples.WideGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retrieval of singletons which have already been created.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SingletonBenchmark {
+
+    private Injector injector;
+    private Injector frozenInjector;
+
+    @Setup
+    public void createSingletons() {
+        injector = new InjectorBuilder().addDefaultHandlers(BenchmarkRunner.SAMPLES_PACKAGE).create();
+        injector.getSingleton(DeepGraph.Level1.class);
+        injector.getSingleton(WideGraph.Root.class);
+        injector.getSingleton(ShallowGraph.class);
+        frozenInjector = injector.freeze();
+    }
+
+    @Benchmark
+    public Object getSingleton() {
+        return injector.getSingleton(WideGraph.Root.class);
+    }
+
+    @Benchmark
+    public Object getSingletonFrozen() {
+        return frozenInjector.getSingleton(WideGraph.Root.class);
+    }
+
+    @Benchmark
+    public Object getIfAvailable() {
+        return injector.getIfAvailable(DeepGraph.Level8.class);
+    }
+}
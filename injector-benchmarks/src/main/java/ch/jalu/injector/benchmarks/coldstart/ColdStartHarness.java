@@ -0,0 +1,176 @@
+package ch.jalu.injector.benchmarks.coldstart;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the first requests to an injector: forks a fresh JVM for every run of a
+ * {@link ColdStartScenario} and reports the median, minimum and maximum of each {@link ColdStartResult metric},
+ * as well as of the time from starting the process until it has exited.
+ * <p>
+ * Arguments (all optional):
+ * <ul>
+ *   <li>{@code --forks=<n>}: number of JVMs to fork per scenario, 10 by default</li>
+ *   <li>{@code --jvm-arg=<arg>}: argument to pass to the forked JVMs, may be repeated</li>
+ *   <li>{@code --test-module=<path>}: classes of the test-module project, {@code ../test-module/target/classes}
+ *       by default; the scenario {@link ColdStartScenario#TEST_MODULE TEST_MODULE} is skipped if they don't
+ *       exist</li>
+ *   <li>any other argument is the name of a scenario to run (all by default)</li>
+ * </ul>
+ */
+public final class ColdStartHarness {
+
+    /** Time from starting the forked process until it has exited, in milliseconds. */
+    static final String PROCESS_TIME = "processMs";
+
+    private final int forks;
+    private final List<String> jvmArgs;
+    private final Path testModuleClasses;
+
+    /**
+     * Constructor.
+     *
+     * @param forks number of JVMs to fork per scenario
+     * @param jvmArgs arguments to pass to the forked JVMs
+     * @param testModuleClasses directory with the compiled classes of the test-module project
+     */
+    ColdStartHarness(int forks, List<String> jvmArgs, Path testModuleClasses) {
+        this.forks = forks;
+        this.jvmArgs = jvmArgs;
+        this.testModuleClasses = testModuleClasses;
+    }
+
+    public static void main(String... args) throws IOException, InterruptedException {
+        int forks = 10;
+        List<String> jvmArgs = new ArrayList<>();
+        Path testModuleClasses = Paths.get("..", "test-module", "target", "classes");
+        Set<ColdStartScenario> scenarios = EnumSet.noneOf(ColdStartScenario.class);
+        for (String arg : args) {
+            if (arg.startsWith("--forks=")) {
+                forks = Integer.parseInt(arg.substring("--forks=".length()));
+            } else if (arg.startsWith("--jvm-arg=")) {
+                jvmArgs.add(arg.substring("--jvm-arg=".length()));
+            } else if (arg.startsWith("--test-module=")) {
+                testModuleClasses = Paths.get(arg.substring("--test-module=".length()));
+            } else {
+                scenarios.add(ColdStartScenario.valueOf(arg.toUpperCase(Locale.ROOT)));
+            }
+        }
+        if (scenarios.isEmpty()) {
+            scenarios = EnumSet.allOf(ColdStartScenario.class);
+        }
+
+        ColdStartHarness harness = new ColdStartHarness(forks, jvmArgs, testModuleClasses);
+        for (ColdStartScenario scenario : scenarios) {
+            if (scenario == ColdStartScenario.TEST_MODULE && !Files.isDirectory(testModuleClasses)) {
+                System.out.println("Skipping " + scenario + ": no classes at " + testModuleClasses.toAbsolutePath()
+                    + " (build test-module with mvn package)");
+                continue;
+            }
+            printSummary(scenario, harness.run(scenario));
+        }
+    }
+
+    /**
+     * Forks the configured number of JVMs for the given scenario.
+     *
+     * @param scenario the scenario to run
+     * @return the result of each fork
+     * @throws IOException if a process could not be started or failed
+     * @throws InterruptedException if interrupted while waiting for a process
+     */
+    List<ColdStartResult> run(ColdStartScenario scenario) throws IOException, InterruptedException {
+        List<ColdStartResult> results = new ArrayList<>(forks);
+        for (int i = 0; i < forks; ++i) {
+            results.add(fork(scenario));
+        }
+        return results;
+    }
+
+    private ColdStartResult fork(ColdStartScenario scenario) throws IOException, InterruptedException {
+        String classPath = System.getProperty("java.class.path");
+        if (scenario == ColdStartScenario.TEST_MODULE) {
+            classPath += File.pathSeparator + testModuleClasses.toAbsolutePath();
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(Arrays.asList("-cp", classPath, ColdStartProbe.class.getName(), scenario.name()));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        ColdStartResult result = null;
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(
+                 new InputStreamReader(process.getInputStream(), Charset.defaultCharset()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                ColdStartResult parsedResult = ColdStartResult.parse(line);
+                if (parsedResult == null) {
+                    output.append(line).append(System.lineSeparator());
+                } else {
+                    result = parsedResult;
+                }
+            }
+        }
+        int exitCode = process.waitFor();
+        double processMs = (System.nanoTime() - start) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        if (exitCode != 0 || result == null) {
+            throw new IOException("Scenario " + scenario + " failed with exit code " + exitCode
+                + System.lineSeparator() + output);
+        }
+
+        Map<String, Double> metrics = new LinkedHashMap<>(result.getMetrics());
+        metrics.put(PROCESS_TIME, processMs);
+        return new ColdStartResult(metrics);
+    }
+
+    /**
+     * Returns the median, minimum and maximum of each metric.
+     *
+     * @param results the results to summarize
+     * @return array with median, minimum and maximum by metric name
+     */
+    static Map<String, double[]> summarize(List<ColdStartResult> results) {
+        Map<String, List<Double>> valuesByMetric = new LinkedHashMap<>();
+        for (ColdStartResult result : results) {
+            result.getMetrics().forEach((metric, value) ->
+                valuesByMetric.computeIfAbsent(metric, k -> new ArrayList<>()).add(value));
+        }
+
+        Map<String, double[]> summary = new LinkedHashMap<>();
+        valuesByMetric.forEach((metric, values) -> {
+            Collections.sort(values);
+            int size = values.size();
+            double median = size % 2 == 1
+                ? values.get(size / 2)
+                : (values.get(size / 2 - 1) + values.get(size / 2)) / 2;
+            summary.put(metric, new double[]{ median, values.get(0), values.get(size - 1) });
+        });
+        return summary;
+    }
+
+    private static void printSummary(ColdStartScenario scenario, List<ColdStartResult> results) {
+        System.out.println();
+        System.out.println(scenario + " (" + results.size() + " forks)");
+        System.out.println(String.format("  %-20s %12s %12s %12s", "Metric", "Median", "Min", "Max"));
+        summarize(results).forEach((metric, values) -> System.out.println(String.format(Locale.ROOT,
+            "  %-20s %12.2f %12.2f %12.2f", metric, values[0], values[1], values[2])));
+    }
+}
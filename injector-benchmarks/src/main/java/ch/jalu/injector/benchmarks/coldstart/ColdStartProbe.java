@@ -0,0 +1,89 @@
+package ch.jalu.injector.benchmarks.coldstart;
+
+import ch.jalu.injector.Injector;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of the JVMs forked by the {@link ColdStartHarness}: resolves the singletons of one scenario and
+ * prints the {@link ColdStartResult}. Must run in a fresh JVM for the measurements to be meaningful.
+ */
+public final class ColdStartProbe {
+
+    private ColdStartProbe() {
+    }
+
+    /**
+     * Runs the scenario with the given name.
+     *
+     * @param args the name of the scenario
+     * @throws ClassNotFoundException if a class of the scenario is not on the class path
+     */
+    public static void main(String... args) throws ClassNotFoundException {
+        long mainStartMillis = System.currentTimeMillis();
+        long mainStartNanos = System.nanoTime();
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Expected the name of the scenario as only argument");
+        }
+        ColdStartScenario scenario = ColdStartScenario.valueOf(args[0]);
+        System.out.println(run(scenario, mainStartMillis, mainStartNanos).format());
+    }
+
+    /**
+     * Runs the scenario in the current JVM.
+     *
+     * @param scenario the scenario to run
+     * @param mainStartMillis the time at which the main method was invoked, in milliseconds since the epoch
+     * @param mainStartNanos the time at which the main method was invoked, as returned by {@link System#nanoTime}
+     * @return the measurements
+     * @throws ClassNotFoundException if a class of the scenario is not on the class path
+     */
+    static ColdStartResult run(ColdStartScenario scenario, long mainStartMillis,
+                               long mainStartNanos) throws ClassNotFoundException {
+        ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+        long initialClassCount = classLoading.getTotalLoadedClassCount();
+        ClassLoader classLoader = ColdStartProbe.class.getClassLoader();
+
+        Injector injector = scenario.createInjector();
+        long firstSingletonNanos = 0;
+        for (String className : scenario.getClassNames()) {
+            injector.getSingleton(Class.forName(className, false, classLoader));
+            if (firstSingletonNanos == 0) {
+                firstSingletonNanos = System.nanoTime();
+            }
+        }
+        long endNanos = System.nanoTime();
+
+        double jvmStartupMs = mainStartMillis - ManagementFactory.getRuntimeMXBean().getStartTime();
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        metrics.put(ColdStartResult.JVM_STARTUP, jvmStartupMs);
+        metrics.put(ColdStartResult.FIRST_SINGLETON, toMillis(firstSingletonNanos - mainStartNanos));
+        metrics.put(ColdStartResult.TOTAL_STARTUP, jvmStartupMs + toMillis(endNanos - mainStartNanos));
+        metrics.put(ColdStartResult.LOADED_CLASSES, (double) classLoading.getTotalLoadedClassCount());
+        metrics.put(ColdStartResult.SCENARIO_CLASSES,
+            (double) (classLoading.getTotalLoadedClassCount() - initialClassCount));
+        metrics.put(ColdStartResult.PEAK_HEAP, getPeakHeapUsage() / 1024.0);
+        return new ColdStartResult(metrics);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static long getPeakHeapUsage() {
+        // Pools peak at different times, so the sum is an upper bound of the actual peak
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
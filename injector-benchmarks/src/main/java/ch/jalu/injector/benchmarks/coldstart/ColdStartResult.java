@@ -0,0 +1,78 @@
+package ch.jalu.injector.benchmarks.coldstart;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Measurements of one cold start. A forked JVM reports its result as a single line on standard output, which is
+ * formatted and parsed by this class.
+ */
+final class ColdStartResult {
+
+    /** Time from the JVM's start until the main method is invoked, in milliseconds. */
+    static final String JVM_STARTUP = "jvmStartupMs";
+    /** Time from the main method until the first singleton has been returned, in milliseconds. */
+    static final String FIRST_SINGLETON = "firstSingletonMs";
+    /** Time from the JVM's start until all singletons have been returned, in milliseconds. */
+    static final String TOTAL_STARTUP = "totalStartupMs";
+    /** Number of classes loaded by the JVM in total. */
+    static final String LOADED_CLASSES = "loadedClasses";
+    /** Number of classes loaded while creating the injector and resolving the singletons. */
+    static final String SCENARIO_CLASSES = "scenarioClasses";
+    /** Sum of the peak usage of all heap memory pools, in kilobytes. */
+    static final String PEAK_HEAP = "peakHeapKb";
+
+    private static final String PREFIX = "COLD_START ";
+
+    private final Map<String, Double> metrics;
+
+    /**
+     * Constructor.
+     *
+     * @param metrics the measured values by metric name
+     */
+    ColdStartResult(Map<String, Double> metrics) {
+        this.metrics = Collections.unmodifiableMap(new LinkedHashMap<>(metrics));
+    }
+
+    /**
+     * @return the measured values by metric name
+     */
+    Map<String, Double> getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return the result as a line to print to standard output
+     */
+    String format() {
+        StringBuilder line = new StringBuilder(PREFIX);
+        for (Map.Entry<String, Double> metric : metrics.entrySet()) {
+            line.append(metric.getKey()).append('=')
+                .append(String.format(Locale.ROOT, "%.3f", metric.getValue())).append(' ');
+        }
+        return line.toString().trim();
+    }
+
+    /**
+     * Parses a line of a forked JVM's output.
+     *
+     * @param line the line to parse
+     * @return the result, or null if the line is not a result line
+     */
+    static ColdStartResult parse(String line) {
+        if (!line.startsWith(PREFIX)) {
+            return null;
+        }
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        for (String entry : line.substring(PREFIX.length()).trim().split(" +")) {
+            int separator = entry.indexOf('=');
+            if (separator > 0) {
+                metrics.put(entry.substring(0, separator), Double.parseDouble(entry.substring(separator + 1)));
+            }
+        }
+        return new ColdStartResult(metrics);
+    }
+}
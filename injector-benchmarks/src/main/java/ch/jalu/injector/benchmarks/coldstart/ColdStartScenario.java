@@ -0,0 +1,85 @@
+package ch.jalu.injector.benchmarks.coldstart;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.extras.handlers.AllInstancesAnnotationHandler;
+import ch.jalu.injector.extras.handlers.AllTypesAnnotationHandler;
+import ch.jalu.injector.extras.scanning.SubtypeLookup;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Object graph which is resolved on a cold JVM by the {@link ColdStartProbe}. The classes are referenced by name
+ * so that they are only loaded by the injector.
+ */
+public enum ColdStartScenario {
+
+    /** Class with two dependencies. */
+    SHALLOW(Samples.PACKAGE, Samples.PACKAGE + ".ShallowGraph"),
+
+    /** Chain of eight classes. */
+    DEEP(Samples.PACKAGE, Samples.PACKAGE + ".DeepGraph$Level1"),
+
+    /** Classes with four constructor and four field dependencies. */
+    WIDE(Samples.PACKAGE, Samples.PACKAGE + ".WideGraph$Root", Samples.PACKAGE + ".WideGraph$FieldRoot"),
+
+    /** Class with an injected provider and factory. */
+    PROVIDERS(Samples.PACKAGE, Samples.PACKAGE + ".ProviderHolder"),
+
+    /** Class with {@code @AllTypes} and {@code @AllInstances} fields, which require a package scan. */
+    EXTRAS(Samples.PACKAGE, Samples.PACKAGE + ".plugins.PluginRegistry") {
+        @Override
+        Injector createInjector() {
+            SubtypeLookup subtypeLookup = SubtypeLookup.forPackage(getRootPackage() + ".plugins");
+            return new InjectorBuilder()
+                .addHandlers(new AllTypesAnnotationHandler(subtypeLookup),
+                    new AllInstancesAnnotationHandler(subtypeLookup))
+                .addDefaultHandlers(getRootPackage())
+                .create();
+        }
+    },
+
+    /**
+     * Classes of the test-module project, which must be built separately and added to the class path.
+     */
+    TEST_MODULE("ch.jalu.testmodule", "ch.jalu.testmodule.ClassWithMethodParam",
+        "ch.jalu.testmodule.ClassWithField", "ch.jalu.testmodule.services.ThreeService");
+
+    private final String rootPackage;
+    private final List<String> classNames;
+
+    ColdStartScenario(String rootPackage, String... classNames) {
+        this.rootPackage = rootPackage;
+        this.classNames = Collections.unmodifiableList(Arrays.asList(classNames));
+    }
+
+    /**
+     * @return the package with the scenario's classes, passed to {@link InjectorBuilder#addDefaultHandlers}
+     */
+    String getRootPackage() {
+        return rootPackage;
+    }
+
+    /**
+     * @return names of the classes to get as singletons, in the order in which they are requested
+     */
+    List<String> getClassNames() {
+        return classNames;
+    }
+
+    /**
+     * Creates the injector for this scenario.
+     *
+     * @return the injector
+     */
+    Injector createInjector() {
+        return new InjectorBuilder().addDefaultHandlers(rootPackage).create();
+    }
+
+    // Enum constants cannot refer to static fields of the enum itself
+    private static final class Samples {
+        static final String PACKAGE = "ch.jalu.injector.benchmarks.samples";
+    }
+}
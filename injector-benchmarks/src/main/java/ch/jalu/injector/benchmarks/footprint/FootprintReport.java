@@ -0,0 +1,222 @@
+package ch.jalu.injector.benchmarks.footprint;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.InjectorDiagnostics;
+import ch.jalu.injector.benchmarks.samples.ClassCopies;
+import ch.jalu.injector.benchmarks.samples.Marker;
+import ch.jalu.injector.benchmarks.samples.ShallowGraph;
+import ch.jalu.injector.handlers.instantiation.InstantiationCache;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Measures the heap memory retained by injectors: per empty injector, per registered singleton and per cached
+ * resolution. The retained size is the difference of the used heap after full garbage collections, divided by the
+ * number of measured items. The estimate of {@link Injector#getDiagnostics()} is printed alongside for comparison.
+ * The estimate only covers the entries of the injector's bookkeeping, so no estimate is shown for empty injectors.
+ * The measurement of cached resolutions also includes data the JDK keeps for the newly loaded classes, such as their
+ * package, and is therefore somewhat higher than the estimate.
+ * <p>
+ * The measurements are most stable with a serial collector and a fixed heap, e.g.
+ * {@code java -XX:+UseSerialGC -Xms512m -Xmx512m -cp target/benchmarks.jar
+ * ch.jalu.injector.benchmarks.footprint.FootprintReport}. The only (optional) argument is the number of items
+ * to measure with, 2000 by default.
+ */
+public final class FootprintReport {
+
+    private static final String SAMPLES_PACKAGE = ShallowGraph.class.getPackage().getName();
+
+    private final int count;
+    /** Object being measured, kept reachable by this field until the heap has been measured again. */
+    private Object measuredObject;
+
+    /**
+     * Constructor.
+     *
+     * @param count the number of items (injectors, singletons, resolutions) to measure with
+     */
+    FootprintReport(int count) {
+        this.count = count;
+    }
+
+    public static void main(String... args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        FootprintReport report = new FootprintReport(count);
+        System.out.println(String.format("%-45s %14s %14s", "Bytes retained", "Measured", "Estimated"));
+        report.print("per empty injector", report.measureEmptyInjector());
+        report.print("per registered singleton", report.measureRegisteredSingletons());
+        report.print("per cached resolution (newInstance)", report.measureCachedResolutions(false));
+        report.print("per cached resolution (with InstantiationCache)", report.measureCachedResolutions(true));
+    }
+
+    /**
+     * Measures empty injectors with the default handlers.
+     *
+     * @return the measurement per injector
+     */
+    Measurement measureEmptyInjector() {
+        List<Injector> injectors = new ArrayList<>(count);
+        long retained = measureRetained(() -> {
+            for (int i = 0; i < count; ++i) {
+                injectors.add(createInjector(false));
+            }
+            return injectors;
+        });
+        return new Measurement(retained / (double) count, Double.NaN);
+    }
+
+    /**
+     * Measures the registration of singletons which exist beforehand, i.e. only the injector's bookkeeping.
+     *
+     * @return the measurement per singleton
+     */
+    Measurement measureRegisteredSingletons() {
+        Injector injector = createInjector(false);
+        List<Object> singletons = new ArrayList<>(count);
+        for (Class<? extends Marker> clazz : ClassCopies.create(Marker.Impl.class, Marker.class, count)) {
+            singletons.add(newInstance(clazz));
+        }
+        // Index the type so that the type index is part of the measurement
+        injector.retrieveAllOfType(Marker.class);
+
+        long estimateBefore = injector.getDiagnostics().getEstimatedRetainedBytes();
+        long retained = measureRetained(() -> {
+            for (Object singleton : singletons) {
+                register(injector, singleton);
+            }
+            return injector;
+        });
+        long estimated = injector.getDiagnostics().getEstimatedRetainedBytes() - estimateBefore;
+        return new Measurement(retained / (double) count, estimated / (double) count);
+    }
+
+    /**
+     * Measures the resolutions which are cached when objects of new classes are created with
+     * {@link Injector#newInstance}. The created objects are not retained.
+     *
+     * @param withInstantiationCache whether an {@link InstantiationCache} should be used in addition
+     * @return the measurement per class
+     */
+    Measurement measureCachedResolutions(boolean withInstantiationCache) {
+        Injector injector = createInjector(withInstantiationCache);
+        List<Class<?>> classes = new ArrayList<>(ClassCopies.create(Marker.Impl.class, Marker.class, count));
+        // Populate the JDK's reflection caches of the classes beforehand so that they are not measured
+        classes.forEach(FootprintReport::loadReflectionData);
+
+        long estimateBefore = injector.getDiagnostics().getEstimatedRetainedBytes();
+        long retained = measureRetained(() -> {
+            for (Class<?> clazz : classes) {
+                injector.newInstance(clazz);
+            }
+            return injector;
+        });
+        long estimated = injector.getDiagnostics().getEstimatedRetainedBytes() - estimateBefore;
+        return new Measurement(retained / (double) count, estimated / (double) count);
+    }
+
+    private Injector createInjector(boolean withInstantiationCache) {
+        InjectorBuilder builder = new InjectorBuilder();
+        if (withInstantiationCache) {
+            builder.addHandlers(new InstantiationCache(count, false));
+        }
+        return builder.addDefaultHandlers(SAMPLES_PACKAGE).create();
+    }
+
+    /**
+     * Returns the heap memory retained by the object returned by the given action.
+     */
+    private long measureRetained(Supplier<Object> action) {
+        long before = usedHeapAfterGc();
+        measuredObject = action.get();
+        long after = usedHeapAfterGc();
+        measuredObject = null;
+        return after - before;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+        // Collect until the used heap no longer decreases
+        for (int i = 0; i < 10; ++i) {
+            memory.gc();
+            long current = memory.getHeapMemoryUsage().getUsed();
+            if (current >= used) {
+                return current;
+            }
+            used = current;
+        }
+        return used;
+    }
+
+    private void print(String description, Measurement measurement) {
+        String estimated = Double.isNaN(measurement.getEstimated())
+            ? "-"
+            : String.format(Locale.ROOT, "%.1f", measurement.getEstimated());
+        System.out.println(String.format(Locale.ROOT, "%-45s %14.1f %14s",
+            description, measurement.getMeasured(), estimated));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void register(Injector injector, T object) {
+        injector.register((Class<T>) object.getClass(), object);
+    }
+
+    private static void loadReflectionData(Class<?> clazz) {
+        clazz.getAnnotations();
+        for (Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+            constructor.getParameterAnnotations();
+            constructor.getAnnotations();
+        }
+        for (Field field : clazz.getDeclaredFields()) {
+            field.getAnnotations();
+        }
+        for (Method method : clazz.getDeclaredMethods()) {
+            method.getAnnotations();
+        }
+    }
+
+    private static Object newInstance(Class<?> clazz) {
+        try {
+            return clazz.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Measured and estimated retained bytes.
+     */
+    static final class Measurement {
+
+        private final double measured;
+        private final double estimated;
+
+        /**
+         * Constructor.
+         *
+         * @param measured the measured bytes per item
+         * @param estimated the estimated bytes per item, or NaN if not available
+         */
+        Measurement(double measured, double estimated) {
+            this.measured = measured;
+            this.estimated = estimated;
+        }
+
+        double getMeasured() {
+            return measured;
+        }
+
+        double getEstimated() {
+            return estimated;
+        }
+    }
+}
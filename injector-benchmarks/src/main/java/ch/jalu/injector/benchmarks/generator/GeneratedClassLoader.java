@@ -0,0 +1,38 @@
+package ch.jalu.injector.benchmarks.generator;
+
+import java.util.Map;
+
+/**
+ * Class loader which defines generated classes from their bytecode when they are first requested.
+ */
+final class GeneratedClassLoader extends ClassLoader {
+
+    private final Map<String, byte[]> bytecodes;
+
+    /**
+     * Constructor.
+     *
+     * @param parent the parent class loader
+     * @param bytecodes the bytecode of the generated classes by class name
+     */
+    GeneratedClassLoader(ClassLoader parent, Map<String, byte[]> bytecodes) {
+        super(parent);
+        this.bytecodes = bytecodes;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        byte[] bytecode = bytecodes.get(name);
+        if (bytecode == null) {
+            throw new ClassNotFoundException(name);
+        }
+        return defineClass(name, bytecode, 0, bytecode.length);
+    }
+
+    /**
+     * @return the number of generated classes
+     */
+    int getClassCount() {
+        return bytecodes.size();
+    }
+}
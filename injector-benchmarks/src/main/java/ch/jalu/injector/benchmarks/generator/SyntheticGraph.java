@@ -0,0 +1,133 @@
+package ch.jalu.injector.benchmarks.generator;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.exceptions.InjectorException;
+
+import javax.inject.Provider;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Graph of classes generated by the {@link SyntheticGraphGenerator}. The classes are loaded lazily by their own
+ * class loader.
+ */
+public final class SyntheticGraph {
+
+    private final GeneratedClassLoader classLoader;
+    private final String rootPackage;
+    private final String nodeTypeName;
+    private final List<String> classNames;
+    private final List<String> typeNames;
+    private final List<String> rootTypeNames;
+    private final Map<String, String> providerNames;
+
+    SyntheticGraph(GeneratedClassLoader classLoader, String rootPackage, String nodeTypeName, List<String> classNames,
+                   List<String> typeNames, List<String> rootTypeNames, Map<String, String> providerNames) {
+        this.classLoader = classLoader;
+        this.rootPackage = rootPackage;
+        this.nodeTypeName = nodeTypeName;
+        this.classNames = Collections.unmodifiableList(classNames);
+        this.typeNames = Collections.unmodifiableList(typeNames);
+        this.rootTypeNames = Collections.unmodifiableList(rootTypeNames);
+        this.providerNames = Collections.unmodifiableMap(providerNames);
+    }
+
+    /**
+     * @return the package of the generated classes
+     */
+    public String getRootPackage() {
+        return rootPackage;
+    }
+
+    /**
+     * @return the class loader of the generated classes
+     */
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    /**
+     * @return the total number of generated types, including interfaces and providers
+     */
+    public int getGeneratedTypeCount() {
+        return classLoader.getClassCount();
+    }
+
+    /**
+     * @return the number of classes of the graph, not counting interfaces and providers
+     */
+    public int getClassCount() {
+        return classNames.size();
+    }
+
+    /**
+     * @return the interface implemented by all classes and interfaces of the graph
+     */
+    public Class<?> getNodeType() {
+        return load(nodeTypeName);
+    }
+
+    /**
+     * Returns the types by which the classes of the graph are injected (the interface for classes behind one),
+     * ordered by layer. Loads all classes.
+     *
+     * @return all injectable types
+     */
+    public List<Class<?>> getTypes() {
+        return loadAll(typeNames);
+    }
+
+    /**
+     * Returns the types of the top layer, which are not a dependency of any other class.
+     *
+     * @return the types of the last layer
+     */
+    public List<Class<?>> getRootTypes() {
+        return loadAll(rootTypeNames);
+    }
+
+    /**
+     * Registers the provider classes of the graph to the injector. Must be called before any object of the graph
+     * is requested.
+     *
+     * @param injector the injector to register the providers to
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void registerProviders(Injector injector) {
+        for (Map.Entry<String, String> entry : providerNames.entrySet()) {
+            Class type = load(entry.getKey());
+            Class<? extends Provider> providerClass = load(entry.getValue()).asSubclass(Provider.class);
+            injector.registerProvider(type, providerClass);
+        }
+    }
+
+    /**
+     * Creates an injector with the default handlers for the graph's package and registers the graph's providers.
+     *
+     * @return new injector for the graph
+     */
+    public Injector createInjector() {
+        Injector injector = new InjectorBuilder().addDefaultHandlers(rootPackage).create();
+        registerProviders(injector);
+        return injector;
+    }
+
+    private List<Class<?>> loadAll(List<String> names) {
+        List<Class<?>> classes = new ArrayList<>(names.size());
+        for (String name : names) {
+            classes.add(load(name));
+        }
+        return classes;
+    }
+
+    private Class<?> load(String name) {
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new InjectorException("Could not load generated class '" + name + "'", e);
+        }
+    }
+}
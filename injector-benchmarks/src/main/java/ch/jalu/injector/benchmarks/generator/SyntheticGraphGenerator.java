@@ -0,0 +1,389 @@
+package ch.jalu.injector.benchmarks.generator;
+
+import ch.jalu.injector.exceptions.InjectorException;
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtConstructor;
+import javassist.CtField;
+import javassist.CtMethod;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+import javassist.NotFoundException;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.annotation.Annotation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static ch.jalu.injector.utils.InjectorUtils.checkArgument;
+import static ch.jalu.injector.utils.InjectorUtils.checkNotNull;
+
+/**
+ * Generates graphs of injectable classes of any size with javassist, e.g. to reproduce scaling issues without
+ * the actual classes of a project.
+ * <p>
+ * The classes are split into layers of about the same size: classes of the first layer have no dependencies, and
+ * every class of another layer depends on a class of the layer below it and on classes of any lower layers. The
+ * number of layers is therefore the depth of the graph. Each class is randomly (with the configured ratios):
+ * <ul>
+ *   <li>injected by constructor or by fields;</li>
+ *   <li>given a {@code @PostConstruct} method;</li>
+ *   <li>hidden behind an interface, which its dependents use as type;</li>
+ *   <li>created by a provider class instead of the injector.</li>
+ * </ul>
+ * All generated classes and interfaces implement a common interface, {@link SyntheticGraph#getNodeType()}. The same
+ * seed always yields the same graph.
+ */
+public class SyntheticGraphGenerator {
+
+    private static final String INJECT = "javax.inject.Inject";
+    private static final String POST_CONSTRUCT = "javax.annotation.PostConstruct";
+    private static final String PROVIDER = "javax.inject.Provider";
+
+    private String rootPackage = "ch.jalu.injector.synthetic";
+    private int classCount = 1000;
+    private int depth = 10;
+    private int fanOut = 3;
+    private double fieldInjectionRatio = 0.5;
+    private double postConstructRatio = 0.2;
+    private double interfaceRatio = 0.1;
+    private double providerRatio = 0.05;
+    private long seed = 0;
+
+    /**
+     * Sets the package of the generated classes.
+     *
+     * @param rootPackage the package (default: ch.jalu.injector.synthetic)
+     * @return the generator
+     */
+    public SyntheticGraphGenerator rootPackage(String rootPackage) {
+        checkNotNull(rootPackage, "Root package may not be null");
+        this.rootPackage = rootPackage;
+        return this;
+    }
+
+    /**
+     * Sets the number of classes to generate, not counting interfaces and providers.
+     *
+     * @param classCount the number of classes (default: 1000)
+     * @return the generator
+     */
+    public SyntheticGraphGenerator classCount(int classCount) {
+        checkArgument(classCount > 0, "Class count must be positive");
+        this.classCount = classCount;
+        return this;
+    }
+
+    /**
+     * Sets the number of layers, i.e. the length of the longest dependency chain. Cannot be larger than the number
+     * of classes.
+     *
+     * @param depth the number of layers (default: 10)
+     * @return the generator
+     */
+    public SyntheticGraphGenerator depth(int depth) {
+        checkArgument(depth > 0, "Depth must be positive");
+        this.depth = depth;
+        return this;
+    }
+
+    /**
+     * Sets the number of dependencies of each class outside of the first layer.
+     *
+     * @param fanOut the number of dependencies (default: 3)
+     * @return the generator
+     */
+    public SyntheticGraphGenerator fanOut(int fanOut) {
+        checkArgument(fanOut > 0, "Fan-out must be positive");
+        this.fanOut = fanOut;
+        return this;
+    }
+
+    /**
+     * Sets the share of classes which use field injection; the others use constructor injection.
+     *
+     * @param fieldInjectionRatio ratio between 0 and 1 (default: 0.5)
+     * @return the generator
+     */
+    public SyntheticGraphGenerator fieldInjectionRatio(double fieldInjectionRatio) {
+        this.fieldInjectionRatio = checkRatio(fieldInjectionRatio);
+        return this;
+    }
+
+    /**
+     * Sets the share of classes with a {@code @PostConstruct} method.
+     *
+     * @param postConstructRatio ratio between 0 and 1 (default: 0.2)
+     * @return the generator
+     */
+    public SyntheticGraphGenerator postConstructRatio(double postConstructRatio) {
+        this.postConstructRatio = checkRatio(postConstructRatio);
+        return this;
+    }
+
+    /**
+     * Sets the share of classes which are injected by an interface. The interface is bound to its implementation
+     * with a provider class (see {@link SyntheticGraph#registerProviders}).
+     *
+     * @param interfaceRatio ratio between 0 and 1 (default: 0.1)
+     * @return the generator
+     */
+    public SyntheticGraphGenerator interfaceRatio(double interfaceRatio) {
+        this.interfaceRatio = checkRatio(interfaceRatio);
+        return this;
+    }
+
+    /**
+     * Sets the share of classes which are created by a provider class. Such classes have a constructor with all
+     * dependencies without {@code @Inject}; the provider has the dependencies injected and calls the constructor.
+     *
+     * @param providerRatio ratio between 0 and 1 (default: 0.05)
+     * @return the generator
+     */
+    public SyntheticGraphGenerator providerRatio(double providerRatio) {
+        this.providerRatio = checkRatio(providerRatio);
+        return this;
+    }
+
+    /**
+     * Sets the seed of the random choices.
+     *
+     * @param seed the seed (default: 0)
+     * @return the generator
+     */
+    public SyntheticGraphGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Generates the classes and defines them in a new class loader. Classes are only loaded when requested.
+     *
+     * @return the generated graph
+     */
+    public SyntheticGraph generate() {
+        checkArgument(depth <= classCount, "Depth may not be larger than the class count");
+        List<Node> nodes = createNodes();
+
+        ClassPool pool = new ClassPool(true);
+        pool.appendClassPath(new LoaderClassPath(SyntheticGraphGenerator.class.getClassLoader()));
+        String nodeTypeName = rootPackage + ".Node";
+        List<CtClass> ctClasses = new ArrayList<>();
+        CtClass nodeType = pool.makeInterface(nodeTypeName);
+        ctClasses.add(nodeType);
+
+        // Declare all types first so that they can reference each other
+        for (Node node : nodes) {
+            node.ctClass = pool.makeClass(node.className);
+            node.ctClass.addInterface(nodeType);
+            ctClasses.add(node.ctClass);
+            if (node.interfaceName != null) {
+                CtClass ctInterface = pool.makeInterface(node.interfaceName, nodeType);
+                node.ctClass.addInterface(ctInterface);
+                ctClasses.add(ctInterface);
+            }
+        }
+
+        Map<String, byte[]> bytecodes = new HashMap<>();
+        List<String> classNames = new ArrayList<>(nodes.size());
+        List<String> typeNames = new ArrayList<>(nodes.size());
+        Map<String, String> providerNames = new HashMap<>();
+        for (Node node : nodes) {
+            generateMembers(node);
+            classNames.add(node.className);
+            typeNames.add(node.getTypeName());
+            if (node.providerName != null) {
+                ctClasses.add(generateProvider(pool, node));
+                providerNames.put(node.getTypeName(), node.providerName);
+            }
+        }
+
+        for (CtClass ctClass : ctClasses) {
+            try {
+                bytecodes.put(ctClass.getName(), ctClass.toBytecode());
+            } catch (IOException | CannotCompileException e) {
+                throw new InjectorException("Could not generate class '" + ctClass.getName() + "'", e);
+            }
+        }
+        ctClasses.forEach(CtClass::detach);
+
+        List<String> rootTypeNames = new ArrayList<>();
+        for (Node node : nodes) {
+            if (node.layer == depth - 1) {
+                rootTypeNames.add(node.getTypeName());
+            }
+        }
+        GeneratedClassLoader classLoader =
+            new GeneratedClassLoader(SyntheticGraphGenerator.class.getClassLoader(), bytecodes);
+        return new SyntheticGraph(classLoader, rootPackage, nodeTypeName, classNames, typeNames, rootTypeNames,
+            providerNames);
+    }
+
+    private List<Node> createNodes() {
+        Random random = new Random(seed);
+        List<Node> nodes = new ArrayList<>(classCount);
+        // Start index of each layer, plus the end index of the last layer
+        int[] layerStarts = new int[depth + 1];
+        for (int layer = 0; layer <= depth; ++layer) {
+            layerStarts[layer] = (int) ((long) classCount * layer / depth);
+        }
+
+        for (int layer = 0; layer < depth; ++layer) {
+            for (int i = layerStarts[layer]; i < layerStarts[layer + 1]; ++i) {
+                Node node = new Node(layer);
+                node.className = rootPackage + ".C" + i;
+                node.fieldInjection = random.nextDouble() < fieldInjectionRatio;
+                node.postConstruct = random.nextDouble() < postConstructRatio;
+                node.interfaceName = random.nextDouble() < interfaceRatio ? rootPackage + ".I" + i : null;
+                node.createdByProvider = random.nextDouble() < providerRatio;
+                if (node.createdByProvider || node.interfaceName != null) {
+                    node.providerName = rootPackage + ".P" + i;
+                }
+                if (layer > 0) {
+                    // One dependency from the layer below to guarantee the depth, the others from any lower layer
+                    int previousLayerSize = layerStarts[layer] - layerStarts[layer - 1];
+                    node.dependencies.add(nodes.get(layerStarts[layer - 1] + random.nextInt(previousLayerSize)));
+                    for (int d = 1; d < fanOut; ++d) {
+                        node.dependencies.add(nodes.get(random.nextInt(layerStarts[layer])));
+                    }
+                }
+                nodes.add(node);
+            }
+        }
+        return nodes;
+    }
+
+    private void generateMembers(Node node) {
+        CtClass ctClass = node.ctClass;
+        try {
+            StringBuilder parameters = new StringBuilder();
+            StringBuilder assignments = new StringBuilder();
+            for (int d = 0; d < node.dependencies.size(); ++d) {
+                String type = node.dependencies.get(d).getTypeName();
+                CtField field = CtField.make("private " + type + " d" + d + ";", ctClass);
+                if (node.fieldInjection && !node.createdByProvider) {
+                    addAnnotation(field.getFieldInfo().getConstPool(), field.getFieldInfo()::addAttribute, INJECT);
+                }
+                ctClass.addField(field);
+                parameters.append(d == 0 ? "" : ", ").append(type).append(" d").append(d);
+                assignments.append("this.d").append(d).append(" = d").append(d).append(';');
+            }
+            ctClass.addField(CtField.make("public boolean initialized;", ctClass));
+
+            CtConstructor constructor;
+            if (node.fieldInjection && !node.createdByProvider) {
+                constructor = CtNewConstructor.make("public " + simpleName(node.className) + "() {}", ctClass);
+            } else {
+                constructor = CtNewConstructor.make("public " + simpleName(node.className)
+                    + "(" + parameters + ") {" + assignments + "}", ctClass);
+                if (!node.createdByProvider) {
+                    addAnnotation(constructor.getMethodInfo().getConstPool(),
+                        constructor.getMethodInfo()::addAttribute, INJECT);
+                }
+            }
+            ctClass.addConstructor(constructor);
+
+            if (node.postConstruct) {
+                CtMethod method = CtNewMethod.make("public void init() { this.initialized = true; }", ctClass);
+                addAnnotation(method.getMethodInfo().getConstPool(), method.getMethodInfo()::addAttribute,
+                    POST_CONSTRUCT);
+                ctClass.addMethod(method);
+            } else {
+                // Objects without @PostConstruct method count as initialized once constructed
+                constructor.insertAfter("this.initialized = true;");
+            }
+        } catch (CannotCompileException e) {
+            throw new InjectorException("Could not generate class '" + node.className + "'", e);
+        }
+    }
+
+    /**
+     * Generates the provider of the given node: it either creates the node's class with its dependencies, or
+     * returns the injected implementation of the node's interface.
+     */
+    private static CtClass generateProvider(ClassPool pool, Node node) {
+        CtClass provider = pool.makeClass(node.providerName);
+        try {
+            provider.addInterface(pool.get(PROVIDER));
+            StringBuilder arguments = new StringBuilder();
+            List<String> fieldTypes = new ArrayList<>();
+            if (node.createdByProvider) {
+                for (int d = 0; d < node.dependencies.size(); ++d) {
+                    fieldTypes.add(node.dependencies.get(d).getTypeName());
+                    arguments.append(d == 0 ? "" : ", ").append("d").append(d);
+                }
+            } else {
+                fieldTypes.add(node.className);
+            }
+
+            for (int d = 0; d < fieldTypes.size(); ++d) {
+                CtField field = CtField.make("private " + fieldTypes.get(d) + " d" + d + ";", provider);
+                addAnnotation(field.getFieldInfo().getConstPool(), field.getFieldInfo()::addAttribute, INJECT);
+                provider.addField(field);
+            }
+            provider.addConstructor(CtNewConstructor.defaultConstructor(provider));
+            String body = node.createdByProvider
+                ? "return new " + node.className + "(" + arguments + ");"
+                : "return this.d0;";
+            provider.addMethod(CtNewMethod.make("public Object get() { " + body + " }", provider));
+        } catch (CannotCompileException | NotFoundException e) {
+            throw new InjectorException("Could not generate class '" + node.providerName + "'", e);
+        }
+        return provider;
+    }
+
+    private static void addAnnotation(ConstPool constPool, AttributeAdder target, String annotationType) {
+        AnnotationsAttribute attribute = new AnnotationsAttribute(constPool, AnnotationsAttribute.visibleTag);
+        attribute.addAnnotation(new Annotation(annotationType, constPool));
+        target.add(attribute);
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    private static double checkRatio(double ratio) {
+        checkArgument(ratio >= 0 && ratio <= 1, "Ratio must be between 0 and 1");
+        return ratio;
+    }
+
+    @FunctionalInterface
+    private interface AttributeAdder {
+
+        void add(AnnotationsAttribute attribute);
+    }
+
+    /**
+     * A class of the graph during generation.
+     */
+    private static final class Node {
+
+        final int layer;
+        final List<Node> dependencies = new ArrayList<>();
+        String className;
+        String interfaceName;
+        String providerName;
+        boolean fieldInjection;
+        boolean postConstruct;
+        boolean createdByProvider;
+        CtClass ctClass;
+
+        Node(int layer) {
+            this.layer = layer;
+        }
+
+        /**
+         * @return the type by which the class is injected: its interface if applicable, otherwise the class
+         */
+        String getTypeName() {
+            return interfaceName == null ? className : interfaceName;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ch.jalu.injector.benchmarks.samples;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates any number of distinct classes from one class by defining its bytecode in separate class loaders.
+ * All other classes (e.g. the class's interfaces) are shared.
+ */
+public final class ClassCopies {
+
+    private ClassCopies() {
+    }
+
+    /**
+     * Defines the given class in the given number of new class loaders.
+     *
+     * @param template the class to copy
+     * @param commonType supertype of the template, which is shared by all copies
+     * @param count the number of copies
+     * @param <T> the common type
+     * @return the copies, all of which are distinct classes with the same name
+     */
+    public static <T> List<Class<? extends T>> create(Class<? extends T> template, Class<T> commonType,
+                                                      int count) {
+        byte[] bytecode = readBytecode(template);
+        List<Class<? extends T>> copies = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            CopyingClassLoader classLoader = new CopyingClassLoader(template, bytecode);
+            copies.add(classLoader.defineCopy().asSubclass(commonType));
+        }
+        return copies;
+    }
+
+    private static byte[] readBytecode(Class<?> clazz) {
+        String resource = clazz.getName().replace('.', '/') + ".class";
+        try (InputStream is = clazz.getClassLoader().getResourceAsStream(resource)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = is.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class CopyingClassLoader extends ClassLoader {
+
+        private final String name;
+        private final byte[] bytecode;
+
+        CopyingClassLoader(Class<?> template, byte[] bytecode) {
+            super(template.getClassLoader());
+            this.name = template.getName();
+            this.bytecode = bytecode;
+        }
+
+        Class<?> defineCopy() {
+            return defineClass(name, bytecode, 0, bytecode.length);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ch.jalu.injector.benchmarks.samples;
+
+import javax.inject.Inject;
+
+/**
+ * Chain of eight classes, each depending on the next one.
+ */
+public final class DeepGraph {
+
+    private DeepGraph() {
+    }
+
+    public static class Level1 {
+        @Inject
+        Level1(Level2 next) {
+        }
+    }
+
+    public static class Level2 {
+        @Inject
+        Level2(Level3 next) {
+        }
+    }
+
+    public static class Level3 {
+        @Inject
+        Level3(Level4 next) {
+        }
+    }
+
+    public static class Level4 {
+        @Inject
+        Level4(Level5 next) {
+        }
+    }
+
+    public static class Level5 {
+        @Inject
+        Level5(Level6 next) {
+        }
+    }
+
+    public static class Level6 {
+        @Inject
+        Level6(Level7 next) {
+        }
+    }
+
+    public static class Level7 {
+        @Inject
+        Level7(Level8 next) {
+        }
+    }
+
+    public static class Level8 {
+        public Level8() {
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ch.jalu.injector.benchmarks.samples;
+
+/**
+ * Common type of the singletons retrieved by type; see {@link ClassCopies}.
+ */
+public interface Marker {
+
+    /**
+     * Implementation whose class is copied into separate class loaders.
+     */
+    class Impl implements Marker {
+        public Impl() {
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package ch.jalu.injector.benchmarks.samples;
+
+import ch.jalu.injector.factory.Factory;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+/**
+ * Has a {@link Provider} and a {@link Factory} injected.
+ */
+public class ProviderHolder {
+
+    @Inject
+    private Provider<ShallowGraph> provider;
+    @Inject
+    private Factory<ShallowGraph> factory;
+
+    public ProviderHolder() {
+    }
+
+    public Provider<ShallowGraph> getProvider() {
+        return provider;
+    }
+
+    public Factory<ShallowGraph> getFactory() {
+        return factory;
+    }
+}
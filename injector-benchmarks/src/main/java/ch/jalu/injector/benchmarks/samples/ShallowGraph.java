@@ -0,0 +1,10 @@
+package ch.jalu.injector.benchmarks.samples;
+
+/**
+ * Class without any dependencies.
+ */
+public class ShallowGraph {
+
+    public ShallowGraph() {
+    }
+}
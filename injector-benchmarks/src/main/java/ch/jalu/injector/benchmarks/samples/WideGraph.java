@@ -0,0 +1,56 @@
+package ch.jalu.injector.benchmarks.samples;
+
+import javax.inject.Inject;
+
+/**
+ * Class with eight direct dependencies (constructor and field injection), none of which have dependencies.
+ */
+public final class WideGraph {
+
+    private WideGraph() {
+    }
+
+    public static class Root {
+        @Inject
+        Root(A a, B b, C c, D d) {
+        }
+    }
+
+    public static class FieldRoot {
+        @Inject
+        private E e;
+        @Inject
+        private F f;
+        @Inject
+        private G g;
+        @Inject
+        private H h;
+
+        public FieldRoot() {
+        }
+    }
+
+    public static class A {
+    }
+
+    public static class B {
+    }
+
+    public static class C {
+    }
+
+    public static class D {
+    }
+
+    public static class E {
+    }
+
+    public static class F {
+    }
+
+    public static class G {
+    }
+
+    public static class H {
+    }
+}
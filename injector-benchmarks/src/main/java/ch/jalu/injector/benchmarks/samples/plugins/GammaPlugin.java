@@ -0,0 +1,7 @@
+package ch.jalu.injector.benchmarks.samples.plugins;
+
+/**
+ * Sample plugin.
+ */
+public class GammaPlugin implements Plugin {
+}
@@ -0,0 +1,7 @@
+package ch.jalu.injector.benchmarks.samples.plugins;
+
+/**
+ * Plugin type whose implementations are collected with the handlers of injector-extras.
+ */
+public interface Plugin {
+}
@@ -0,0 +1,24 @@
+package ch.jalu.injector.benchmarks.samples.plugins;
+
+import ch.jalu.injector.extras.AllInstances;
+import ch.jalu.injector.extras.AllTypes;
+
+import javax.inject.Inject;
+import java.util.Set;
+
+/**
+ * Has all plugin types and instances injected.
+ */
+public class PluginRegistry {
+
+    @Inject
+    @AllTypes(Plugin.class)
+    private Set<Class<Plugin>> pluginTypes;
+
+    @Inject
+    @AllInstances
+    private Set<Plugin> plugins;
+
+    public PluginRegistry() {
+    }
+}
@@ -0,0 +1,83 @@
+package ch.jalu.injector.benchmarks;
+
+import ch.jalu.injector.benchmarks.Baseline.Comparison;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test for {@link Baseline}.
+ */
+class BaselineTest {
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void shouldSaveAndLoadScores() throws Exception {
+        // given
+        Map<String, Double> scores = new HashMap<>();
+        scores.put("SingletonBenchmark.getSingleton", 12.3456);
+        scores.put("SingletonBenchmark.getSingleton" + Baseline.ALLOCATION_SUFFIX, 24.0);
+        scores.put("NewInstanceBenchmark.newInstance[graph-deep]", 1500.5);
+        Path file = tempDirectory.resolve("baseline.properties");
+
+        // when
+        Baseline.save(file, scores);
+        Map<String, Double> loadedScores = Baseline.load(file);
+
+        // then
+        assertThat(loadedScores.keySet(), contains("NewInstanceBenchmark.newInstance[graph-deep]",
+            "SingletonBenchmark.getSingleton", "SingletonBenchmark.getSingleton.alloc"));
+        assertThat(loadedScores.get("SingletonBenchmark.getSingleton"), closeTo(12.346, 0.0001));
+        assertThat(loadedScores.get("SingletonBenchmark.getSingleton.alloc"), equalTo(24.0));
+        assertThat(loadedScores.get("NewInstanceBenchmark.newInstance[graph-deep]"), equalTo(1500.5));
+    }
+
+    @Test
+    void shouldCompareScoresPresentInBoth() {
+        // given
+        Map<String, Double> baseline = new HashMap<>();
+        baseline.put("a", 100.0);
+        baseline.put("b", 100.0);
+        baseline.put("c", 0.0);
+        baseline.put("removed", 50.0);
+        Map<String, Double> current = new HashMap<>();
+        current.put("a", 105.0);
+        current.put("b", 120.0);
+        current.put("c", 0.0);
+        current.put("new", 20.0);
+
+        // when
+        List<Comparison> comparisons = Baseline.compare(baseline, current);
+
+        // then
+        assertThat(comparisons.size(), equalTo(3));
+        assertThat(comparisons.get(0).getKey(), equalTo("a"));
+        assertThat(comparisons.get(0).getChange(), closeTo(0.05, 0.0001));
+        assertThat(comparisons.get(0).isRegression(0.1), equalTo(false));
+        assertThat(comparisons.get(1).getKey(), equalTo("b"));
+        assertThat(comparisons.get(1).getChange(), closeTo(0.2, 0.0001));
+        assertThat(comparisons.get(1).isRegression(0.1), equalTo(true));
+        assertThat(comparisons.get(2).getKey(), equalTo("c"));
+        assertThat(comparisons.get(2).isRegression(0.1), equalTo(false));
+    }
+
+    @Test
+    void shouldTreatNewAllocationAsRegression() {
+        // given
+        Comparison comparison = new Comparison("x.alloc", 0.0, 16.0);
+
+        // when / then
+        assertThat(comparison.isRegression(0.1), equalTo(true));
+    }
+}
@@ -0,0 +1,42 @@
+package ch.jalu.injector.benchmarks.coldstart;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test for {@link ColdStartHarness}.
+ */
+class ColdStartHarnessTest {
+
+    @Test
+    void shouldSummarizeResults() {
+        // given
+        List<ColdStartResult> results = Arrays.asList(
+            result(ColdStartResult.FIRST_SINGLETON, 120.0),
+            result(ColdStartResult.FIRST_SINGLETON, 100.0),
+            result(ColdStartResult.FIRST_SINGLETON, 180.0),
+            result(ColdStartResult.FIRST_SINGLETON, 110.0));
+
+        // when
+        Map<String, double[]> summary = ColdStartHarness.summarize(results);
+
+        // then
+        assertThat(summary.keySet(), contains(ColdStartResult.FIRST_SINGLETON));
+        double[] values = summary.get(ColdStartResult.FIRST_SINGLETON);
+        assertThat(values[0], equalTo(115.0));
+        assertThat(values[1], equalTo(100.0));
+        assertThat(values[2], equalTo(180.0));
+    }
+
+    private static ColdStartResult result(String metric, double value) {
+        return new ColdStartResult(Collections.singletonMap(metric, value));
+    }
+}
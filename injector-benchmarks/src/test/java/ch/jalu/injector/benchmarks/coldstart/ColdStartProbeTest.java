@@ -0,0 +1,37 @@
+package ch.jalu.injector.benchmarks.coldstart;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+/**
+ * Test for {@link ColdStartProbe}.
+ */
+class ColdStartProbeTest {
+
+    @Test
+    void shouldRunScenarioAndReportMetrics() throws Exception {
+        // given
+        long startMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+
+        // when
+        ColdStartResult result = ColdStartProbe.run(ColdStartScenario.WIDE, startMillis, startNanos);
+
+        // then
+        Map<String, Double> metrics = result.getMetrics();
+        assertThat(metrics.keySet(), contains(ColdStartResult.JVM_STARTUP, ColdStartResult.FIRST_SINGLETON,
+            ColdStartResult.TOTAL_STARTUP, ColdStartResult.LOADED_CLASSES, ColdStartResult.SCENARIO_CLASSES,
+            ColdStartResult.PEAK_HEAP));
+        assertThat(metrics.get(ColdStartResult.FIRST_SINGLETON), greaterThan(0.0));
+        assertThat(metrics.get(ColdStartResult.TOTAL_STARTUP),
+            greaterThanOrEqualTo(metrics.get(ColdStartResult.FIRST_SINGLETON)));
+        assertThat(metrics.get(ColdStartResult.LOADED_CLASSES), greaterThan(0.0));
+        assertThat(metrics.get(ColdStartResult.PEAK_HEAP), greaterThan(0.0));
+    }
+}
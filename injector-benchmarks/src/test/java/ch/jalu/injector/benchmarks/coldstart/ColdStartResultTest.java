@@ -0,0 +1,45 @@
+package ch.jalu.injector.benchmarks.coldstart;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Test for {@link ColdStartResult}.
+ */
+class ColdStartResultTest {
+
+    @Test
+    void shouldFormatAndParseResult() {
+        // given
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        metrics.put(ColdStartResult.FIRST_SINGLETON, 104.25);
+        metrics.put(ColdStartResult.LOADED_CLASSES, 980.0);
+        ColdStartResult result = new ColdStartResult(metrics);
+
+        // when
+        String line = result.format();
+        ColdStartResult parsedResult = ColdStartResult.parse(line);
+
+        // then
+        assertThat(line, equalTo("COLD_START firstSingletonMs=104.250 loadedClasses=980.000"));
+        assertThat(parsedResult.getMetrics().keySet(),
+            contains(ColdStartResult.FIRST_SINGLETON, ColdStartResult.LOADED_CLASSES));
+        assertThat(parsedResult.getMetrics(), equalTo(metrics));
+    }
+
+    @Test
+    void shouldIgnoreOtherLines() {
+        // given / when
+        ColdStartResult result = ColdStartResult.parse("Picked up JAVA_TOOL_OPTIONS: -Xmx1g");
+
+        // then
+        assertThat(result, nullValue());
+    }
+}
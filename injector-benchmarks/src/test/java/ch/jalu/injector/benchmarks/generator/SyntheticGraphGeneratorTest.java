@@ -0,0 +1,129 @@
+package ch.jalu.injector.benchmarks.generator;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.exceptions.InjectorException;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link SyntheticGraphGenerator}.
+ */
+class SyntheticGraphGeneratorTest {
+
+    @Test
+    void shouldGenerateGraphWhichCanBeResolved() throws Exception {
+        // given
+        SyntheticGraph graph = new SyntheticGraphGenerator()
+            .classCount(500)
+            .depth(12)
+            .fanOut(4)
+            .fieldInjectionRatio(0.5)
+            .postConstructRatio(0.3)
+            .interfaceRatio(0.2)
+            .providerRatio(0.1)
+            .seed(42)
+            .generate();
+        Injector injector = graph.createInjector();
+
+        // when
+        for (Class<?> rootType : graph.getRootTypes()) {
+            injector.getSingleton(rootType);
+        }
+
+        // then
+        assertThat(graph.getClassCount(), equalTo(500));
+        assertThat(graph.getGeneratedTypeCount(), greaterThan(500));
+        assertThat(graph.getRootTypes().size(), greaterThan(0));
+        Collection<?> nodes = injector.retrieveAllOfType(graph.getNodeType());
+        assertThat(nodes.size(), greaterThan(graph.getRootTypes().size()));
+        for (Object node : nodes) {
+            Field initialized = node.getClass().getField("initialized");
+            assertThat(node.getClass().getName(), initialized.getBoolean(node), equalTo(true));
+        }
+    }
+
+    @Test
+    void shouldCreateAllClassesOfLargeGraph() {
+        // given
+        SyntheticGraph graph = new SyntheticGraphGenerator()
+            .classCount(5000)
+            .depth(50)
+            .seed(7)
+            .generate();
+        Injector injector = graph.createInjector();
+
+        // when
+        for (Class<?> type : graph.getTypes()) {
+            injector.getSingleton(type);
+        }
+
+        // then
+        // Objects bound to an interface are registered as singleton for the interface and for their class
+        Set<Object> nodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        nodes.addAll(injector.retrieveAllOfType(graph.getNodeType()));
+        assertThat(nodes, hasSize(5000));
+    }
+
+    @Test
+    void shouldGenerateConfiguredInjectionStyles() throws Exception {
+        // given / when
+        SyntheticGraph graph = new SyntheticGraphGenerator()
+            .classCount(20)
+            .depth(2)
+            .fanOut(2)
+            .fieldInjectionRatio(1)
+            .interfaceRatio(0)
+            .providerRatio(0)
+            .generate();
+
+        // then
+        Class<?> root = graph.getRootTypes().get(0);
+        Constructor<?> constructor = root.getDeclaredConstructor();
+        assertThat(constructor, notNullValue());
+        assertThat(root.getDeclaredField("d0").isAnnotationPresent(Inject.class), equalTo(true));
+        assertThat(root.getDeclaredField("d1").isAnnotationPresent(Inject.class), equalTo(true));
+        assertThat(graph.getNodeType().isAssignableFrom(root), equalTo(true));
+    }
+
+    @Test
+    void shouldGenerateSameGraphForSameSeed() throws Exception {
+        // given
+        SyntheticGraphGenerator generator = new SyntheticGraphGenerator().classCount(100).depth(5).seed(3);
+
+        // when
+        SyntheticGraph graph1 = generator.generate();
+        SyntheticGraph graph2 = generator.generate();
+
+        // then
+        assertThat(graph1.getGeneratedTypeCount(), equalTo(graph2.getGeneratedTypeCount()));
+        List<String> types1 = graph1.getTypes().stream().map(Class::getName).collect(Collectors.toList());
+        List<String> types2 = graph2.getTypes().stream().map(Class::getName).collect(Collectors.toList());
+        assertThat(types1, equalTo(types2));
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        // given
+        SyntheticGraphGenerator generator = new SyntheticGraphGenerator().classCount(5).depth(10);
+
+        // when / then
+        assertThrows(InjectorException.class, generator::generate);
+        assertThrows(InjectorException.class, () -> generator.postConstructRatio(1.5));
+    }
+}
@@ -0,0 +1,29 @@
+package ch.jalu.injector.extras;
+
+import ch.jalu.injector.annotations.Eager;
+import ch.jalu.injector.extras.scanning.ClasspathScanner;
+
+import java.util.Set;
+
+/**
+ * Finds the classes annotated with {@link Eager} in a package, which can then be passed to
+ * {@link ch.jalu.injector.Injector#initializeAll}.
+ * <p>
+ * The class files of the package are scanned without loading them; only classes which reference the annotation
+ * are loaded to verify that they are annotated with it.
+ */
+public final class EagerClasses {
+
+    private EagerClasses() {
+    }
+
+    /**
+     * Returns all classes in the given package (and its subpackages) which are annotated with {@link Eager}.
+     *
+     * @param rootPackage the package to search in
+     * @return all eager classes in the package
+     */
+    public static Set<Class<?>> findInPackage(String rootPackage) {
+        return ClasspathScanner.findAnnotatedClasses(rootPackage, Eager.class);
+    }
+}
@@ -5,11 +5,11 @@ import ch.jalu.injector.context.ResolutionContext;
 import ch.jalu.injector.context.ResolutionType;
 import ch.jalu.injector.exceptions.InjectorException;
 import ch.jalu.injector.extras.AllInstances;
+import ch.jalu.injector.extras.scanning.SubtypeLookup;
 import ch.jalu.injector.handlers.dependency.TypeSafeAnnotationHandler;
 import ch.jalu.injector.handlers.instantiation.Resolution;
 import ch.jalu.injector.utils.InjectorUtils;
 import ch.jalu.injector.utils.ReflectionUtils;
-import org.reflections.Reflections;
 
 import java.util.Arrays;
 import java.util.HashSet;
@@ -21,15 +21,30 @@ import java.util.stream.Collectors;
  * Handler for {@link AllInstances}. Finds all subtypes of the given dependency,
  * instantiates them and assigns the collection to the given dependency.
  * <p>
- * Requires that you add the <a href="https://github.com/ronmamo/reflections">reflections project</a>
- * as dependency to be able to use this.
+ * The subtypes are taken from the index generated by the annotation processor of injector-apt if available.
+ * Otherwise, the class files of the package are scanned when the first subtypes are requested.
  */
 public class AllInstancesAnnotationHandler extends TypeSafeAnnotationHandler<AllInstances> {
 
-    private Reflections reflections;
+    private final SubtypeLookup subtypeLookup;
 
+    /**
+     * Constructor.
+     *
+     * @param rootPackage the package to find the subtypes in
+     * @see SubtypeLookup#forPackage
+     */
     public AllInstancesAnnotationHandler(String rootPackage) {
-        reflections = new Reflections(rootPackage);
+        this(SubtypeLookup.forPackage(rootPackage));
+    }
+
+    /**
+     * Constructor. Allows to share a lookup between handlers.
+     *
+     * @param subtypeLookup the lookup to find subtypes with
+     */
+    public AllInstancesAnnotationHandler(SubtypeLookup subtypeLookup) {
+        this.subtypeLookup = subtypeLookup;
     }
 
     @Override
@@ -50,7 +65,7 @@ public class AllInstancesAnnotationHandler extends TypeSafeAnnotationHandler<All
         }
 
         @SuppressWarnings("unchecked")
-        Set<Class<?>> subTypes = reflections.getSubTypesOf(genericType);
+        Set<Class<?>> subTypes = subtypeLookup.getSubTypesOf(genericType);
         ResolutionType resolutionType = context.getIdentifier().getResolutionType();
         List<ObjectIdentifier> dependencies = subTypes.stream()
             .filter(InjectorUtils::canInstantiate)
@@ -85,5 +100,10 @@ public class AllInstancesAnnotationHandler extends TypeSafeAnnotationHandler<All
         public boolean isInstantiation() {
             return true;
         }
+
+        @Override
+        public boolean isCacheable() {
+            return true;
+        }
     }
 }
@@ -2,12 +2,12 @@ package ch.jalu.injector.extras.handlers;
 
 import ch.jalu.injector.context.ResolutionContext;
 import ch.jalu.injector.extras.AllTypes;
+import ch.jalu.injector.extras.scanning.SubtypeLookup;
 import ch.jalu.injector.handlers.dependency.TypeSafeAnnotationHandler;
 import ch.jalu.injector.handlers.instantiation.Resolution;
 import ch.jalu.injector.handlers.instantiation.SimpleResolution;
 import ch.jalu.injector.utils.InjectorUtils;
 import ch.jalu.injector.utils.ReflectionUtils;
-import org.reflections.Reflections;
 
 import java.util.Set;
 
@@ -15,15 +15,30 @@ import java.util.Set;
  * Annotation handler for {@link AllTypes}. Dependencies with this annotation will be
  * assigned a collection of all known subtypes in the project's package.
  * <p>
- * Requires that you add the <a href="https://github.com/ronmamo/reflections">reflections project</a>
- * as dependency to be able to use this.
+ * The subtypes are taken from the index generated by the annotation processor of injector-apt if available.
+ * Otherwise, the class files of the package are scanned when the first subtypes are requested.
  */
 public class AllTypesAnnotationHandler extends TypeSafeAnnotationHandler<AllTypes> {
 
-    private Reflections reflections;
+    private final SubtypeLookup subtypeLookup;
 
+    /**
+     * Constructor.
+     *
+     * @param rootPackage the package to find the subtypes in
+     * @see SubtypeLookup#forPackage
+     */
     public AllTypesAnnotationHandler(String rootPackage) {
-        reflections = new Reflections(rootPackage);
+        this(SubtypeLookup.forPackage(rootPackage));
+    }
+
+    /**
+     * Constructor. Allows to share a lookup between handlers.
+     *
+     * @param subtypeLookup the lookup to find subtypes with
+     */
+    public AllTypesAnnotationHandler(SubtypeLookup subtypeLookup) {
+        this.subtypeLookup = subtypeLookup;
     }
 
     @Override
@@ -34,7 +49,7 @@ public class AllTypesAnnotationHandler extends TypeSafeAnnotationHandler<AllType
     @Override
     public Resolution<?> resolveValueSafely(ResolutionContext context, AllTypes annotation) {
         InjectorUtils.checkNotNull(annotation.value(), "Annotation value may not be null");
-        Set<?> subTypes = reflections.getSubTypesOf(annotation.value());
+        Set<?> subTypes = subtypeLookup.getSubTypesOf(annotation.value());
 
         Class<?> rawType = context.getIdentifier().getTypeAsClass();
         return new SimpleResolution<>(ReflectionUtils.toSuitableCollectionType(rawType, subTypes));
@@ -0,0 +1,208 @@
+package ch.jalu.injector.extras.scanning;
+
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Information about a class read from its class file, without loading the class. Only the constant pool and
+ * the header following it are parsed.
+ */
+final class ClassFileInfo {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private final String name;
+    private final List<String> supertypes;
+    private final Set<String> referencedAnnotations;
+
+    ClassFileInfo(String name, List<String> supertypes, Set<String> referencedAnnotations) {
+        this.name = name;
+        this.supertypes = supertypes;
+        this.referencedAnnotations = referencedAnnotations;
+    }
+
+    /**
+     * @return the binary name of the class
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @return binary names of the superclass (unless it is Object) and of the interfaces of the class
+     */
+    List<String> getSupertypes() {
+        return supertypes;
+    }
+
+    /**
+     * Returns whether the class file references the given annotation, which is the case if the class is annotated
+     * with it. As any other use of the annotation type is also a reference, this is only a hint which must be
+     * verified on the loaded class.
+     *
+     * @param annotationName the binary name of the annotation, as passed to {@link #read}
+     * @return true if the class file references the annotation type, false otherwise
+     */
+    boolean referencesAnnotation(String annotationName) {
+        return referencedAnnotations.contains(annotationName);
+    }
+
+    /**
+     * Reads the class file in the given buffer.
+     *
+     * @param buffer the contents of the class file
+     * @param annotationNames binary names of the annotations to track (see {@link #referencesAnnotation})
+     * @return the info of the class
+     * @throws IllegalArgumentException if the buffer does not contain a valid class file
+     */
+    static ClassFileInfo read(ByteBuffer buffer, Collection<String> annotationNames) {
+        try {
+            return readUnchecked(buffer, annotationNames);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated or malformed class file", e);
+        }
+    }
+
+    private static ClassFileInfo readUnchecked(ByteBuffer buffer, Collection<String> annotationNames) {
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a class file");
+        }
+        buffer.getShort(); // minor version
+        buffer.getShort(); // major version
+
+        // Position of the Utf8 entries in the buffer, and the name index of the Class entries
+        final int constantPoolCount = buffer.getShort() & 0xFFFF;
+        final int[] utf8Positions = new int[constantPoolCount];
+        final int[] classNameIndices = new int[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; ++i) {
+            int tag = buffer.get() & 0xFF;
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    utf8Positions[i] = buffer.position();
+                    skip(buffer, buffer.getShort() & 0xFFFF);
+                    break;
+                case CONSTANT_CLASS:
+                    classNameIndices[i] = buffer.getShort() & 0xFFFF;
+                    break;
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    skip(buffer, 2);
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    skip(buffer, 3);
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    skip(buffer, 4);
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    skip(buffer, 8);
+                    ++i; // 8-byte constants take up two entries
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        buffer.getShort(); // access flags
+        final String name = readClassName(buffer, utf8Positions, classNameIndices, buffer.getShort() & 0xFFFF);
+        final int superclassIndex = buffer.getShort() & 0xFFFF;
+        final int interfacesCount = buffer.getShort() & 0xFFFF;
+
+        List<String> supertypes = new ArrayList<>(interfacesCount + 1);
+        if (superclassIndex != 0) {
+            String superclass = readClassName(buffer, utf8Positions, classNameIndices, superclassIndex);
+            if (!Object.class.getName().equals(superclass)) {
+                supertypes.add(superclass);
+            }
+        }
+        for (int i = 0; i < interfacesCount; ++i) {
+            supertypes.add(readClassName(buffer, utf8Positions, classNameIndices, buffer.getShort() & 0xFFFF));
+        }
+
+        return new ClassFileInfo(name, supertypes,
+            findReferencedAnnotations(buffer, utf8Positions, annotationNames));
+    }
+
+    private static Set<String> findReferencedAnnotations(ByteBuffer buffer, int[] utf8Positions,
+                                                         Collection<String> annotationNames) {
+        if (annotationNames.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> referencedAnnotations = new HashSet<>();
+        for (String annotationName : annotationNames) {
+            byte[] descriptor = ("L" + annotationName.replace('.', '/') + ";").getBytes(StandardCharsets.UTF_8);
+            for (int position : utf8Positions) {
+                if (position != 0 && utf8Equals(buffer, position, descriptor)) {
+                    referencedAnnotations.add(annotationName);
+                    break;
+                }
+            }
+        }
+        return referencedAnnotations;
+    }
+
+    private static String readClassName(ByteBuffer buffer, int[] utf8Positions, int[] classNameIndices,
+                                        int classIndex) {
+        int position = utf8Positions[classNameIndices[classIndex]];
+        int length = buffer.getShort(position) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; ++i) {
+            bytes[i] = buffer.get(position + 2 + i);
+        }
+        // Class names are in modified UTF-8, which only differs from UTF-8 for characters not used in class names
+        return new String(bytes, StandardCharsets.UTF_8).replace('/', '.');
+    }
+
+    private static boolean utf8Equals(ByteBuffer buffer, int position, byte[] expected) {
+        if ((buffer.getShort(position) & 0xFFFF) != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; ++i) {
+            if (buffer.get(position + 2 + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void skip(ByteBuffer buffer, int bytes) {
+        // Cast to Buffer: ByteBuffer#position(int) only exists as of Java 9
+        ((Buffer) buffer).position(buffer.position() + bytes);
+    }
+}
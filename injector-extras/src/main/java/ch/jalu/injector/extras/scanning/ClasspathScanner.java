@@ -0,0 +1,224 @@
+package ch.jalu.injector.extras.scanning;
+
+import ch.jalu.injector.exceptions.InjectorException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Scans the class files of a package and its subpackages without loading any classes. Only the constant pool
+ * and the supertypes of each class file are read (see {@link ClassFileInfo}).
+ * <p>
+ * The package's locations are taken from the class loader: class files in directories are read with memory
+ * mapping, jars are opened as a zip {@link FileSystem}. The locations and the class files within them are
+ * processed in parallel. Locations other than directories and jars on the file system are skipped.
+ */
+public final class ClasspathScanner {
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    private final ClassLoader classLoader;
+    private final String rootPackage;
+    private final Collection<String> annotationNames;
+    private final String packagePath;
+
+    /**
+     * Constructor.
+     *
+     * @param classLoader the class loader whose locations should be scanned
+     * @param rootPackage the package to scan
+     * @param annotationNames binary names of the annotations to track (see {@link ClassFileInfo#referencesAnnotation})
+     */
+    ClasspathScanner(ClassLoader classLoader, String rootPackage, Collection<String> annotationNames) {
+        this.classLoader = classLoader;
+        this.rootPackage = rootPackage;
+        this.annotationNames = annotationNames;
+        this.packagePath = rootPackage.replace('.', '/');
+    }
+
+    /**
+     * Returns all classes in the given package (and its subpackages) which are annotated with the given
+     * annotation. Only the classes whose class file references the annotation are loaded (without being
+     * initialized). Annotations inherited from a superclass are not taken into account.
+     *
+     * @param rootPackage the package to search in
+     * @param annotation the annotation to search for
+     * @return all classes in the package with the annotation
+     */
+    public static Set<Class<?>> findAnnotatedClasses(String rootPackage, Class<? extends Annotation> annotation) {
+        ClassLoader classLoader = getDefaultClassLoader();
+        String annotationName = annotation.getName();
+        ClasspathScanner scanner =
+            new ClasspathScanner(classLoader, rootPackage, Collections.singleton(annotationName));
+
+        Set<Class<?>> annotatedClasses = new HashSet<>();
+        for (ClassFileInfo classInfo : scanner.scan()) {
+            if (classInfo.referencesAnnotation(annotationName)) {
+                Class<?> clazz = loadClass(classLoader, classInfo.getName());
+                if (clazz.isAnnotationPresent(annotation)) {
+                    annotatedClasses.add(clazz);
+                }
+            }
+        }
+        return annotatedClasses;
+    }
+
+    /**
+     * @return the class loader to scan with by default: the context class loader or, if not set, the class loader
+     *         of this class
+     */
+    static ClassLoader getDefaultClassLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader == null ? ClasspathScanner.class.getClassLoader() : classLoader;
+    }
+
+    /**
+     * Reads all class files in the package and its subpackages.
+     *
+     * @return info of all classes in the package
+     */
+    List<ClassFileInfo> scan() {
+        List<Path> locations = findLocations();
+        try {
+            return locations.parallelStream()
+                .flatMap(location -> scanLocation(location).stream())
+                .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw new InjectorException("Could not scan package '" + rootPackage + "'", e.getCause());
+        }
+    }
+
+    /**
+     * Returns the locations of the package: the package directory for class files in a directory, or the jar
+     * file containing the package.
+     *
+     * @return the locations of the package which can be scanned
+     */
+    List<Path> findLocations() {
+        List<Path> locations = new ArrayList<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(packagePath);
+            while (resources.hasMoreElements()) {
+                Path location = toPath(resources.nextElement());
+                if (location != null) {
+                    locations.add(location);
+                }
+            }
+        } catch (IOException e) {
+            throw new InjectorException("Could not get the locations of package '" + rootPackage + "'", e);
+        }
+        return locations;
+    }
+
+    /**
+     * Reads the class files of the package in the given location.
+     *
+     * @param location the location, as returned by {@link #findLocations}
+     * @return info of all classes in the location
+     * @throws UncheckedIOException if the location could not be read
+     */
+    List<ClassFileInfo> scanLocation(Path location) {
+        try {
+            return Files.isDirectory(location) ? scanDirectory(location) : scanJar(location);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path toPath(URL location) throws IOException {
+        try {
+            if ("file".equals(location.getProtocol())) {
+                return Paths.get(location.toURI());
+            } else if ("jar".equals(location.getProtocol())) {
+                URL jarFile = ((JarURLConnection) location.openConnection()).getJarFileURL();
+                if ("file".equals(jarFile.getProtocol())) {
+                    return Paths.get(jarFile.toURI());
+                }
+            }
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid location '" + location + "'", e);
+        }
+        // Unsupported location (e.g. nested jar); skip it
+        return null;
+    }
+
+    private List<ClassFileInfo> scanDirectory(Path directory) throws IOException {
+        return readClassFiles(directory, file -> {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        });
+    }
+
+    private List<ClassFileInfo> scanJar(Path jarFile) throws IOException {
+        try (FileSystem jarFileSystem = FileSystems.newFileSystem(jarFile, (ClassLoader) null)) {
+            Path packageDirectory = jarFileSystem.getPath(packagePath);
+            if (!Files.isDirectory(packageDirectory)) {
+                return Collections.emptyList();
+            }
+            return readClassFiles(packageDirectory, file -> ByteBuffer.wrap(Files.readAllBytes(file)));
+        }
+    }
+
+    private List<ClassFileInfo> readClassFiles(Path directory, ClassFileReader reader) throws IOException {
+        List<Path> classFiles;
+        try (Stream<Path> files = Files.walk(directory)) {
+            classFiles = files
+                .filter(file -> isRegularClassFile(file.getFileName().toString()))
+                .collect(Collectors.toList());
+        }
+
+        return classFiles.parallelStream()
+            .map(file -> {
+                try {
+                    return ClassFileInfo.read(reader.read(file), annotationNames);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (IllegalArgumentException e) {
+                    throw new UncheckedIOException(new IOException("Invalid class file '" + file + "'", e));
+                }
+            })
+            .collect(Collectors.toList());
+    }
+
+    private static Class<?> loadClass(ClassLoader classLoader, String name) {
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new InjectorException("Could not load scanned class '" + name + "'", e);
+        }
+    }
+
+    private static boolean isRegularClassFile(String fileName) {
+        return fileName.endsWith(CLASS_SUFFIX)
+            && !fileName.equals("module-info.class")
+            && !fileName.equals("package-info.class");
+    }
+
+    @FunctionalInterface
+    private interface ClassFileReader {
+
+        ByteBuffer read(Path file) throws IOException;
+    }
+}
@@ -0,0 +1,151 @@
+package ch.jalu.injector.extras.scanning;
+
+import ch.jalu.injector.exceptions.InjectorException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Subtype lookup based on the index generated at compile time by the {@code SubtypeIndexProcessor} of
+ * injector-apt. The index files of all jars and directories on the classpath are merged. The index is only used
+ * for a package if it covers it, i.e. if any indexed class is in the package or one of its subpackages; otherwise
+ * the package was not compiled with the processor (e.g. the index comes from a third-party jar) and is scanned.
+ * <p>
+ * Classes are only loaded (without being initialized) when their supertype is requested.
+ */
+final class IndexedSubtypeLookup implements SubtypeLookup {
+
+    /** Location of the index, as written by the annotation processor. */
+    static final String INDEX_RESOURCE = "META-INF/ch.jalu.injector/subtypes.index";
+    /** Prefix of the lines with the packages covered by the index, as written by the annotation processor. */
+    static final String PACKAGE_PREFIX = "#package ";
+
+    private final ClassLoader classLoader;
+    private final Map<String, List<String>> directSubtypesByType;
+
+    /**
+     * Constructor.
+     *
+     * @param classLoader the class loader to load the subtypes with
+     * @param directSubtypesByType names of the direct subtypes by name of the supertype
+     */
+    IndexedSubtypeLookup(ClassLoader classLoader, Map<String, List<String>> directSubtypesByType) {
+        this.classLoader = classLoader;
+        this.directSubtypesByType = directSubtypesByType;
+    }
+
+    /**
+     * Loads the index for the given package from the class loader's resources.
+     *
+     * @param classLoader the class loader to read the index with
+     * @param rootPackage the package to restrict the subtypes to
+     * @return the lookup, or null if the class loader has no index which covers the package
+     */
+    static IndexedSubtypeLookup load(ClassLoader classLoader, String rootPackage) {
+        return load(classLoader, INDEX_RESOURCE, rootPackage);
+    }
+
+    static IndexedSubtypeLookup load(ClassLoader classLoader, String resourceName, String rootPackage) {
+        Map<String, List<String>> directSubtypesByType = new HashMap<>();
+        boolean coversPackage = false;
+        try {
+            Enumeration<URL> indexFiles = classLoader.getResources(resourceName);
+            while (indexFiles.hasMoreElements()) {
+                coversPackage |= readIndexFile(indexFiles.nextElement(), rootPackage, directSubtypesByType);
+            }
+        } catch (IOException e) {
+            throw new InjectorException("Could not read the subtype index '" + resourceName + "'", e);
+        }
+        return coversPackage ? new IndexedSubtypeLookup(classLoader, directSubtypesByType) : null;
+    }
+
+    /**
+     * Returns whether the given class or package name is in the given package or one of its subpackages, in the
+     * same way as the package is scanned by {@link ClasspathScanner}.
+     *
+     * @param name the binary name of a class, or the name of a package
+     * @param rootPackage the package to check
+     * @return true if the name is in the package, false otherwise
+     */
+    static boolean isInPackage(String name, String rootPackage) {
+        return rootPackage.isEmpty() || name.startsWith(rootPackage + ".");
+    }
+
+    @Override
+    public <T> Set<Class<? extends T>> getSubTypesOf(Class<T> type) {
+        Set<Class<? extends T>> subtypes = new LinkedHashSet<>();
+        Set<String> visitedNames = new HashSet<>();
+        Deque<String> namesToProcess = new ArrayDeque<>();
+        namesToProcess.add(type.getName());
+        while (!namesToProcess.isEmpty()) {
+            List<String> directSubtypes = directSubtypesByType.getOrDefault(namesToProcess.poll(),
+                Collections.emptyList());
+            for (String subtypeName : directSubtypes) {
+                if (visitedNames.add(subtypeName)) {
+                    namesToProcess.add(subtypeName);
+                    Class<?> subtype = loadClass(subtypeName);
+                    if (subtype != null && type.isAssignableFrom(subtype)) {
+                        subtypes.add(subtype.asSubclass(type));
+                    }
+                }
+            }
+        }
+        return subtypes;
+    }
+
+    private Class<?> loadClass(String name) {
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            // Stale entry of a class which no longer exists
+            return null;
+        }
+    }
+
+    /**
+     * Adds the entries of the given index file within the root package to the map.
+     *
+     * @param indexFile the index file to read
+     * @param rootPackage the package to restrict the subtypes to
+     * @param directSubtypesByType map to add the direct subtypes to, by name of the supertype
+     * @return true if the index covers the root package, false otherwise
+     * @throws IOException if the file could not be read
+     */
+    private static boolean readIndexFile(URL indexFile, String rootPackage,
+                                         Map<String, List<String>> directSubtypesByType) throws IOException {
+        boolean coversPackage = false;
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(indexFile.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf(':');
+                if (line.startsWith(PACKAGE_PREFIX)) {
+                    String packageName = line.substring(PACKAGE_PREFIX.length());
+                    coversPackage |= packageName.equals(rootPackage) || isInPackage(packageName, rootPackage);
+                } else if (separator > 0 && isInPackage(line, rootPackage)) {
+                    // Indexes of older versions of the processor do not list their packages
+                    coversPackage = true;
+                    String typeName = line.substring(0, separator);
+                    for (String supertype : line.substring(separator + 1).split(",")) {
+                        directSubtypesByType.computeIfAbsent(supertype, k -> new ArrayList<>()).add(typeName);
+                    }
+                }
+            }
+        }
+        return coversPackage;
+    }
+}
@@ -0,0 +1,159 @@
+package ch.jalu.injector.extras.scanning;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Fingerprint of a scanned location (jar file or package directory), used to detect whether the cached scan
+ * result of the location is still valid.
+ * <p>
+ * A location whose size and modification time are unchanged is considered unchanged. If only the modification
+ * time differs (e.g. because the file was copied), the hash of the contents decides; it is only computed in this
+ * case. Fingerprints whose hash was never computed are cached with {@link #NO_HASH}.
+ * For directories, the size is the total size of all files and the modification time the latest one of all files
+ * and subdirectories, so that added, removed and renamed files are detected.
+ * <p>
+ * Fingerprinting a jar reads the attributes of one file, but fingerprinting a directory reads the attributes of
+ * every file in it: a class file which is rewritten in place (as compilers do) changes neither the modification
+ * time nor the size of its directory. The cache therefore saves parsing the class files of an unchanged
+ * directory, but not walking it.
+ */
+final class LocationFingerprint {
+
+    /** Hash of fingerprints whose hash has not been computed. Hashes are CRC-32 values, which are never negative. */
+    static final long NO_HASH = -1;
+
+    private final Path location;
+    private final long size;
+    private final long lastModified;
+    private long hash = NO_HASH;
+
+    /**
+     * Constructor for a fingerprint read from the cache.
+     *
+     * @param size the size of the location
+     * @param lastModified the modification time of the location, in milliseconds
+     * @param hash the hash of the location's contents, or {@link #NO_HASH} if it was not computed
+     */
+    LocationFingerprint(long size, long lastModified, long hash) {
+        this.location = null;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.hash = hash;
+    }
+
+    private LocationFingerprint(Path location, long size, long lastModified) {
+        this.location = location;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Creates the fingerprint of the given location. The hash is computed lazily.
+     *
+     * @param location the jar file or package directory
+     * @return the fingerprint
+     * @throws IOException if the attributes of the location could not be read
+     */
+    static LocationFingerprint of(Path location) throws IOException {
+        if (!Files.isDirectory(location)) {
+            return new LocationFingerprint(location, Files.size(location),
+                Files.getLastModifiedTime(location).toMillis());
+        }
+
+        long size = 0;
+        long lastModified = 0;
+        try (Stream<Path> files = Files.walk(location)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                if (attributes.isRegularFile()) {
+                    size += attributes.size();
+                }
+                lastModified = Math.max(lastModified, attributes.lastModifiedTime().toMillis());
+            }
+        }
+        return new LocationFingerprint(location, size, lastModified);
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Returns the hash of the location's contents, computing it on the first call. The hash of a fingerprint read
+     * from the cache is returned as it was stored.
+     *
+     * @return the hash
+     * @throws IOException if the location could not be read
+     */
+    long getHash() throws IOException {
+        if (hash == NO_HASH && location != null) {
+            hash = computeHash(location);
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the hash of the location's contents if it has been computed, without computing it.
+     *
+     * @return the hash, or {@link #NO_HASH} if it has not been computed
+     */
+    long getHashIfComputed() {
+        return hash;
+    }
+
+    /**
+     * Returns whether this fingerprint matches the given (cached) fingerprint, i.e. whether the location's contents
+     * are considered to be unchanged.
+     *
+     * @param cached the fingerprint to compare with
+     * @return true if the location is unchanged, false otherwise
+     * @throws IOException if the hash had to be computed and the location could not be read
+     */
+    boolean matches(LocationFingerprint cached) throws IOException {
+        if (size != cached.size) {
+            return false;
+        } else if (lastModified == cached.lastModified) {
+            return true;
+        }
+        // Computed even if the cached hash is unknown, so that it is cached for the next comparison
+        long currentHash = getHash();
+        return cached.hash != NO_HASH && currentHash == cached.hash;
+    }
+
+    private static long computeHash(Path location) throws IOException {
+        CRC32 crc = new CRC32();
+        if (Files.isDirectory(location)) {
+            List<Path> files;
+            try (Stream<Path> paths = Files.walk(location)) {
+                files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                crc.update(location.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                updateWithContents(crc, file);
+            }
+        } else {
+            updateWithContents(crc, location);
+        }
+        return crc.getValue();
+    }
+
+    private static void updateWithContents(CRC32 crc, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package ch.jalu.injector.extras.scanning;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-disk cache of the scanned classes of a package, per location (jar file or package directory).
+ * <p>
+ * The cache is a binary file: after a header with the root package, all strings (location keys and class names)
+ * are stored once in a string table and referenced by index. Each location is stored with its
+ * {@link LocationFingerprint} and the classes it contains with their supertypes. The file is read with a memory
+ * mapping.
+ */
+final class ScanCache {
+
+    private static final int MAGIC = 0x494A5343; // "IJSC"
+    private static final short VERSION = 1;
+
+    private final Map<String, CachedLocation> locations;
+
+    /**
+     * Constructor.
+     *
+     * @param locations the cached locations by key
+     */
+    ScanCache(Map<String, CachedLocation> locations) {
+        this.locations = locations;
+    }
+
+    /**
+     * Returns the cached scan result of the location with the given key.
+     *
+     * @param key the key of the location
+     * @return the cached location, or null if not available
+     */
+    CachedLocation get(String key) {
+        return locations.get(key);
+    }
+
+    Map<String, CachedLocation> getLocations() {
+        return locations;
+    }
+
+    /**
+     * Reads the cache file. Returns an empty cache if the file does not exist, is invalid or was written for
+     * another package.
+     *
+     * @param file the cache file
+     * @param rootPackage the package of the scan
+     * @return the cache
+     */
+    static ScanCache read(Path file, String rootPackage) {
+        if (!Files.isRegularFile(file)) {
+            return new ScanCache(Collections.emptyMap());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Map<String, CachedLocation> locations = readLocations(buffer, rootPackage);
+            if (locations != null) {
+                return new ScanCache(locations);
+            }
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException e) {
+            // Unreadable or corrupt cache: rescan everything
+        }
+        return new ScanCache(Collections.emptyMap());
+    }
+
+    /**
+     * Writes the cache to the given file. The file is written to a temporary file first and then moved, so that
+     * other processes never read a partially written cache.
+     *
+     * @param file the file to write to
+     * @param rootPackage the package of the scan
+     * @throws IOException if the cache could not be written
+     */
+    void write(Path file, String rootPackage) throws IOException {
+        // Assign an index to every string
+        Map<String, Integer> stringIndices = new LinkedHashMap<>();
+        for (Map.Entry<String, CachedLocation> entry : locations.entrySet()) {
+            stringIndices.putIfAbsent(entry.getKey(), stringIndices.size());
+            for (ClassFileInfo classInfo : entry.getValue().getClasses()) {
+                stringIndices.putIfAbsent(classInfo.getName(), stringIndices.size());
+                for (String supertype : classInfo.getSupertypes()) {
+                    stringIndices.putIfAbsent(supertype, stringIndices.size());
+                }
+            }
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out =
+                     new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                writeString(out, rootPackage);
+
+                out.writeInt(stringIndices.size());
+                for (String string : stringIndices.keySet()) {
+                    writeString(out, string);
+                }
+
+                out.writeInt(locations.size());
+                for (Map.Entry<String, CachedLocation> entry : locations.entrySet()) {
+                    LocationFingerprint fingerprint = entry.getValue().getFingerprint();
+                    out.writeInt(stringIndices.get(entry.getKey()));
+                    out.writeLong(fingerprint.getSize());
+                    out.writeLong(fingerprint.getLastModified());
+                    // Hashes are only computed when needed for a comparison (see LocationFingerprint#matches)
+                    out.writeLong(fingerprint.getHashIfComputed());
+
+                    List<ClassFileInfo> classes = entry.getValue().getClasses();
+                    out.writeInt(classes.size());
+                    for (ClassFileInfo classInfo : classes) {
+                        out.writeInt(stringIndices.get(classInfo.getName()));
+                        out.writeShort(classInfo.getSupertypes().size());
+                        for (String supertype : classInfo.getSupertypes()) {
+                            out.writeInt(stringIndices.get(supertype));
+                        }
+                    }
+                }
+            }
+            moveReplacing(tempFile, file);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static Map<String, CachedLocation> readLocations(ByteBuffer buffer, String rootPackage) {
+        if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION || !rootPackage.equals(readString(buffer))) {
+            return null;
+        }
+
+        String[] strings = new String[readCount(buffer)];
+        for (int i = 0; i < strings.length; ++i) {
+            strings[i] = readString(buffer);
+        }
+
+        int locationCount = readCount(buffer);
+        Map<String, CachedLocation> locations = new HashMap<>();
+        for (int i = 0; i < locationCount; ++i) {
+            String key = strings[buffer.getInt()];
+            LocationFingerprint fingerprint =
+                new LocationFingerprint(buffer.getLong(), buffer.getLong(), buffer.getLong());
+
+            int classCount = readCount(buffer);
+            List<ClassFileInfo> classes = new ArrayList<>(classCount);
+            for (int c = 0; c < classCount; ++c) {
+                String name = strings[buffer.getInt()];
+                List<String> supertypes = new ArrayList<>();
+                int supertypeCount = buffer.getShort() & 0xFFFF;
+                for (int s = 0; s < supertypeCount; ++s) {
+                    supertypes.add(strings[buffer.getInt()]);
+                }
+                classes.add(new ClassFileInfo(name, supertypes, Collections.emptySet()));
+            }
+            locations.put(key, new CachedLocation(fingerprint, classes));
+        }
+        return locations;
+    }
+
+    private static int readCount(ByteBuffer buffer) {
+        // Every element takes up at least one byte: guards against huge allocations for a corrupt file
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        return count;
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void moveReplacing(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Scan result of a location.
+     */
+    static final class CachedLocation {
+
+        private final LocationFingerprint fingerprint;
+        private final List<ClassFileInfo> classes;
+
+        CachedLocation(LocationFingerprint fingerprint, List<ClassFileInfo> classes) {
+            this.fingerprint = fingerprint;
+            this.classes = classes;
+        }
+
+        LocationFingerprint getFingerprint() {
+            return fingerprint;
+        }
+
+        List<ClassFileInfo> getClasses() {
+            return classes;
+        }
+    }
+}
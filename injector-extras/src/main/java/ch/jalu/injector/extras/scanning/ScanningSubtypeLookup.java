@@ -0,0 +1,120 @@
+package ch.jalu.injector.extras.scanning;
+
+import ch.jalu.injector.exceptions.InjectorException;
+import ch.jalu.injector.extras.scanning.ScanCache.CachedLocation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Subtype lookup which scans the class files of the package with a {@link ClasspathScanner} on first use.
+ * If a cache file is configured, the scan result is read from and persisted to a {@link ScanCache}, and only
+ * locations which have changed are scanned.
+ */
+class ScanningSubtypeLookup implements SubtypeLookup {
+
+    private final ClassLoader classLoader;
+    private final String rootPackage;
+    private final Path cacheFile;
+    private IndexedSubtypeLookup scannedLookup;
+
+    /**
+     * Constructor.
+     *
+     * @param classLoader the class loader to scan and load the subtypes with
+     * @param rootPackage the package to scan
+     * @param cacheFile the file to persist the scan result to, null to always scan
+     */
+    ScanningSubtypeLookup(ClassLoader classLoader, String rootPackage, Path cacheFile) {
+        this.classLoader = classLoader;
+        this.rootPackage = rootPackage;
+        this.cacheFile = cacheFile;
+    }
+
+    @Override
+    public <T> Set<Class<? extends T>> getSubTypesOf(Class<T> type) {
+        return getScannedLookup().getSubTypesOf(type);
+    }
+
+    private synchronized IndexedSubtypeLookup getScannedLookup() {
+        if (scannedLookup == null) {
+            ClasspathScanner scanner = new ClasspathScanner(classLoader, rootPackage, Collections.emptySet());
+            List<ClassFileInfo> classes = cacheFile == null ? scanner.scan() : scanWithCache(scanner);
+
+            Map<String, List<String>> directSubtypesByType = new HashMap<>();
+            for (ClassFileInfo classInfo : classes) {
+                for (String supertype : classInfo.getSupertypes()) {
+                    directSubtypesByType.computeIfAbsent(supertype, k -> new ArrayList<>()).add(classInfo.getName());
+                }
+            }
+            scannedLookup = new IndexedSubtypeLookup(classLoader, directSubtypesByType);
+        }
+        return scannedLookup;
+    }
+
+    private List<ClassFileInfo> scanWithCache(ClasspathScanner scanner) {
+        ScanCache cache = ScanCache.read(cacheFile, rootPackage);
+        List<Path> locations = scanner.findLocations();
+
+        List<CachedLocation> results;
+        try {
+            results = locations.parallelStream()
+                .map(location -> getOrScanLocation(scanner, cache, location))
+                .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw new InjectorException("Could not scan package '" + rootPackage + "'", e.getCause());
+        }
+
+        Map<String, CachedLocation> newLocations = new LinkedHashMap<>();
+        boolean isCacheOutdated = locations.size() != cache.getLocations().size();
+        List<ClassFileInfo> classes = new ArrayList<>();
+        for (int i = 0; i < locations.size(); ++i) {
+            String key = toKey(locations.get(i));
+            CachedLocation result = results.get(i);
+            isCacheOutdated |= result != cache.get(key);
+            newLocations.put(key, result);
+            classes.addAll(result.getClasses());
+        }
+
+        if (isCacheOutdated) {
+            try {
+                new ScanCache(newLocations).write(cacheFile, rootPackage);
+            } catch (IOException e) {
+                // Cache file is not writable: the next start will scan again
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Returns the cached entry of the location if it is still valid, otherwise scans the location.
+     */
+    private static CachedLocation getOrScanLocation(ClasspathScanner scanner, ScanCache cache, Path location) {
+        try {
+            LocationFingerprint fingerprint = LocationFingerprint.of(location);
+            CachedLocation cached = cache.get(toKey(location));
+            if (cached != null && fingerprint.matches(cached.getFingerprint())) {
+                // Keep the cached entry if nothing changed, so that it is known that no write is needed
+                return fingerprint.getLastModified() == cached.getFingerprint().getLastModified()
+                    ? cached
+                    : new CachedLocation(fingerprint, cached.getClasses());
+            }
+            return new CachedLocation(fingerprint, scanner.scanLocation(location));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toKey(Path location) {
+        return location.toAbsolutePath().toString();
+    }
+}
@@ -0,0 +1,51 @@
+package ch.jalu.injector.extras.scanning;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Finds the subtypes of a class within a package.
+ */
+public interface SubtypeLookup {
+
+    /**
+     * Returns all subtypes of the given type, including indirect ones. The type itself is not included.
+     *
+     * @param type the type to get the subtypes of
+     * @param <T> the type
+     * @return all known subtypes
+     */
+    <T> Set<Class<? extends T>> getSubTypesOf(Class<T> type);
+
+    /**
+     * Returns a lookup for the subtypes in the given package and its subpackages. Uses the index generated
+     * by the annotation processor of injector-apt if the classpath has an index which covers the package,
+     * otherwise the class files of the package are scanned once the first subtypes are requested.
+     *
+     * @param rootPackage the package to find subtypes in
+     * @return the lookup
+     */
+    static SubtypeLookup forPackage(String rootPackage) {
+        ClassLoader classLoader = ClasspathScanner.getDefaultClassLoader();
+        SubtypeLookup indexedLookup = IndexedSubtypeLookup.load(classLoader, rootPackage);
+        return indexedLookup == null ? new ScanningSubtypeLookup(classLoader, rootPackage, null) : indexedLookup;
+    }
+
+    /**
+     * Returns a lookup for the subtypes in the given package and its subpackages, like {@link #forPackage(String)}.
+     * If the package has to be scanned, the result is persisted to the given cache file: on the next start, only
+     * the jars and directories which have changed since (based on their size, modification time and hash) are
+     * scanned again. If the cache file cannot be written (e.g. on a read-only file system), the scan result is
+     * simply not persisted. Note that checking whether a directory has changed requires reading the attributes of
+     * all files in it, so the cache mainly speeds up the scanning of jars.
+     *
+     * @param rootPackage the package to find subtypes in
+     * @param cacheFile the file to persist the scan result to
+     * @return the lookup
+     */
+    static SubtypeLookup forPackage(String rootPackage, Path cacheFile) {
+        ClassLoader classLoader = ClasspathScanner.getDefaultClassLoader();
+        SubtypeLookup indexedLookup = IndexedSubtypeLookup.load(classLoader, rootPackage);
+        return indexedLookup == null ? new ScanningSubtypeLookup(classLoader, rootPackage, cacheFile) : indexedLookup;
+    }
+}
@@ -0,0 +1,38 @@
+package ch.jalu.injector.extras;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.extras.samples.animals.services.Configuration;
+import ch.jalu.injector.extras.samples.animals.services.LanguageService;
+import ch.jalu.injector.extras.samples.animals.services.NameService;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Test for {@link EagerClasses}.
+ */
+class EagerClassesTest {
+
+    @Test
+    void shouldFindAndInitializeEagerClasses() {
+        // given
+        String rootPackage = "ch.jalu.injector.extras.samples.animals";
+        Injector injector = new InjectorBuilder().addDefaultHandlers(rootPackage).create();
+
+        // when
+        Set<Class<?>> eagerClasses = EagerClasses.findInPackage(rootPackage);
+        injector.initializeAll(eagerClasses);
+
+        // then
+        assertThat(eagerClasses, containsInAnyOrder(NameService.class, Configuration.class));
+        assertThat(injector.getIfAvailable(NameService.class), not(nullValue()));
+        assertThat(injector.getIfAvailable(LanguageService.class), not(nullValue()));
+        assertThat(injector.getIfAvailable(Configuration.class), not(nullValue()));
+    }
+}
@@ -1,8 +1,11 @@
 package ch.jalu.injector.extras.samples.animals.services;
 
+import ch.jalu.injector.annotations.Eager;
+
 /**
  * General configuration.
  */
+@Eager
 public class Configuration {
 
     private String lang;
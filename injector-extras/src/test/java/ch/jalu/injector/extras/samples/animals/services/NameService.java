@@ -1,5 +1,6 @@
 package ch.jalu.injector.extras.samples.animals.services;
 
+import ch.jalu.injector.annotations.Eager;
 import ch.jalu.injector.extras.samples.animals.Animal;
 
 import javax.inject.Inject;
@@ -7,6 +8,7 @@ import javax.inject.Inject;
 /**
  * Constructs the name of animals based on their class.
  */
+@Eager
 public class NameService {
 
     private LanguageService languageService;
@@ -0,0 +1,126 @@
+package ch.jalu.injector.extras.scanning;
+
+import ch.jalu.injector.annotations.Eager;
+import ch.jalu.injector.extras.samples.animals.Bird;
+import ch.jalu.injector.extras.samples.animals.Chicken;
+import ch.jalu.injector.extras.samples.animals.services.HissServiceProvider;
+import ch.jalu.injector.extras.samples.animals.services.NameService;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Provider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link ClassFileInfo}.
+ */
+class ClassFileInfoTest {
+
+    @Test
+    void shouldReadNameAndSupertypes() throws IOException {
+        // given
+        ByteBuffer chickenClassFile = readClassFile(Chicken.class);
+        ByteBuffer birdClassFile = readClassFile(Bird.class);
+        ByteBuffer providerClassFile = readClassFile(HissServiceProvider.class);
+
+        // when
+        ClassFileInfo chickenInfo = ClassFileInfo.read(chickenClassFile, Collections.emptySet());
+        ClassFileInfo birdInfo = ClassFileInfo.read(birdClassFile, Collections.emptySet());
+        ClassFileInfo providerInfo = ClassFileInfo.read(providerClassFile, Collections.emptySet());
+
+        // then
+        assertThat(chickenInfo.getName(), equalTo(Chicken.class.getName()));
+        assertThat(chickenInfo.getSupertypes(), contains(Bird.class.getName()));
+        assertThat(birdInfo.getName(), equalTo(Bird.class.getName()));
+        assertThat(birdInfo.getSupertypes(), contains(Bird.class.getInterfaces()[0].getName()));
+        assertThat(providerInfo.getSupertypes(), contains(Provider.class.getName()));
+    }
+
+    @Test
+    void shouldReadNameOfNestedClass() throws IOException {
+        // given
+        ByteBuffer classFile = readClassFile(NestedSample.class);
+
+        // when
+        ClassFileInfo info = ClassFileInfo.read(classFile, Collections.emptySet());
+
+        // then
+        assertThat(info.getName(), equalTo(NestedSample.class.getName()));
+        assertThat(info.getSupertypes(), contains(Runnable.class.getName()));
+    }
+
+    @Test
+    void shouldDetectReferencedAnnotation() throws IOException {
+        // given
+        String eagerName = Eager.class.getName();
+        String deprecatedName = Deprecated.class.getName();
+
+        // when
+        ClassFileInfo nameServiceInfo = ClassFileInfo.read(readClassFile(NameService.class),
+            Arrays.asList(eagerName, deprecatedName));
+        ClassFileInfo chickenInfo = ClassFileInfo.read(readClassFile(Chicken.class),
+            Arrays.asList(eagerName, deprecatedName));
+
+        // then
+        assertThat(nameServiceInfo.referencesAnnotation(eagerName), equalTo(true));
+        assertThat(nameServiceInfo.referencesAnnotation(deprecatedName), equalTo(false));
+        assertThat(chickenInfo.referencesAnnotation(eagerName), equalTo(false));
+    }
+
+    @Test
+    void shouldThrowForInvalidClassFile() throws IOException {
+        // given
+        ByteBuffer notAClassFile = ByteBuffer.wrap(new byte[]{ 1, 2, 3, 4, 5, 6, 7, 8 });
+        ByteBuffer fullClassFile = readClassFile(Chicken.class);
+        ByteBuffer truncatedClassFile = ByteBuffer.wrap(Arrays.copyOf(fullClassFile.array(), 40));
+
+        // when / then
+        assertThrows(IllegalArgumentException.class,
+            () -> ClassFileInfo.read(notAClassFile, Collections.emptySet()));
+        assertThrows(IllegalArgumentException.class,
+            () -> ClassFileInfo.read(truncatedClassFile, Collections.emptySet()));
+    }
+
+    @Test
+    void shouldHaveNoSupertypesForPlainClass() throws IOException {
+        // given
+        ByteBuffer classFile = readClassFile(NameService.class);
+
+        // when
+        ClassFileInfo info = ClassFileInfo.read(classFile, Collections.emptySet());
+
+        // then
+        assertThat(info.getSupertypes(), empty());
+    }
+
+    private static ByteBuffer readClassFile(Class<?> clazz) throws IOException {
+        String resourceName = clazz.getName().replace('.', '/') + ".class";
+        try (InputStream is = clazz.getClassLoader().getResourceAsStream(resourceName)) {
+            byte[] buffer = new byte[8192];
+            int length = 0;
+            int read;
+            while ((read = is.read(buffer, length, buffer.length - length)) > 0) {
+                length += read;
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+            return ByteBuffer.wrap(Arrays.copyOf(buffer, length));
+        }
+    }
+
+    private static final class NestedSample implements Runnable {
+        @Override
+        public void run() {
+        }
+    }
+}
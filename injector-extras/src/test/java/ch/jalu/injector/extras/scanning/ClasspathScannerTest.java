@@ -0,0 +1,163 @@
+package ch.jalu.injector.extras.scanning;
+
+import ch.jalu.injector.annotations.Eager;
+import ch.jalu.injector.exceptions.InjectorException;
+import ch.jalu.injector.extras.samples.animals.Animal;
+import ch.jalu.injector.extras.samples.animals.Bird;
+import ch.jalu.injector.extras.samples.animals.Chicken;
+import ch.jalu.injector.extras.samples.animals.Frog;
+import ch.jalu.injector.extras.samples.animals.Lion;
+import ch.jalu.injector.extras.samples.animals.Ostrich;
+import ch.jalu.injector.extras.samples.animals.Reptile;
+import ch.jalu.injector.extras.samples.animals.Snake;
+import ch.jalu.injector.extras.samples.animals.Sparrow;
+import ch.jalu.injector.extras.samples.animals.Turtle;
+import ch.jalu.injector.extras.samples.animals.services.Configuration;
+import ch.jalu.injector.extras.samples.animals.services.NameService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link ClasspathScanner}.
+ */
+class ClasspathScannerTest {
+
+    private static final String ROOT_PACKAGE = "ch.jalu.injector.extras.samples.animals";
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void shouldScanDirectory() {
+        // given
+        ClasspathScanner scanner = new ClasspathScanner(getClass().getClassLoader(), ROOT_PACKAGE,
+            Collections.emptySet());
+
+        // when
+        List<ClassFileInfo> classes = scanner.scan();
+
+        // then
+        List<String> names = classes.stream().map(ClassFileInfo::getName).collect(Collectors.toList());
+        assertThat(names, hasItems(Animal.class.getName(), Chicken.class.getName(), NameService.class.getName()));
+        assertThat(names, not(hasItems(ClasspathScannerTest.class.getName())));
+        assertThat(names.stream().allMatch(name -> name.startsWith(ROOT_PACKAGE)), equalTo(true));
+    }
+
+    @Test
+    void shouldScanJarWithoutLoadingClasses() throws Exception {
+        // given
+        Path jar = tempDirectory.resolve("animals.jar");
+        writeJar(jar, Chicken.class, Bird.class, Lion.class, Configuration.class);
+        // No parent class loader: the jar is the only location, and its classes cannot be loaded
+        ClassLoader jarClassLoader = new URLClassLoader(new URL[]{ jar.toUri().toURL() }, null);
+        ClasspathScanner scanner = new ClasspathScanner(jarClassLoader, ROOT_PACKAGE,
+            Collections.singleton(Eager.class.getName()));
+
+        // when
+        List<ClassFileInfo> classes = scanner.scan();
+
+        // then
+        assertThat(classes.stream().map(ClassFileInfo::getName).collect(Collectors.toList()), containsInAnyOrder(
+            Chicken.class.getName(), Bird.class.getName(), Lion.class.getName(), Configuration.class.getName()));
+        List<String> eagerClasses = classes.stream()
+            .filter(info -> info.referencesAnnotation(Eager.class.getName()))
+            .map(ClassFileInfo::getName)
+            .collect(Collectors.toList());
+        assertThat(eagerClasses, containsInAnyOrder(Configuration.class.getName()));
+    }
+
+    @Test
+    void shouldReturnEmptyListForUnknownPackage() {
+        // given
+        ClasspathScanner scanner = new ClasspathScanner(getClass().getClassLoader(), "org.unknown.pkg",
+            Collections.emptySet());
+
+        // when / then
+        assertThat(scanner.scan(), empty());
+    }
+
+    @Test
+    void shouldThrowForInvalidClassFile() throws Exception {
+        // given
+        Path packageDirectory = Files.createDirectories(tempDirectory.resolve("org/invalid"));
+        Files.write(packageDirectory.resolve("Invalid.class"), new byte[]{ 1, 2, 3 });
+        ClassLoader classLoader = new URLClassLoader(new URL[]{ tempDirectory.toUri().toURL() }, null);
+        ClasspathScanner scanner = new ClasspathScanner(classLoader, "org.invalid", Collections.emptySet());
+
+        // when
+        InjectorException ex = assertThrows(InjectorException.class, scanner::scan);
+
+        // then
+        assertThat(ex.getMessage(), equalTo("Could not scan package 'org.invalid'"));
+    }
+
+    @Test
+    void shouldFindAnnotatedClasses() {
+        // given / when
+        Set<Class<?>> classes = ClasspathScanner.findAnnotatedClasses(ROOT_PACKAGE, Eager.class);
+
+        // then
+        assertThat(classes, containsInAnyOrder(NameService.class, Configuration.class));
+    }
+
+    @Test
+    void shouldFindSubtypesWithScanningLookup() {
+        // given
+        SubtypeLookup lookup = new ScanningSubtypeLookup(getClass().getClassLoader(), ROOT_PACKAGE, null);
+
+        // when / then
+        assertThat(lookup.getSubTypesOf(Animal.class), containsInAnyOrder(Bird.class, Chicken.class, Frog.class,
+            Lion.class, Ostrich.class, Reptile.class, Snake.class, Sparrow.class, Turtle.class));
+        assertThat(lookup.getSubTypesOf(Bird.class), containsInAnyOrder(Chicken.class, Ostrich.class, Sparrow.class));
+    }
+
+    private static void writeJar(Path jar, Class<?>... classes) throws Exception {
+        try (OutputStream os = Files.newOutputStream(jar);
+             JarOutputStream jarOutput = new JarOutputStream(os)) {
+            // Directory entries are needed for the class loader to find the package
+            String directory = "";
+            for (String folder : ROOT_PACKAGE.split("\\.")) {
+                directory += folder + "/";
+                jarOutput.putNextEntry(new JarEntry(directory));
+                jarOutput.closeEntry();
+            }
+            jarOutput.putNextEntry(new JarEntry(directory + "services/"));
+            jarOutput.closeEntry();
+
+            for (Class<?> clazz : Arrays.asList(classes)) {
+                String entryName = clazz.getName().replace('.', '/') + ".class";
+                jarOutput.putNextEntry(new JarEntry(entryName));
+                try (InputStream is = clazz.getClassLoader().getResourceAsStream(entryName)) {
+                    byte[] buffer = new byte[4096];
+                    int read;
+                    while ((read = is.read(buffer)) > 0) {
+                        jarOutput.write(buffer, 0, read);
+                    }
+                }
+                jarOutput.closeEntry();
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ch.jalu.injector.extras.scanning;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.extras.handlers.AllTypesAnnotationHandler;
+import ch.jalu.injector.extras.samples.animals.Animal;
+import ch.jalu.injector.extras.samples.animals.AnimalLister;
+import ch.jalu.injector.extras.samples.animals.Bird;
+import ch.jalu.injector.extras.samples.animals.Chicken;
+import ch.jalu.injector.extras.samples.animals.Frog;
+import ch.jalu.injector.extras.samples.animals.Lion;
+import ch.jalu.injector.extras.samples.animals.Ostrich;
+import ch.jalu.injector.extras.samples.animals.Reptile;
+import ch.jalu.injector.extras.samples.animals.Snake;
+import ch.jalu.injector.extras.samples.animals.Sparrow;
+import ch.jalu.injector.extras.samples.animals.Turtle;
+import ch.jalu.injector.extras.samples.animals.services.ChirpService;
+import ch.jalu.injector.extras.samples.animals.services.SoundService;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Test for {@link IndexedSubtypeLookup}.
+ */
+class IndexedSubtypeLookupTest {
+
+    private static final String ROOT_PACKAGE = "ch.jalu.injector.extras.samples.animals";
+
+    @Test
+    void shouldReturnDirectAndIndirectSubtypes() {
+        // given
+        SubtypeLookup lookup = IndexedSubtypeLookup.load(getClass().getClassLoader(), "sample-subtypes.index",
+            ROOT_PACKAGE);
+
+        // when / then
+        assertThat(lookup.getSubTypesOf(Animal.class), containsInAnyOrder(Bird.class, Chicken.class, Frog.class,
+            Lion.class, Ostrich.class, Reptile.class, Snake.class, Sparrow.class, Turtle.class));
+        assertThat(lookup.getSubTypesOf(Bird.class), containsInAnyOrder(Chicken.class, Ostrich.class, Sparrow.class));
+        assertThat(lookup.getSubTypesOf(Turtle.class), empty());
+    }
+
+    @Test
+    void shouldOnlyConsiderTypesInRootPackage() {
+        // given
+        SubtypeLookup lookup = IndexedSubtypeLookup.load(getClass().getClassLoader(), "sample-subtypes.index",
+            ROOT_PACKAGE + ".services");
+
+        // when / then
+        assertThat(lookup.getSubTypesOf(Animal.class), empty());
+        assertThat(lookup.getSubTypesOf(SoundService.class), containsInAnyOrder(ChirpService.class));
+    }
+
+    @Test
+    void shouldReturnNullForMissingIndex() {
+        // given / when
+        SubtypeLookup lookup = IndexedSubtypeLookup.load(getClass().getClassLoader(), ROOT_PACKAGE);
+
+        // then
+        assertThat(lookup, nullValue());
+    }
+
+    @Test
+    void shouldReturnNullForIndexWhichDoesNotCoverPackage() {
+        // given / when
+        SubtypeLookup otherPackageLookup = IndexedSubtypeLookup.load(getClass().getClassLoader(),
+            "sample-subtypes.index", "com.example");
+        SubtypeLookup samePrefixLookup = IndexedSubtypeLookup.load(getClass().getClassLoader(),
+            "sample-subtypes.index", "ch.jalu.injector.extras.samples.anim");
+
+        // then
+        assertThat(otherPackageLookup, nullValue());
+        assertThat(samePrefixLookup, nullValue());
+    }
+
+    @Test
+    void shouldUseIndexWhichListsPackageWithoutSubtypes() {
+        // given / when
+        SubtypeLookup lookup = IndexedSubtypeLookup.load(getClass().getClassLoader(),
+            "sample-subtypes-packages.index", "com.example");
+
+        // then
+        assertThat(lookup, not(nullValue()));
+        assertThat(lookup.getSubTypesOf(Animal.class), empty());
+    }
+
+    @Test
+    void shouldBeUsableByHandler() {
+        // given
+        SubtypeLookup lookup = IndexedSubtypeLookup.load(getClass().getClassLoader(), "sample-subtypes.index",
+            ROOT_PACKAGE);
+        Injector injector = new InjectorBuilder()
+            .addHandlers(new AllTypesAnnotationHandler(lookup))
+            .addDefaultHandlers(ROOT_PACKAGE)
+            .create();
+
+        // when
+        AnimalLister animalLister = injector.getSingleton(AnimalLister.class);
+
+        // then
+        assertThat(animalLister.getAnimalTypes(), containsInAnyOrder(Bird.class, Chicken.class, Frog.class,
+            Lion.class, Ostrich.class, Reptile.class, Snake.class, Sparrow.class, Turtle.class));
+    }
+}
@@ -0,0 +1,122 @@
+package ch.jalu.injector.extras.scanning;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Test for {@link LocationFingerprint}.
+ */
+class LocationFingerprintTest {
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void shouldMatchUnchangedFile() throws Exception {
+        // given
+        Path jar = writeFile("test.jar", "contents", 1000L);
+        LocationFingerprint cached = LocationFingerprint.of(jar);
+        cached = new LocationFingerprint(cached.getSize(), cached.getLastModified(), cached.getHash());
+
+        // when
+        LocationFingerprint fingerprint = LocationFingerprint.of(jar);
+
+        // then
+        assertThat(fingerprint.matches(cached), equalTo(true));
+        assertThat(fingerprint.getSize(), equalTo(8L));
+        assertThat(fingerprint.getLastModified(), equalTo(1000L));
+        assertThat(fingerprint.getHashIfComputed(), equalTo(LocationFingerprint.NO_HASH));
+    }
+
+    @Test
+    void shouldMatchFileWithSameContentsAndDifferentModificationTime() throws Exception {
+        // given
+        Path jar = writeFile("test.jar", "contents", 1000L);
+        LocationFingerprint cached = LocationFingerprint.of(jar);
+        cached = new LocationFingerprint(cached.getSize(), cached.getLastModified(), cached.getHash());
+        writeFile("test.jar", "contents", 2000L);
+
+        // when
+        LocationFingerprint fingerprint = LocationFingerprint.of(jar);
+
+        // then
+        assertThat(fingerprint.matches(cached), equalTo(true));
+        assertThat(fingerprint.getLastModified(), equalTo(2000L));
+    }
+
+    @Test
+    void shouldNotMatchChangedFile() throws Exception {
+        // given
+        Path jar = writeFile("test.jar", "contents", 1000L);
+        LocationFingerprint cached = LocationFingerprint.of(jar);
+        cached = new LocationFingerprint(cached.getSize(), cached.getLastModified(), cached.getHash());
+
+        // when
+        writeFile("test.jar", "modified", 2000L);
+        LocationFingerprint sameSize = LocationFingerprint.of(jar);
+        writeFile("test.jar", "other size", 1000L);
+        LocationFingerprint otherSize = LocationFingerprint.of(jar);
+
+        // then
+        assertThat(sameSize.matches(cached), equalTo(false));
+        assertThat(otherSize.matches(cached), equalTo(false));
+    }
+
+    @Test
+    void shouldDetectChangesInDirectory() throws Exception {
+        // given
+        Path directory = Files.createDirectories(tempDirectory.resolve("pkg"));
+        writeFile("pkg/A.class", "aaa", 1000L);
+        writeFile("pkg/B.class", "bb", 3000L);
+        Files.setLastModifiedTime(directory, FileTime.fromMillis(1000L));
+        LocationFingerprint cached = LocationFingerprint.of(directory);
+        cached = new LocationFingerprint(cached.getSize(), cached.getLastModified(), cached.getHash());
+
+        // when
+        LocationFingerprint unchanged = LocationFingerprint.of(directory);
+        Files.move(directory.resolve("B.class"), directory.resolve("C.class"));
+        Files.setLastModifiedTime(directory, FileTime.fromMillis(4000L));
+        LocationFingerprint renamed = LocationFingerprint.of(directory);
+
+        // then
+        assertThat(cached.getSize(), equalTo(5L));
+        assertThat(cached.getLastModified(), equalTo(3000L));
+        assertThat(unchanged.matches(cached), equalTo(true));
+        assertThat(renamed.matches(cached), equalTo(false));
+    }
+
+    @Test
+    void shouldComputeHashForCachedFingerprintWithoutHash() throws Exception {
+        // given
+        Path jar = writeFile("test.jar", "contents", 1000L);
+        LocationFingerprint cached = LocationFingerprint.of(jar);
+        cached = new LocationFingerprint(cached.getSize(), cached.getLastModified(), LocationFingerprint.NO_HASH);
+        writeFile("test.jar", "contents", 2000L);
+        LocationFingerprint fingerprint = LocationFingerprint.of(jar);
+
+        // when
+        boolean matches = fingerprint.matches(cached);
+
+        // then
+        assertThat(matches, equalTo(false));
+        assertThat(fingerprint.getHashIfComputed(), not(LocationFingerprint.NO_HASH));
+        assertThat(LocationFingerprint.of(jar).matches(
+            new LocationFingerprint(8L, 1000L, fingerprint.getHashIfComputed())), equalTo(true));
+    }
+
+    private Path writeFile(String name, String contents, long lastModified) throws Exception {
+        Path file = tempDirectory.resolve(name);
+        Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified));
+        return file;
+    }
+}
@@ -0,0 +1,94 @@
+package ch.jalu.injector.extras.scanning;
+
+import ch.jalu.injector.extras.scanning.ScanCache.CachedLocation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Test for {@link ScanCache}.
+ */
+class ScanCacheTest {
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void shouldWriteAndReadCache() throws Exception {
+        // given
+        Map<String, CachedLocation> locations = new HashMap<>();
+        locations.put("/lib/animals.jar", new CachedLocation(new LocationFingerprint(1234L, 5000L, 987L),
+            Arrays.asList(
+                classInfo("org.animals.Bird", "org.animals.Animal"),
+                classInfo("org.animals.Chicken", "org.animals.Bird", "java.lang.Comparable"))));
+        locations.put("/classes/org/animals", new CachedLocation(new LocationFingerprint(0L, 0L, 0L),
+            Collections.emptyList()));
+        Path file = tempDirectory.resolve("cache/scan.bin");
+
+        // when
+        new ScanCache(locations).write(file, "org.animals");
+        ScanCache cache = ScanCache.read(file, "org.animals");
+
+        // then
+        assertThat(cache.getLocations(), aMapWithSize(2));
+        assertThat(cache.get("/classes/org/animals").getClasses(), empty());
+
+        CachedLocation jar = cache.get("/lib/animals.jar");
+        assertThat(jar.getFingerprint().getSize(), equalTo(1234L));
+        assertThat(jar.getFingerprint().getLastModified(), equalTo(5000L));
+        assertThat(jar.getFingerprint().getHashIfComputed(), equalTo(987L));
+        assertThat(jar.getClasses(), hasSize(2));
+        assertThat(jar.getClasses().get(0).getName(), equalTo("org.animals.Bird"));
+        assertThat(jar.getClasses().get(0).getSupertypes(), contains("org.animals.Animal"));
+        assertThat(jar.getClasses().get(1).getName(), equalTo("org.animals.Chicken"));
+        assertThat(jar.getClasses().get(1).getSupertypes(), contains("org.animals.Bird", "java.lang.Comparable"));
+    }
+
+    @Test
+    void shouldReturnEmptyCacheForOtherPackage() throws Exception {
+        // given
+        Map<String, CachedLocation> locations = Collections.singletonMap("/lib/animals.jar",
+            new CachedLocation(new LocationFingerprint(1L, 2L, 3L), Collections.emptyList()));
+        Path file = tempDirectory.resolve("scan.bin");
+        new ScanCache(locations).write(file, "org.animals");
+
+        // when
+        ScanCache cache = ScanCache.read(file, "org.plants");
+
+        // then
+        assertThat(cache.getLocations(), anEmptyMap());
+    }
+
+    @Test
+    void shouldReturnEmptyCacheForMissingOrCorruptFile() throws Exception {
+        // given
+        Path corruptFile = tempDirectory.resolve("corrupt.bin");
+        Files.write(corruptFile, new byte[]{ 0x49, 0x4A, 0x53, 0x43, 0, 1, 0x7F });
+
+        // when
+        ScanCache missingCache = ScanCache.read(tempDirectory.resolve("missing.bin"), "org.animals");
+        ScanCache corruptCache = ScanCache.read(corruptFile, "org.animals");
+
+        // then
+        assertThat(missingCache.getLocations(), anEmptyMap());
+        assertThat(corruptCache.getLocations(), anEmptyMap());
+    }
+
+    private static ClassFileInfo classInfo(String name, String... supertypes) {
+        return new ClassFileInfo(name, Arrays.asList(supertypes), Collections.emptySet());
+    }
+}
@@ -0,0 +1,103 @@
+package ch.jalu.injector.extras.scanning;
+
+import ch.jalu.injector.extras.samples.animals.Animal;
+import ch.jalu.injector.extras.samples.animals.Bird;
+import ch.jalu.injector.extras.samples.animals.Chicken;
+import ch.jalu.injector.extras.samples.animals.Frog;
+import ch.jalu.injector.extras.samples.animals.Lion;
+import ch.jalu.injector.extras.samples.animals.Ostrich;
+import ch.jalu.injector.extras.samples.animals.Reptile;
+import ch.jalu.injector.extras.samples.animals.Snake;
+import ch.jalu.injector.extras.samples.animals.Sparrow;
+import ch.jalu.injector.extras.samples.animals.Turtle;
+import ch.jalu.injector.extras.scanning.ScanCache.CachedLocation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Test for {@link ScanningSubtypeLookup}.
+ */
+class ScanningSubtypeLookupTest {
+
+    private static final String ROOT_PACKAGE = "ch.jalu.injector.extras.samples.animals";
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void shouldScanAndWriteCache() {
+        // given
+        Path cacheFile = tempDirectory.resolve("scan.bin");
+        SubtypeLookup lookup = new ScanningSubtypeLookup(getClass().getClassLoader(), ROOT_PACKAGE, cacheFile);
+
+        // when
+        lookup.getSubTypesOf(Animal.class);
+
+        // then
+        assertThat(Files.exists(cacheFile), equalTo(true));
+        ScanCache cache = ScanCache.read(cacheFile, ROOT_PACKAGE);
+        assertThat(cache.getLocations(), aMapWithSize(1));
+        assertThat(cache.getLocations().values().iterator().next().getClasses().size(), greaterThan(10));
+    }
+
+    @Test
+    void shouldUseCachedEntryOfUnchangedLocation() throws Exception {
+        // given
+        Path location = getSamplesLocation();
+        Path cacheFile = tempDirectory.resolve("scan.bin");
+        writeCache(cacheFile, location, LocationFingerprint.of(location));
+        long cacheLastModified = Files.getLastModifiedTime(cacheFile).toMillis();
+        SubtypeLookup lookup = new ScanningSubtypeLookup(getClass().getClassLoader(), ROOT_PACKAGE, cacheFile);
+
+        // when / then
+        // Only the class from the cache is found, i.e. the location was not scanned
+        assertThat(lookup.getSubTypesOf(Animal.class), containsInAnyOrder(Chicken.class));
+        assertThat(Files.getLastModifiedTime(cacheFile).toMillis(), equalTo(cacheLastModified));
+    }
+
+    @Test
+    void shouldRescanChangedLocation() throws Exception {
+        // given
+        Path location = getSamplesLocation();
+        Path cacheFile = tempDirectory.resolve("scan.bin");
+        LocationFingerprint fingerprint = LocationFingerprint.of(location);
+        writeCache(cacheFile, location,
+            new LocationFingerprint(fingerprint.getSize() + 1, fingerprint.getLastModified(), 0L));
+        SubtypeLookup lookup = new ScanningSubtypeLookup(getClass().getClassLoader(), ROOT_PACKAGE, cacheFile);
+
+        // when / then
+        assertThat(lookup.getSubTypesOf(Animal.class), containsInAnyOrder(Bird.class, Chicken.class, Frog.class,
+            Lion.class, Ostrich.class, Reptile.class, Snake.class, Sparrow.class, Turtle.class));
+        CachedLocation updatedEntry = ScanCache.read(cacheFile, ROOT_PACKAGE)
+            .get(location.toAbsolutePath().toString());
+        assertThat(updatedEntry.getFingerprint().getSize(), equalTo(fingerprint.getSize()));
+        assertThat(updatedEntry.getClasses().size(), greaterThan(10));
+    }
+
+    private Path getSamplesLocation() {
+        List<Path> locations = new ClasspathScanner(getClass().getClassLoader(), ROOT_PACKAGE,
+            Collections.emptySet()).findLocations();
+        assertThat(locations, hasSize(1));
+        return locations.get(0);
+    }
+
+    private static void writeCache(Path cacheFile, Path location, LocationFingerprint fingerprint) throws Exception {
+        ClassFileInfo chickenInfo = new ClassFileInfo(Chicken.class.getName(),
+            Collections.singletonList(Animal.class.getName()), Collections.emptySet());
+        CachedLocation cachedLocation = new CachedLocation(fingerprint, Collections.singletonList(chickenInfo));
+        new ScanCache(Collections.singletonMap(location.toAbsolutePath().toString(), cachedLocation))
+            .write(cacheFile, ROOT_PACKAGE);
+    }
+}
@@ -0,0 +1,70 @@
+package ch.jalu.injector.stress;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.exceptions.InjectorException;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZZI_Result;
+
+import javax.inject.Inject;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * Two threads provide a value for the same annotation: exactly one must succeed, and its value must be injected
+ * afterwards.
+ */
+@JCStressTest
+@Outcome(id = {"true, false, 1", "false, true, 2"}, expect = ACCEPTABLE, desc = "One value provided and injected")
+@Outcome(expect = FORBIDDEN, desc = "Both or no values provided, or other value injected")
+@State
+public class ProvideStressTest {
+
+    private final Injector injector = StressInjectors.create();
+
+    @Actor
+    public void actor1(ZZI_Result result) {
+        result.r1 = tryProvide(1);
+    }
+
+    @Actor
+    public void actor2(ZZI_Result result) {
+        result.r2 = tryProvide(2);
+    }
+
+    @Arbiter
+    public void arbiter(ZZI_Result result) {
+        result.r3 = injector.newInstance(Service.class).value;
+    }
+
+    private boolean tryProvide(int value) {
+        try {
+            injector.provide(Value.class, value);
+            return true;
+        } catch (InjectorException e) {
+            return false;
+        }
+    }
+
+    /** Annotation whose value is provided. */
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Value {
+    }
+
+    /** Class with the provided value injected. */
+    public static final class Service {
+
+        final int value;
+
+        @Inject
+        Service(@Value int value) {
+            this.value = value;
+        }
+    }
+}
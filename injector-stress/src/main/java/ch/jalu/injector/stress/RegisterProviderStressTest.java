@@ -0,0 +1,56 @@
+package ch.jalu.injector.stress;
+
+import ch.jalu.injector.Injector;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZZ_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * One thread registers a provider for a class while another creates an object of the class, which can also be
+ * instantiated without the provider. The concurrent request may or may not use the provider, but once the
+ * registration is done the provider must be used: a resolution cached by the concurrent request may not
+ * outlive the registration.
+ */
+@JCStressTest
+@Outcome(id = {"false, true", "true, true"}, expect = ACCEPTABLE, desc = "Provider used after registration")
+@Outcome(id = {"false, false", "true, false"}, expect = FORBIDDEN, desc = "Stale resolution used after registration")
+@State
+public class RegisterProviderStressTest {
+
+    private final Injector injector = StressInjectors.create();
+
+    @Actor
+    public void registerProvider() {
+        injector.registerProvider(Service.class, () -> new Service(true));
+    }
+
+    @Actor
+    public void newInstance(ZZ_Result result) {
+        result.r1 = injector.newInstance(Service.class).fromProvider;
+    }
+
+    @Arbiter
+    public void arbiter(ZZ_Result result) {
+        result.r2 = injector.newInstance(Service.class).fromProvider;
+    }
+
+    /** Class which is instantiated by the injector or by the provider. */
+    public static final class Service {
+
+        final boolean fromProvider;
+
+        public Service() {
+            this(false);
+        }
+
+        Service(boolean fromProvider) {
+            this.fromProvider = fromProvider;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package ch.jalu.injector.stress;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.exceptions.InjectorException;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZZ_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * Two threads register an object for the same class: exactly one registration must succeed.
+ */
+@JCStressTest
+@Outcome(id = {"true, false", "false, true"}, expect = ACCEPTABLE, desc = "One registration succeeded")
+@Outcome(expect = FORBIDDEN, desc = "Both or no registrations succeeded")
+@State
+public class RegisterStressTest {
+
+    private final Injector injector = StressInjectors.create();
+
+    @Actor
+    public void actor1(ZZ_Result result) {
+        result.r1 = tryRegister(new Service());
+    }
+
+    @Actor
+    public void actor2(ZZ_Result result) {
+        result.r2 = tryRegister(new Service());
+    }
+
+    private boolean tryRegister(Service service) {
+        try {
+            injector.register(Service.class, service);
+            return true;
+        } catch (InjectorException e) {
+            return false;
+        }
+    }
+
+    /** Registered class. */
+    public static final class Service {
+    }
+}
@@ -0,0 +1,74 @@
+package ch.jalu.injector.stress;
+
+import ch.jalu.injector.Injector;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.IIII_Result;
+
+import java.util.Collection;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * Two threads register singletons of a common type while a third one retrieves all singletons of that type
+ * twice. Every retrieved object must be registered, a later retrieval may not return fewer objects, and once the
+ * registrations are done both objects must be returned.
+ */
+@JCStressTest
+@Outcome(id = {"0, 0, 1, 2", "0, 1, 1, 2", "0, 2, 1, 2", "1, 1, 1, 2", "1, 2, 1, 2", "2, 2, 1, 2"},
+    expect = ACCEPTABLE, desc = "Consistent view of the registrations")
+@Outcome(expect = FORBIDDEN, desc = "Inconsistent view of the registrations")
+@State
+public class RetrieveAllOfTypeStressTest {
+
+    private final Injector injector = StressInjectors.create();
+
+    @Actor
+    public void registerA() {
+        injector.register(A.class, new A());
+    }
+
+    @Actor
+    public void registerB() {
+        injector.register(B.class, new B());
+    }
+
+    @Actor
+    public void retrieve(IIII_Result result) {
+        Collection<Marker> first = injector.retrieveAllOfType(Marker.class);
+        Collection<Marker> second = injector.retrieveAllOfType(Marker.class);
+        result.r1 = first.size();
+        result.r2 = second.size();
+        result.r3 = areRegistered(first) && areRegistered(second) && second.containsAll(first) ? 1 : 0;
+    }
+
+    @Arbiter
+    public void arbiter(IIII_Result result) {
+        result.r4 = injector.retrieveAllOfType(Marker.class).size();
+    }
+
+    private boolean areRegistered(Collection<Marker> markers) {
+        for (Marker marker : markers) {
+            if (injector.getIfAvailable(marker.getClass()) != marker) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Common type of the registered singletons. */
+    public interface Marker {
+    }
+
+    /** First registered class. */
+    public static final class A implements Marker {
+    }
+
+    /** Second registered class. */
+    public static final class B implements Marker {
+    }
+}
@@ -0,0 +1,69 @@
+package ch.jalu.injector.stress;
+
+import ch.jalu.injector.Injector;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZI_Result;
+
+import javax.inject.Inject;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * Two threads request the same singleton, which has a dependency: both must get the same object and the class
+ * must be instantiated exactly once.
+ */
+@JCStressTest
+@Outcome(id = "true, 1", expect = ACCEPTABLE, desc = "Same singleton, created once")
+@Outcome(expect = FORBIDDEN, desc = "Different singletons or created more than once")
+@State
+public class SingletonCreationStressTest {
+
+    private final Injector injector = StressInjectors.create();
+    private final CreationCounter counter = new CreationCounter();
+    private Object singleton1;
+    private Object singleton2;
+
+    public SingletonCreationStressTest() {
+        injector.register(CreationCounter.class, counter);
+    }
+
+    @Actor
+    public void actor1() {
+        singleton1 = injector.getSingleton(Service.class);
+    }
+
+    @Actor
+    public void actor2() {
+        singleton2 = injector.getSingleton(Service.class);
+    }
+
+    @Arbiter
+    public void arbiter(ZI_Result result) {
+        result.r1 = singleton1 == singleton2 && singleton1 != null;
+        result.r2 = counter.creations.get();
+    }
+
+    /** Counts the created objects of the injector it is registered in. */
+    public static final class CreationCounter {
+        final AtomicInteger creations = new AtomicInteger();
+    }
+
+    /** Singleton whose creations are counted. */
+    public static final class Service {
+
+        @Inject
+        Service(Dependency dependency, CreationCounter counter) {
+            counter.creations.incrementAndGet();
+        }
+    }
+
+    /** Dependency of {@link Service}. */
+    public static final class Dependency {
+    }
+}
@@ -0,0 +1,69 @@
+package ch.jalu.injector.stress;
+
+import ch.jalu.injector.Injector;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * One thread creates a singleton while another looks it up with {@link Injector#getIfAvailable}: if the singleton
+ * is visible, its constructor, injected fields and {@code @PostConstruct} method must all have been run.
+ */
+@JCStressTest
+@Outcome(id = "-1", expect = ACCEPTABLE, desc = "Singleton not yet available")
+@Outcome(id = "1", expect = ACCEPTABLE, desc = "Fully initialized singleton")
+@Outcome(id = "0", expect = FORBIDDEN, desc = "Partially initialized singleton escaped")
+@State
+public class SingletonPublicationStressTest {
+
+    private final Injector injector = StressInjectors.create();
+
+    @Actor
+    public void creator() {
+        injector.getSingleton(Service.class);
+    }
+
+    @Actor
+    public void reader(I_Result result) {
+        Service service = injector.getIfAvailable(Service.class);
+        if (service == null) {
+            result.r1 = -1;
+        } else {
+            result.r1 = service.isInitialized() ? 1 : 0;
+        }
+    }
+
+    /** Singleton initialized with constructor, field and post construct method injection. */
+    public static final class Service {
+
+        private int value;
+        @Inject
+        private Dependency dependency;
+        private boolean postConstructed;
+
+        public Service() {
+            value = 42;
+        }
+
+        @PostConstruct
+        public void init() {
+            postConstructed = true;
+        }
+
+        boolean isInitialized() {
+            return value == 42 && dependency != null && postConstructed;
+        }
+    }
+
+    /** Dependency of {@link Service}. */
+    public static final class Dependency {
+    }
+}
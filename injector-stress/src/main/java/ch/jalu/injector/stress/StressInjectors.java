@@ -0,0 +1,20 @@
+package ch.jalu.injector.stress;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+
+/**
+ * Creates the injectors of the stress tests.
+ */
+final class StressInjectors {
+
+    private StressInjectors() {
+    }
+
+    /**
+     * @return new injector with the default handlers for the classes of the stress tests
+     */
+    static Injector create() {
+        return new InjectorBuilder().addDefaultHandlers(StressInjectors.class.getPackage().getName()).create();
+    }
+}
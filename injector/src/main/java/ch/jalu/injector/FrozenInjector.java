@@ -0,0 +1,165 @@
+package ch.jalu.injector;
+
+import ch.jalu.injector.exceptions.InjectorException;
+import ch.jalu.injector.utils.MemoryEstimates;
+
+import javax.inject.Provider;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import static ch.jalu.injector.context.StandardResolutionType.REQUEST_SCOPED;
+import static ch.jalu.injector.context.StandardResolutionType.REQUEST_SCOPED_IF_HAS_DEPENDENCIES;
+import static ch.jalu.injector.context.StandardResolutionType.SINGLETON;
+
+/**
+ * Read-only snapshot of the singletons of an injector, as returned by {@link Injector#freeze()}.
+ * <p>
+ * The singletons are kept in an open-addressed hash table (linear probing) which is never modified after
+ * construction, so lookups require no synchronization. The table is safely published by the final fields.
+ * <p>
+ * Registrations fail on this injector. Requests which are not served by the table are delegated to the frozen
+ * injector the snapshot was created from, which does not create any new singletons either. Objects created
+ * through this snapshot receive the snapshot wherever they depend on {@link Injector}.
+ */
+final class FrozenInjector implements Injector {
+
+    private final InjectorImpl injector;
+    private final Class<?>[] keys;
+    private final Object[] values;
+    private final int mask;
+    private final TypeIndex typeIndex;
+
+    /**
+     * Constructor.
+     *
+     * @param injector the frozen injector the snapshot is created from
+     * @param singletons the singletons of the injector
+     */
+    FrozenInjector(InjectorImpl injector, Map<Class<?>, Object> singletons) {
+        this.injector = injector;
+
+        int capacity = Integer.highestOneBit(Math.max(2, singletons.size() + 1) * 2 - 1) << 1;
+        this.keys = new Class<?>[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        List<Object> allValues = new ArrayList<>(singletons.size());
+        for (Map.Entry<Class<?>, Object> entry : singletons.entrySet()) {
+            Object value = entry.getKey() == Injector.class ? this : entry.getValue();
+            put(entry.getKey(), value);
+            allValues.add(value);
+        }
+        this.typeIndex = new TypeIndex(allValues);
+    }
+
+    @Override
+    public <T> void register(Class<? super T> clazz, T object) {
+        throw newFrozenException("register", clazz);
+    }
+
+    @Override
+    public <T> void registerProvider(Class<T> clazz, Provider<? extends T> provider) {
+        throw newFrozenException("register a provider for", clazz);
+    }
+
+    @Override
+    public <T, P extends Provider<? extends T>> void registerProvider(Class<T> clazz, Class<P> providerClass) {
+        throw newFrozenException("register a provider for", clazz);
+    }
+
+    @Override
+    public <T> void registerAsyncProvider(Class<T> clazz,
+                                          Supplier<? extends CompletionStage<? extends T>> provider) {
+        throw newFrozenException("register a provider for", clazz);
+    }
+
+    @Override
+    public void provide(Class<? extends Annotation> annotation, Object object) {
+        throw newFrozenException("provide a value for", annotation);
+    }
+
+    @Override
+    public <T> T getSingleton(Class<T> clazz) {
+        T singleton = getIfAvailable(clazz);
+        return singleton == null ? injector.resolve(this, SINGLETON, clazz) : singleton;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getSingletonAsync(Class<T> clazz) {
+        T singleton = getIfAvailable(clazz);
+        return singleton == null ? injector.getSingletonAsync(clazz) : CompletableFuture.completedFuture(singleton);
+    }
+
+    @Override
+    public <T> T newInstance(Class<T> clazz) {
+        return injector.resolve(this, REQUEST_SCOPED, clazz);
+    }
+
+    @Override
+    public <T> T getIfAvailable(Class<T> clazz) {
+        int index = indexFor(clazz);
+        Class<?> key;
+        while ((key = keys[index]) != null) {
+            if (key == clazz) {
+                return clazz.cast(values[index]);
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    @Override
+    public <T> T createIfHasDependencies(Class<T> clazz) {
+        return injector.resolve(this, REQUEST_SCOPED_IF_HAS_DEPENDENCIES, clazz);
+    }
+
+    @Override
+    public <T> Collection<T> retrieveAllOfType(Class<T> clazz) {
+        return typeIndex.getAllOfType(clazz);
+    }
+
+    @Override
+    public void initializeAll(Collection<Class<?>> classes, Executor executor) {
+        injector.initializeAll(classes, executor);
+    }
+
+    @Override
+    public Injector freeze() {
+        return this;
+    }
+
+    @Override
+    public InjectorDiagnostics getDiagnostics() {
+        InjectorDiagnostics diagnostics = injector.getDiagnostics();
+        // Hash table, list of all singletons and own type index
+        long snapshotBytes = 2 * MemoryEstimates.array(keys.length)
+            + MemoryEstimates.list(diagnostics.getSingletonCount())
+            + typeIndex.estimateRetainedBytes();
+        return diagnostics.withComponent("frozenSnapshot", snapshotBytes);
+    }
+
+    private void put(Class<?> clazz, Object value) {
+        int index = indexFor(clazz);
+        while (keys[index] != null) {
+            index = (index + 1) & mask;
+        }
+        keys[index] = clazz;
+        values[index] = value;
+    }
+
+    private int indexFor(Class<?> clazz) {
+        // Class#hashCode is the identity hash code; spread its bits as HashMap does
+        int hash = clazz.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static InjectorException newFrozenException(String action, Class<?> clazz) {
+        return new InjectorException("Cannot " + action + " " + clazz + ": the injector is frozen");
+    }
+}
@@ -1,9 +1,18 @@
 package ch.jalu.injector;
 
+import ch.jalu.injector.exceptions.InjectorException;
+import ch.jalu.injector.handlers.instantiation.AsyncProvider;
+
 import javax.annotation.Nullable;
 import javax.inject.Provider;
 import java.lang.annotation.Annotation;
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Dependency injector.
@@ -11,6 +20,10 @@ import java.util.Collection;
  * Allows you to retrieve singletons and create new instances. By default, it supports field and constructor injection
  * and executes methods annotated with {@code @PostConstruct}. You can obtain an injector and customize its behavior
  * with the {@link InjectorBuilder}.
+ * <p>
+ * Methods added after 1.0 have default implementations so that existing implementations and decorators of this
+ * interface remain compatible: they either fall back to the methods of 1.0 or throw an {@link InjectorException}
+ * if the functionality is not supported.
  */
 public interface Injector {
 
@@ -47,6 +60,41 @@ public interface Injector {
      */
     <T, P extends Provider<? extends T>> void registerProvider(Class<T> clazz, Class<P> providerClass);
 
+    /**
+     * Registers a provider for the given class which creates the object asynchronously. When the class needs to
+     * be instantiated, the supplier is called and the returned completion stage is waited for, up to the timeout
+     * configured with {@link InjectorBuilder#setAsyncTimeout}. Combine with {@link #getSingletonAsync} or
+     * {@link #initializeAll} such that multiple async providers are waited for in parallel without blocking any
+     * threads.
+     * <p>
+     * The default implementation registers an {@link AsyncProvider} without timeout as regular provider.
+     *
+     * @param clazz the class to register the provider for
+     * @param provider supplier of the completion stage producing the object
+     * @param <T> the class's type
+     * @since 1.1
+     */
+    default <T> void registerAsyncProvider(Class<T> clazz,
+                                           Supplier<? extends CompletionStage<? extends T>> provider) {
+        registerProvider(clazz, new AsyncProvider<>(clazz, provider, 0));
+    }
+
+    /**
+     * Registers a provider for the given class which creates the object asynchronously, with its own timeout.
+     * See {@link #registerAsyncProvider(Class, Supplier)}.
+     *
+     * @param clazz the class to register the provider for
+     * @param provider supplier of the completion stage producing the object
+     * @param timeout the maximum time to wait for the completion stage, 0 for no timeout
+     * @param unit the unit of the timeout
+     * @param <T> the class's type
+     * @since 1.1
+     */
+    default <T> void registerAsyncProvider(Class<T> clazz, Supplier<? extends CompletionStage<? extends T>> provider,
+                                           long timeout, TimeUnit unit) {
+        registerProvider(clazz, new AsyncProvider<>(clazz, provider, unit.toMillis(timeout)));
+    }
+
     /**
      * Processes an annotation with an associated object. The actual behavior of this method depends on the
      * configured handlers of the injector. By default it registers the given object for the annotation such
@@ -68,6 +116,22 @@ public interface Injector {
      */
     <T> T getSingleton(Class<T> clazz);
 
+    /**
+     * Retrieves or instantiates an object of the given type (singleton scope) asynchronously. The singletons
+     * the object depends on are created in parallel where possible, on the executor configured with
+     * {@link InjectorBuilder#setAsyncExecutor}.
+     * <p>
+     * The default implementation calls {@link #getSingleton} on the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param clazz the class to retrieve the value for
+     * @param <T> the class's type
+     * @return future of the object of the class's type
+     * @since 1.1
+     */
+    default <T> CompletableFuture<T> getSingletonAsync(Class<T> clazz) {
+        return CompletableFuture.supplyAsync(() -> getSingleton(clazz));
+    }
+
     /**
      * Request-scoped method to instantiate a new object of the given class. The injector does <i>not</i> keep track
      * of it afterwards; it will always return a new instance and forget about it.
@@ -109,6 +173,10 @@ public interface Injector {
      * Returns all known singletons of the given type. Typically used
      * with interfaces in order to perform an action without knowing its concrete implementors.
      * Trivially, using {@link Object} as {@code clazz} will return all known singletons.
+     * <p>
+     * The returned collection is immutable. The singletons of a type are indexed once the type has been requested
+     * (also if it has no singletons), so that subsequent calls for the same type do not depend on the total number
+     * of singletons.
      *
      * @param clazz the class to retrieve singletons of
      * @param <T> the class's type
@@ -117,4 +185,65 @@ public interface Injector {
      */
     <T> Collection<T> retrieveAllOfType(Class<T> clazz);
 
+    /**
+     * Creates the singletons of all given classes and of their dependencies. The dependency graph of the
+     * classes is determined beforehand, such that singletons which do not depend on each other can be
+     * created in parallel on the given executor. Each singleton is only created once all of its dependencies
+     * exist. This method returns once all singletons have been created.
+     * <p>
+     * Classes to initialize this way may be marked with {@link ch.jalu.injector.annotations.Eager @Eager}.
+     * <p>
+     * The default implementation ignores the executor and calls {@link #getSingleton} for each class in turn.
+     *
+     * @param classes the classes whose singletons should be created
+     * @param executor the executor to create the singletons with
+     * @since 1.1
+     */
+    default void initializeAll(Collection<Class<?>> classes, Executor executor) {
+        classes.forEach(this::getSingleton);
+    }
+
+    /**
+     * Creates the singletons of all given classes and of their dependencies in parallel on the
+     * {@link ForkJoinPool#commonPool() common pool}. See {@link #initializeAll(Collection, Executor)}.
+     *
+     * @param classes the classes whose singletons should be created
+     * @since 1.1
+     */
+    default void initializeAll(Collection<Class<?>> classes) {
+        initializeAll(classes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Freezes the injector and returns a read-only snapshot of it. Meant to be called once the application
+     * has started: afterwards, no objects, providers or annotation values can be registered, and no new
+     * singletons can be created, neither on the returned injector nor on this one. New instances can still
+     * be created from the existing singletons.
+     * <p>
+     * The snapshot retrieves singletons from an immutable table, without any synchronization. Calling this
+     * method multiple times returns the same snapshot.
+     * <p>
+     * The default implementation throws an exception as freezing is not supported.
+     *
+     * @return read-only snapshot of the injector
+     * @since 1.1
+     */
+    default Injector freeze() {
+        throw new InjectorException("Freezing is not supported by " + getClass());
+    }
+
+    /**
+     * Returns diagnostics of this injector: the number of singletons and cached resolutions, and an estimate of
+     * the heap memory retained by the bookkeeping of the injector and its handlers. Meant to size heaps and to
+     * detect leaks, e.g. when many injectors are used in the same JVM.
+     * <p>
+     * The default implementation throws an exception as diagnostics are not supported.
+     *
+     * @return diagnostics of the injector
+     * @since 1.1
+     */
+    default InjectorDiagnostics getDiagnostics() {
+        throw new InjectorException("Diagnostics are not supported by " + getClass());
+    }
+
 }
\ No newline at end of file
@@ -8,12 +8,16 @@ import ch.jalu.injector.handlers.dependency.SingletonStoreDependencyHandler;
 import ch.jalu.injector.handlers.instantiation.DefaultInjectionProvider;
 import ch.jalu.injector.handlers.postconstruct.PostConstructMethodInvoker;
 import ch.jalu.injector.handlers.instantiation.ProviderHandler;
+import ch.jalu.injector.metrics.InjectorMetrics;
 import ch.jalu.injector.utils.InjectorUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Configures and creates an {@link Injector}.
@@ -107,6 +111,48 @@ public class InjectorBuilder {
         return this;
     }
 
+    /**
+     * Sets the executor on which asynchronous resolutions are performed. Defaults to the
+     * {@link ForkJoinPool#commonPool() common pool}. As resolutions may block while waiting for dependencies,
+     * an executor with virtual threads or with enough threads for the expected parallelism is recommended.
+     *
+     * @param executor the executor to use
+     * @return the builder
+     * @see Injector#getSingletonAsync
+     */
+    public InjectorBuilder setAsyncExecutor(Executor executor) {
+        config.setAsyncExecutor(executor);
+        return this;
+    }
+
+    /**
+     * Sets the maximum time to wait for the completion stage of an async provider which was registered without
+     * its own timeout. By default, there is no timeout.
+     *
+     * @param timeout the timeout, 0 for no timeout
+     * @param unit the unit of the timeout
+     * @return the builder
+     * @see Injector#registerAsyncProvider
+     */
+    public InjectorBuilder setAsyncTimeout(long timeout, TimeUnit unit) {
+        config.setAsyncTimeoutMillis(unit.toMillis(timeout));
+        return this;
+    }
+
+    /**
+     * Sets the listener to notify of the injector's work, such as the time spent resolving and instantiating
+     * objects. By default, no metrics are recorded and the injector does not measure any durations. Use
+     * {@link InjectorMetrics#composite} to notify multiple listeners.
+     *
+     * @param metrics the metrics listener to use
+     * @return the builder
+     * @see ch.jalu.injector.metrics.MetricsRecorder
+     */
+    public InjectorBuilder setMetrics(InjectorMetrics metrics) {
+        config.setMetrics(metrics);
+        return this;
+    }
+
     /**
      * Creates an injector with the configurations set to the builder.
      *
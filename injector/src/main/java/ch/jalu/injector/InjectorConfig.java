@@ -1,18 +1,42 @@
 package ch.jalu.injector;
 
+import ch.jalu.injector.context.ResolutionContext;
 import ch.jalu.injector.handlers.Handler;
+import ch.jalu.injector.handlers.instantiation.Resolution;
+import ch.jalu.injector.metrics.InjectorMetrics;
 import ch.jalu.injector.utils.InjectorUtils;
 
+import javax.inject.Provider;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * Injector configuration.
+ * <p>
+ * Besides the list of all handlers, the configuration keeps arrays of the handlers per method they implement,
+ * such that the injector only calls the handlers which actually override a given {@link Handler} method.
+ * The arrays are built when the injector is created and are rebuilt whenever the list of handlers changes, in
+ * which case the injectors using this configuration are notified so they can discard their cached resolutions.
  */
 public class InjectorConfig {
 
-    private List<Handler> handlers = new ArrayList<>();
+    private final List<Handler> handlers = new HandlerList();
+    private volatile HandlerDispatch dispatch;
+    private final List<Runnable> handlerChangeListeners = new CopyOnWriteArrayList<>();
+    private Executor asyncExecutor = ForkJoinPool.commonPool();
+    private long asyncTimeoutMillis;
+    private InjectorMetrics metrics = InjectorMetrics.NO_OP;
 
     /**
      * Use the {@link InjectorBuilder} instead of instantiating this.
@@ -28,4 +52,305 @@ public class InjectorConfig {
     public List<Handler> getHandlers() {
         return handlers;
     }
+
+    /**
+     * @return the executor used for asynchronous resolutions
+     */
+    public Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        InjectorUtils.checkNotNull(asyncExecutor, "Executor may not be null");
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * @return the maximum time in milliseconds to wait for an async provider, 0 for no timeout
+     */
+    public long getAsyncTimeoutMillis() {
+        return asyncTimeoutMillis;
+    }
+
+    public void setAsyncTimeoutMillis(long asyncTimeoutMillis) {
+        InjectorUtils.checkArgument(asyncTimeoutMillis >= 0, "Timeout may not be negative");
+        this.asyncTimeoutMillis = asyncTimeoutMillis;
+    }
+
+    /**
+     * @return the listener which is notified of the injector's work, {@link InjectorMetrics#NO_OP} by default
+     */
+    public InjectorMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(InjectorMetrics metrics) {
+        InjectorUtils.checkNotNull(metrics, "Metrics may not be null");
+        this.metrics = metrics;
+    }
+
+    /**
+     * Builds the dispatch arrays (if needed) and registers a listener to run whenever the list of handlers changes.
+     * Called by the injector on creation, so that the first resolution doesn't have to build the dispatch.
+     *
+     * @param handlerChangeListener the listener to run after the handlers have changed
+     */
+    void initialize(Runnable handlerChangeListener) {
+        getDispatch();
+        handlerChangeListeners.add(handlerChangeListener);
+    }
+
+    /**
+     * @return the handlers which implement {@link Handler#resolve}
+     */
+    Handler[] getResolvers() {
+        return getDispatch().resolvers;
+    }
+
+    /**
+     * Returns the number of {@link #getResolvers() resolvers}, from the start, whose resolutions may be cached:
+     * a resolution may not be cached if a {@link Handler#isContextDependent() context dependent} resolver
+     * comes before the one which returned it.
+     *
+     * @return the number of resolvers whose resolutions may be cached
+     */
+    int getCacheableResolverCount() {
+        return getDispatch().cacheableResolverCount;
+    }
+
+    /**
+     * Returns the handlers implementing {@link Handler#postProcess} which are applicable to objects of the
+     * given class, i.e. all such handlers that don't skip the class via {@link Handler#canSkipPostProcessing}.
+     * The result is computed once per class.
+     *
+     * @param clazz the class of the object to post process
+     * @return the post processors to run on the object
+     */
+    Handler[] getPostProcessors(Class<?> clazz) {
+        return getDispatch().getPostProcessors(clazz);
+    }
+
+    /**
+     * @return the handlers which implement {@link Handler#postProcess}
+     */
+    Handler[] getPostProcessors() {
+        return getDispatch().postProcessors;
+    }
+
+    /**
+     * @return the handlers which implement {@link Handler#onAnnotation}
+     */
+    Handler[] getAnnotationHandlers() {
+        return getDispatch().annotationHandlers;
+    }
+
+    /**
+     * @return the handlers which implement {@link Handler#onProvider}
+     */
+    Handler[] getProviderHandlers() {
+        return getDispatch().providerHandlers;
+    }
+
+    /**
+     * @return the handlers which implement {@link Handler#onProviderClass}
+     */
+    Handler[] getProviderClassHandlers() {
+        return getDispatch().providerClassHandlers;
+    }
+
+    private HandlerDispatch getDispatch() {
+        HandlerDispatch currentDispatch = dispatch;
+        if (currentDispatch == null) {
+            currentDispatch = new HandlerDispatch(new ArrayList<>(handlers));
+            dispatch = currentDispatch;
+        }
+        return currentDispatch;
+    }
+
+    private void onHandlersChanged() {
+        if (handlerChangeListeners.isEmpty()) {
+            // No injector yet: the dispatch is built on creation
+            dispatch = null;
+        } else {
+            dispatch = new HandlerDispatch(new ArrayList<>(handlers));
+            handlerChangeListeners.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * List of handlers which updates the dispatch arrays whenever it is modified. Bulk operations update them
+     * only once.
+     */
+    private final class HandlerList extends AbstractList<Handler> implements RandomAccess {
+
+        private final List<Handler> list = new ArrayList<>();
+
+        @Override
+        public Handler get(int index) {
+            return list.get(index);
+        }
+
+        @Override
+        public int size() {
+            return list.size();
+        }
+
+        @Override
+        public Handler set(int index, Handler element) {
+            Handler previous = list.set(index, element);
+            onHandlersChanged();
+            return previous;
+        }
+
+        @Override
+        public void add(int index, Handler element) {
+            list.add(index, element);
+            onHandlersChanged();
+        }
+
+        @Override
+        public Handler remove(int index) {
+            Handler removed = list.remove(index);
+            onHandlersChanged();
+            return removed;
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends Handler> handlers) {
+            return addAll(list.size(), handlers);
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends Handler> handlers) {
+            boolean changed = list.addAll(index, handlers);
+            if (changed) {
+                onHandlersChanged();
+            }
+            return changed;
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super Handler> filter) {
+            boolean changed = list.removeIf(filter);
+            if (changed) {
+                onHandlersChanged();
+            }
+            return changed;
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> handlers) {
+            return removeIf(handlers::contains);
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> handlers) {
+            return removeIf(h -> !handlers.contains(h));
+        }
+
+        @Override
+        public void replaceAll(UnaryOperator<Handler> operator) {
+            list.replaceAll(operator);
+            onHandlersChanged();
+        }
+
+        @Override
+        public void sort(Comparator<? super Handler> comparator) {
+            list.sort(comparator);
+            onHandlersChanged();
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            // Used by clear() and by clear() on sub lists
+            if (fromIndex < toIndex) {
+                list.subList(fromIndex, toIndex).clear();
+                onHandlersChanged();
+            }
+        }
+    }
+
+    /**
+     * Arrays of handlers per {@link Handler} method they implement.
+     */
+    private static final class HandlerDispatch {
+
+        /** Maximum number of classes for which the applicable post processors are kept. */
+        private static final int MAX_POST_PROCESSOR_CLASSES = 1024;
+
+        private final Handler[] resolvers;
+        private final int cacheableResolverCount;
+        private final Handler[] postProcessors;
+        private final Handler[] annotationHandlers;
+        private final Handler[] providerHandlers;
+        private final Handler[] providerClassHandlers;
+        private final Map<Class<?>, Handler[]> postProcessorsByClass = new ConcurrentHashMap<>();
+
+        HandlerDispatch(List<Handler> handlers) {
+            resolvers = filter(handlers,
+                h -> overrides(h, "resolve", ResolutionContext.class));
+            cacheableResolverCount = countCacheableResolvers(resolvers);
+            postProcessors = filter(handlers,
+                h -> overrides(h, "postProcess", Object.class, ResolutionContext.class, Resolution.class));
+            annotationHandlers = filter(handlers,
+                h -> overrides(h, "onAnnotation", Class.class, Object.class));
+            providerHandlers = filter(handlers,
+                h -> overrides(h, "onProvider", Class.class, Provider.class));
+            providerClassHandlers = filter(handlers,
+                h -> overrides(h, "onProviderClass", Class.class, Class.class));
+        }
+
+        Handler[] getPostProcessors(Class<?> clazz) {
+            Handler[] applicablePostProcessors = postProcessorsByClass.get(clazz);
+            if (applicablePostProcessors == null) {
+                applicablePostProcessors = filter(postProcessors, h -> !h.canSkipPostProcessing(clazz));
+                // Bounded so that classes created in large numbers (e.g. generated ones) don't make it grow
+                // indefinitely; the post processors of other classes are then computed on every call
+                if (postProcessorsByClass.size() < MAX_POST_PROCESSOR_CLASSES) {
+                    postProcessorsByClass.put(clazz, applicablePostProcessors);
+                }
+            }
+            return applicablePostProcessors;
+        }
+
+        private static int countCacheableResolvers(Handler[] resolvers) {
+            for (int i = 0; i < resolvers.length; ++i) {
+                if (resolvers[i].isContextDependent()) {
+                    // Resolutions of this handler may be cached, but not those of the handlers after it
+                    return i + 1;
+                }
+            }
+            return resolvers.length;
+        }
+
+        private static Handler[] filter(Collection<Handler> handlers, Predicate<Handler> predicate) {
+            return handlers.stream().filter(predicate).toArray(Handler[]::new);
+        }
+
+        private static Handler[] filter(Handler[] handlers, Predicate<Handler> predicate) {
+            List<Handler> result = new ArrayList<>(handlers.length);
+            for (Handler handler : handlers) {
+                if (predicate.test(handler)) {
+                    result.add(handler);
+                }
+            }
+            return result.toArray(new Handler[0]);
+        }
+
+        /**
+         * Returns whether the handler's class overrides the given method of {@link Handler}.
+         *
+         * @param handler the handler to inspect
+         * @param methodName the name of the method
+         * @param parameterTypes the parameter types of the method
+         * @return true if the handler has its own implementation of the method, false if it uses the default
+         */
+        private static boolean overrides(Handler handler, String methodName, Class<?>... parameterTypes) {
+            try {
+                return handler.getClass().getMethod(methodName, parameterTypes).getDeclaringClass() != Handler.class;
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("Could not find method '" + methodName + "' in Handler", e);
+            }
+        }
+    }
 }
@@ -0,0 +1,102 @@
+package ch.jalu.injector;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Snapshot of the state of an injector, as returned by {@link Injector#getDiagnostics()}. Includes an estimate of
+ * the heap memory retained by the injector's own bookkeeping (maps, caches and registrations of the injector and
+ * its handlers), which does not include the singletons and other objects that were given to or created by the
+ * injector.
+ *
+ * @see ch.jalu.injector.utils.MemoryEstimates
+ */
+public final class InjectorDiagnostics {
+
+    private final int singletonCount;
+    private final int cachedResolutionCount;
+    private final int indexedTypeCount;
+    private final Map<String, Long> retainedBytesByComponent;
+
+    /**
+     * Constructor.
+     *
+     * @param singletonCount the number of singletons
+     * @param cachedResolutionCount the number of resolutions cached by the injector
+     * @param indexedTypeCount the number of types indexed for {@link Injector#retrieveAllOfType}
+     * @param retainedBytesByComponent the estimated retained memory by component
+     */
+    InjectorDiagnostics(int singletonCount, int cachedResolutionCount, int indexedTypeCount,
+                        Map<String, Long> retainedBytesByComponent) {
+        this.singletonCount = singletonCount;
+        this.cachedResolutionCount = cachedResolutionCount;
+        this.indexedTypeCount = indexedTypeCount;
+        this.retainedBytesByComponent = Collections.unmodifiableMap(new LinkedHashMap<>(retainedBytesByComponent));
+    }
+
+    /**
+     * @return the number of singletons, including the injector itself
+     */
+    public int getSingletonCount() {
+        return singletonCount;
+    }
+
+    /**
+     * @return the number of resolutions cached by the injector (see
+     *         {@link ch.jalu.injector.handlers.instantiation.Resolution#isCacheable()})
+     */
+    public int getCachedResolutionCount() {
+        return cachedResolutionCount;
+    }
+
+    /**
+     * @return the number of types whose singletons are indexed for {@link Injector#retrieveAllOfType}
+     */
+    public int getIndexedTypeCount() {
+        return indexedTypeCount;
+    }
+
+    /**
+     * Returns the estimated retained memory by component: the singleton registry, the resolution cache, the type
+     * index and each handler (by class name, summed up if a class is used multiple times).
+     *
+     * @return estimated retained bytes by component, in a stable order
+     */
+    public Map<String, Long> getRetainedBytesByComponent() {
+        return retainedBytesByComponent;
+    }
+
+    /**
+     * @return the estimated total memory retained by the injector's bookkeeping, in bytes
+     */
+    public long getEstimatedRetainedBytes() {
+        long total = 0;
+        for (long bytes : retainedBytesByComponent.values()) {
+            total += bytes;
+        }
+        return total;
+    }
+
+    /**
+     * Returns diagnostics with an additional component.
+     *
+     * @param component the name of the component
+     * @param bytes the estimated retained memory of the component
+     * @return new diagnostics
+     */
+    InjectorDiagnostics withComponent(String component, long bytes) {
+        Map<String, Long> components = new LinkedHashMap<>(retainedBytesByComponent);
+        components.merge(component, bytes, Long::sum);
+        return new InjectorDiagnostics(singletonCount, cachedResolutionCount, indexedTypeCount, components);
+    }
+
+    @Override
+    public String toString() {
+        return "InjectorDiagnostics[singletons=" + singletonCount
+            + ", cachedResolutions=" + cachedResolutionCount
+            + ", indexedTypes=" + indexedTypeCount
+            + ", estimatedRetainedBytes=" + getEstimatedRetainedBytes()
+            + ", byComponent=" + retainedBytesByComponent + "]";
+    }
+}
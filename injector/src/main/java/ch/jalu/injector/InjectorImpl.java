@@ -6,17 +6,29 @@ import ch.jalu.injector.context.ResolutionType;
 import ch.jalu.injector.context.StandardResolutionType;
 import ch.jalu.injector.exceptions.InjectorException;
 import ch.jalu.injector.handlers.Handler;
+import ch.jalu.injector.handlers.instantiation.AsyncProvider;
 import ch.jalu.injector.handlers.instantiation.Resolution;
+import ch.jalu.injector.jfr.InjectorEvents;
+import ch.jalu.injector.metrics.InjectorMetrics;
 import ch.jalu.injector.utils.InjectorUtils;
+import ch.jalu.injector.utils.MemoryEstimates;
 
 import javax.annotation.Nullable;
 import javax.inject.Provider;
 import java.lang.annotation.Annotation;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static ch.jalu.injector.context.StandardResolutionType.REQUEST_SCOPED;
 import static ch.jalu.injector.context.StandardResolutionType.REQUEST_SCOPED_IF_HAS_DEPENDENCIES;
@@ -25,14 +37,34 @@ import static ch.jalu.injector.utils.InjectorUtils.checkNotNull;
 import static ch.jalu.injector.utils.InjectorUtils.containsNullValue;
 import static ch.jalu.injector.utils.InjectorUtils.firstNotNull;
 import static ch.jalu.injector.utils.InjectorUtils.rethrowException;
+import static ch.jalu.injector.utils.MemoryEstimates.HASH_MAP_ENTRY;
+import static ch.jalu.injector.utils.MemoryEstimates.OBJECT_IDENTIFIER;
 
 /**
  * Implementation of {@link Injector}.
+ * <p>
+ * This implementation is thread-safe: singletons can be retrieved and created from multiple threads. Each
+ * singleton is created exactly once; concurrent requests for a singleton that is being created wait for the
+ * creation in progress.
  */
 public class InjectorImpl implements Injector {
 
     protected Map<Class<?>, Object> objects;
     protected InjectorConfig config;
+    private static final Object[] NO_DEPENDENCIES = new Object[0];
+    /** Cache version for resolutions which may not be cached: never matches the current version. */
+    private static final long DO_NOT_CACHE = -1;
+
+    private final SingletonCreations singletonCreations = new SingletonCreations();
+    private final Map<ObjectIdentifier, CachedResolution> resolutionCache = new ConcurrentHashMap<>();
+    /** Incremented whenever the cached resolutions are invalidated. */
+    private final AtomicLong resolutionCacheVersion = new AtomicLong();
+    private final TypeIndex typeIndex;
+    private final InjectorMetrics metrics;
+    /** False if no metrics are recorded, in which case no durations are measured. */
+    private final boolean recordMetrics;
+    private volatile boolean frozen;
+    private FrozenInjector frozenInjector;
 
     /**
      * Constructor.
@@ -42,28 +74,43 @@ public class InjectorImpl implements Injector {
      */
     protected InjectorImpl(InjectorConfig config) {
         this.config = config;
-        this.objects = new HashMap<>();
+        this.objects = new ConcurrentHashMap<>();
         this.objects.put(Injector.class, this);
+        this.typeIndex = new TypeIndex(objects.values());
+        this.metrics = config.getMetrics();
+        this.recordMetrics = metrics != InjectorMetrics.NO_OP;
+        config.initialize(this::invalidateResolutionCache);
     }
 
     @Override
     public <T> void register(Class<? super T> clazz, T object) {
-        if (objects.containsKey(clazz)) {
-            throw new InjectorException("There is already an object present for " + clazz);
-        }
+        checkNotNull(clazz, "Class may not be null");
         checkNotNull(object);
-        objects.put(clazz, object);
+        synchronized (typeIndex) {
+            // Checked under the lock of freeze(), so that every registration is either in the snapshot or fails
+            checkNotFrozen("register", clazz);
+            if (objects.putIfAbsent(clazz, object) != null) {
+                throw new InjectorException("There is already an object present for " + clazz);
+            }
+            typeIndex.add(object);
+        }
+        if (recordMetrics) {
+            metrics.onSingletonRegistration(clazz);
+        }
     }
 
     @Override
     public void provide(Class<? extends Annotation> clazz, Object object) {
         checkNotNull(clazz, "Provided annotation may not be null");
+        checkNotFrozen("provide a value for", clazz);
         try {
-            for (Handler handler : config.getHandlers()) {
+            for (Handler handler : config.getAnnotationHandlers()) {
                 handler.onAnnotation(clazz, object);
             }
         } catch (Exception e) {
             rethrowException(e);
+        } finally {
+            invalidateResolutionCache();
         }
     }
 
@@ -72,6 +119,37 @@ public class InjectorImpl implements Injector {
         return resolve(SINGLETON, clazz);
     }
 
+    /**
+     * Returns the singleton of the given class, creating it with the given resolution if it does not exist yet.
+     * Used for resolutions which were prepared for the creation (see {@link Resolution#prepareAsync()}), so the
+     * resolution is not cached.
+     *
+     * @param clazz the class of the singleton
+     * @param resolution the resolution to create the singleton with
+     * @return the singleton, {@code null} if a dependency could not be resolved
+     */
+    @Nullable
+    Object getSingleton(Class<?> clazz, Resolution<?> resolution) {
+        ResolutionContext context = new ResolutionContext(this, new ObjectIdentifier(SINGLETON, clazz));
+        Object singleton = getKnownSingleton(context, clazz);
+        return singleton == null ? createSingleton(context, resolution, DO_NOT_CACHE) : singleton;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getSingletonAsync(Class<T> clazz) {
+        checkNotNull(clazz, "Class may not be null");
+        T singleton = getIfAvailable(clazz);
+        if (singleton != null) {
+            return CompletableFuture.completedFuture(singleton);
+        }
+        Executor executor = config.getAsyncExecutor();
+        return CompletableFuture
+            .supplyAsync(() -> new SingletonGraphInitializer(this)
+                .initializeAsync(Collections.singletonList(clazz), executor), executor)
+            .thenCompose(Function.identity())
+            .thenApply(ignored -> getSingleton(clazz));
+    }
+
     @Override
     public <T> T newInstance(Class<T> clazz) {
         return resolve(REQUEST_SCOPED, clazz);
@@ -89,38 +167,103 @@ public class InjectorImpl implements Injector {
 
     @Override
     public <T> Collection<T> retrieveAllOfType(Class<T> clazz) {
-        List<T> instances = new ArrayList<>();
-        for (Object object : objects.values()) {
-            if (clazz.isInstance(object)) {
-                instances.add(clazz.cast(object));
-            }
-        }
-        return instances;
+        return typeIndex.getAllOfType(clazz);
+    }
+
+    @Override
+    public void initializeAll(Collection<Class<?>> classes, Executor executor) {
+        checkNotNull(classes, "Classes may not be null");
+        checkNotNull(executor, "Executor may not be null");
+        new SingletonGraphInitializer(this).initialize(classes, executor);
     }
 
     @Override
     public <T> void registerProvider(Class<T> clazz, Provider<? extends T> provider) {
         checkNotNull(clazz, "Class may not be null");
         checkNotNull(provider, "Provider may not be null");
+        checkNotFrozen("register a provider for", clazz);
         try {
-            for (Handler handler : config.getHandlers()) {
+            for (Handler handler : config.getProviderHandlers()) {
                 handler.onProvider(clazz, provider);
             }
         } catch (Exception e) {
             rethrowException(e);
+        } finally {
+            invalidateResolutionCache();
         }
     }
 
+    @Override
+    public <T> void registerAsyncProvider(Class<T> clazz,
+                                          Supplier<? extends CompletionStage<? extends T>> provider) {
+        registerAsyncProvider(clazz, provider, config.getAsyncTimeoutMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public <T> void registerAsyncProvider(Class<T> clazz, Supplier<? extends CompletionStage<? extends T>> provider,
+                                          long timeout, TimeUnit unit) {
+        checkNotNull(clazz, "Class may not be null");
+        checkNotNull(provider, "Provider may not be null");
+        checkNotNull(unit, "Time unit may not be null");
+        registerProvider(clazz, new AsyncProvider<>(clazz, provider, unit.toMillis(timeout)));
+    }
+
     @Override
     public <T, P extends Provider<? extends T>> void registerProvider(Class<T> clazz, Class<P> providerClass) {
         checkNotNull(clazz, "Class may not be null");
         checkNotNull(providerClass, "Provider class may not be null");
+        checkNotFrozen("register a provider for", clazz);
         try {
-            for (Handler handler : config.getHandlers()) {
+            for (Handler handler : config.getProviderClassHandlers()) {
                 handler.onProviderClass(clazz, providerClass);
             }
         } catch (Exception e) {
             rethrowException(e);
+        } finally {
+            invalidateResolutionCache();
+        }
+    }
+
+    @Override
+    public Injector freeze() {
+        synchronized (typeIndex) {
+            if (frozenInjector == null) {
+                frozen = true;
+                frozenInjector = new FrozenInjector(this, objects);
+            }
+            return frozenInjector;
+        }
+    }
+
+    /**
+     * Removes all cached resolutions, e.g. because a handler's configuration or the list of handlers was changed.
+     * Resolutions which are being used concurrently were looked up with the previous configuration and are not
+     * cached afterwards.
+     */
+    private void invalidateResolutionCache() {
+        // Increment before clearing: see cacheResolution
+        resolutionCacheVersion.incrementAndGet();
+        resolutionCache.clear();
+    }
+
+    @Override
+    public InjectorDiagnostics getDiagnostics() {
+        Map<String, Long> retainedBytes = new LinkedHashMap<>();
+        retainedBytes.put("singletons", objects.size() * (long) HASH_MAP_ENTRY);
+        // Cached resolutions are shared with the handlers which created them and are counted there
+        retainedBytes.put("resolutionCache",
+            resolutionCache.size() * (HASH_MAP_ENTRY + OBJECT_IDENTIFIER + MemoryEstimates.object(2)));
+        retainedBytes.put("typeIndex", typeIndex.estimateRetainedBytes());
+        for (Handler handler : config.getHandlers()) {
+            retainedBytes.merge(handler.getClass().getName(), handler.estimateRetainedBytes(), Long::sum);
+        }
+        return new InjectorDiagnostics(objects.size(), resolutionCache.size(), typeIndex.getIndexedTypeCount(),
+            retainedBytes);
+    }
+
+    private void checkNotFrozen(String action, Class<?> clazz) {
+        if (frozen) {
+            throw new InjectorException("Cannot " + action + " " + clazz + ": the injector is frozen");
         }
     }
 
@@ -128,10 +271,24 @@ public class InjectorImpl implements Injector {
         return config;
     }
 
-    @SuppressWarnings("unchecked")
     private <T> T resolve(ResolutionType resolutionType, Class<?> clazz) {
+        return resolve(this, resolutionType, clazz);
+    }
+
+    /**
+     * Resolves an object for the given injector, which is injected wherever {@link Injector} is a dependency.
+     * Used by the frozen snapshot so that objects it creates receive the snapshot and not this injector.
+     *
+     * @param injector the injector the resolution is made through
+     * @param resolutionType the resolution type
+     * @param clazz the class to resolve
+     * @param <T> the class's type
+     * @return the resolved object
+     */
+    @SuppressWarnings("unchecked")
+    <T> T resolve(Injector injector, ResolutionType resolutionType, Class<?> clazz) {
         return (T) resolveContext(
-            new ResolutionContext(this, new ObjectIdentifier(resolutionType, clazz)));
+            new ResolutionContext(injector, new ObjectIdentifier(resolutionType, clazz)));
     }
 
     /**
@@ -144,30 +301,163 @@ public class InjectorImpl implements Injector {
     protected Object resolveContext(ResolutionContext context) {
         // TODO #49: Convert singleton store to a Handler impl.
         if (context.getIdentifier().getResolutionType() == StandardResolutionType.SINGLETON) {
-            Object knownSingleton = objects.get(context.getIdentifier().getTypeAsClass());
+            Object knownSingleton = getKnownSingleton(context, context.getIdentifier().getTypeAsClass());
             if (knownSingleton != null) {
                 return knownSingleton;
             }
         }
 
-        Resolution<?> resolution = findResolutionOrFail(context);
+        long cacheVersion = resolutionCacheVersion.get();
+        Resolution<?> resolution = getCachedResolution(context);
+        if (resolution == null) {
+            HandlerResolution handlerResolution = resolveWithHandlersOrFail(context);
+            resolution = handlerResolution.resolution;
+            if (!handlerResolution.mayBeCached) {
+                cacheVersion = DO_NOT_CACHE;
+            }
+        }
         if (isContextChildOfOptionalRequest(context) && resolution.isInstantiation()) {
             return null;
         }
 
+        if (!resolution.isInstantiation()) {
+            return instantiate(context, resolution, cacheVersion);
+        } else if (context.getIdentifier().getResolutionType() == SINGLETON) {
+            return createSingleton(context, resolution, cacheVersion);
+        }
+
+        final Object event = InjectorEvents.beginInstanceCreated();
+        final long start = recordMetrics ? System.nanoTime() : 0;
+        Object object = instantiate(context, resolution, cacheVersion);
+        if (object != null) {
+            InjectorEvents.commit(event, context, resolution.getClass());
+            if (recordMetrics) {
+                metrics.onObjectCreated(context, resolution, start, System.nanoTime());
+            }
+        }
+        return object;
+    }
+
+    /**
+     * Returns the registered singleton of the given class, or the context's injector if the class is
+     * {@link Injector}.
+     *
+     * @param context the context the singleton is needed in
+     * @param clazz the class of the singleton
+     * @return the singleton, null if not available
+     */
+    @Nullable
+    private Object getKnownSingleton(ResolutionContext context, Class<?> clazz) {
+        return clazz == Injector.class ? context.getInjector() : objects.get(clazz);
+    }
+
+    /**
+     * Creates the singleton as defined by the context with the given resolution and registers it. If another
+     * thread is already creating the same singleton, this method waits for it and returns its result instead.
+     *
+     * @param context the context to create the singleton for
+     * @param resolution the resolution to create the object with
+     * @param cacheVersion the version of the resolution cache when the resolution was looked up
+     * @return the singleton, {@code null} if a dependency could not be resolved
+     */
+    @Nullable
+    private Object createSingleton(ResolutionContext context, Resolution<?> resolution, long cacheVersion) {
+        final Class<?> clazz = context.getOriginalIdentifier().getTypeAsClass();
+        checkNotFrozen("create the singleton of", clazz);
+        final SingletonCreations.Creation creation = singletonCreations.start(context);
+        if (!creation.isOwnedByCurrentThread()) {
+            return recordMetrics ? awaitWithMetrics(creation, context) : singletonCreations.await(creation, context);
+        }
+
+        try {
+            // Check again: the singleton may have been registered since we checked the first time
+            Object object = objects.get(clazz);
+            if (object == null) {
+                final Object event = InjectorEvents.beginSingletonCreated();
+                final long start = recordMetrics ? System.nanoTime() : 0;
+                object = instantiate(context, resolution, cacheVersion);
+                if (object != null) {
+                    register((Class) clazz, object);
+                    InjectorEvents.commit(event, context, resolution.getClass());
+                    if (recordMetrics) {
+                        metrics.onObjectCreated(context, resolution, start, System.nanoTime());
+                    }
+                }
+            }
+            creation.complete(object);
+            return object;
+        } catch (RuntimeException | Error e) {
+            creation.fail(e);
+            throw e;
+        } finally {
+            singletonCreations.finish(creation);
+        }
+    }
+
+    @Nullable
+    private Object awaitWithMetrics(SingletonCreations.Creation creation, ResolutionContext context) {
+        final long start = System.nanoTime();
+        try {
+            return singletonCreations.await(creation, context);
+        } finally {
+            metrics.onSingletonCreationWait(context.getOriginalIdentifier().getTypeAsClass(),
+                System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Resolves the dependencies of the given resolution and creates the object with them, running
+     * the post construct handlers if appropriate.
+     *
+     * @param context the resolution context
+     * @param resolution the resolution to create the object with
+     * @param cacheVersion the version of the resolution cache when the resolution was looked up
+     * @return the object, {@code null} if a dependency could not be resolved
+     */
+    @Nullable
+    private Object instantiate(ResolutionContext context, Resolution<?> resolution, long cacheVersion) {
         Object[] resolvedDependencies = resolveDependencies(context, resolution);
         if (containsNullValue(resolvedDependencies)) {
             throwForUnexpectedNullDependency(context);
             return null;
         }
-
-        Object object = runPostConstructHandlers(resolution.instantiateWith(resolvedDependencies), context, resolution);
-        if (resolution.isInstantiation() && context.getIdentifier().getResolutionType() == SINGLETON) {
-            register((Class) context.getOriginalIdentifier().getTypeAsClass(), object);
+        Object object;
+        if (recordMetrics) {
+            final long start = System.nanoTime();
+            object = resolution.instantiateWith(resolvedDependencies);
+            metrics.onInstantiation(context.getIdentifier(), System.nanoTime() - start);
+        } else {
+            object = resolution.instantiateWith(resolvedDependencies);
+        }
+        object = runPostConstructHandlers(object, context, resolution);
+        if (resolution.isCacheable()) {
+            cacheResolution(context, resolution, cacheVersion);
         }
         return object;
     }
 
+    /**
+     * Caches the given resolution unless the cache has been invalidated since the resolution was looked up.
+     *
+     * @param context the resolution context
+     * @param resolution the resolution to cache
+     * @param cacheVersion the version of the resolution cache when the resolution was looked up
+     */
+    private void cacheResolution(ResolutionContext context, Resolution<?> resolution, long cacheVersion) {
+        if (resolutionCacheVersion.get() != cacheVersion) {
+            return;
+        }
+        ObjectIdentifier mappedIdentifier = context.getIdentifier() == context.getOriginalIdentifier()
+            ? null
+            : context.getIdentifier();
+        CachedResolution cachedResolution = new CachedResolution(mappedIdentifier, resolution);
+        if (resolutionCache.putIfAbsent(context.getOriginalIdentifier(), cachedResolution) == null
+            && resolutionCacheVersion.get() != cacheVersion) {
+            // Invalidated concurrently, possibly before our entry was added: remove it again
+            resolutionCache.remove(context.getOriginalIdentifier(), cachedResolution);
+        }
+    }
+
     /**
      * Resolves the dependencies as defined by the given resolution.
      * If a dependency is resolved to {@code null}, the process is aborted and the remaining dependencies
@@ -178,17 +468,33 @@ public class InjectorImpl implements Injector {
      * @return array with the dependencies, in the same order as given by the resolution
      */
     protected Object[] resolveDependencies(ResolutionContext context, Resolution<?> resolution) {
-        final int totalDependencies = resolution.getDependencies().size();
-        final Object[] resolvedDependencies = new Object[totalDependencies];
-
-        int index = 0;
-        for (ObjectIdentifier dependencyId : resolution.getDependencies()) {
-            Object dependency = resolveContext(context.createChildContext(dependencyId));
-            if (dependency == null) {
-                break;
+        final List<ObjectIdentifier> dependencies = resolution.getDependencies();
+        if (dependencies.isEmpty()) {
+            return NO_DEPENDENCIES;
+        }
+        final Object[] resolvedDependencies = new Object[dependencies.size()];
+
+        final boolean isMarked = context.startDependencyResolution();
+        try {
+            int index = 0;
+            for (ObjectIdentifier dependencyId : dependencies) {
+                // Known singletons are returned directly, without creating a child context
+                Object dependency = dependencyId.getResolutionType() == SINGLETON
+                    ? getKnownSingleton(context, dependencyId.getTypeAsClass())
+                    : null;
+                if (dependency == null) {
+                    dependency = resolveContext(context.createChildContext(dependencyId));
+                }
+                if (dependency == null) {
+                    break;
+                }
+                resolvedDependencies[index] = dependency;
+                ++index;
+            }
+        } finally {
+            if (isMarked) {
+                context.finishDependencyResolution();
             }
-            resolvedDependencies[index] = dependency;
-            ++index;
         }
         return resolvedDependencies;
     }
@@ -210,27 +516,41 @@ public class InjectorImpl implements Injector {
     }
 
     private static boolean isContextChildOfOptionalRequest(ResolutionContext context) {
-        return !context.getParents().isEmpty()
-            && context.getParents().get(0).getIdentifier().getResolutionType() == REQUEST_SCOPED_IF_HAS_DEPENDENCIES;
+        return context.getParent() != null
+            && context.getRootContext().getIdentifier().getResolutionType() == REQUEST_SCOPED_IF_HAS_DEPENDENCIES;
     }
 
     /**
      * Calls the defined handlers and returns the first {@link Resolution} that is returned based on
      * the provided resolution context. Throws an exception if no handler returned a resolution.
+     * Handlers are skipped if a {@link Resolution#isCacheable() cacheable} resolution has already
+     * been used for the context's identifier, unless a {@link Handler#isContextDependent() context dependent}
+     * handler came before the handler which returned it.
      *
      * @param context the context to find the resolution for
      * @return the resolution
      */
     protected Resolution<?> findResolutionOrFail(ResolutionContext context) {
-        try {
-            for (Handler handler : config.getHandlers()) {
-                Resolution<?> resolution = handler.resolve(context);
-                if (resolution != null) {
-                    return resolution;
-                }
-            }
-        } catch (Exception e) {
-            rethrowException(e);
+        Resolution<?> cachedResolution = getCachedResolution(context);
+        return cachedResolution != null ? cachedResolution : resolveWithHandlersOrFail(context).resolution;
+    }
+
+    @Nullable
+    private Resolution<?> getCachedResolution(ResolutionContext context) {
+        CachedResolution cachedResolution = resolutionCache.get(context.getOriginalIdentifier());
+        if (cachedResolution == null) {
+            return null;
+        }
+        if (recordMetrics) {
+            metrics.onResolutionCacheHit(context.getOriginalIdentifier());
+        }
+        return cachedResolution.applyTo(context);
+    }
+
+    private HandlerResolution resolveWithHandlersOrFail(ResolutionContext context) {
+        HandlerResolution resolution = recordMetrics ? resolveWithMetrics(context) : resolveWithHandlers(context);
+        if (resolution != null) {
+            return resolution;
         }
 
         final Class<?> clazz = context.getIdentifier().getTypeAsClass();
@@ -250,9 +570,58 @@ public class InjectorImpl implements Injector {
             + "require the default constructor");
     }
 
+    @Nullable
+    private HandlerResolution resolveWithHandlers(ResolutionContext context) {
+        final Object event = InjectorEvents.beginHandlerResolved();
+        try {
+            final Handler[] resolvers = config.getResolvers();
+            final int cacheableResolverCount = config.getCacheableResolverCount();
+            for (int i = 0; i < resolvers.length; ++i) {
+                Resolution<?> resolution = resolvers[i].resolve(context);
+                if (resolution != null) {
+                    InjectorEvents.commit(event, context, resolvers[i].getClass());
+                    return new HandlerResolution(resolution, i < cacheableResolverCount);
+                }
+            }
+        } catch (Exception e) {
+            rethrowException(e);
+        }
+        return null;
+    }
+
+    /**
+     * Same as {@link #resolveWithHandlers}, reporting the time spent by each handler to the metrics.
+     */
+    @Nullable
+    private HandlerResolution resolveWithMetrics(ResolutionContext context) {
+        final ObjectIdentifier identifier = context.getOriginalIdentifier();
+        final Object event = InjectorEvents.beginHandlerResolved();
+        final long start = System.nanoTime();
+        try {
+            final Handler[] resolvers = config.getResolvers();
+            final int cacheableResolverCount = config.getCacheableResolverCount();
+            for (int i = 0; i < resolvers.length; ++i) {
+                final long handlerStart = System.nanoTime();
+                Resolution<?> resolution = resolvers[i].resolve(context);
+                metrics.onHandlerResolve(resolvers[i], context.getIdentifier(), resolution != null,
+                    System.nanoTime() - handlerStart);
+                if (resolution != null) {
+                    InjectorEvents.commit(event, context, resolvers[i].getClass());
+                    return new HandlerResolution(resolution, i < cacheableResolverCount);
+                }
+            }
+        } catch (Exception e) {
+            rethrowException(e);
+        } finally {
+            metrics.onResolutionCacheMiss(identifier, System.nanoTime() - start);
+        }
+        return null;
+    }
+
     /**
      * Invokes the handler's post construct method when appropriate. Returns the object as returned by the
-     * handlers, which may be different from the provided one.
+     * handlers, which may be different from the provided one. Handlers which can skip the post processing
+     * of the instance's class (see {@link Handler#canSkipPostProcessing}) are not called.
      *
      * @param instance the object that was resolved
      * @param context the resolution context
@@ -267,12 +636,72 @@ public class InjectorImpl implements Injector {
 
         T object = instance;
         try {
-            for (Handler handler : config.getHandlers()) {
+            Handler[] postProcessors = instance == null
+                ? config.getPostProcessors()
+                : config.getPostProcessors(instance.getClass());
+            if (recordMetrics) {
+                return postProcessWithMetrics(object, context, resolution, postProcessors);
+            }
+            for (Handler handler : postProcessors) {
+                final Object event = InjectorEvents.beginPostConstructExecuted();
                 object = firstNotNull(handler.postProcess(object, context, resolution), object);
+                InjectorEvents.commit(event, context, handler.getClass());
             }
         } catch (Exception e) {
             rethrowException(e);
         }
         return object;
     }
+
+    private <T> T postProcessWithMetrics(T instance, ResolutionContext context, Resolution<?> resolution,
+                                         Handler[] postProcessors) throws Exception {
+        final Class<?> type = instance == null ? context.getIdentifier().getTypeAsClass() : instance.getClass();
+        T object = instance;
+        for (Handler handler : postProcessors) {
+            final Object event = InjectorEvents.beginPostConstructExecuted();
+            final long start = System.nanoTime();
+            object = firstNotNull(handler.postProcess(object, context, resolution), object);
+            metrics.onPostProcess(handler, type, System.nanoTime() - start);
+            InjectorEvents.commit(event, context, handler.getClass());
+        }
+        return object;
+    }
+
+    /**
+     * Resolution returned by a handler, and whether the injector may cache it.
+     */
+    private static final class HandlerResolution {
+
+        private final Resolution<?> resolution;
+        /** False if a context dependent handler was called before the one that resolved. */
+        private final boolean mayBeCached;
+
+        HandlerResolution(Resolution<?> resolution, boolean mayBeCached) {
+            this.resolution = resolution;
+            this.mayBeCached = mayBeCached;
+        }
+    }
+
+    /**
+     * Resolution which has been cached for an object identifier, along with the identifier the
+     * handlers mapped the context to (if it was changed).
+     */
+    private static final class CachedResolution {
+
+        @Nullable
+        private final ObjectIdentifier mappedIdentifier;
+        private final Resolution<?> resolution;
+
+        CachedResolution(@Nullable ObjectIdentifier mappedIdentifier, Resolution<?> resolution) {
+            this.mappedIdentifier = mappedIdentifier;
+            this.resolution = resolution;
+        }
+
+        Resolution<?> applyTo(ResolutionContext context) {
+            if (mappedIdentifier != null) {
+                context.setIdentifier(mappedIdentifier);
+            }
+            return resolution;
+        }
+    }
 }
@@ -0,0 +1,144 @@
+package ch.jalu.injector;
+
+import ch.jalu.injector.context.ResolutionContext;
+import ch.jalu.injector.exceptions.InjectorException;
+import ch.jalu.injector.jfr.InjectorEvents;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Keeps track of the singletons which are currently being created. Concurrent requests for a singleton
+ * wait for the creation in progress instead of creating a second instance. If waiting would result in
+ * a deadlock (threads waiting on each other's creations), an exception is thrown instead.
+ */
+class SingletonCreations {
+
+    private final ConcurrentMap<Class<?>, Creation> creationsByClass = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Thread, Creation> awaitedCreations = new ConcurrentHashMap<>();
+
+    /**
+     * Registers that the singleton of the context's class is about to be created. If another thread is already
+     * creating it, its creation is returned: use {@link Creation#isOwnedByCurrentThread()} to check whether
+     * the current thread is responsible for the creation. The creation must be passed to {@link #finish}
+     * once the owning thread is done.
+     *
+     * @param context the context of the singleton to create
+     * @return the creation of the singleton
+     */
+    Creation start(ResolutionContext context) {
+        final Class<?> clazz = context.getOriginalIdentifier().getTypeAsClass();
+        Creation newCreation = new Creation(clazz, Thread.currentThread());
+        Creation existingCreation = creationsByClass.putIfAbsent(clazz, newCreation);
+        if (existingCreation == null) {
+            return newCreation;
+        } else if (existingCreation.isOwnedByCurrentThread()) {
+            throw cycleDetected(context, "Found cyclic dependency - the singleton of '" + clazz
+                + "' is already being created by the current thread");
+        }
+        return existingCreation;
+    }
+
+    /**
+     * Removes the given creation. Must be called by the owning thread once the creation has been completed.
+     *
+     * @param creation the creation to remove
+     */
+    void finish(Creation creation) {
+        creationsByClass.remove(creation.clazz, creation);
+    }
+
+    /**
+     * Waits for the given creation (owned by another thread) to finish.
+     *
+     * @param creation the creation to wait for
+     * @param context the context of the singleton
+     * @return the created singleton
+     */
+    @Nullable
+    Object await(Creation creation, ResolutionContext context) {
+        final Thread currentThread = Thread.currentThread();
+        awaitedCreations.put(currentThread, creation);
+        try {
+            verifyNoDeadlock(currentThread, creation, context);
+            return creation.get();
+        } finally {
+            awaitedCreations.remove(currentThread);
+        }
+    }
+
+    /**
+     * Follows the chain of threads waiting on each other's creations and throws an exception if the
+     * current thread is part of it. Since every thread registers itself as waiting before it performs
+     * this check, at least one thread of a deadlock always detects it.
+     *
+     * @param currentThread the current thread
+     * @param awaitedCreation the creation the current thread is about to wait for
+     * @param context the context of the awaited singleton
+     */
+    private void verifyNoDeadlock(Thread currentThread, Creation awaitedCreation, ResolutionContext context) {
+        Creation creation = awaitedCreation;
+        // Bound the number of steps: other threads may form a cycle which does not include the current thread
+        for (int i = 0; creation != null && i <= awaitedCreations.size(); ++i) {
+            if (creation.owner == currentThread) {
+                throw cycleDetected(context, "Found cyclic dependency - deadlock detected while waiting for the "
+                    + "singleton of '" + awaitedCreation.clazz + "': it is being created by thread '"
+                    + awaitedCreation.owner.getName() + "', which is (indirectly) waiting for the current thread");
+            }
+            creation = awaitedCreations.get(creation.owner);
+        }
+    }
+
+    private static InjectorException cycleDetected(ResolutionContext context, String message) {
+        InjectorEvents.cycleDetected(context, SingletonCreations.class, message);
+        return new InjectorException(message);
+    }
+
+    /**
+     * The creation of a singleton by a given thread.
+     */
+    static final class Creation {
+
+        private final Class<?> clazz;
+        private final Thread owner;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile Object result;
+        private volatile Throwable failure;
+
+        Creation(Class<?> clazz, Thread owner) {
+            this.clazz = clazz;
+            this.owner = owner;
+        }
+
+        boolean isOwnedByCurrentThread() {
+            return owner == Thread.currentThread();
+        }
+
+        void complete(@Nullable Object result) {
+            this.result = result;
+            latch.countDown();
+        }
+
+        void fail(Throwable failure) {
+            this.failure = failure;
+            latch.countDown();
+        }
+
+        @Nullable
+        private Object get() {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InjectorException("Interrupted while waiting for the singleton of '" + clazz + "'", e);
+            }
+            if (failure != null) {
+                throw new InjectorException("Creation of the singleton of '" + clazz + "' failed in thread '"
+                    + owner.getName() + "' (see cause)", failure);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package ch.jalu.injector;
+
+import ch.jalu.injector.context.ObjectIdentifier;
+import ch.jalu.injector.context.ResolutionContext;
+import ch.jalu.injector.exceptions.InjectorException;
+import ch.jalu.injector.handlers.instantiation.Resolution;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+import static ch.jalu.injector.context.StandardResolutionType.SINGLETON;
+
+/**
+ * Creates the singletons of a collection of classes in parallel. The dependency graph of the classes is
+ * computed from their resolutions, and the singleton of each class is created on the executor as soon as
+ * the singletons of all its dependencies have been created.
+ * <p>
+ * The graph only serves to schedule the creations: any dependency which is not part of it is simply created
+ * by the injector when it is needed, like with any other call to {@link Injector#getSingleton}.
+ * <p>
+ * Asynchronous work of a resolution, such as the stage of an async provider, is started with
+ * {@link Resolution#prepareAsync()} and composed with the creation, so that no executor thread blocks on it.
+ * The prepared resolution is only used for that creation.
+ */
+class SingletonGraphInitializer {
+
+    private final InjectorImpl injector;
+    /** Singleton dependencies by class, in the order the classes were encountered. */
+    private final Map<Class<?>, Set<Class<?>>> dependenciesByClass = new LinkedHashMap<>();
+    /** Resolution by class, for all classes of the graph whose singleton did not exist yet. */
+    private final Map<Class<?>, Resolution<?>> resolutionsByClass = new HashMap<>();
+
+    SingletonGraphInitializer(InjectorImpl injector) {
+        this.injector = injector;
+    }
+
+    /**
+     * Creates the singletons of the given classes and of their dependencies, returning once all
+     * singletons have been created.
+     *
+     * @param classes the classes to create the singletons of
+     * @param executor the executor to create the singletons with
+     */
+    void initialize(Collection<Class<?>> classes, Executor executor) {
+        try {
+            initializeAsync(classes, executor).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new InjectorException("Could not initialize singletons (see cause)", cause);
+        }
+    }
+
+    /**
+     * Schedules the creation of the singletons of the given classes and of their dependencies. The graph is
+     * computed on the calling thread; the returned future completes once all singletons have been created.
+     *
+     * @param classes the classes to create the singletons of
+     * @param executor the executor to create the singletons with
+     * @return future completed when all singletons have been created
+     */
+    CompletableFuture<Void> initializeAsync(Collection<Class<?>> classes, Executor executor) {
+        buildGraph(classes);
+
+        Map<Class<?>, CompletableFuture<Void>> creations = new HashMap<>();
+        for (Class<?> clazz : sortTopologically()) {
+            CompletableFuture<?>[] dependencyCreations = dependenciesByClass.get(clazz).stream()
+                .map(creations::get)
+                .toArray(CompletableFuture[]::new);
+            CompletableFuture<?> readyForCreation = CompletableFuture.allOf(dependencyCreations);
+            Resolution<?> resolution = resolutionsByClass.get(clazz);
+            CompletableFuture<Void> creation = resolution == null
+                ? readyForCreation.thenRunAsync(() -> injector.getSingleton(clazz), executor)
+                : readyForCreation.thenComposeAsync(ignored -> prepare(resolution), executor)
+                    .thenAcceptAsync(prepared -> createSingleton(clazz, prepared), executor);
+            creations.put(clazz, creation);
+        }
+        return CompletableFuture.allOf(creations.values().toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Starts the asynchronous work of the given resolution.
+     *
+     * @param resolution the resolution to prepare
+     * @return stage completed with the prepared resolution, or with null if the resolution has nothing to prepare
+     */
+    private static CompletionStage<Resolution<?>> prepare(Resolution<?> resolution) {
+        CompletionStage<? extends Resolution<?>> preparation = resolution.prepareAsync();
+        if (preparation == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return preparation.thenApply(prepared -> prepared);
+    }
+
+    private void createSingleton(Class<?> clazz, @Nullable Resolution<?> preparedResolution) {
+        if (preparedResolution == null) {
+            injector.getSingleton(clazz);
+        } else {
+            injector.getSingleton(clazz, preparedResolution);
+        }
+    }
+
+    private void buildGraph(Collection<Class<?>> classes) {
+        Deque<Class<?>> classesToProcess = new ArrayDeque<>(classes);
+        while (!classesToProcess.isEmpty()) {
+            Class<?> clazz = classesToProcess.pop();
+            if (!dependenciesByClass.containsKey(clazz)) {
+                Set<Class<?>> dependencies = collectSingletonDependencies(clazz);
+                dependenciesByClass.put(clazz, dependencies);
+                classesToProcess.addAll(dependencies);
+            }
+        }
+    }
+
+    private Set<Class<?>> collectSingletonDependencies(Class<?> clazz) {
+        if (injector.getIfAvailable(clazz) != null) {
+            return Collections.emptySet();
+        }
+        Set<Class<?>> dependencies = new LinkedHashSet<>();
+        ResolutionContext context = new ResolutionContext(injector, new ObjectIdentifier(SINGLETON, clazz));
+        Resolution<?> resolution = injector.findResolutionOrFail(context);
+        resolutionsByClass.put(clazz, resolution);
+        collectSingletonDependencies(context, resolution, dependencies);
+        return dependencies;
+    }
+
+    /**
+     * Adds the classes of all singletons the given resolution depends on to the provided set. Dependencies which
+     * are not singletons (e.g. request-scoped) are not part of the graph, so the singletons they depend on are
+     * collected instead.
+     *
+     * @param context the context of the resolution
+     * @param resolution the resolution to process
+     * @param singletonDependencies the set to add the classes to
+     */
+    private void collectSingletonDependencies(ResolutionContext context, Resolution<?> resolution,
+                                              Set<Class<?>> singletonDependencies) {
+        if (!resolution.isInstantiation()) {
+            return;
+        }
+        final boolean isMarked = context.startDependencyResolution();
+        try {
+            for (ObjectIdentifier dependencyId : resolution.getDependencies()) {
+                Class<?> dependencyClass = dependencyId.getTypeAsClass();
+                if (dependencyId.getResolutionType() == SINGLETON
+                    && injector.getIfAvailable(dependencyClass) != null) {
+                    continue;
+                }
+
+                ResolutionContext dependencyContext = context.createChildContext(dependencyId);
+                Resolution<?> dependencyResolution = injector.findResolutionOrFail(dependencyContext);
+                if (dependencyId.getResolutionType() != SINGLETON) {
+                    collectSingletonDependencies(dependencyContext, dependencyResolution, singletonDependencies);
+                } else if (dependencyResolution.isInstantiation()) {
+                    singletonDependencies.add(dependencyClass);
+                }
+            }
+        } finally {
+            if (isMarked) {
+                context.finishDependencyResolution();
+            }
+        }
+    }
+
+    /**
+     * Returns all classes of the graph such that every class comes after all of its dependencies.
+     *
+     * @return the sorted classes
+     */
+    private List<Class<?>> sortTopologically() {
+        Map<Class<?>, Integer> missingDependencies = new HashMap<>();
+        Map<Class<?>, List<Class<?>>> dependentsByClass = new HashMap<>();
+        Deque<Class<?>> classesWithoutMissingDependencies = new ArrayDeque<>();
+        for (Map.Entry<Class<?>, Set<Class<?>>> entry : dependenciesByClass.entrySet()) {
+            missingDependencies.put(entry.getKey(), entry.getValue().size());
+            if (entry.getValue().isEmpty()) {
+                classesWithoutMissingDependencies.add(entry.getKey());
+            }
+            for (Class<?> dependency : entry.getValue()) {
+                dependentsByClass.computeIfAbsent(dependency, k -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+
+        List<Class<?>> sortedClasses = new ArrayList<>(dependenciesByClass.size());
+        while (!classesWithoutMissingDependencies.isEmpty()) {
+            Class<?> clazz = classesWithoutMissingDependencies.poll();
+            sortedClasses.add(clazz);
+            for (Class<?> dependent : dependentsByClass.getOrDefault(clazz, Collections.emptyList())) {
+                if (missingDependencies.merge(dependent, -1, Integer::sum) == 0) {
+                    classesWithoutMissingDependencies.add(dependent);
+                }
+            }
+        }
+
+        if (sortedClasses.size() < dependenciesByClass.size()) {
+            Set<Class<?>> cyclicClasses = new LinkedHashSet<>(dependenciesByClass.keySet());
+            cyclicClasses.removeAll(sortedClasses);
+            throw new InjectorException("Found cyclic dependency - the following classes cannot be initialized: "
+                + cyclicClasses);
+        }
+        return sortedClasses;
+    }
+}
@@ -0,0 +1,231 @@
+package ch.jalu.injector;
+
+import ch.jalu.injector.utils.MemoryEstimates;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of objects by the types they are an instance of. The objects of a type are collected the first time
+ * the type is requested; afterwards, the list is kept up to date as objects are {@link #add added}. Retrieving
+ * the objects of a type which has already been requested does not depend on the total number of objects.
+ * <p>
+ * Types without any objects are also indexed, so that repeated requests for them are answered without scanning
+ * all objects again. To keep the index bounded, only a limited number of such types is kept (the oldest
+ * are removed first); all other types have at least one object, so they are bounded by the supertypes of the
+ * objects. Adding an object only updates the entries of its own supertypes, which are computed once per class.
+ * <p>
+ * Lookups are lock-free. The returned lists are immutable snapshots: the objects of a type are kept in an
+ * append-only array, and a new view of it is published whenever an object of the type is added.
+ */
+class TypeIndex {
+
+    /** Default maximum number of indexed types without any objects. */
+    static final int DEFAULT_MAX_EMPTY_TYPES = 1024;
+
+    /** All classes and interfaces a class is assignable to, including itself. */
+    private static final ClassValue<Class<?>[]> SUPERTYPES = new ClassValue<Class<?>[]>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            Set<Class<?>> supertypes = new LinkedHashSet<>();
+            collectSupertypes(type, supertypes);
+            return supertypes.toArray(new Class<?>[0]);
+        }
+    };
+
+    private final Collection<Object> allObjects;
+    private final int maxEmptyTypes;
+    private final Map<Class<?>, TypeEntry> objectsByType = new ConcurrentHashMap<>();
+    // Guarded by this: indexed types in the order their empty entries were created; may contain types which have
+    // objects by now, which are skipped when removing empty types
+    private final Deque<Class<?>> emptyTypes = new ArrayDeque<>();
+    private int emptyTypeCount;
+
+    /**
+     * Constructor.
+     *
+     * @param allObjects the objects to index (a live view whose additions are reported via {@link #add})
+     */
+    TypeIndex(Collection<Object> allObjects) {
+        this(allObjects, DEFAULT_MAX_EMPTY_TYPES);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param allObjects the objects to index (a live view whose additions are reported via {@link #add})
+     * @param maxEmptyTypes the maximum number of indexed types without any objects
+     */
+    TypeIndex(Collection<Object> allObjects, int maxEmptyTypes) {
+        this.allObjects = allObjects;
+        this.maxEmptyTypes = maxEmptyTypes;
+    }
+
+    /**
+     * Returns all objects which are an instance of the given type.
+     *
+     * @param type the type to get the objects for
+     * @param <T> the type
+     * @return immutable list of all objects of the type
+     */
+    @SuppressWarnings("unchecked")
+    <T> List<T> getAllOfType(Class<T> type) {
+        TypeEntry entry = objectsByType.get(type);
+        return (List<T>) (entry == null ? collectAllOfType(type) : entry.objects);
+    }
+
+    /**
+     * Adds the given object to the lists of its types which have been indexed so far. Callers need to hold
+     * the lock of this index while adding the object to the collection of all objects and calling this method.
+     *
+     * @param object the object which was added
+     */
+    synchronized void add(Object object) {
+        if (object.getClass().isArray()) {
+            // Arrays are covariant: an array is an instance of array types which are not among its supertypes
+            objectsByType.forEach((type, entry) -> {
+                if (type.isInstance(object)) {
+                    append(entry, object);
+                }
+            });
+        } else {
+            for (Class<?> type : SUPERTYPES.get(object.getClass())) {
+                TypeEntry entry = objectsByType.get(type);
+                if (entry != null) {
+                    append(entry, object);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of indexed types, including types without any objects
+     */
+    int getIndexedTypeCount() {
+        return objectsByType.size();
+    }
+
+    /**
+     * @return estimate of the memory retained by the index (see {@link MemoryEstimates})
+     */
+    long estimateRetainedBytes() {
+        long bytes;
+        synchronized (this) {
+            bytes = MemoryEstimates.array(emptyTypes.size());
+        }
+        for (TypeEntry entry : objectsByType.values()) {
+            bytes += MemoryEstimates.HASH_MAP_ENTRY + MemoryEstimates.object(3);
+            if (entry.size > 0) {
+                // Array and view; types without objects share the empty list
+                bytes += MemoryEstimates.array(entry.elements.length) + MemoryEstimates.object(2);
+            }
+        }
+        return bytes;
+    }
+
+    private synchronized List<Object> collectAllOfType(Class<?> type) {
+        TypeEntry entry = objectsByType.get(type);
+        if (entry == null) {
+            entry = new TypeEntry();
+            for (Object object : allObjects) {
+                if (type.isInstance(object)) {
+                    entry.append(object);
+                }
+            }
+            objectsByType.put(type, entry);
+            if (entry.size == 0) {
+                addEmptyType(type);
+            }
+        }
+        return entry.objects;
+    }
+
+    private void append(TypeEntry entry, Object object) {
+        if (entry.size == 0) {
+            --emptyTypeCount;
+        }
+        entry.append(object);
+    }
+
+    private void addEmptyType(Class<?> type) {
+        emptyTypes.add(type);
+        ++emptyTypeCount;
+        while (emptyTypeCount > maxEmptyTypes) {
+            Class<?> oldestType = emptyTypes.poll();
+            TypeEntry entry = objectsByType.get(oldestType);
+            if (entry != null && entry.size == 0) {
+                objectsByType.remove(oldestType);
+                --emptyTypeCount;
+            }
+        }
+    }
+
+    private static void collectSupertypes(Class<?> type, Set<Class<?>> supertypes) {
+        if (type != null && supertypes.add(type)) {
+            collectSupertypes(type.getSuperclass(), supertypes);
+            for (Class<?> interfaceType : type.getInterfaces()) {
+                collectSupertypes(interfaceType, supertypes);
+            }
+        }
+    }
+
+    /**
+     * Objects of an indexed type. Modified only while holding the lock of the index; readers only access
+     * {@link #objects}.
+     */
+    private static final class TypeEntry {
+
+        private static final Object[] NO_OBJECTS = new Object[0];
+
+        private Object[] elements = NO_OBJECTS;
+        private int size;
+        /** Immutable view of the objects, replaced whenever an object is added. */
+        private volatile List<Object> objects = Collections.emptyList();
+
+        void append(Object object) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, Math.max(4, size * 2));
+            }
+            // Elements below size are never changed, so published views are not affected
+            elements[size++] = object;
+            objects = new ArrayView(elements, size);
+        }
+    }
+
+    /**
+     * Immutable list of the first elements of an array.
+     */
+    private static final class ArrayView extends AbstractList<Object> implements RandomAccess {
+
+        private final Object[] elements;
+        private final int size;
+
+        ArrayView(Object[] elements, int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+
+        @Override
+        public Object get(int index) {
+            if (index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+            }
+            return elements[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
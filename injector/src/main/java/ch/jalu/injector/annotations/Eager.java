@@ -0,0 +1,16 @@
+package ch.jalu.injector.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks that the singleton of a class should be created eagerly on startup, i.e. that the class should be
+ * passed to {@link ch.jalu.injector.Injector#initializeAll}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Eager {
+
+}
@@ -6,21 +6,30 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 /**
- * Identifies objects.
+ * Identifies objects. Two identifiers are equal if they have the same resolution type, type and annotations.
  */
 public class ObjectIdentifier {
 
     private final ResolutionType resolutionType;
     private final Type type;
     private final List<Annotation> annotations;
+    private int hash;
+
+    public ObjectIdentifier(ResolutionType resolutionType, Type type) {
+        this.resolutionType = resolutionType;
+        this.type = type;
+        this.annotations = Collections.emptyList();
+    }
 
     public ObjectIdentifier(ResolutionType resolutionType, Type type, Annotation... annotations) {
         this.resolutionType = resolutionType;
         this.type = type;
-        this.annotations = Arrays.asList(annotations);
+        this.annotations = annotations.length == 0 ? Collections.emptyList() : Arrays.asList(annotations);
     }
 
     /**
@@ -73,6 +82,30 @@ public class ObjectIdentifier {
         return annotations;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj instanceof ObjectIdentifier) {
+            ObjectIdentifier other = (ObjectIdentifier) obj;
+            return Objects.equals(resolutionType, other.resolutionType)
+                && Objects.equals(type, other.type)
+                && annotations.equals(other.annotations);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        // Identifiers are used as cache keys, so the hash code is only computed once
+        int h = hash;
+        if (h == 0) {
+            h = Objects.hash(resolutionType, type, annotations);
+            hash = h;
+        }
+        return h;
+    }
+
     @Override
     public String toString() {
         return "ObjId[type=" + type + ", annotations=" + annotations + "]";
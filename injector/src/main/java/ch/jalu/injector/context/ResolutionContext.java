@@ -3,8 +3,13 @@ package ch.jalu.injector.context;
 import ch.jalu.injector.Injector;
 import ch.jalu.injector.exceptions.InjectorException;
 
+import javax.annotation.Nullable;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Resolution context: contains data about the object that is requested, such as identifying
@@ -16,7 +21,12 @@ public class ResolutionContext {
     private final Injector injector;
     private final ObjectIdentifier originalIdentifier;
     private ObjectIdentifier identifier;
-    private List<ResolutionContext> parents = new ArrayList<>();
+    @Nullable
+    private final ResolutionContext parent;
+    private final ResolutionContext rootContext;
+    private List<ResolutionContext> parents;
+    /** Types of the contexts in this chain which are resolving their dependencies (only used on the root). */
+    private Set<Type> typesResolvingDependencies;
 
     /**
      * Creates a new resolution context with no predecessors.
@@ -25,9 +35,15 @@ public class ResolutionContext {
      * @param identifier the identifier of the object to create
      */
     public ResolutionContext(Injector injector, ObjectIdentifier identifier) {
+        this(injector, identifier, null);
+    }
+
+    private ResolutionContext(Injector injector, ObjectIdentifier identifier, @Nullable ResolutionContext parent) {
         this.injector = injector;
         this.originalIdentifier = identifier;
         this.identifier = identifier;
+        this.parent = parent;
+        this.rootContext = parent == null ? this : parent.rootContext;
     }
 
     /**
@@ -45,10 +61,74 @@ public class ResolutionContext {
         return identifier;
     }
 
+    /**
+     * @return the context this context was created from, null if this context has no predecessors
+     */
+    @Nullable
+    public ResolutionContext getParent() {
+        return parent;
+    }
+
+    /**
+     * @return the first context of the chain this context belongs to (this context if it has no predecessors)
+     */
+    public ResolutionContext getRootContext() {
+        return rootContext;
+    }
+
+    /**
+     * Returns all predecessors of this context, starting with the {@link #getRootContext root context}.
+     * The list is only created when this method is called; prefer {@link #getParent()} to traverse
+     * the predecessors.
+     *
+     * @return the parents of this context
+     */
     public List<ResolutionContext> getParents() {
+        if (parents == null) {
+            List<ResolutionContext> parentList = new ArrayList<>();
+            for (ResolutionContext context = parent; context != null; context = context.parent) {
+                parentList.add(context);
+            }
+            Collections.reverse(parentList);
+            parents = Collections.unmodifiableList(parentList);
+        }
         return parents;
     }
 
+    /**
+     * Marks that this context is resolving its dependencies: until {@link #finishDependencyResolution()} is called,
+     * {@link #isResolvingDependencies(Type)} returns true for this context's type on all contexts of the chain.
+     * Used to detect cyclic dependencies in constant time.
+     *
+     * @return true if the type was marked, false if another context of the chain had already marked it
+     */
+    public boolean startDependencyResolution() {
+        if (rootContext.typesResolvingDependencies == null) {
+            rootContext.typesResolvingDependencies = new HashSet<>();
+        }
+        return rootContext.typesResolvingDependencies.add(identifier.getType());
+    }
+
+    /**
+     * Removes the mark set by {@link #startDependencyResolution()}. Must only be called if the type was marked
+     * by this context.
+     */
+    public void finishDependencyResolution() {
+        rootContext.typesResolvingDependencies.remove(identifier.getType());
+    }
+
+    /**
+     * Returns whether a context of this chain with the given type is currently resolving its dependencies,
+     * which, for a new context, means that one of its parents has the given type.
+     *
+     * @param type the type to check
+     * @return true if a context with the type is resolving its dependencies, false otherwise
+     */
+    public boolean isResolvingDependencies(Type type) {
+        Set<Type> types = rootContext.typesResolvingDependencies;
+        return types != null && types.contains(type);
+    }
+
     /**
      * Sets the class to instantiate an object of.
      *
@@ -70,9 +150,6 @@ public class ResolutionContext {
      * @return the child context
      */
     public ResolutionContext createChildContext(ObjectIdentifier identifier) {
-        ResolutionContext child = new ResolutionContext(injector, identifier);
-        child.parents.addAll(this.parents);
-        child.parents.add(this);
-        return child;
+        return new ResolutionContext(injector, identifier, this);
     }
 }
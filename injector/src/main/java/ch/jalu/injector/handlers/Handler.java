@@ -22,6 +22,10 @@ public interface Handler {
      * object is not possible to resolve (e.g. wrong combination of annotations, unmet conditions).
      * <p>
      * The returned {@link Resolution} must correspond to the type represented by the context's object identifier.
+     * <p>
+     * Returning {@code null} may be cached: if a later handler returns a {@link Resolution#isCacheable()
+     * cacheable} resolution, the injector may serve subsequent requests for the same object identifier without
+     * calling this handler again. Override {@link #isContextDependent()} to prevent this.
      *
      * @param context the resolution context
      * @return the instantiation for the class, or {@code null} if not possible
@@ -32,6 +36,18 @@ public interface Handler {
         return null;
     }
 
+    /**
+     * Returns whether a {@code null} result of {@link #resolve} may change for the same object identifier, e.g.
+     * because it depends on the parent contexts or on external state. The injector does not cache resolutions
+     * returned by handlers which come after a context dependent handler, so that such a handler is called for
+     * every request.
+     *
+     * @return true if a {@code null} result of {@link #resolve} may not be cached, false otherwise
+     */
+    default boolean isContextDependent() {
+        return false;
+    }
+
     /**
      * Processes the newly created object.
      *
@@ -47,6 +63,18 @@ public interface Handler {
         return null;
     }
 
+    /**
+     * Returns whether {@link #postProcess} never has any effect on objects of the given class, in which case
+     * the injector does not call it for such objects. The result must be the same for every call with the
+     * same class, as the injector computes it only once per class.
+     *
+     * @param clazz the class of the objects to post process
+     * @return true if objects of the class do not need to be passed to {@link #postProcess}, false otherwise
+     */
+    default boolean canSkipPostProcessing(Class<?> clazz) {
+        return false;
+    }
+
     /**
      * Processes the annotation type and the associated object.
      *
@@ -80,4 +108,17 @@ public interface Handler {
     default <T, P extends Provider<? extends T>> void onProviderClass(Class<T> clazz,
                                                                       Class<P> providerClass) throws Exception {
     }
+
+    /**
+     * Returns an estimate of the heap memory retained by this handler's own state, such as registrations and
+     * caches, not counting the objects which were given to it. Handlers without any state may keep the default.
+     * State which is shared by all instances of the handler (e.g. in static fields) is not included.
+     *
+     * @return estimated retained memory in bytes
+     * @see ch.jalu.injector.utils.MemoryEstimates
+     * @see ch.jalu.injector.Injector#getDiagnostics()
+     */
+    default long estimateRetainedBytes() {
+        return 0;
+    }
 }
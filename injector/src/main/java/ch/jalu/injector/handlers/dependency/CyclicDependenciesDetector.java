@@ -5,15 +5,15 @@ import ch.jalu.injector.context.ResolutionContext;
 import ch.jalu.injector.exceptions.InjectorException;
 import ch.jalu.injector.handlers.Handler;
 import ch.jalu.injector.handlers.instantiation.Resolution;
+import ch.jalu.injector.jfr.InjectorEvents;
 
 import javax.annotation.Nullable;
 import java.lang.reflect.Type;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
- * Detects cycles in the dependencies based on the context's parents.
+ * Detects cycles in the dependencies based on the types of the context's parents, which are tracked by the
+ * injector (see {@link ResolutionContext#startDependencyResolution()}).
  * This handler should come at the start of the chain so it can stop it with an appropriate error message.
  * If not stopped by this handler, cyclic dependencies will cause a StackOverflowException.
  */
@@ -21,21 +21,29 @@ public class CyclicDependenciesDetector implements Handler {
 
     @Override
     public Resolution<?> resolve(ResolutionContext context) {
-        ObjectIdentifier duplicateIdentifier = findRepeatedIdentifier(context);
-        if (duplicateIdentifier != null) {
+        if (context.isResolvingDependencies(context.getIdentifier().getType())) {
             String traversalList = buildParentsList(context);
-            throw new InjectorException("Found cyclic dependency' - already traversed '" + duplicateIdentifier
-                + "' (full traversal list: " + traversalList + " -> " + context.getIdentifier() + ")");
+            String message = "Found cyclic dependency' - already traversed '"
+                + findParentWithSameType(context) + "' (full traversal list: " + traversalList
+                + " -> " + context.getIdentifier() + ")";
+            InjectorEvents.cycleDetected(context, CyclicDependenciesDetector.class, message);
+            throw new InjectorException(message);
         }
         return null;
     }
 
+    /**
+     * Returns the identifier of the parent with the same type as the given context. Only called when a cycle has
+     * been detected, so the parents are traversed to build the error message.
+     *
+     * @param context the context to process
+     * @return the identifier of the parent with the same type
+     */
     @Nullable
-    private static ObjectIdentifier findRepeatedIdentifier(ResolutionContext context) {
-        Set<Type> types = new HashSet<>();
-        types.add(context.getIdentifier().getType());
-        for (ResolutionContext parent : context.getParents()) {
-            if (!types.add(parent.getIdentifier().getType())) {
+    private static ObjectIdentifier findParentWithSameType(ResolutionContext context) {
+        Type type = context.getIdentifier().getType();
+        for (ResolutionContext parent = context.getParent(); parent != null; parent = parent.getParent()) {
+            if (type.equals(parent.getIdentifier().getType())) {
                 return parent.getIdentifier();
             }
         }
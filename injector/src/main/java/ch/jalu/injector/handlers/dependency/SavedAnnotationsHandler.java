@@ -6,10 +6,11 @@ import ch.jalu.injector.handlers.Handler;
 import ch.jalu.injector.handlers.instantiation.Resolution;
 import ch.jalu.injector.handlers.instantiation.SimpleResolution;
 import ch.jalu.injector.utils.InjectorUtils;
+import ch.jalu.injector.utils.MemoryEstimates;
 
 import java.lang.annotation.Annotation;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Simple handler that allows you to save a value for a custom annotation. Use this
@@ -22,7 +23,7 @@ import java.util.Map;
  */
 public class SavedAnnotationsHandler implements Handler {
 
-    private Map<Class<?>, Object> storedValues = new HashMap<>();
+    private Map<Class<?>, Object> storedValues = new ConcurrentHashMap<>();
 
     @Override
     public Resolution<?> resolve(ResolutionContext context) {
@@ -35,12 +36,16 @@ public class SavedAnnotationsHandler implements Handler {
         return null;
     }
 
+    @Override
+    public long estimateRetainedBytes() {
+        return storedValues.size() * (long) MemoryEstimates.HASH_MAP_ENTRY;
+    }
+
     @Override
     public void onAnnotation(Class<? extends Annotation> annotation, Object object) {
         InjectorUtils.checkNotNull(object, "Object may not be null");
-        if (storedValues.containsKey(annotation)) {
+        if (storedValues.putIfAbsent(annotation, object) != null) {
             throw new InjectorException("Value already registered for @" + annotation.getSimpleName());
         }
-        storedValues.put(annotation, object);
     }
 }
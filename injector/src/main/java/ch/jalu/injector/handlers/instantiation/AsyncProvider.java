@@ -0,0 +1,140 @@
+package ch.jalu.injector.handlers.instantiation;
+
+import ch.jalu.injector.exceptions.InjectorException;
+import ch.jalu.injector.utils.InjectorUtils;
+
+import javax.inject.Provider;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Provider for objects which are created asynchronously: the supplied {@link CompletionStage} is
+ * waited for when the object is requested. Registered as a regular provider, so that it is handled
+ * by the {@link ProviderHandler}.
+ * <p>
+ * To avoid blocking a thread while waiting, the stage can be {@link #prefetch() prefetched}: once the returned
+ * future has completed (or timed out), {@link #getPrefetched} returns the object without blocking. The provider
+ * does not keep prefetched stages, so a stage is only used by the caller which prefetched it.
+ *
+ * @param <T> the type of the provided objects
+ * @see ch.jalu.injector.Injector#registerAsyncProvider
+ */
+public class AsyncProvider<T> implements Provider<T> {
+
+    private final Class<T> clazz;
+    private final Supplier<? extends CompletionStage<? extends T>> supplier;
+    private final long timeoutMillis;
+
+    /**
+     * Constructor.
+     *
+     * @param clazz the class of the provided objects
+     * @param supplier supplier of the completion stage producing the object
+     * @param timeoutMillis the maximum time to wait for a completion stage in milliseconds (0 for no timeout)
+     */
+    public AsyncProvider(Class<T> clazz, Supplier<? extends CompletionStage<? extends T>> supplier,
+                         long timeoutMillis) {
+        InjectorUtils.checkArgument(timeoutMillis >= 0, "Timeout may not be negative");
+        this.clazz = clazz;
+        this.supplier = supplier;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public T get() {
+        return getPrefetched(startStage());
+    }
+
+    /**
+     * Calls the supplier and returns the future of its stage without waiting for it. The future fails with a
+     * {@link TimeoutException} if the stage does not complete within the timeout. Once it has completed, pass it
+     * to {@link #getPrefetched} to get the object.
+     *
+     * @return future of the supplier's stage
+     */
+    public CompletableFuture<? extends T> prefetch() {
+        return startStage();
+    }
+
+    /**
+     * Returns the result of a stage returned by {@link #prefetch()}, waiting for it if it has not completed yet.
+     * Errors are thrown like in {@link #get()}.
+     *
+     * @param stage the prefetched stage
+     * @return the provided object
+     */
+    public T getPrefetched(CompletableFuture<? extends T> stage) {
+        try {
+            return stage.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InjectorException("Interrupted while waiting for the async provider for '" + clazz + "'", e);
+        } catch (ExecutionException e) {
+            if (timeoutMillis > 0 && e.getCause() instanceof TimeoutException) {
+                throw new InjectorException("The async provider for '" + clazz + "' did not complete within "
+                    + timeoutMillis + " ms", e.getCause());
+            }
+            throw new InjectorException("The async provider for '" + clazz + "' failed (see cause)", e.getCause());
+        }
+    }
+
+    /**
+     * Calls the supplier and returns a future with its result, which fails with a {@link TimeoutException} if
+     * the stage does not complete within the timeout.
+     *
+     * @return future of the supplier's stage
+     */
+    private CompletableFuture<? extends T> startStage() {
+        CompletionStage<? extends T> stage = supplier.get();
+        if (stage == null) {
+            throw new InjectorException("The async provider for '" + clazz + "' returned null");
+        }
+        if (timeoutMillis == 0) {
+            return stage.toCompletableFuture();
+        }
+
+        CompletableFuture<T> timedStage = new CompletableFuture<>();
+        ScheduledFuture<?> timeout = TimeoutScheduler.INSTANCE.schedule(
+            () -> timedStage.completeExceptionally(new TimeoutException()), timeoutMillis, TimeUnit.MILLISECONDS);
+        stage.whenComplete((result, error) -> {
+            timeout.cancel(false);
+            if (error == null) {
+                timedStage.complete(result);
+            } else {
+                timedStage.completeExceptionally(unwrap(error));
+            }
+        });
+        return timedStage;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null
+            ? error.getCause()
+            : error;
+    }
+
+    /**
+     * Holder of the daemon thread which fails stages that exceed their timeout; created on first use.
+     */
+    private static final class TimeoutScheduler {
+
+        static final ScheduledThreadPoolExecutor INSTANCE = createScheduler();
+
+        private static ScheduledThreadPoolExecutor createScheduler() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "injector-async-timeout");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+}
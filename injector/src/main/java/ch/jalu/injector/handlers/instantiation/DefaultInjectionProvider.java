@@ -35,7 +35,6 @@ public class DefaultInjectionProvider extends StandardInjectionProvider {
     @Override
     protected void validateInjection(Class<?> clazz, Constructor<?> constructor, List<Field> fields) {
         super.validateInjection(clazz, constructor, fields);
-        verifyIsClassPackageAllowed(clazz);
 
         final boolean hasConstructionInjection = constructor.isAnnotationPresent(Inject.class);
         for (Field field : fields) {
@@ -0,0 +1,98 @@
+package ch.jalu.injector.handlers.instantiation;
+
+import ch.jalu.injector.context.ObjectIdentifier;
+import ch.jalu.injector.exceptions.InjectorException;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parent of the factories generated at compile time by the annotation processor of the injector-apt module.
+ * A generated factory is the equivalent of a {@link StandardInjection} as plain Java code: it calls the
+ * constructor and sets the fields directly, without any reflection.
+ * <p>
+ * The factory of a class is located in the same package as the class and is named after the class's binary name,
+ * see {@link #getFactoryClassName}. Factories are picked up by the {@link GeneratedInjectionProvider}.
+ *
+ * @param <T> the type of the objects the factory creates
+ */
+public abstract class GeneratedInjection<T> implements Resolution<T> {
+
+    /** Suffix of the generated factory classes. */
+    public static final String FACTORY_SUFFIX = "_InjectorFactory";
+
+    private volatile List<ObjectIdentifier> dependencies;
+
+    @Override
+    public List<ObjectIdentifier> getDependencies() {
+        List<ObjectIdentifier> depList = dependencies;
+        if (depList == null) {
+            try {
+                depList = Collections.unmodifiableList(createDependencies());
+            } catch (ReflectiveOperationException e) {
+                throw new InjectorException("Could not get the dependencies of the generated factory "
+                    + getClass() + ". Was the class recompiled without the annotation processor?", e);
+            }
+            dependencies = depList;
+        }
+        return depList;
+    }
+
+    /**
+     * Creates the dependencies of the factory. Implementations should use {@link #dependenciesOf}.
+     *
+     * @return the dependencies
+     * @throws ReflectiveOperationException if a member could not be found
+     */
+    protected abstract List<ObjectIdentifier> createDependencies() throws ReflectiveOperationException;
+
+    @Override
+    public boolean isInstantiation() {
+        return true;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    /**
+     * Returns the dependencies of an object created with the given constructor and fields. The order of the
+     * dependencies is the same as for a {@link StandardInjection} with the same members.
+     *
+     * @param constructor the constructor the factory calls
+     * @param fields the fields the factory sets
+     * @return the dependencies
+     */
+    protected static List<ObjectIdentifier> dependenciesOf(Constructor<?> constructor, Field... fields) {
+        return StandardInjection.buildDependencies(constructor, Arrays.asList(fields));
+    }
+
+    /**
+     * Throws an exception if the number of values does not correspond to the expected number.
+     *
+     * @param values the values passed to the factory
+     * @param expectedNumber the number of dependencies of the factory
+     */
+    protected static void checkNumberOfValues(Object[] values, int expectedNumber) {
+        if (values.length != expectedNumber) {
+            throw new InjectorException("Number of values does not correspond to the expected number");
+        }
+    }
+
+    /**
+     * Returns the name of the factory class generated for the class with the given binary name.
+     * For example, the factory of {@code com.acme.Outer$Inner} is {@code com.acme.Outer$Inner_InjectorFactory}.
+     * The {@code $} of nested classes is kept, so that the name cannot collide with the factory of a top-level
+     * class such as {@code com.acme.Outer_Inner}.
+     *
+     * @param binaryName the binary name of the class, as returned by {@link Class#getName}
+     * @return the binary name of the generated factory
+     */
+    public static String getFactoryClassName(String binaryName) {
+        return binaryName + FACTORY_SUFFIX;
+    }
+}
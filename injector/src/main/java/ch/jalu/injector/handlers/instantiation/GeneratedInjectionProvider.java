@@ -0,0 +1,81 @@
+package ch.jalu.injector.handlers.instantiation;
+
+import ch.jalu.injector.exceptions.InjectorException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Variant of the {@link DefaultInjectionProvider} which uses the factories generated by the annotation processor
+ * of the injector-apt module, if available. Classes without a generated factory are handled like in the
+ * {@link DefaultInjectionProvider}, i.e. with reflection.
+ * <p>
+ * The rules of the default injection provider are enforced by the annotation processor at compile time, with the
+ * exception of the root package, which is checked by this provider. To use it, add it to the injector instead of
+ * the {@link DefaultInjectionProvider}.
+ */
+public class GeneratedInjectionProvider extends DefaultInjectionProvider {
+
+    private static final Resolution<?> NO_FACTORY = new SimpleResolution<>(null);
+
+    /**
+     * Generated factory per class, or {@link #NO_FACTORY} if the class has none. Shared by all providers, as the
+     * factory only depends on the class; looked up once per class so that misses don't throw every time.
+     */
+    private static final ClassValue<Resolution<?>> FACTORIES = new ClassValue<Resolution<?>>() {
+        @Override
+        protected Resolution<?> computeValue(Class<?> clazz) {
+            Resolution<?> factory = createGeneratedInjection(clazz);
+            return factory == null ? NO_FACTORY : factory;
+        }
+    };
+
+    public GeneratedInjectionProvider(String rootPackage) {
+        super(rootPackage);
+    }
+
+    @Override
+    public <T> Resolution<T> safeGet(Class<T> clazz) {
+        verifyIsClassPackageAllowed(clazz);
+        Resolution<T> generatedInjection = loadGeneratedInjection(clazz);
+        return generatedInjection == null ? super.safeGet(clazz) : generatedInjection;
+    }
+
+    /**
+     * Returns the factory generated for the given class, or null if there is none. The factory is looked up and
+     * instantiated once per class.
+     *
+     * @param clazz the class to get the factory for
+     * @param <T> the class's type
+     * @return the generated factory, or null if not available
+     */
+    @Nullable
+    protected <T> Resolution<T> loadGeneratedInjection(Class<T> clazz) {
+        Resolution<?> factory = FACTORIES.get(clazz);
+        if (factory == NO_FACTORY) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        Resolution<T> typedFactory = (Resolution<T>) factory;
+        return typedFactory;
+    }
+
+    @Nullable
+    private static Resolution<?> createGeneratedInjection(Class<?> clazz) {
+        Class<?> factoryClass;
+        try {
+            factoryClass = Class.forName(GeneratedInjection.getFactoryClassName(clazz.getName()), true,
+                clazz.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+
+        if (!GeneratedInjection.class.isAssignableFrom(factoryClass)) {
+            throw new InjectorException("Expected " + factoryClass + " to be a generated factory of " + clazz);
+        }
+        try {
+            return (Resolution<?>) factoryClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new InjectorException("Could not create the generated factory " + factoryClass, e);
+        }
+    }
+}
@@ -1,44 +1,91 @@
 package ch.jalu.injector.handlers.instantiation;
 
+import ch.jalu.injector.context.ObjectIdentifier;
 import ch.jalu.injector.context.ResolutionContext;
+import ch.jalu.injector.context.ResolutionType;
 import ch.jalu.injector.context.StandardResolutionType;
 import ch.jalu.injector.handlers.Handler;
+import ch.jalu.injector.utils.InjectorUtils;
+import ch.jalu.injector.utils.MemoryEstimates;
 
-import javax.annotation.Nullable;
-import java.lang.ref.WeakReference;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Primitive "cache" for instantiation methods. It is recommended to use a more suitable
- * cache structure instead, e.g. with Guava's CacheBuilder. As such, this handler is not
- * included by default.
+ * Cache for instantiation methods, keyed by the full object identifier (type including generics, annotations and
+ * resolution type). By default, only request-scoped resolutions are cached; singleton-scoped ones can be cached
+ * as well. Resolutions which are {@link Resolution#isCacheable() cacheable} are already cached by the injector,
+ * so this handler mainly benefits resolutions which are not.
+ * <p>
+ * The cache holds at most the configured number of entries. Lookups do not lock: when the cache is full, an entry
+ * which has not been used since the last pass is evicted (clock algorithm), which approximates evicting the least
+ * recently used entry. The number of hits, misses and evictions can be retrieved to tune the maximum size. This
+ * handler is not included by default.
  */
 public class InstantiationCache implements Handler {
 
-    protected Map<Class, WeakReference<Resolution>> entries = new ConcurrentHashMap<>();
+    /** Maximum number of entries if no size is specified. */
+    public static final int DEFAULT_MAXIMUM_SIZE = 512;
+
+    private final int maximumSize;
+    private final boolean cacheSingletons;
+    private final Map<ObjectIdentifier, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    private final Object evictionLock = new Object();
+    // Guarded by evictionLock
+    private Iterator<Map.Entry<ObjectIdentifier, Entry>> clockHand;
+
+    /**
+     * Constructor: caches up to {@link #DEFAULT_MAXIMUM_SIZE} request-scoped resolutions.
+     */
+    public InstantiationCache() {
+        this(DEFAULT_MAXIMUM_SIZE, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maximumSize the maximum number of entries to keep
+     * @param cacheSingletons whether singleton-scoped resolutions should be cached in addition to request-scoped ones
+     */
+    public InstantiationCache(int maximumSize, boolean cacheSingletons) {
+        InjectorUtils.checkArgument(maximumSize > 0, "Maximum size must be positive");
+        this.maximumSize = maximumSize;
+        this.cacheSingletons = cacheSingletons;
+    }
 
     @Override
     public Resolution<?> resolve(ResolutionContext context) {
-        return getInstantiation(context);
+        if (!shouldCacheMethod(context)) {
+            return null;
+        }
+        Entry entry = entries.get(context.getOriginalIdentifier());
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        entry.markUsed();
+        return entry.resolution;
     }
 
     @Override
     public <T> T postProcess(T object, ResolutionContext context, Resolution<?> resolution) {
-        if (shouldCacheMethod(context) && getInstantiation(context) == null) {
-            // TODO #48: Refine this to go over the entire object identifier
-            entries.put(context.getIdentifier().getTypeAsClass(), new WeakReference<>(resolution));
+        if (shouldCacheMethod(context)) {
+            ObjectIdentifier identifier = context.getOriginalIdentifier();
+            if (entries.putIfAbsent(identifier, new Entry(resolution)) == null && entries.size() > maximumSize) {
+                evictEntries(identifier);
+            }
         }
         return null;
     }
 
-    @Nullable
-    @SuppressWarnings("unchecked")
-    private <T> Resolution<? extends T> getInstantiation(ResolutionContext context) {
-        WeakReference<Resolution> instantiation = entries.get(context.getIdentifier().getTypeAsClass());
-        return instantiation == null ? null : instantiation.get();
-    }
-
     /**
      * Returns whether the instantiation method from the given context should be cached.
      *
@@ -46,6 +93,105 @@ public class InstantiationCache implements Handler {
      * @return true to cache the instantiation method, false otherwise
      */
     protected boolean shouldCacheMethod(ResolutionContext context) {
-        return context.getIdentifier().getResolutionType() == StandardResolutionType.REQUEST_SCOPED;
+        ResolutionType resolutionType = context.getOriginalIdentifier().getResolutionType();
+        return resolutionType == StandardResolutionType.REQUEST_SCOPED
+            || (cacheSingletons && resolutionType == StandardResolutionType.SINGLETON);
+    }
+
+    /**
+     * @return the number of entries in the cache
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public long estimateRetainedBytes() {
+        // The resolutions are shared with the handlers which created them and are counted there
+        return size() * (MemoryEstimates.HASH_MAP_ENTRY + MemoryEstimates.OBJECT_IDENTIFIER
+            + MemoryEstimates.object(2));
+    }
+
+    /**
+     * @return the maximum number of entries
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return the number of lookups which returned a cached resolution
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of lookups for which no resolution was cached
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the number of entries which were removed because the cache was full
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Removes all entries. The statistics are not reset.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Moves the clock hand over the entries until the cache is within its maximum size: entries which were used
+     * since the hand last passed them are kept (and their flag is reset), others are removed. The entry which was
+     * just added is skipped.
+     *
+     * @param addedIdentifier identifier of the entry whose addition exceeded the maximum size
+     */
+    private void evictEntries(ObjectIdentifier addedIdentifier) {
+        synchronized (evictionLock) {
+            while (entries.size() > maximumSize) {
+                if (clockHand == null || !clockHand.hasNext()) {
+                    clockHand = entries.entrySet().iterator();
+                    if (!clockHand.hasNext()) {
+                        return; // cleared concurrently
+                    }
+                }
+                Map.Entry<ObjectIdentifier, Entry> candidate = clockHand.next();
+                if (candidate.getKey().equals(addedIdentifier)) {
+                    continue;
+                } else if (candidate.getValue().used) {
+                    candidate.getValue().used = false;
+                } else if (entries.remove(candidate.getKey(), candidate.getValue())) {
+                    evictionCount.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Cached resolution with the flag read by the clock hand.
+     */
+    private static final class Entry {
+
+        final Resolution<?> resolution;
+        volatile boolean used;
+
+        Entry(Resolution<?> resolution) {
+            this.resolution = resolution;
+        }
+
+        void markUsed() {
+            // Only write if needed so that hits on hot entries don't invalidate the cache line on every lookup
+            if (!used) {
+                used = true;
+            }
+        }
     }
 }
@@ -0,0 +1,106 @@
+package ch.jalu.injector.handlers.instantiation;
+
+import ch.jalu.injector.exceptions.InjectorReflectionException;
+import ch.jalu.injector.utils.InjectorUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Standard injection which creates objects with method handles instead of core reflection. The handles for the
+ * constructor and the fields are looked up once when the resolution is created, so that accessibility is only
+ * checked once per class rather than on every instantiation.
+ * <p>
+ * Exceptions are reported like in {@link StandardInjection}: an exception thrown by the constructor is wrapped
+ * into an {@link InvocationTargetException}, which is the cause of the thrown {@link InjectorReflectionException}.
+ *
+ * @see MethodHandleInjectionProvider
+ */
+public class MethodHandleInjection<T> extends StandardInjection<T> {
+
+    /** Handle of type (Object[])Object invoking the constructor with the spread array. */
+    private final MethodHandle constructorHandle;
+    /** Handles of type (Object, Object)void setting a field on the instance (first argument). */
+    private final MethodHandle[] fieldSetters;
+
+    /**
+     * Constructs a method handle injection object.
+     *
+     * @param constructor the constructor to create objects with
+     * @param fields the fields to inject after instantiation
+     */
+    public MethodHandleInjection(Constructor<T> constructor, List<Field> fields) {
+        super(constructor, fields);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        this.constructorHandle = createConstructorHandle(lookup, constructor);
+        this.fieldSetters = new MethodHandle[fields.size()];
+        for (int i = 0; i < fieldSetters.length; ++i) {
+            fieldSetters[i] = createFieldSetter(lookup, fields.get(i));
+        }
+    }
+
+    @Override
+    public T instantiateWith(Object... values) {
+        final int constructorParams = getConstructor().getParameterCount();
+        InjectorUtils.checkArgument(values.length == constructorParams + fieldSetters.length,
+            "Number of values does not correspond to the expected number");
+
+        final Object[] constructorValues = fieldSetters.length == 0 ? values : Arrays.copyOf(values, constructorParams);
+        final Object instance;
+        try {
+            instance = (Object) constructorHandle.invokeExact(constructorValues);
+        } catch (Throwable t) {
+            throw new InjectorReflectionException("Could not invoke constructor of class '"
+                + getConstructor().getDeclaringClass() + "'", new InvocationTargetException(t));
+        }
+
+        for (int i = 0; i < fieldSetters.length; ++i) {
+            try {
+                fieldSetters[i].invokeExact(instance, values[i + constructorParams]);
+            } catch (RuntimeException e) { // ClassCastException or NullPointerException for invalid values
+                throw new InjectorReflectionException(
+                    "Could not set field '" + getFields().get(i).getName() + "' for " + instance, e);
+            } catch (Throwable t) {
+                throw new IllegalStateException("Unexpected error from field setter", t);
+            }
+        }
+        @SuppressWarnings("unchecked")
+        T result = (T) instance;
+        return result;
+    }
+
+    private static MethodHandle createConstructorHandle(MethodHandles.Lookup lookup, Constructor<?> constructor) {
+        constructor.setAccessible(true);
+        try {
+            int parameterCount = constructor.getParameterCount();
+            return lookup.unreflectConstructor(constructor)
+                .asType(MethodType.genericMethodType(parameterCount))
+                .asSpreader(Object[].class, parameterCount);
+        } catch (IllegalAccessException e) {
+            throw new InjectorReflectionException("Could not create method handle for constructor of class '"
+                + constructor.getDeclaringClass() + "'", e);
+        }
+    }
+
+    private static MethodHandle createFieldSetter(MethodHandles.Lookup lookup, Field field) {
+        field.setAccessible(true);
+        try {
+            MethodHandle setter = lookup.unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                // Static setters have no instance parameter: add one which is ignored
+                setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            }
+            return setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new InjectorReflectionException(
+                "Could not create method handle for field '" + field.getName() + "'", e);
+        }
+    }
+}
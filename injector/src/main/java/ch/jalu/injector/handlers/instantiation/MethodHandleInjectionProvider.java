@@ -0,0 +1,23 @@
+package ch.jalu.injector.handlers.instantiation;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.List;
+
+/**
+ * Variant of the {@link DefaultInjectionProvider} which creates objects with {@link MethodHandleInjection}.
+ * The rules for selecting the members to inject are the same; only the way the members are invoked differs.
+ * <p>
+ * To use it, add it to the injector instead of the {@link DefaultInjectionProvider}.
+ */
+public class MethodHandleInjectionProvider extends DefaultInjectionProvider {
+
+    public MethodHandleInjectionProvider(String rootPackage) {
+        super(rootPackage);
+    }
+
+    @Override
+    protected <T> Resolution<T> createResolution(Constructor<T> constructor, List<Field> fields) {
+        return new MethodHandleInjection<>(constructor, fields);
+    }
+}
@@ -5,17 +5,19 @@ import ch.jalu.injector.context.ResolutionContext;
 import ch.jalu.injector.exceptions.InjectorException;
 import ch.jalu.injector.handlers.Handler;
 import ch.jalu.injector.utils.InjectorUtils;
+import ch.jalu.injector.utils.MemoryEstimates;
 import ch.jalu.injector.utils.ReflectionUtils;
 
 import javax.annotation.Nullable;
 import javax.inject.Provider;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static ch.jalu.injector.context.StandardResolutionType.SINGLETON;
-import static ch.jalu.injector.utils.InjectorUtils.checkArgument;
 
 /**
  * Default handler for {@link Provider} objects. Registers providers and classes and creates
@@ -23,18 +25,16 @@ import static ch.jalu.injector.utils.InjectorUtils.checkArgument;
  */
 public class ProviderHandler implements Handler {
 
-    protected Map<Class<?>, ProviderBasedInstantiation<?>> providers = new HashMap<>();
+    protected Map<Class<?>, ProviderBasedInstantiation<?>> providers = new ConcurrentHashMap<>();
 
     @Override
     public <T> void onProvider(Class<T> clazz, Provider<? extends T> provider) {
-        checkArgument(!providers.containsKey(clazz), "Provider already registered for " + clazz);
-        providers.put(clazz, new InstantiationByProvider<>(provider));
+        registerProvider(clazz, new InstantiationByProvider<>(provider));
     }
 
     @Override
     public <T, P extends Provider<? extends T>> void onProviderClass(Class<T> clazz, Class<P> providerClass) {
-        checkArgument(!providers.containsKey(clazz), "Provider already registered for " + clazz);
-        providers.put(clazz, new InstantiationByProviderClass<>(providerClass));
+        registerProvider(clazz, new InstantiationByProviderClass<>(providerClass));
     }
 
     @Override
@@ -45,6 +45,23 @@ public class ProviderHandler implements Handler {
         return providers.get(context.getIdentifier().getTypeAsClass());
     }
 
+    @Override
+    public long estimateRetainedBytes() {
+        return providers.size() * (MemoryEstimates.HASH_MAP_ENTRY + MemoryEstimates.object(1));
+    }
+
+    private void registerProvider(Class<?> clazz, ProviderBasedInstantiation<?> instantiation) {
+        if (providers.putIfAbsent(clazz, instantiation) != null) {
+            throw new InjectorException("Provider already registered for " + clazz);
+        }
+    }
+
+    private static void checkProviderDependency(Object[] values, Class<?> providerClass) {
+        if (values.length != 1 || !providerClass.isInstance(values[0])) {
+            throw new InjectorException("Expected one dependency of type " + providerClass);
+        }
+    }
+
     @Nullable
     private Resolution<?> handleProviderRequest(ResolutionContext context) {
         Class<?> genericType = ReflectionUtils.getGenericType(context.getIdentifier().getType());
@@ -98,12 +115,59 @@ public class ProviderHandler implements Handler {
             return true;
         }
 
+        @Override
+        public boolean isCacheable() {
+            return true;
+        }
+
+        @Override
+        public CompletionStage<? extends Resolution<?>> prepareAsync() {
+            return provider instanceof AsyncProvider<?> ? prefetch((AsyncProvider<?>) provider) : null;
+        }
+
+        private static <T> CompletionStage<Resolution<T>> prefetch(AsyncProvider<T> provider) {
+            CompletableFuture<? extends T> stage = provider.prefetch();
+            // Errors are thrown on instantiation, like when the provider is called directly
+            return stage.handle((result, error) -> new PrefetchedInstantiation<>(provider, stage));
+        }
+
         @Override
         public Resolution<Provider<? extends T>> createProviderResolution() {
             return new SimpleResolution<>(provider);
         }
     }
 
+    /**
+     * Resolution of an object with the prefetched stage of an async provider, for one instantiation.
+     *
+     * @param <T> the object type
+     */
+    private static final class PrefetchedInstantiation<T> implements Resolution<T> {
+        private final AsyncProvider<T> provider;
+        private final CompletableFuture<? extends T> stage;
+
+        PrefetchedInstantiation(AsyncProvider<T> provider, CompletableFuture<? extends T> stage) {
+            this.provider = provider;
+            this.stage = stage;
+        }
+
+        @Override
+        public List<ObjectIdentifier> getDependencies() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public T instantiateWith(Object... values) {
+            InjectorUtils.checkArgument(values.length == 0, "No dependencies expected");
+            return provider.getPrefetched(stage);
+        }
+
+        @Override
+        public boolean isInstantiation() {
+            return true;
+        }
+    }
+
     /**
      * Resolution of an object with a known provider class.
      *
@@ -124,8 +188,7 @@ public class ProviderHandler implements Handler {
         @Override
         @SuppressWarnings("unchecked")
         public T instantiateWith(Object... values) {
-            InjectorUtils.checkArgument(values.length == 1 && providerClass.isInstance(values[0]),
-                "Expected one dependency of type " + providerClass);
+            checkProviderDependency(values, providerClass);
             return ((Provider<? extends T>) values[0]).get();
         }
 
@@ -134,6 +197,11 @@ public class ProviderHandler implements Handler {
             return true;
         }
 
+        @Override
+        public boolean isCacheable() {
+            return true;
+        }
+
         @Override
         public Resolution<Provider<? extends T>> createProviderResolution() {
             // Workaround: return an Instantiation object that takes the actual class as dependency and simply returns
@@ -149,8 +217,7 @@ public class ProviderHandler implements Handler {
                 @Override
                 @SuppressWarnings("unchecked")
                 public Provider<? extends T> instantiateWith(Object... values) {
-                    InjectorUtils.checkArgument(values.length == 1 && providerClass.isInstance(values[0]),
-                        "Expected one dependency of type " + providerClass);
+                    checkProviderDependency(values, providerClass);
                     return (Provider<? extends T>) values[0];
                 }
             };
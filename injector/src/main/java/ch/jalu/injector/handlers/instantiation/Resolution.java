@@ -2,7 +2,9 @@ package ch.jalu.injector.handlers.instantiation;
 
 import ch.jalu.injector.context.ObjectIdentifier;
 
+import javax.annotation.Nullable;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 
 /**
  * An object resolution knows how to provide the requested object. Some resolutions simply wrap an
@@ -41,4 +43,35 @@ public interface Resolution<T> {
     default boolean isInstantiation() {
         return false;
     }
+
+    /**
+     * Returns whether this resolution may be reused for all future requests of the same
+     * {@link ObjectIdentifier}. If {@code true}, the injector caches the resolution once an object has been
+     * successfully created with it, and subsequent requests with an equal identifier skip the handlers'
+     * {@link ch.jalu.injector.handlers.Handler#resolve resolve} methods entirely.
+     * <p>
+     * Only return {@code true} if the resolution does not depend on anything other than the object identifier,
+     * e.g. not on the resolution context or on values that may change. The injector discards all cached
+     * resolutions whenever a provider or an annotation value is registered.
+     *
+     * @return true if the resolution can be cached, false otherwise
+     */
+    default boolean isCacheable() {
+        return false;
+    }
+
+    /**
+     * Starts any asynchronous work the instantiation would otherwise block on, such that it can be waited for
+     * without blocking a thread. Called by the injector for asynchronous resolutions (see
+     * {@link ch.jalu.injector.Injector#getSingletonAsync}) once all dependencies exist. The returned stage
+     * completes with the resolution to create the object with, whose {@link #instantiateWith} does not block.
+     * It is used for this creation only and is not cached; if the object is created otherwise in the meantime,
+     * it is discarded.
+     *
+     * @return stage completed with the prepared resolution, null if the instantiation doesn't block
+     */
+    @Nullable
+    default CompletionStage<? extends Resolution<?>> prepareAsync() {
+        return null;
+    }
 }
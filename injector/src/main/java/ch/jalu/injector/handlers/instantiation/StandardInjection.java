@@ -5,14 +5,13 @@ import ch.jalu.injector.utils.InjectorUtils;
 import ch.jalu.injector.utils.ReflectionUtils;
 
 import java.lang.annotation.Annotation;
-import java.lang.ref.SoftReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static ch.jalu.injector.context.StandardResolutionType.SINGLETON;
 
@@ -24,8 +23,9 @@ import static ch.jalu.injector.context.StandardResolutionType.SINGLETON;
 public class StandardInjection<T> implements Resolution<T> {
 
     private final Constructor<T> constructor;
-    private final List<Field> fields;
-    private SoftReference<List<ObjectIdentifier>> dependencies;
+    private final Field[] fields;
+    private final List<Field> fieldList;
+    private final List<ObjectIdentifier> dependencies;
 
     /**
      * Constructs a standard injection object.
@@ -35,38 +35,44 @@ public class StandardInjection<T> implements Resolution<T> {
      */
     public StandardInjection(Constructor<T> constructor, List<Field> fields) {
         this.constructor = constructor;
-        this.fields = fields;
+        this.fields = fields.toArray(new Field[0]);
+        this.fieldList = Collections.unmodifiableList(Arrays.asList(this.fields));
+        this.dependencies = StandardInjectionProvider.getDependencies(constructor, fieldList);
+    }
+
+    /**
+     * @return the constructor objects are created with
+     */
+    protected Constructor<T> getConstructor() {
+        return constructor;
+    }
+
+    /**
+     * @return the fields injected after instantiation
+     */
+    protected List<Field> getFields() {
+        return fieldList;
     }
 
     @Override
     public List<ObjectIdentifier> getDependencies() {
-        List<ObjectIdentifier> depList = dependencies == null ? null : dependencies.get();
-        if (depList == null) {
-            List<ObjectIdentifier> constructorDeps = buildConstructorDependencies();
-            List<ObjectIdentifier> fieldDeps = buildFieldDependencies();
-
-            depList = new ArrayList<>(constructorDeps.size() + fieldDeps.size());
-            depList.addAll(constructorDeps);
-            depList.addAll(fieldDeps);
-            this.dependencies = new SoftReference<>(depList);
-        }
-        return depList;
+        return dependencies;
     }
 
     @Override
     public T instantiateWith(Object... values) {
         // Check no null values & correct size
-        InjectorUtils.checkArgument(values.length == constructor.getParameterTypes().length + fields.size(),
+        final int constructorParams = constructor.getParameterCount();
+        InjectorUtils.checkArgument(values.length == constructorParams + fields.length,
             "Number of values does not correspond to the expected number");
 
-        // Constructor injection
-        final int constructorParams = constructor.getParameterTypes().length;
-        final List<Object> constructorValues = Arrays.asList(values).subList(0, constructorParams);
-        T instance = ReflectionUtils.newInstance(constructor, constructorValues.toArray());
+        // Constructor injection: the values can be passed as is if there are no fields to inject
+        final Object[] constructorValues = fields.length == 0 ? values : Arrays.copyOf(values, constructorParams);
+        T instance = ReflectionUtils.newInstance(constructor, constructorValues);
 
         // Field injection
-        for (int i = 0; i < fields.size(); ++i) {
-            ReflectionUtils.setField(fields.get(i), instance, values[i + constructorParams]);
+        for (int i = 0; i < fields.length; ++i) {
+            ReflectionUtils.setField(fields[i], instance, values[i + constructorParams]);
         }
         return instance;
     }
@@ -76,20 +82,30 @@ public class StandardInjection<T> implements Resolution<T> {
         return true;
     }
 
-    private List<ObjectIdentifier> buildConstructorDependencies() {
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    /**
+     * Returns the dependencies of an object created with the given constructor and fields: first the
+     * constructor parameters, then the fields in the given order.
+     *
+     * @param constructor the constructor
+     * @param fields the fields to inject
+     * @return the dependencies
+     */
+    static List<ObjectIdentifier> buildDependencies(Constructor<?> constructor, List<Field> fields) {
         final Type[] parameters = constructor.getGenericParameterTypes();
         final Annotation[][] annotations = constructor.getParameterAnnotations();
 
-        List<ObjectIdentifier> dependencies = new ArrayList<>(parameters.length);
+        List<ObjectIdentifier> dependencies = new ArrayList<>(parameters.length + fields.size());
         for (int i = 0; i < parameters.length; ++i) {
             dependencies.add(new ObjectIdentifier(SINGLETON, parameters[i], annotations[i]));
         }
+        for (Field field : fields) {
+            dependencies.add(new ObjectIdentifier(SINGLETON, field.getGenericType(), field.getAnnotations()));
+        }
         return dependencies;
     }
-
-    private List<ObjectIdentifier> buildFieldDependencies() {
-        return fields.stream()
-            .map(f -> new ObjectIdentifier(SINGLETON, f.getGenericType(), f.getAnnotations()))
-            .collect(Collectors.toList());
-    }
 }
@@ -1,5 +1,6 @@
 package ch.jalu.injector.handlers.instantiation;
 
+import ch.jalu.injector.context.ObjectIdentifier;
 import ch.jalu.injector.exceptions.InjectorException;
 import ch.jalu.injector.utils.ReflectionUtils;
 
@@ -9,7 +10,8 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -32,6 +34,18 @@ import java.util.List;
  */
 public class StandardInjectionProvider extends DirectInstantiationProvider {
 
+    /**
+     * Members of each class as selected by the rules above, and the result of their validation. Only depends on
+     * the class, so it is shared by all providers and computed once per class. The resolutions are created by
+     * each provider on top of it, as subclasses may select, validate or invoke the members differently.
+     */
+    private static final ClassValue<ClassMetadata> METADATA = new ClassValue<ClassMetadata>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> clazz) {
+            return new ClassMetadata(clazz);
+        }
+    };
+
     @Override
     public <T> Resolution<T> safeGet(Class<T> clazz) {
         Constructor<T> constructor = getInjectionConstructor(clazz);
@@ -41,9 +55,38 @@ public class StandardInjectionProvider extends DirectInstantiationProvider {
 
         List<Field> fields = getFieldsToInject(clazz);
         validateInjection(clazz, constructor, fields);
+        return createResolution(constructor, fields);
+    }
+
+    /**
+     * Creates the resolution which instantiates objects with the given members. The members have been validated
+     * at this point.
+     *
+     * @param constructor the constructor to use
+     * @param fields the fields to inject
+     * @param <T> the type of the objects
+     * @return the resolution
+     */
+    protected <T> Resolution<T> createResolution(Constructor<T> constructor, List<Field> fields) {
         return new StandardInjection<>(constructor, fields);
     }
 
+    /**
+     * Returns the dependencies of an object created with the given constructor and fields. The list computed
+     * for the class is returned if the members are the ones selected by this provider's rules.
+     *
+     * @param constructor the constructor
+     * @param fields the fields to inject
+     * @return the dependencies (unmodifiable)
+     */
+    static List<ObjectIdentifier> getDependencies(Constructor<?> constructor, List<Field> fields) {
+        ClassMetadata metadata = METADATA.get(constructor.getDeclaringClass());
+        if (constructor.equals(metadata.constructor) && fields.equals(metadata.fields)) {
+            return metadata.getDependencies();
+        }
+        return Collections.unmodifiableList(StandardInjection.buildDependencies(constructor, fields));
+    }
+
     // -------------
     // Constructors
     // -------------
@@ -58,9 +101,18 @@ public class StandardInjectionProvider extends DirectInstantiationProvider {
      */
     @Nullable
     protected <T> Constructor<T> getInjectionConstructor(Class<T> clazz) {
+        ClassMetadata metadata = METADATA.get(clazz);
+        if (metadata.constructorError != null) {
+            throw new InjectorException(metadata.constructorError);
+        }
+        return (Constructor<T>) metadata.constructor;
+    }
+
+    @Nullable
+    private static Constructor<?> findInjectionConstructor(Class<?> clazz) {
         Constructor<?>[] constructors = clazz.getDeclaredConstructors();
         if (constructors.length == 1 && isSuitableNoArgsConstructor(constructors[0])) {
-            return (Constructor<T>) constructors[0];
+            return constructors[0];
         }
 
         Constructor<?> matchingConstructor = null;
@@ -77,7 +129,7 @@ public class StandardInjectionProvider extends DirectInstantiationProvider {
             // Compatibility: If a class has at least one field with @Inject, take a non-public no-args constructor
             return getNoArgsConstructorIfHasInjectField(clazz);
         }
-        return (Constructor<T>) matchingConstructor;
+        return matchingConstructor;
     }
 
     private static boolean isSuitableNoArgsConstructor(Constructor<?> c) {
@@ -88,12 +140,12 @@ public class StandardInjectionProvider extends DirectInstantiationProvider {
     }
 
     @Nullable
-    private static <T> Constructor<T> getNoArgsConstructorIfHasInjectField(Class<T> clazz) {
+    private static Constructor<?> getNoArgsConstructorIfHasInjectField(Class<?> clazz) {
         try {
             Constructor<?> constructor = clazz.getDeclaredConstructor();
             for (Field field : ReflectionUtils.safeGetDeclaredFields(clazz)) {
                 if (field.isAnnotationPresent(Inject.class)) {
-                    return (Constructor<T>) constructor;
+                    return constructor;
                 }
             }
         } catch (NoSuchMethodException e) {
@@ -110,10 +162,14 @@ public class StandardInjectionProvider extends DirectInstantiationProvider {
      * Returns the fields in the class and its parents that should be injected.
      *
      * @param clazz the class to process
-     * @return the fields to inject
+     * @return the fields to inject (unmodifiable)
      */
     protected List<Field> getFieldsToInject(Class<?> clazz) {
-        List<Field> fields = new LinkedList<>();
+        return METADATA.get(clazz).fields;
+    }
+
+    private static List<Field> findFieldsToInject(Class<?> clazz) {
+        List<Field> fields = new ArrayList<>();
         Class<?> currentClass = clazz;
         while (currentClass != null) {
             for (Field f : ReflectionUtils.safeGetDeclaredFields(currentClass)) {
@@ -138,28 +194,83 @@ public class StandardInjectionProvider extends DirectInstantiationProvider {
      * @param fields the fields to inject
      */
     protected void validateInjection(Class<?> clazz, Constructor<?> constructor, List<Field> fields) {
-        validateHasNoFinalFields(fields);
-        validateHasNoInjectMethods(clazz);
+        ClassMetadata metadata = METADATA.get(clazz);
+        Field finalField = fields == metadata.fields ? metadata.finalField : findFinalField(fields);
+        if (finalField != null) {
+            throw new InjectorException("Field '" + finalField + "' may not be final and have @Inject");
+        }
+        if (metadata.injectMethod != null) {
+            throw new InjectorException("@Inject on methods is not supported, but found it on '"
+                + metadata.injectMethod + "' while trying to instantiate '"
+                + metadata.injectMethod.getDeclaringClass() + "'");
+        }
     }
 
-    private void validateHasNoFinalFields(List<Field> fields) {
+    @Nullable
+    private static Field findFinalField(List<Field> fields) {
         for (Field field : fields) {
             if (Modifier.isFinal(field.getModifiers())) {
-                throw new InjectorException("Field '" + field + "' may not be final and have @Inject");
+                return field;
             }
         }
+        return null;
     }
 
-    private void validateHasNoInjectMethods(Class<?> clazz) {
+    @Nullable
+    private static Method findInjectMethod(Class<?> clazz) {
         Class<?> currentClass = clazz;
         while (currentClass != null) {
             for (Method m : ReflectionUtils.safeGetDeclaredMethods(currentClass)) {
                 if (m.isAnnotationPresent(Inject.class)) {
-                    throw new InjectorException("@Inject on methods is not supported, but found it on '" + m
-                        + "' while trying to instantiate '" + currentClass + "'");
+                    return m;
                 }
             }
             currentClass = currentClass.getSuperclass();
         }
+        return null;
+    }
+
+    /**
+     * Members of a class selected by the default rules and the violations found in them. Only references the
+     * class and the types it uses itself, so that it does not keep the class loaders of providers reachable.
+     */
+    private static final class ClassMetadata {
+
+        @Nullable final Constructor<?> constructor;
+        @Nullable final String constructorError;
+        final List<Field> fields;
+        @Nullable final Field finalField;
+        @Nullable final Method injectMethod;
+        private volatile List<ObjectIdentifier> dependencies;
+
+        ClassMetadata(Class<?> clazz) {
+            Constructor<?> foundConstructor = null;
+            String error = null;
+            try {
+                foundConstructor = findInjectionConstructor(clazz);
+            } catch (InjectorException e) {
+                error = e.getMessage();
+            }
+            this.constructor = foundConstructor;
+            this.constructorError = error;
+            this.fields = Collections.unmodifiableList(findFieldsToInject(clazz));
+            this.finalField = findFinalField(fields);
+            this.injectMethod = findInjectMethod(clazz);
+        }
+
+        /**
+         * Returns the dependencies of the selected constructor and fields. Built on first use, as they are only
+         * needed for classes which are instantiated; a race builds an equal list.
+         *
+         * @return the dependencies (unmodifiable)
+         */
+        List<ObjectIdentifier> getDependencies() {
+            List<ObjectIdentifier> result = dependencies;
+            if (result == null) {
+                result = Collections.unmodifiableList(StandardInjection.buildDependencies(constructor, fields));
+                dependencies = result;
+            }
+            return result;
+        }
     }
 }
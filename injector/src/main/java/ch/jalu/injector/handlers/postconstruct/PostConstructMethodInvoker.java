@@ -2,12 +2,17 @@ package ch.jalu.injector.handlers.postconstruct;
 
 import ch.jalu.injector.context.ResolutionContext;
 import ch.jalu.injector.exceptions.InjectorException;
+import ch.jalu.injector.exceptions.InjectorReflectionException;
 import ch.jalu.injector.handlers.Handler;
 import ch.jalu.injector.handlers.instantiation.Resolution;
 import ch.jalu.injector.utils.ReflectionUtils;
 
 import javax.annotation.Nullable;
 import javax.annotation.PostConstruct;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
@@ -16,30 +21,30 @@ import java.util.List;
 /**
  * Searches newly instantiated classes for {@link PostConstruct} method
  * and validates their usage before executing it.
+ * <p>
+ * The validated methods of a class and its parents are determined once per class and are invoked with
+ * method handles.
  */
 public class PostConstructMethodInvoker implements Handler {
 
+    private static final MethodType POST_CONSTRUCT_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private static final ClassValue<PostConstructChain> CHAINS = new ClassValue<PostConstructChain>() {
+        @Override
+        protected PostConstructChain computeValue(Class<?> clazz) {
+            return PostConstructChain.create(clazz);
+        }
+    };
+
     @Override
     public <T> T postProcess(T object, ResolutionContext context, Resolution<?> resolution) {
-        Class<?> clazz = object.getClass();
-        List<Method> postConstructMethods = getPostConstructMethods(clazz);
-        for (int i = postConstructMethods.size() - 1; i >= 0; --i) {
-            ReflectionUtils.invokeMethod(postConstructMethods.get(i), object);
-        }
+        CHAINS.get(object.getClass()).invoke(object);
         return null;
     }
 
-    private static List<Method> getPostConstructMethods(Class<?> clazz) {
-        List<Method> postConstructMethods = new ArrayList<>();
-        Class<?> currentClass = clazz;
-        while (currentClass != null) {
-            Method postConstruct = getAndValidatePostConstructMethod(currentClass);
-            if (postConstruct != null) {
-                postConstructMethods.add(postConstruct);
-            }
-            currentClass = currentClass.getSuperclass();
-        }
-        return postConstructMethods;
+    @Override
+    public boolean canSkipPostProcessing(Class<?> clazz) {
+        return CHAINS.get(clazz).isEmpty();
     }
 
     @Nullable
@@ -63,4 +68,67 @@ public class PostConstructMethodInvoker implements Handler {
         return postConstructMethod;
     }
 
+    /**
+     * The validated {@link PostConstruct} methods of a class and its parents, in the order they are invoked
+     * (parents first).
+     */
+    private static final class PostConstructChain {
+
+        private static final PostConstructChain EMPTY = new PostConstructChain(new Method[0], new MethodHandle[0]);
+
+        private final Method[] methods;
+        private final MethodHandle[] handles;
+
+        private PostConstructChain(Method[] methods, MethodHandle[] handles) {
+            this.methods = methods;
+            this.handles = handles;
+        }
+
+        static PostConstructChain create(Class<?> clazz) {
+            List<Method> postConstructMethods = new ArrayList<>();
+            Class<?> currentClass = clazz;
+            while (currentClass != null) {
+                Method postConstruct = getAndValidatePostConstructMethod(currentClass);
+                if (postConstruct != null) {
+                    postConstructMethods.add(0, postConstruct);
+                }
+                currentClass = currentClass.getSuperclass();
+            }
+            if (postConstructMethods.isEmpty()) {
+                return EMPTY;
+            }
+
+            Method[] methods = postConstructMethods.toArray(new Method[0]);
+            MethodHandle[] handles = new MethodHandle[methods.length];
+            for (int i = 0; i < methods.length; ++i) {
+                handles[i] = unreflect(methods[i]);
+            }
+            return new PostConstructChain(methods, handles);
+        }
+
+        boolean isEmpty() {
+            return methods.length == 0;
+        }
+
+        void invoke(Object instance) {
+            for (int i = 0; i < handles.length; ++i) {
+                try {
+                    handles[i].invokeExact(instance);
+                } catch (Throwable t) {
+                    throw new InjectorReflectionException("Could not invoke method '" + methods[i].getName()
+                        + "' for " + instance, new InvocationTargetException(t));
+                }
+            }
+        }
+
+        private static MethodHandle unreflect(Method method) {
+            method.setAccessible(true);
+            try {
+                return MethodHandles.lookup().unreflect(method).asType(POST_CONSTRUCT_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new InjectorReflectionException("Could not access @PostConstruct method '"
+                    + method.getName() + "' in " + method.getDeclaringClass(), e);
+            }
+        }
+    }
 }
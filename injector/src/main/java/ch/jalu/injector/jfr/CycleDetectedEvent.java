@@ -0,0 +1,29 @@
+package ch.jalu.injector.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A cyclic dependency which was detected while resolving a type, either within a single thread or as a deadlock
+ * between threads creating singletons.
+ */
+@Name(InjectorEvents.NAME_PREFIX + "CycleDetected")
+@Label("Cycle Detected")
+@Description("Cyclic dependency detected while resolving a type")
+@StackTrace(false)
+final class CycleDetectedEvent extends ResolutionEvent {
+
+    @Label("Detector")
+    @Description("Class which detected the cycle")
+    Class<?> handler;
+
+    @Label("Message")
+    String message;
+
+    @Override
+    void setSource(Class<?> source) {
+        handler = source;
+    }
+}
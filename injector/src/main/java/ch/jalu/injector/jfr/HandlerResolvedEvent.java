@@ -0,0 +1,26 @@
+package ch.jalu.injector.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Lookup of a resolution which was not cached: the duration covers all handlers which were called until one of them
+ * returned a resolution.
+ */
+@Name(InjectorEvents.NAME_PREFIX + "HandlerResolved")
+@Label("Handler Resolved")
+@Description("Lookup of a resolution which was not cached, until a handler returned it")
+@Threshold("1 ms")
+final class HandlerResolvedEvent extends ResolutionEvent {
+
+    @Label("Handler")
+    @Description("Handler which returned the resolution")
+    Class<?> handler;
+
+    @Override
+    void setSource(Class<?> source) {
+        handler = source;
+    }
+}
@@ -0,0 +1,125 @@
+package ch.jalu.injector.jfr;
+
+import ch.jalu.injector.context.ResolutionContext;
+
+import javax.annotation.Nullable;
+
+/**
+ * Emits the injector's events for the JDK Flight Recorder. The events are named with the prefix
+ * {@value #NAME_PREFIX} and can be enabled, disabled and configured with thresholds like any other JFR event.
+ * By default, singleton creations and detected cycles are always recorded, while request-scoped instantiations,
+ * handler resolutions and post processing are only recorded if they take more than 1 ms.
+ * <p>
+ * The methods are used by the injector and its handlers. A duration event is started with one of the
+ * {@code begin} methods, which return {@code null} if the event is not enabled (or if JFR is not available on the
+ * JVM), and is passed to {@link #commit} once the work is done. When no recording is running, each event costs
+ * one check whether it is enabled.
+ */
+public final class InjectorEvents {
+
+    /** Prefix of the names of the injector's events. */
+    public static final String NAME_PREFIX = "ch.jalu.injector.";
+
+    private static final boolean AVAILABLE = isFlightRecorderPresent();
+
+    private InjectorEvents() {
+    }
+
+    /**
+     * Starts an event for the creation of a singleton.
+     *
+     * @return the started event, null if it is not enabled
+     */
+    @Nullable
+    public static Object beginSingletonCreated() {
+        return AVAILABLE ? begin(new SingletonCreatedEvent()) : null;
+    }
+
+    /**
+     * Starts an event for the creation of a request-scoped object.
+     *
+     * @return the started event, null if it is not enabled
+     */
+    @Nullable
+    public static Object beginInstanceCreated() {
+        return AVAILABLE ? begin(new InstanceCreatedEvent()) : null;
+    }
+
+    /**
+     * Starts an event for the lookup of a resolution by the handlers.
+     *
+     * @return the started event, null if it is not enabled
+     */
+    @Nullable
+    public static Object beginHandlerResolved() {
+        return AVAILABLE ? begin(new HandlerResolvedEvent()) : null;
+    }
+
+    /**
+     * Starts an event for the post processing of an object by a handler.
+     *
+     * @return the started event, null if it is not enabled
+     */
+    @Nullable
+    public static Object beginPostConstructExecuted() {
+        return AVAILABLE ? begin(new PostConstructExecutedEvent()) : null;
+    }
+
+    /**
+     * Ends the given event and commits it if it passes the configured threshold. Does nothing if the event is null.
+     *
+     * @param event the event as returned by one of the {@code begin} methods
+     * @param context the resolution context the event is about
+     * @param source the handler that did the work, or the class of the resolution for created objects
+     */
+    public static void commit(@Nullable Object event, ResolutionContext context, Class<?> source) {
+        if (event != null) {
+            ResolutionEvent resolutionEvent = (ResolutionEvent) event;
+            resolutionEvent.end();
+            if (resolutionEvent.shouldCommit()) {
+                resolutionEvent.setContext(context);
+                resolutionEvent.setSource(source);
+                resolutionEvent.commit();
+            }
+        }
+    }
+
+    /**
+     * Records that a cyclic dependency has been detected.
+     *
+     * @param context the context whose resolution led to the cycle
+     * @param detector the class which detected the cycle
+     * @param message description of the cycle
+     */
+    public static void cycleDetected(ResolutionContext context, Class<?> detector, String message) {
+        if (AVAILABLE) {
+            CycleDetectedEvent event = new CycleDetectedEvent();
+            if (event.shouldCommit()) {
+                event.setContext(context);
+                event.setSource(detector);
+                event.message = message;
+                event.commit();
+            }
+        }
+    }
+
+    // Events are passed as Object so that this class can be verified on JVMs without JFR
+    @Nullable
+    private static Object begin(Object event) {
+        ResolutionEvent resolutionEvent = (ResolutionEvent) event;
+        if (resolutionEvent.isEnabled()) {
+            resolutionEvent.begin();
+            return resolutionEvent;
+        }
+        return null;
+    }
+
+    private static boolean isFlightRecorderPresent() {
+        try {
+            Class.forName("jdk.jfr.Event", false, InjectorEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
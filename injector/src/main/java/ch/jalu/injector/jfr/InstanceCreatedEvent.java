@@ -0,0 +1,26 @@
+package ch.jalu.injector.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Creation of a request-scoped object. The duration includes the resolution of its dependencies and its post
+ * processing.
+ */
+@Name(InjectorEvents.NAME_PREFIX + "InstanceCreated")
+@Label("Instance Created")
+@Description("Creation of a request-scoped object, including its dependencies and post processing")
+@Threshold("1 ms")
+final class InstanceCreatedEvent extends ResolutionEvent {
+
+    @Label("Resolution")
+    @Description("Class of the resolution the object was created with")
+    Class<?> resolution;
+
+    @Override
+    void setSource(Class<?> source) {
+        resolution = source;
+    }
+}
@@ -0,0 +1,26 @@
+package ch.jalu.injector.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Post processing of a newly created object by a handler, such as the invocation of its {@code @PostConstruct}
+ * methods.
+ */
+@Name(InjectorEvents.NAME_PREFIX + "PostConstructExecuted")
+@Label("Post Construct Executed")
+@Description("Post processing of a new object by a handler, e.g. running its @PostConstruct methods")
+@Threshold("1 ms")
+final class PostConstructExecutedEvent extends ResolutionEvent {
+
+    @Label("Handler")
+    @Description("Handler which post processed the object")
+    Class<?> handler;
+
+    @Override
+    void setSource(Class<?> source) {
+        handler = source;
+    }
+}
@@ -0,0 +1,48 @@
+package ch.jalu.injector.jfr;
+
+import ch.jalu.injector.context.ResolutionContext;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base class of the injector's JFR events, with the resolved type and the position of the resolution in the
+ * dependency graph.
+ */
+@Category("Injector")
+abstract class ResolutionEvent extends Event {
+
+    @Label("Type")
+    @Description("Type that was resolved")
+    Class<?> type;
+
+    @Label("Resolution Type")
+    String resolutionType;
+
+    @Label("Depth")
+    @Description("Number of parents of the resolution, 0 for objects requested directly from the injector")
+    int depth;
+
+    /**
+     * Sets the fields describing the given context.
+     *
+     * @param context the resolution context
+     */
+    void setContext(ResolutionContext context) {
+        type = context.getIdentifier().getTypeAsClass();
+        resolutionType = String.valueOf(context.getIdentifier().getResolutionType());
+        int parents = 0;
+        for (ResolutionContext parent = context.getParent(); parent != null; parent = parent.getParent()) {
+            ++parents;
+        }
+        depth = parents;
+    }
+
+    /**
+     * Sets the class which performed the work this event describes, e.g. a handler.
+     *
+     * @param source the class to set
+     */
+    abstract void setSource(Class<?> source);
+}
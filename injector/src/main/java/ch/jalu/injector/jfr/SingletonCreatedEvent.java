@@ -0,0 +1,24 @@
+package ch.jalu.injector.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Creation of a singleton. The duration includes the resolution of its dependencies (and thus the creation of
+ * dependencies which did not exist yet) and its post processing.
+ */
+@Name(InjectorEvents.NAME_PREFIX + "SingletonCreated")
+@Label("Singleton Created")
+@Description("Creation of a singleton, including its dependencies and post processing")
+final class SingletonCreatedEvent extends ResolutionEvent {
+
+    @Label("Resolution")
+    @Description("Class of the resolution the singleton was created with")
+    Class<?> resolution;
+
+    @Override
+    void setSource(Class<?> source) {
+        resolution = source;
+    }
+}
@@ -0,0 +1,82 @@
+package ch.jalu.injector.metrics;
+
+import ch.jalu.injector.context.ObjectIdentifier;
+import ch.jalu.injector.context.ResolutionContext;
+import ch.jalu.injector.handlers.Handler;
+import ch.jalu.injector.handlers.instantiation.Resolution;
+
+/**
+ * Metrics listener which forwards all events to multiple listeners, in the given order.
+ *
+ * @see InjectorMetrics#composite
+ */
+final class CompositeInjectorMetrics implements InjectorMetrics {
+
+    private final InjectorMetrics[] listeners;
+
+    /**
+     * Constructor.
+     *
+     * @param listeners the listeners to notify
+     */
+    CompositeInjectorMetrics(InjectorMetrics[] listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public void onResolutionCacheHit(ObjectIdentifier identifier) {
+        for (InjectorMetrics listener : listeners) {
+            listener.onResolutionCacheHit(identifier);
+        }
+    }
+
+    @Override
+    public void onResolutionCacheMiss(ObjectIdentifier identifier, long nanos) {
+        for (InjectorMetrics listener : listeners) {
+            listener.onResolutionCacheMiss(identifier, nanos);
+        }
+    }
+
+    @Override
+    public void onHandlerResolve(Handler handler, ObjectIdentifier identifier, boolean resolved, long nanos) {
+        for (InjectorMetrics listener : listeners) {
+            listener.onHandlerResolve(handler, identifier, resolved, nanos);
+        }
+    }
+
+    @Override
+    public void onPostProcess(Handler handler, Class<?> type, long nanos) {
+        for (InjectorMetrics listener : listeners) {
+            listener.onPostProcess(handler, type, nanos);
+        }
+    }
+
+    @Override
+    public void onInstantiation(ObjectIdentifier identifier, long nanos) {
+        for (InjectorMetrics listener : listeners) {
+            listener.onInstantiation(identifier, nanos);
+        }
+    }
+
+    @Override
+    public void onObjectCreated(ResolutionContext context, Resolution<?> resolution, long startNanos,
+                                long endNanos) {
+        for (InjectorMetrics listener : listeners) {
+            listener.onObjectCreated(context, resolution, startNanos, endNanos);
+        }
+    }
+
+    @Override
+    public void onSingletonRegistration(Class<?> type) {
+        for (InjectorMetrics listener : listeners) {
+            listener.onSingletonRegistration(type);
+        }
+    }
+
+    @Override
+    public void onSingletonCreationWait(Class<?> type, long nanos) {
+        for (InjectorMetrics listener : listeners) {
+            listener.onSingletonCreationWait(type, nanos);
+        }
+    }
+}
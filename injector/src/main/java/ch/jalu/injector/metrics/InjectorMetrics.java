@@ -0,0 +1,130 @@
+package ch.jalu.injector.metrics;
+
+import ch.jalu.injector.context.ObjectIdentifier;
+import ch.jalu.injector.context.ResolutionContext;
+import ch.jalu.injector.handlers.Handler;
+import ch.jalu.injector.handlers.instantiation.Resolution;
+import ch.jalu.injector.utils.InjectorUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listener for the work performed by an injector, e.g. to find out where the time goes when objects are created.
+ * Set it with {@link ch.jalu.injector.InjectorBuilder#setMetrics}; {@link MetricsRecorder} is an implementation
+ * which aggregates the events into counts and latency histograms. Multiple listeners can be combined with
+ * {@link #composite}.
+ * <p>
+ * The methods are called synchronously by the thread doing the work, possibly by many threads at once, so
+ * implementations must be thread-safe and fast. Durations are in nanoseconds, as measured with
+ * {@link System#nanoTime()}. If no listener is set, the injector does not take any measurements.
+ */
+public interface InjectorMetrics {
+
+    /** Listener which ignores all events. Used by injectors without metrics. */
+    InjectorMetrics NO_OP = new InjectorMetrics() {
+    };
+
+    /**
+     * Returns a listener which notifies all given listeners of each event, in the given order.
+     *
+     * @param listeners the listeners to combine
+     * @return listener forwarding to the given ones ({@link #NO_OP} if no listeners are given)
+     */
+    static InjectorMetrics composite(InjectorMetrics... listeners) {
+        List<InjectorMetrics> activeListeners = new ArrayList<>(listeners.length);
+        for (InjectorMetrics listener : listeners) {
+            InjectorUtils.checkNotNull(listener, "Metrics may not be null");
+            if (listener != NO_OP) {
+                activeListeners.add(listener);
+            }
+        }
+        if (activeListeners.isEmpty()) {
+            return NO_OP;
+        }
+        return activeListeners.size() == 1
+            ? activeListeners.get(0)
+            : new CompositeInjectorMetrics(activeListeners.toArray(new InjectorMetrics[0]));
+    }
+
+    /**
+     * Called when the resolution for an identifier was taken from the injector's cache of resolutions, i.e. no
+     * handlers had to be called.
+     *
+     * @param identifier the identifier that was resolved
+     */
+    default void onResolutionCacheHit(ObjectIdentifier identifier) {
+    }
+
+    /**
+     * Called when a resolution was not cached and the handlers were asked to resolve the identifier. Also called
+     * if no handler could resolve it.
+     *
+     * @param identifier the identifier that was resolved
+     * @param nanos the time spent by all handlers to resolve the identifier
+     */
+    default void onResolutionCacheMiss(ObjectIdentifier identifier, long nanos) {
+    }
+
+    /**
+     * Called after a handler's {@link Handler#resolve} method has returned.
+     *
+     * @param handler the handler
+     * @param identifier the identifier the handler was asked to resolve
+     * @param resolved whether the handler returned a resolution
+     * @param nanos the time spent in the handler
+     */
+    default void onHandlerResolve(Handler handler, ObjectIdentifier identifier, boolean resolved, long nanos) {
+    }
+
+    /**
+     * Called after a handler's {@link Handler#postProcess} method has returned.
+     *
+     * @param handler the handler
+     * @param type the class of the object that was post processed
+     * @param nanos the time spent in the handler
+     */
+    default void onPostProcess(Handler handler, Class<?> type, long nanos) {
+    }
+
+    /**
+     * Called after an object has been created with its resolution, with the time of the instantiation only, i.e.
+     * without resolving its dependencies or post processing it.
+     *
+     * @param identifier the identifier the object was created for
+     * @param nanos the time taken by {@link ch.jalu.injector.handlers.instantiation.Resolution#instantiateWith}
+     */
+    default void onInstantiation(ObjectIdentifier identifier, long nanos) {
+    }
+
+    /**
+     * Called after an object has been created, i.e. after its dependencies have been resolved and it has been
+     * instantiated and post processed. Called for singletons and request-scoped objects which are created by the
+     * injector, but not for objects which already existed (e.g. registered singletons).
+     *
+     * @param context the context the object was created for; its parents lead to the objects which depend on it
+     * @param resolution the resolution the object was created with
+     * @param startNanos the time the creation started, as returned by {@link System#nanoTime()}
+     * @param endNanos the time the creation finished, as returned by {@link System#nanoTime()}
+     */
+    default void onObjectCreated(ResolutionContext context, Resolution<?> resolution, long startNanos,
+                                 long endNanos) {
+    }
+
+    /**
+     * Called when a singleton has been registered, either explicitly or after the injector created it.
+     *
+     * @param type the class the singleton was registered for
+     */
+    default void onSingletonRegistration(Class<?> type) {
+    }
+
+    /**
+     * Called after a thread has waited for another thread to finish creating a singleton it requested.
+     *
+     * @param type the class of the singleton
+     * @param nanos the time the thread waited
+     */
+    default void onSingletonCreationWait(Class<?> type, long nanos) {
+    }
+}
@@ -0,0 +1,133 @@
+package ch.jalu.injector.metrics;
+
+import ch.jalu.injector.context.ObjectIdentifier;
+import ch.jalu.injector.handlers.Handler;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics listener which keeps counts and latency histograms: instantiations per type, time spent per handler,
+ * the effectiveness of the injector's resolution cache and the time threads waited for singletons which were being
+ * created by another thread. The statistics can be read at any time, also while the injector is in use.
+ */
+public class MetricsRecorder implements InjectorMetrics {
+
+    private final Map<Class<?>, LatencyHistogram> instantiationsByType = new ConcurrentHashMap<>();
+    private final Map<Class<? extends Handler>, LatencyHistogram> resolveTimesByHandler = new ConcurrentHashMap<>();
+    private final Map<Class<? extends Handler>, LatencyHistogram> postProcessTimesByHandler =
+        new ConcurrentHashMap<>();
+    private final Map<Class<?>, LatencyHistogram> singletonWaitsByType = new ConcurrentHashMap<>();
+    private final LatencyHistogram resolutionCacheMisses = new LatencyHistogram();
+    private final LongAdder resolutionCacheHits = new LongAdder();
+    private final LongAdder singletonRegistrations = new LongAdder();
+
+    @Override
+    public void onResolutionCacheHit(ObjectIdentifier identifier) {
+        resolutionCacheHits.increment();
+    }
+
+    @Override
+    public void onResolutionCacheMiss(ObjectIdentifier identifier, long nanos) {
+        resolutionCacheMisses.record(nanos);
+    }
+
+    @Override
+    public void onHandlerResolve(Handler handler, ObjectIdentifier identifier, boolean resolved, long nanos) {
+        histogramFor(resolveTimesByHandler, handler.getClass()).record(nanos);
+    }
+
+    @Override
+    public void onPostProcess(Handler handler, Class<?> type, long nanos) {
+        histogramFor(postProcessTimesByHandler, handler.getClass()).record(nanos);
+    }
+
+    @Override
+    public void onInstantiation(ObjectIdentifier identifier, long nanos) {
+        histogramFor(instantiationsByType, identifier.getTypeAsClass()).record(nanos);
+    }
+
+    @Override
+    public void onSingletonRegistration(Class<?> type) {
+        singletonRegistrations.increment();
+    }
+
+    @Override
+    public void onSingletonCreationWait(Class<?> type, long nanos) {
+        histogramFor(singletonWaitsByType, type).record(nanos);
+    }
+
+    /**
+     * @return durations of {@link ch.jalu.injector.handlers.instantiation.Resolution#instantiateWith} by the
+     *         class of the created objects, which also provides the number of instantiations per class
+     */
+    public Map<Class<?>, LatencyHistogram> getInstantiationsByType() {
+        return Collections.unmodifiableMap(instantiationsByType);
+    }
+
+    /**
+     * @return durations of {@link Handler#resolve} by handler class
+     */
+    public Map<Class<? extends Handler>, LatencyHistogram> getResolveTimesByHandler() {
+        return Collections.unmodifiableMap(resolveTimesByHandler);
+    }
+
+    /**
+     * @return durations of {@link Handler#postProcess} by handler class
+     */
+    public Map<Class<? extends Handler>, LatencyHistogram> getPostProcessTimesByHandler() {
+        return Collections.unmodifiableMap(postProcessTimesByHandler);
+    }
+
+    /**
+     * @return time spent waiting for singletons created by another thread, by class of the singleton
+     */
+    public Map<Class<?>, LatencyHistogram> getSingletonWaitsByType() {
+        return Collections.unmodifiableMap(singletonWaitsByType);
+    }
+
+    /**
+     * @return time spent by the handlers for resolutions which were not cached
+     */
+    public LatencyHistogram getResolutionCacheMisses() {
+        return resolutionCacheMisses;
+    }
+
+    /**
+     * @return the number of resolutions taken from the injector's cache
+     */
+    public long getResolutionCacheHitCount() {
+        return resolutionCacheHits.sum();
+    }
+
+    /**
+     * @return the number of resolutions for which the handlers had to be called
+     */
+    public long getResolutionCacheMissCount() {
+        return resolutionCacheMisses.getCount();
+    }
+
+    /**
+     * @return the number of registered singletons
+     */
+    public long getSingletonRegistrationCount() {
+        return singletonRegistrations.sum();
+    }
+
+    private static <K> LatencyHistogram histogramFor(Map<K, LatencyHistogram> histograms, K key) {
+        LatencyHistogram histogram = histograms.get(key);
+        return histogram == null ? histograms.computeIfAbsent(key, k -> new LatencyHistogram()) : histogram;
+    }
+
+    @Override
+    public String toString() {
+        return "MetricsRecorder[instantiatedTypes=" + instantiationsByType.size()
+            + ", resolutionCacheHits=" + getResolutionCacheHitCount()
+            + ", resolutionCacheMisses=" + getResolutionCacheMissCount()
+            + ", singletonRegistrations=" + getSingletonRegistrationCount()
+            + ", singletonWaits=" + singletonWaitsByType.values().stream().mapToLong(LatencyHistogram::getCount).sum()
+            + "]";
+    }
+}
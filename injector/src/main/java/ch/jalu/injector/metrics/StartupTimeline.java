@@ -0,0 +1,116 @@
+package ch.jalu.injector.metrics;
+
+import ch.jalu.injector.context.ObjectIdentifier;
+import ch.jalu.injector.context.ResolutionContext;
+import ch.jalu.injector.context.StandardResolutionType;
+import ch.jalu.injector.handlers.instantiation.Resolution;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Metrics listener which records when each object was created, on which thread, for which parent and with which
+ * dependencies, so that the cost of a startup can be broken down by the dependency graph. The dependencies link
+ * objects even if they were created separately, as done by {@link ch.jalu.injector.Injector#initializeAll}. Set it with
+ * {@link ch.jalu.injector.InjectorBuilder#setMetrics} and call {@link #createReport()} once the objects of interest
+ * have been created; the report has the inclusive and self time of every object and the critical path, and can
+ * be exported as JSON and in the DOT format of Graphviz.
+ * <p>
+ * The timeline keeps the resolution contexts of all created objects until it is {@link #clear() cleared}, so it
+ * is meant to be used during startup or for diagnostics rather than for the entire lifetime of an injector.
+ */
+public class StartupTimeline implements InjectorMetrics {
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    @Override
+    public void onObjectCreated(ResolutionContext context, Resolution<?> resolution, long startNanos,
+                                long endNanos) {
+        Entry entry = new Entry(context, resolution.getDependencies(), Thread.currentThread().getName(),
+            startNanos, endNanos);
+        synchronized (entries) {
+            entries.add(entry);
+        }
+    }
+
+    /**
+     * Creates a report of all objects created so far. An object's parent in the report is the closest of its
+     * context's parents (see {@link ResolutionContext#getParent()}) for which an object was created. Its
+     * dependencies are its children and the created singletons of the classes its resolution depends on.
+     *
+     * @return the report
+     */
+    public TimelineReport createReport() {
+        List<Entry> recordedEntries;
+        synchronized (entries) {
+            recordedEntries = new ArrayList<>(entries);
+        }
+        long origin = recordedEntries.stream().mapToLong(e -> e.startNanos).min().orElse(0);
+
+        Map<ResolutionContext, TimelineReport.Node> nodesByContext = new IdentityHashMap<>();
+        Map<Class<?>, TimelineReport.Node> singletonNodes = new HashMap<>();
+        List<TimelineReport.Node> nodes = new ArrayList<>(recordedEntries.size());
+        for (Entry entry : recordedEntries) {
+            ObjectIdentifier identifier = entry.context.getIdentifier();
+            TimelineReport.Node node = new TimelineReport.Node(identifier.getTypeAsClass(),
+                String.valueOf(identifier.getResolutionType()), entry.thread,
+                entry.startNanos - origin, entry.endNanos - origin);
+            nodesByContext.put(entry.context, node);
+            if (identifier.getResolutionType() == StandardResolutionType.SINGLETON) {
+                singletonNodes.put(identifier.getTypeAsClass(), node);
+            }
+            nodes.add(node);
+        }
+        for (Entry entry : recordedEntries) {
+            for (ResolutionContext parent = entry.context.getParent(); parent != null; parent = parent.getParent()) {
+                TimelineReport.Node parentNode = nodesByContext.get(parent);
+                if (parentNode != null) {
+                    parentNode.addChild(nodesByContext.get(entry.context));
+                    break;
+                }
+            }
+        }
+        for (Entry entry : recordedEntries) {
+            TimelineReport.Node node = nodesByContext.get(entry.context);
+            for (ObjectIdentifier dependency : entry.dependencies) {
+                if (dependency.getResolutionType() == StandardResolutionType.SINGLETON) {
+                    TimelineReport.Node dependencyNode = singletonNodes.get(dependency.getTypeAsClass());
+                    if (dependencyNode != null) {
+                        node.addDependency(dependencyNode);
+                    }
+                }
+            }
+        }
+        return new TimelineReport(nodes);
+    }
+
+    /**
+     * Removes all recorded entries.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private static final class Entry {
+
+        private final ResolutionContext context;
+        private final List<ObjectIdentifier> dependencies;
+        private final String thread;
+        private final long startNanos;
+        private final long endNanos;
+
+        Entry(ResolutionContext context, List<ObjectIdentifier> dependencies, String thread, long startNanos,
+              long endNanos) {
+            this.context = context;
+            this.dependencies = dependencies;
+            this.thread = thread;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+    }
+}
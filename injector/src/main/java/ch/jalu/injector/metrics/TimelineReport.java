@@ -0,0 +1,309 @@
+package ch.jalu.injector.metrics;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Report of a {@link StartupTimeline}: the created objects as a graph. The <i>children</i> of an object are the
+ * dependencies which were created for it, while its <i>dependencies</i> additionally include the singletons it
+ * depends on which already existed, e.g. because they were created beforehand by
+ * {@link ch.jalu.injector.Injector#initializeAll}. Times are in nanoseconds, relative to the start of the first
+ * creation.
+ * <p>
+ * The <i>inclusive time</i> of an object is the entire time of its creation, including the creation of its
+ * children; its <i>self time</i> excludes the inclusive time of its children, i.e. it is the time of its
+ * constructor, field injection and post processing (such as {@code @PostConstruct} methods). The <i>critical
+ * path</i> starts with the object whose creation finished last and follows, at each step, the dependency which
+ * finished last, i.e. the one the object had to wait for: these are the objects whose creation is best made lazy
+ * or moved to another thread to speed up the startup.
+ */
+public final class TimelineReport {
+
+    private final List<Node> nodes;
+    private final List<Node> criticalPath;
+
+    /**
+     * Constructor.
+     *
+     * @param nodes the nodes of the report, with their children
+     */
+    TimelineReport(List<Node> nodes) {
+        List<Node> sortedNodes = new ArrayList<>(nodes);
+        sortedNodes.sort(Comparator.comparingLong(Node::getStartNanos));
+        for (int i = 0; i < sortedNodes.size(); ++i) {
+            sortedNodes.get(i).id = i;
+        }
+        this.nodes = Collections.unmodifiableList(sortedNodes);
+        this.criticalPath = Collections.unmodifiableList(findCriticalPath(sortedNodes));
+    }
+
+    /**
+     * @return all nodes, ordered by the start of their creation
+     */
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return the nodes without parent, i.e. the objects which were requested directly from the injector
+     */
+    public List<Node> getRoots() {
+        return nodes.stream().filter(node -> node.parent == null).collect(Collectors.toList());
+    }
+
+    /**
+     * @return the critical path, starting with the object which was created last
+     */
+    public List<Node> getCriticalPath() {
+        return criticalPath;
+    }
+
+    /**
+     * @return the time from the start of the first creation until the end of the last one
+     */
+    public long getTotalNanos() {
+        return nodes.stream().mapToLong(Node::getEndNanos).max().orElse(0);
+    }
+
+    /**
+     * Returns the report as JSON object with the total time, all nodes (which reference their parent, children and
+     * dependencies by id) and the ids of the nodes on the critical path.
+     *
+     * @return the report in JSON
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"totalNanos\": ").append(getTotalNanos()).append(",\n  \"nodes\": [");
+        String delimiter = "\n";
+        for (Node node : nodes) {
+            json.append(delimiter)
+                .append("    {\"id\": ").append(node.id)
+                .append(", \"type\": ").append(jsonString(node.type.getName()))
+                .append(", \"resolutionType\": ").append(jsonString(node.resolutionType))
+                .append(", \"thread\": ").append(jsonString(node.thread))
+                .append(", \"startNanos\": ").append(node.startNanos)
+                .append(", \"endNanos\": ").append(node.endNanos)
+                .append(", \"inclusiveNanos\": ").append(node.getInclusiveNanos())
+                .append(", \"selfNanos\": ").append(node.getSelfNanos())
+                .append(", \"parent\": ").append(node.parent == null ? "null" : String.valueOf(node.parent.id))
+                .append(", \"children\": ").append(ids(node.children))
+                .append(", \"dependencies\": ").append(ids(node.dependencies))
+                .append('}');
+            delimiter = ",\n";
+        }
+        json.append(nodes.isEmpty() ? "]" : "\n  ]")
+            .append(",\n  \"criticalPath\": ").append(ids(criticalPath))
+            .append("\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * Returns the report as directed graph in the DOT language of Graphviz, with an edge from each object to its
+     * dependencies; edges to dependencies which were not created for the object are dashed. The nodes and edges of
+     * the critical path are highlighted.
+     *
+     * @return the report in DOT
+     */
+    public String toDot() {
+        Set<Node> criticalNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        criticalNodes.addAll(criticalPath);
+
+        StringBuilder dot = new StringBuilder("digraph startup {\n")
+            .append("  rankdir=LR;\n")
+            .append("  node [shape=box, fontname=\"sans-serif\"];\n");
+        for (Node node : nodes) {
+            String label = shortName(node.type) + "\\n"
+                + String.format(Locale.ROOT, "%.3f ms (self %.3f ms)",
+                    node.getInclusiveNanos() / 1e6, node.getSelfNanos() / 1e6)
+                + "\\n" + dotEscape(node.thread);
+            dot.append("  n").append(node.id)
+                .append(" [label=\"").append(label)
+                .append("\", tooltip=\"").append(dotEscape(node.type.getName())).append('"')
+                .append(criticalNodes.contains(node) ? ", color=red, penwidth=2" : "")
+                .append("];\n");
+        }
+        for (Node node : nodes) {
+            for (Node dependency : node.dependencies) {
+                List<String> attributes = new ArrayList<>(3);
+                if (dependency.parent != node) {
+                    attributes.add("style=dashed");
+                }
+                if (isCriticalEdge(node, dependency)) {
+                    attributes.add("color=red");
+                    attributes.add("penwidth=2");
+                }
+                dot.append("  n").append(node.id).append(" -> n").append(dependency.id)
+                    .append(attributes.isEmpty() ? "" : " [" + String.join(", ", attributes) + "]")
+                    .append(";\n");
+            }
+        }
+        return dot.append("}\n").toString();
+    }
+
+    private boolean isCriticalEdge(Node node, Node dependency) {
+        int index = criticalPath.indexOf(node);
+        return index >= 0 && index + 1 < criticalPath.size() && criticalPath.get(index + 1) == dependency;
+    }
+
+    private static List<Node> findCriticalPath(List<Node> nodes) {
+        List<Node> path = new ArrayList<>();
+        Set<Node> visitedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        Comparator<Node> byEndTime = Comparator.comparingLong(Node::getEndNanos);
+        Node node = nodes.stream().max(byEndTime).orElse(null);
+        while (node != null && visitedNodes.add(node)) {
+            path.add(node);
+            node = node.dependencies.stream().max(byEndTime).orElse(null);
+        }
+        return path;
+    }
+
+    private static String ids(List<Node> nodes) {
+        return nodes.stream().map(node -> String.valueOf(node.id)).collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static String shortName(Class<?> type) {
+        String name = type.getName();
+        return dotEscape(name.substring(name.lastIndexOf('.') + 1));
+    }
+
+    private static String dotEscape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String jsonString(String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 2).append('"');
+        for (char c : text.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * A created object in the report.
+     */
+    public static final class Node {
+
+        private final Class<?> type;
+        private final String resolutionType;
+        private final String thread;
+        private final long startNanos;
+        private final long endNanos;
+        private final List<Node> children = new ArrayList<>();
+        private final List<Node> dependencies = new ArrayList<>();
+        @Nullable
+        private Node parent;
+        private int id;
+
+        /**
+         * Constructor.
+         *
+         * @param type the type of the created object
+         * @param resolutionType the resolution type of the request
+         * @param thread the name of the thread which created the object
+         * @param startNanos the start of the creation, relative to the start of the timeline
+         * @param endNanos the end of the creation, relative to the start of the timeline
+         */
+        Node(Class<?> type, String resolutionType, String thread, long startNanos, long endNanos) {
+            this.type = type;
+            this.resolutionType = resolutionType;
+            this.thread = thread;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+
+        void addChild(Node child) {
+            children.add(child);
+            child.parent = this;
+            addDependency(child);
+        }
+
+        void addDependency(Node dependency) {
+            if (dependency != this && !dependencies.contains(dependency)) {
+                dependencies.add(dependency);
+            }
+        }
+
+        /**
+         * @return the id of the node, which is its index in {@link TimelineReport#getNodes()}
+         */
+        public int getId() {
+            return id;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        public String getResolutionType() {
+            return resolutionType;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getEndNanos() {
+            return endNanos;
+        }
+
+        /**
+         * @return the node of the object which the object of this node was created for, null for roots
+         */
+        @Nullable
+        public Node getParent() {
+            return parent;
+        }
+
+        /**
+         * @return the dependencies which were created for this node's object
+         */
+        public List<Node> getChildren() {
+            return Collections.unmodifiableList(children);
+        }
+
+        /**
+         * @return the nodes of all objects this node's object depends on, including its children
+         */
+        public List<Node> getDependencies() {
+            return Collections.unmodifiableList(dependencies);
+        }
+
+        /**
+         * @return the time of the creation, including the creation of the children
+         */
+        public long getInclusiveNanos() {
+            return endNanos - startNanos;
+        }
+
+        /**
+         * @return the time of the creation without the creation of the children
+         */
+        public long getSelfNanos() {
+            long childrenNanos = children.stream().mapToLong(Node::getInclusiveNanos).sum();
+            return Math.max(0, getInclusiveNanos() - childrenNanos);
+        }
+
+        @Override
+        public String toString() {
+            return "Node[" + type.getName() + ", inclusive=" + getInclusiveNanos() + " ns, self=" + getSelfNanos()
+                + " ns]";
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ch.jalu.injector.utils;
+
+import ch.jalu.injector.handlers.instantiation.Resolution;
+
+/**
+ * Rough estimates of the heap memory taken up by the injector's bookkeeping, for a 64-bit JVM with compressed
+ * references (the default for heaps below 32 GB). The estimates serve to compare injectors and to spot growth;
+ * they are not exact.
+ *
+ * @see ch.jalu.injector.Injector#getDiagnostics()
+ */
+public final class MemoryEstimates {
+
+    /** Size of an object header. */
+    public static final int OBJECT_HEADER = 12;
+    /** Size of a reference. */
+    public static final int REFERENCE = 4;
+    /** Size of an array header, including the length. */
+    public static final int ARRAY_HEADER = 16;
+    /** Entry of a hash map (node and its share of the table), not counting the key and value. */
+    public static final int HASH_MAP_ENTRY = 40;
+    /** Entry of a linked hash map, not counting the key and value. */
+    public static final int LINKED_HASH_MAP_ENTRY = 48;
+    /**
+     * Value of a {@link ClassValue} for a class, not counting the value itself. Includes a share of the map the JDK
+     * creates for a class when its first value is computed, which makes up most of the size.
+     */
+    public static final int CLASS_VALUE_ENTRY = 240;
+    /** A reflected constructor, method or field kept by a resolution: the JDK's copy and its accessor. */
+    public static final int REFLECTED_MEMBER = 120;
+    /** An {@link ch.jalu.injector.context.ObjectIdentifier}, not counting its type and annotations. */
+    public static final int OBJECT_IDENTIFIER = 32;
+
+    private MemoryEstimates() {
+    }
+
+    /**
+     * Returns the size of an object with the given number of fields, which are assumed to be references.
+     *
+     * @param fields the number of fields
+     * @return the size of the object
+     */
+    public static long object(int fields) {
+        return align(OBJECT_HEADER + (long) fields * REFERENCE);
+    }
+
+    /**
+     * Returns the size of an array of references with the given length.
+     *
+     * @param length the length of the array
+     * @return the size of the array
+     */
+    public static long array(int length) {
+        return align(ARRAY_HEADER + (long) length * REFERENCE);
+    }
+
+    /**
+     * Returns the size of a list of the given size which is backed by an array, not counting its elements.
+     *
+     * @param size the number of elements
+     * @return the size of the list and its array
+     */
+    public static long list(int size) {
+        return object(2) + array(size);
+    }
+
+    /**
+     * Returns the size of the given resolution and of its (unmodifiable) list of dependencies. Members specific
+     * to the resolution's type are not included.
+     *
+     * @param resolution the resolution
+     * @return the estimated size of the resolution
+     */
+    public static long resolution(Resolution<?> resolution) {
+        int dependencies = resolution.getDependencies().size();
+        return object(4) + object(1) + list(dependencies) + (long) dependencies * OBJECT_IDENTIFIER;
+    }
+
+    /**
+     * Rounds up the given size to the object alignment of 8 bytes.
+     *
+     * @param size the size to align
+     * @return the aligned size
+     */
+    public static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -0,0 +1,155 @@
+package ch.jalu.injector;
+
+import ch.jalu.injector.exceptions.InjectorException;
+import ch.jalu.injector.samples.AlphaService;
+import ch.jalu.injector.samples.BetaManager;
+import ch.jalu.injector.samples.ClassWithAnnotations;
+import ch.jalu.injector.samples.Duration;
+import ch.jalu.injector.samples.GammaService;
+import ch.jalu.injector.samples.InjectorDependentClass;
+import ch.jalu.injector.samples.ProvidedClass;
+import ch.jalu.injector.samples.Reloadable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link FrozenInjector}.
+ */
+class FrozenInjectorTest {
+
+    private InjectorImpl injector;
+
+    @BeforeEach
+    void initInjector() {
+        injector = (InjectorImpl) new InjectorBuilder()
+            .addDefaultHandlers(getClass().getPackage().getName() + ".samples")
+            .create();
+        injector.register(ProvidedClass.class, new ProvidedClass(""));
+    }
+
+    @Test
+    void shouldReturnSingletonsFromSnapshot() {
+        // given
+        BetaManager betaManager = injector.getSingleton(BetaManager.class);
+
+        // when
+        Injector frozenInjector = injector.freeze();
+
+        // then
+        assertThat(frozenInjector.getSingleton(BetaManager.class), sameInstance(betaManager));
+        assertThat(frozenInjector.getIfAvailable(GammaService.class),
+            sameInstance(injector.getIfAvailable(GammaService.class)));
+        assertThat(frozenInjector.getIfAvailable(ClassWithAnnotations.class), nullValue());
+        assertThat(frozenInjector.getSingleton(Injector.class), sameInstance(frozenInjector));
+        assertThat(frozenInjector.retrieveAllOfType(Reloadable.class), containsInAnyOrder(
+            injector.getIfAvailable(GammaService.class), injector.getIfAvailable(ProvidedClass.class)));
+        assertThat(frozenInjector.freeze(), sameInstance(frozenInjector));
+        assertThat(injector.freeze(), sameInstance(frozenInjector));
+    }
+
+    @Test
+    void shouldIncludeSnapshotInDiagnostics() {
+        // given
+        injector.getSingleton(BetaManager.class);
+        InjectorDiagnostics diagnostics = injector.getDiagnostics();
+
+        // when
+        InjectorDiagnostics frozenDiagnostics = injector.freeze().getDiagnostics();
+
+        // then
+        assertThat(frozenDiagnostics.getSingletonCount(), equalTo(diagnostics.getSingletonCount()));
+        assertThat(frozenDiagnostics.getRetainedBytesByComponent().get("frozenSnapshot"), greaterThan(0L));
+        assertThat(frozenDiagnostics.getEstimatedRetainedBytes(), greaterThan(diagnostics.getEstimatedRetainedBytes()));
+    }
+
+    @Test
+    void shouldFindAllEntriesInTable() {
+        // given
+        Map<Class<?>, Object> singletons = new HashMap<>();
+        Object[] values = {"test", 1, 2L, 3.0, 4f, (short) 5, (byte) 6, 'c', true, new Object(),
+            new StringBuilder(), new ProvidedClass("")};
+        for (Object value : values) {
+            singletons.put(value.getClass(), value);
+        }
+
+        // when
+        FrozenInjector frozenInjector = new FrozenInjector(injector, singletons);
+
+        // then
+        for (Object value : values) {
+            assertThat(frozenInjector.getIfAvailable(value.getClass()), sameInstance(value));
+        }
+        assertThat(frozenInjector.retrieveAllOfType(Object.class), containsInAnyOrder(values));
+        assertThat(frozenInjector.getIfAvailable(AlphaService.class), nullValue());
+    }
+
+    @Test
+    void shouldThrowForRegistrations() {
+        // given
+        Injector frozenInjector = injector.freeze();
+
+        // when
+        InjectorException ex1 = assertThrows(InjectorException.class,
+            () -> frozenInjector.register(AlphaService.class, AlphaService.newInstance(null)));
+        InjectorException ex2 = assertThrows(InjectorException.class,
+            () -> injector.register(AlphaService.class, AlphaService.newInstance(null)));
+        InjectorException ex3 = assertThrows(InjectorException.class,
+            () -> frozenInjector.provide(Duration.class, 3L));
+        InjectorException ex4 = assertThrows(InjectorException.class,
+            () -> injector.registerProvider(BetaManager.class, BetaManager::new));
+
+        // then
+        assertThat(ex1.getMessage(), containsString("the injector is frozen"));
+        assertThat(ex2.getMessage(), containsString("the injector is frozen"));
+        assertThat(ex3.getMessage(), containsString("the injector is frozen"));
+        assertThat(ex4.getMessage(), containsString("the injector is frozen"));
+    }
+
+    @Test
+    void shouldNotCreateNewSingletons() {
+        // given
+        injector.getSingleton(AlphaService.class);
+        Injector frozenInjector = injector.freeze();
+
+        // when
+        InjectorException ex = assertThrows(InjectorException.class,
+            () -> frozenInjector.getSingleton(GammaService.class));
+        GammaService gammaService = frozenInjector.newInstance(GammaService.class);
+
+        // then
+        assertThat(ex.getMessage(), containsString("Cannot create the singleton of " + GammaService.class));
+        assertThat(gammaService, not(nullValue()));
+        assertThat(gammaService, not(sameInstance(frozenInjector.newInstance(GammaService.class))));
+        assertThat(frozenInjector.getIfAvailable(GammaService.class), nullValue());
+    }
+
+    @Test
+    void shouldInjectSnapshotIntoObjectsCreatedThroughIt() {
+        // given
+        Injector frozenInjector = injector.freeze();
+
+        // when
+        InjectorDependentClass newInstance = frozenInjector.newInstance(InjectorDependentClass.class);
+        InjectorDependentClass createdIfPossible = frozenInjector.createIfHasDependencies(InjectorDependentClass.class);
+        InjectorDependentClass fromMutableInjector = injector.newInstance(InjectorDependentClass.class);
+
+        // then
+        assertThat(newInstance.getInjector(), sameInstance(frozenInjector));
+        assertThat(createdIfPossible.getInjector(), sameInstance(frozenInjector));
+        assertThat(fromMutableInjector.getInjector(), sameInstance(injector));
+        assertThat(frozenInjector.getSingleton(Injector.class), sameInstance(frozenInjector));
+    }
+}
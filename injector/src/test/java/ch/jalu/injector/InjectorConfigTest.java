@@ -0,0 +1,148 @@
+package ch.jalu.injector;
+
+import ch.jalu.injector.context.ResolutionContext;
+import ch.jalu.injector.handlers.Handler;
+import ch.jalu.injector.handlers.instantiation.Resolution;
+import ch.jalu.injector.handlers.postconstruct.PostConstructMethodInvoker;
+import ch.jalu.injector.samples.AlphaService;
+import ch.jalu.injector.samples.PostConstructTestClass;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test for {@link InjectorConfig}.
+ */
+class InjectorConfigTest {
+
+    @Test
+    void shouldOnlyDispatchToHandlersImplementingMethod() {
+        // given
+        InjectorConfig config = new InjectorConfig();
+        Handler resolver = new ResolvingHandler();
+        Handler postProcessor = new PostProcessingHandler();
+        Handler annotationHandler = new AnnotationHandler();
+        config.addHandlers(Arrays.asList(resolver, postProcessor, annotationHandler));
+
+        // when / then
+        assertThat(config.getResolvers(), arrayContaining(resolver));
+        assertThat(config.getPostProcessors(), arrayContaining(postProcessor));
+        assertThat(config.getAnnotationHandlers(), arrayContaining(annotationHandler));
+        assertThat(config.getProviderHandlers(), emptyArray());
+        assertThat(config.getProviderClassHandlers(), emptyArray());
+    }
+
+    @Test
+    void shouldUpdateDispatchWhenHandlersChange() {
+        // given
+        InjectorConfig config = new InjectorConfig();
+        Handler resolver1 = new ResolvingHandler();
+        Handler resolver2 = new ResolvingHandler();
+        Handler resolver3 = new ResolvingHandler();
+        config.addHandlers(Arrays.asList(resolver1, new PostProcessingHandler()));
+        assertThat(config.getResolvers(), arrayContaining(resolver1));
+
+        // when
+        config.getHandlers().add(0, resolver2);
+        config.getHandlers().add(resolver3);
+        config.getHandlers().remove(resolver1);
+
+        // then
+        assertThat(config.getResolvers(), arrayContaining(resolver2, resolver3));
+
+        // when
+        config.getHandlers().removeIf(h -> h instanceof PostProcessingHandler);
+
+        // then
+        assertThat(config.getPostProcessors(), emptyArray());
+    }
+
+    @Test
+    void shouldNotifyListenersWhenHandlersChange() {
+        // given
+        InjectorConfig config = new InjectorConfig();
+        Handler resolver1 = new ResolvingHandler();
+        config.addHandlers(Collections.singletonList(resolver1));
+        AtomicInteger changeCount = new AtomicInteger();
+        config.initialize(changeCount::incrementAndGet);
+        Handler resolver2 = new ResolvingHandler();
+
+        // when
+        config.getHandlers().add(resolver2);
+        config.getHandlers().remove(resolver1);
+
+        // then
+        assertThat(changeCount.get(), equalTo(2));
+        assertThat(config.getResolvers(), arrayContaining(resolver2));
+    }
+
+    @Test
+    void shouldNotifyListenersOnceForBulkChanges() {
+        // given
+        InjectorConfig config = new InjectorConfig();
+        AtomicInteger changeCount = new AtomicInteger();
+        config.initialize(changeCount::incrementAndGet);
+        Handler resolver = new ResolvingHandler();
+        Handler postProcessor = new PostProcessingHandler();
+
+        // when
+        config.getHandlers().addAll(Arrays.asList(new ResolvingHandler(), resolver, postProcessor));
+        config.getHandlers().removeIf(h -> h instanceof ResolvingHandler && h != resolver);
+        config.getHandlers().removeIf(h -> false);
+
+        // then
+        assertThat(changeCount.get(), equalTo(2));
+        assertThat(config.getResolvers(), arrayContaining(resolver));
+        assertThat(config.getPostProcessors(), arrayContaining(postProcessor));
+
+        // when
+        config.getHandlers().clear();
+
+        // then
+        assertThat(changeCount.get(), equalTo(3));
+        assertThat(config.getResolvers(), emptyArray());
+        assertThat(config.getPostProcessors(), emptyArray());
+    }
+
+    @Test
+    void shouldFilterPostProcessorsByClass() {
+        // given
+        InjectorConfig config = new InjectorConfig();
+        Handler postProcessor = new PostProcessingHandler();
+        Handler postConstructInvoker = new PostConstructMethodInvoker();
+        config.addHandlers(Arrays.asList(postProcessor, postConstructInvoker));
+
+        // when / then
+        assertThat(config.getPostProcessors(AlphaService.class), arrayContaining(postProcessor));
+        assertThat(config.getPostProcessors(PostConstructTestClass.class),
+            arrayContaining(postProcessor, postConstructInvoker));
+    }
+
+    private static final class ResolvingHandler implements Handler {
+        @Override
+        public Resolution<?> resolve(ResolutionContext context) {
+            return null;
+        }
+    }
+
+    private static final class PostProcessingHandler implements Handler {
+        @Override
+        public <T> T postProcess(T object, ResolutionContext context, Resolution<?> resolution) {
+            return null;
+        }
+    }
+
+    private static final class AnnotationHandler implements Handler {
+        @Override
+        public void onAnnotation(Class<? extends Annotation> annotationType, Object object) {
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package ch.jalu.injector;
 
+import ch.jalu.injector.context.ObjectIdentifier;
 import ch.jalu.injector.context.ResolutionContext;
+import ch.jalu.injector.context.StandardResolutionType;
 import ch.jalu.injector.exceptions.InjectorException;
 import ch.jalu.injector.handlers.Handler;
 import ch.jalu.injector.handlers.dependency.providers.Delta;
 import ch.jalu.injector.handlers.dependency.providers.Delta1Provider;
 import ch.jalu.injector.handlers.instantiation.DefaultInjectionProvider;
+import ch.jalu.injector.handlers.instantiation.ProviderHandler;
 import ch.jalu.injector.handlers.instantiation.Resolution;
 import ch.jalu.injector.handlers.instantiation.SimpleResolution;
 import ch.jalu.injector.handlers.instantiation.StandardInjectionProvider;
 import ch.jalu.injector.handlers.postconstruct.PostConstructMethodInvoker;
+import ch.jalu.injector.metrics.InjectorMetrics;
 import ch.jalu.injector.samples.AlphaService;
 import ch.jalu.injector.samples.BadFieldInjection;
 import ch.jalu.injector.samples.BetaManager;
@@ -21,6 +25,7 @@ import ch.jalu.injector.samples.FieldInjectionWithAnnotations;
 import ch.jalu.injector.samples.GammaService;
 import ch.jalu.injector.samples.InstantiationFallbackClasses;
 import ch.jalu.injector.samples.InvalidClass;
+import ch.jalu.injector.samples.PostConstructTestClass;
 import ch.jalu.injector.samples.ProvidedClass;
 import ch.jalu.injector.samples.Reloadable;
 import ch.jalu.injector.samples.SampleInstantiationImpl;
@@ -39,6 +44,17 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -47,16 +63,23 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -454,13 +477,12 @@ public class InjectorImplTest {
     }
 
     @Test
-    void shouldRunPostConstructHandlersOnNewlyCreatedObjects() {
+    void shouldRunPostConstructHandlersOnNewlyCreatedObjects() throws Exception {
         // given
         injector.provide(Duration.class, 3);
         injector.provide(Size.class, 3);
-        config.getHandlers().removeIf(h -> h instanceof PostConstructMethodInvoker);
-        PostConstructMethodInvoker postConstructInvoker = Mockito.spy(new PostConstructMethodInvoker());
-        config.getHandlers().add(postConstructInvoker);
+        Handler postProcessor = mock(Handler.class);
+        config.getHandlers().add(postProcessor);
 
         // when
         injector.getSingleton(Child.class); // Child, GammaService, BetaManager, AlphaService
@@ -469,18 +491,17 @@ public class InjectorImplTest {
 
         // then
         ArgumentCaptor<Object> argCaptor = ArgumentCaptor.forClass(Object.class);
-        verify(postConstructInvoker, times(6)).postProcess(argCaptor.capture(), any(ResolutionContext.class), any(Resolution.class));
+        verify(postProcessor, times(6)).postProcess(argCaptor.capture(), any(ResolutionContext.class), any(Resolution.class));
         assertThat(argCaptor.getAllValues(), containsInAnyOrder(
             instanceOf(GammaService.class), instanceOf(BetaManager.class), instanceOf(AlphaService.class), instanceOf(Child.class),
             instanceOf(FieldInjectionWithAnnotations.class), instanceOf(ClassWithAnnotations.class)));
     }
 
     @Test
-    void shouldRunPostConstructOnNewInstances() {
+    void shouldRunPostConstructOnNewInstances() throws Exception {
         // given
-        config.getHandlers().removeIf(h -> h instanceof PostConstructMethodInvoker);
-        PostConstructMethodInvoker postConstructInvoker = Mockito.spy(new PostConstructMethodInvoker());
-        config.getHandlers().add(postConstructInvoker);
+        Handler postProcessor = mock(Handler.class);
+        config.getHandlers().add(postProcessor);
 
         // when
         AlphaService s1 = injector.getSingleton(AlphaService.class); // singleton first time: counts
@@ -494,12 +515,30 @@ public class InjectorImplTest {
         Collection<AlphaService> singletons = injector.retrieveAllOfType(AlphaService.class);
 
         // then
-        verify(postConstructInvoker, times(5)).postProcess(any(Object.class), any(ResolutionContext.class), any(Resolution.class));
+        verify(postProcessor, times(5)).postProcess(any(Object.class), any(ResolutionContext.class), any(Resolution.class));
         assertAreAllSameInstance(s1, s2, s3, s4);
         assertAreAllDifferentInstances(s1, i1, i2, i3, i4);
         assertThat(singletons, contains(sameInstance(s1)));
     }
 
+    @Test
+    void shouldOnlyRunPostConstructInvokerOnClassesWithPostConstructMethods() {
+        // given
+        injector.provide(Duration.class, 3);
+        injector.provide(Size.class, 3);
+        config.getHandlers().removeIf(h -> h instanceof PostConstructMethodInvoker);
+        PostConstructMethodInvoker postConstructInvoker = Mockito.spy(new PostConstructMethodInvoker());
+        config.getHandlers().add(postConstructInvoker);
+
+        // when
+        Child child = injector.getSingleton(Child.class); // Child, GammaService, BetaManager, AlphaService
+
+        // then
+        verify(postConstructInvoker).postProcess(same(child), any(ResolutionContext.class), any(Resolution.class));
+        verify(postConstructInvoker, never()).postProcess(any(AlphaService.class), any(ResolutionContext.class), any(Resolution.class));
+        assertThat(child.isPostConstructRunAfterParent(), equalTo(true));
+    }
+
     @Test
     void shouldForwardExceptionFromProviderHandler() throws Exception {
         // given
@@ -550,6 +589,501 @@ public class InjectorImplTest {
         assertThat(ex.getMessage(), containsString("Found null returned as dependency"));
     }
 
+    @Test
+    void shouldUseHandlerAddedAfterResolutionWasCached() throws Exception {
+        // given
+        injector.newInstance(AlphaService.class); // caches the resolution of AlphaService
+        AlphaService alphaService = AlphaService.newInstance(new ProvidedClass(""));
+        Handler handler = mock(Handler.class);
+        given(handler.resolve(any(ResolutionContext.class))).willAnswer(invocation ->
+            ((ResolutionContext) invocation.getArgument(0)).getIdentifier().getTypeAsClass() == AlphaService.class
+                ? new SimpleResolution<>(alphaService)
+                : null);
+
+        // when
+        config.getHandlers().add(0, handler);
+        AlphaService result = injector.newInstance(AlphaService.class);
+
+        // then
+        assertThat(result, sameInstance(alphaService));
+    }
+
+    @Test
+    void shouldCreateSingletonOnlyOnceForConcurrentRequests() throws Exception {
+        // given
+        AtomicInteger totalInstantiations = new AtomicInteger();
+        CountDownLatch instantiationStarted = new CountDownLatch(1);
+        addResolutionHandler(BetaManager.class, () -> {
+            totalInstantiations.incrementAndGet();
+            instantiationStarted.countDown();
+            sleep(100);
+            return new BetaManager();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // when
+            List<Future<BetaManager>> results = new ArrayList<>();
+            results.add(executor.submit(() -> injector.getSingleton(BetaManager.class)));
+            instantiationStarted.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 3; ++i) {
+                results.add(executor.submit(() -> injector.getSingleton(BetaManager.class)));
+            }
+
+            // then
+            BetaManager singleton = injector.getSingleton(BetaManager.class);
+            for (Future<BetaManager> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS), sameInstance(singleton));
+            }
+            assertThat(totalInstantiations.get(), equalTo(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldDetectDeadlockBetweenThreads() throws Exception {
+        // given
+        CyclicBarrier bothCreationsStarted = new CyclicBarrier(2);
+        addResolutionHandler(AlphaService.class, () -> {
+            await(bothCreationsStarted);
+            injector.getSingleton(GammaService.class);
+            return AlphaService.newInstance(null);
+        });
+        addResolutionHandler(GammaService.class, () -> {
+            await(bothCreationsStarted);
+            injector.getSingleton(AlphaService.class);
+            return new GammaService(null);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // when
+            Future<AlphaService> alphaService = executor.submit(() -> injector.getSingleton(AlphaService.class));
+            Future<GammaService> gammaService = executor.submit(() -> injector.getSingleton(GammaService.class));
+
+            // then
+            ExecutionException alphaException =
+                assertThrows(ExecutionException.class, () -> alphaService.get(5, TimeUnit.SECONDS));
+            ExecutionException gammaException =
+                assertThrows(ExecutionException.class, () -> gammaService.get(5, TimeUnit.SECONDS));
+            assertThat(alphaException.getCause(), instanceOf(InjectorException.class));
+            assertThat(gammaException.getCause(), instanceOf(InjectorException.class));
+            assertThat(alphaException.getCause().getMessage() + gammaException.getCause().getMessage(),
+                containsString("deadlock detected"));
+            assertThat(injector.getIfAvailable(AlphaService.class), nullValue());
+            assertThat(injector.getIfAvailable(GammaService.class), nullValue());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldThrowForSingletonRequestedDuringItsOwnCreation() {
+        // given
+        addResolutionHandler(AlphaService.class, () -> injector.getSingleton(AlphaService.class));
+
+        // when
+        InjectorException ex = assertThrows(InjectorException.class, () -> injector.getSingleton(AlphaService.class));
+
+        // then
+        assertThat(ex.getMessage(), containsString("is already being created by the current thread"));
+    }
+
+    @Test
+    void shouldSkipHandlersForCachedResolutions() throws Exception {
+        // given
+        Handler handler = mock(Handler.class);
+        config.getHandlers().add(0, handler);
+
+        // when
+        GammaService gamma1 = injector.newInstance(GammaService.class); // resolves GammaService and AlphaService
+        GammaService gamma2 = injector.newInstance(GammaService.class);
+        GammaService gamma3 = injector.newInstance(GammaService.class);
+
+        // then
+        assertAreAllDifferentInstances(gamma1, gamma2, gamma3);
+        verify(handler, times(2)).resolve(any(ResolutionContext.class));
+    }
+
+    @Test
+    void shouldClearCachedResolutionsWhenProviderIsRegistered() throws Exception {
+        // given
+        Handler handler = mock(Handler.class);
+        config.getHandlers().add(0, handler);
+        injector.newInstance(AlphaService.class);
+        injector.newInstance(AlphaService.class);
+
+        // when
+        injector.registerProvider(Delta.class, Delta1Provider.class);
+        injector.newInstance(AlphaService.class);
+
+        // then
+        verify(handler, times(2)).resolve(any(ResolutionContext.class));
+    }
+
+    @Test
+    void shouldNotCacheResolutionFoundBeforeProviderWasRegistered() {
+        // given
+        GammaService providedGamma = mock(GammaService.class);
+        AtomicInteger postProcessCalls = new AtomicInteger();
+        // Registers the provider while GammaService is being created, i.e. after its resolution has been
+        // looked up but before it is cached, as if the registration were done concurrently by another thread
+        config.getHandlers().add(new Handler() {
+            @Override
+            public <T> T postProcess(T object, ResolutionContext context, Resolution<?> resolution) {
+                if (object instanceof GammaService && postProcessCalls.getAndIncrement() == 0) {
+                    injector.registerProvider(GammaService.class, () -> providedGamma);
+                }
+                return null;
+            }
+        });
+
+        // when
+        GammaService gamma1 = injector.newInstance(GammaService.class);
+        GammaService gamma2 = injector.newInstance(GammaService.class);
+
+        // then
+        assertThat(gamma1, not(sameInstance(providedGamma)));
+        assertThat(gamma2, sameInstance(providedGamma));
+    }
+
+    @Test
+    void shouldNotCacheResolutionsAfterContextDependentHandler() {
+        // given
+        GammaService providedGamma = mock(GammaService.class);
+        AtomicBoolean provideGamma = new AtomicBoolean();
+        config.getHandlers().add(0, new Handler() {
+            @Override
+            public Resolution<?> resolve(ResolutionContext context) {
+                return provideGamma.get() && context.getIdentifier().getTypeAsClass() == GammaService.class
+                    ? new SimpleResolution<>(providedGamma)
+                    : null;
+            }
+
+            @Override
+            public boolean isContextDependent() {
+                return true;
+            }
+        });
+
+        // when
+        GammaService gamma1 = injector.newInstance(GammaService.class);
+        provideGamma.set(true);
+        GammaService gamma2 = injector.newInstance(GammaService.class);
+
+        // then
+        assertThat(gamma1, not(sameInstance(providedGamma)));
+        assertThat(gamma2, sameInstance(providedGamma));
+    }
+
+    @Test
+    void shouldNotCacheResolutionsThatAreNotCacheable() throws Exception {
+        // given
+        injector.provide(Size.class, 2809375);
+        injector.provide(Duration.class, 13095L);
+        injector.getSingleton(BetaManager.class);
+        injector.getSingleton(ClassWithAnnotations.class);
+        Handler handler = mock(Handler.class);
+        config.getHandlers().add(0, handler);
+
+        // when
+        injector.newInstance(FieldInjectionWithAnnotations.class);
+        injector.newInstance(FieldInjectionWithAnnotations.class);
+
+        // then
+        // FieldInjectionWithAnnotations is cached; the values for @Size and @Duration are resolved every time
+        verify(handler, times(5)).resolve(any(ResolutionContext.class));
+    }
+
+    @Test
+    void shouldInitializeAllSingletonsAfterTheirDependencies() {
+        // given
+        injector.provide(Size.class, 2809375);
+        injector.provide(Duration.class, 13095L);
+        List<Class<?>> createdClasses = Collections.synchronizedList(new ArrayList<>());
+        config.getHandlers().add(new Handler() {
+            @Override
+            public <T> T postProcess(T object, ResolutionContext context, Resolution<?> resolution) {
+                createdClasses.add(object.getClass());
+                return null;
+            }
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // when
+            injector.initializeAll(Arrays.asList(FieldInjectionWithAnnotations.class, GammaService.class), executor);
+
+            // then
+            assertThat(createdClasses, containsInAnyOrder(FieldInjectionWithAnnotations.class,
+                ClassWithAnnotations.class, BetaManager.class, GammaService.class, AlphaService.class));
+            assertThat(createdClasses.indexOf(AlphaService.class),
+                lessThan(createdClasses.indexOf(GammaService.class)));
+            assertThat(createdClasses.indexOf(GammaService.class),
+                lessThan(createdClasses.indexOf(BetaManager.class)));
+            assertThat(createdClasses.indexOf(GammaService.class),
+                lessThan(createdClasses.indexOf(ClassWithAnnotations.class)));
+            assertThat(createdClasses.get(4), equalTo(FieldInjectionWithAnnotations.class));
+            assertThat(injector.getIfAvailable(FieldInjectionWithAnnotations.class).getBetaManager(),
+                sameInstance(injector.getIfAvailable(BetaManager.class)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldThrowForCyclicDependencyInClassesToInitialize() {
+        // given / when
+        InjectorException ex = assertThrows(InjectorException.class,
+            () -> injector.initializeAll(Collections.singletonList(CircularClasses.Circular1.class), Runnable::run));
+
+        // then
+        assertThat(ex.getMessage(), containsString("Found cyclic dependency"));
+        assertThat(injector.getIfAvailable(CircularClasses.Circular1.class), nullValue());
+    }
+
+    @Test
+    void shouldForwardExceptionFromSingletonInitialization() {
+        // given
+        addResolutionHandler(AlphaService.class, () -> {
+            throw new IllegalStateException("Alpha failed");
+        });
+
+        // when
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+            () -> injector.initializeAll(Collections.singletonList(BetaManager.class)));
+
+        // then
+        assertThat(ex.getMessage(), equalTo("Alpha failed"));
+        assertThat(injector.getIfAvailable(BetaManager.class), nullValue());
+        assertThat(injector.getIfAvailable(GammaService.class), nullValue());
+    }
+
+    @Test
+    void shouldGetSingletonAsynchronously() throws Exception {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Injector asyncInjector = new InjectorBuilder()
+            .addDefaultHandlers(ALLOWED_PACKAGE)
+            .setAsyncExecutor(executor)
+            .setAsyncTimeout(5, TimeUnit.SECONDS)
+            .create();
+        asyncInjector.register(ProvidedClass.class, new ProvidedClass(""));
+        // Both providers only complete if they are called in parallel
+        CyclicBarrier bothProvidersCalled = new CyclicBarrier(2);
+        asyncInjector.registerAsyncProvider(AlphaService.class, () -> {
+            await(bothProvidersCalled);
+            return CompletableFuture.completedFuture(AlphaService.newInstance(null));
+        });
+        asyncInjector.registerAsyncProvider(GammaService.class, () -> {
+            await(bothProvidersCalled);
+            return CompletableFuture.supplyAsync(() -> new GammaService(null), executor);
+        });
+
+        try {
+            // when
+            BetaManager betaManager = asyncInjector.getSingletonAsync(BetaManager.class).get(5, TimeUnit.SECONDS);
+
+            // then
+            assertThat(betaManager, sameInstance(asyncInjector.getIfAvailable(BetaManager.class)));
+            assertThat(betaManager.getDependencies()[1], sameInstance(asyncInjector.getIfAvailable(GammaService.class)));
+            assertThat(betaManager.getDependencies()[2], sameInstance(asyncInjector.getIfAvailable(AlphaService.class)));
+            assertThat(asyncInjector.getSingletonAsync(BetaManager.class).isDone(), equalTo(true));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldFailAsyncProviderAfterTimeout() {
+        // given
+        Injector asyncInjector = new InjectorBuilder()
+            .addDefaultHandlers(ALLOWED_PACKAGE)
+            .setAsyncTimeout(50, TimeUnit.MILLISECONDS)
+            .create();
+        asyncInjector.registerAsyncProvider(AlphaService.class, CompletableFuture::new);
+
+        // when
+        ExecutionException ex = assertThrows(ExecutionException.class,
+            () -> asyncInjector.getSingletonAsync(GammaService.class).get(5, TimeUnit.SECONDS));
+
+        // then
+        assertThat(ex.getCause(), instanceOf(InjectorException.class));
+        assertThat(ex.getCause().getMessage(), containsString("did not complete within 50 ms"));
+        assertThat(asyncInjector.getIfAvailable(AlphaService.class), nullValue());
+        assertThat(asyncInjector.getIfAvailable(GammaService.class), nullValue());
+    }
+
+    @Test
+    void shouldFailAsyncProviderAfterItsOwnTimeout() {
+        // given
+        Injector asyncInjector = new InjectorBuilder()
+            .addDefaultHandlers(ALLOWED_PACKAGE)
+            .create();
+        asyncInjector.registerAsyncProvider(AlphaService.class, CompletableFuture::new, 30, TimeUnit.MILLISECONDS);
+
+        // when
+        InjectorException ex = assertThrows(InjectorException.class,
+            () -> asyncInjector.getSingleton(AlphaService.class));
+
+        // then
+        assertThat(ex.getMessage(), containsString("did not complete within 30 ms"));
+    }
+
+    @Test
+    void shouldNotKeepPrefetchedStageIfSingletonWasCreatedOtherwise() throws Exception {
+        // given
+        Injector asyncInjector = new InjectorBuilder()
+            .addDefaultHandlers(ALLOWED_PACKAGE)
+            .create();
+        List<AlphaService> suppliedObjects = Collections.synchronizedList(new ArrayList<>());
+        asyncInjector.registerAsyncProvider(AlphaService.class, () -> {
+            AlphaService alphaService = AlphaService.newInstance(null);
+            suppliedObjects.add(alphaService);
+            if (suppliedObjects.size() == 1) {
+                // The singleton is created by another thread while the stage for the async resolution is prefetched
+                CompletableFuture.runAsync(() -> asyncInjector.getSingleton(AlphaService.class)).join();
+            }
+            return CompletableFuture.completedFuture(alphaService);
+        });
+
+        // when
+        AlphaService singleton = asyncInjector.getSingletonAsync(AlphaService.class).get(5, TimeUnit.SECONDS);
+        AlphaService newInstance = asyncInjector.newInstance(AlphaService.class);
+
+        // then
+        assertThat(suppliedObjects, hasSize(3));
+        assertThat(singleton, sameInstance(suppliedObjects.get(1)));
+        assertThat(newInstance, sameInstance(suppliedObjects.get(2)));
+    }
+
+    @Test
+    void shouldNotBlockExecutorThreadWhileWaitingForAsyncProviders() throws Exception {
+        // given
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Injector asyncInjector = new InjectorBuilder()
+            .addDefaultHandlers(ALLOWED_PACKAGE)
+            .setAsyncExecutor(executor)
+            .create();
+        asyncInjector.register(ProvidedClass.class, new ProvidedClass(""));
+        // The stages are completed by tasks on the same single-threaded executor
+        asyncInjector.registerAsyncProvider(AlphaService.class,
+            () -> CompletableFuture.supplyAsync(() -> AlphaService.newInstance(null), executor));
+        asyncInjector.registerAsyncProvider(GammaService.class,
+            () -> CompletableFuture.supplyAsync(() -> new GammaService(null), executor));
+
+        try {
+            // when
+            BetaManager betaManager = asyncInjector.getSingletonAsync(BetaManager.class).get(5, TimeUnit.SECONDS);
+
+            // then
+            assertThat(betaManager.getDependencies()[1], sameInstance(asyncInjector.getIfAvailable(GammaService.class)));
+            assertThat(betaManager.getDependencies()[2], sameInstance(asyncInjector.getIfAvailable(AlphaService.class)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldReportDiagnostics() {
+        // given
+        InjectorDiagnostics initialDiagnostics = injector.getDiagnostics();
+
+        // when
+        injector.registerProvider(Delta.class, Delta1Provider.class);
+        injector.getSingleton(BetaManager.class);
+        injector.newInstance(BetaManager.class);
+        injector.retrieveAllOfType(Reloadable.class);
+        InjectorDiagnostics diagnostics = injector.getDiagnostics();
+
+        // then
+        assertThat(initialDiagnostics.getSingletonCount(), equalTo(2)); // injector and ProvidedClass
+        assertThat(diagnostics.getSingletonCount(), equalTo(5)); // + BetaManager, AlphaService, GammaService
+        assertThat(diagnostics.getCachedResolutionCount(), greaterThan(initialDiagnostics.getCachedResolutionCount()));
+        assertThat(diagnostics.getIndexedTypeCount(), equalTo(1));
+        assertThat(diagnostics.getRetainedBytesByComponent().keySet(), hasItems("singletons", "resolutionCache",
+            "typeIndex", DefaultInjectionProvider.class.getName(), ProviderHandler.class.getName()));
+        assertThat(diagnostics.getRetainedBytesByComponent().get(ProviderHandler.class.getName()), greaterThan(0L));
+        assertThat(diagnostics.getEstimatedRetainedBytes(),
+            greaterThan(initialDiagnostics.getEstimatedRetainedBytes()));
+        assertThat(diagnostics.getEstimatedRetainedBytes(), equalTo(
+            diagnostics.getRetainedBytesByComponent().values().stream().mapToLong(Long::longValue).sum()));
+    }
+
+    @Test
+    void shouldNotifyMetricsListener() {
+        // given
+        InjectorMetrics metrics = mock(InjectorMetrics.class);
+        Injector injectorWithMetrics = new InjectorBuilder()
+            .addDefaultHandlers(ALLOWED_PACKAGE)
+            .setMetrics(metrics)
+            .create();
+        injectorWithMetrics.register(ProvidedClass.class, new ProvidedClass(""));
+
+        injectorWithMetrics.provide(Size.class, 3);
+
+        // when
+        injectorWithMetrics.newInstance(AlphaService.class);
+        injectorWithMetrics.newInstance(AlphaService.class);
+        injectorWithMetrics.newInstance(PostConstructTestClass.class);
+
+        // then
+        ObjectIdentifier alphaIdentifier =
+            new ObjectIdentifier(StandardResolutionType.REQUEST_SCOPED, AlphaService.class);
+        verify(metrics).onSingletonRegistration(ProvidedClass.class);
+        verify(metrics).onResolutionCacheMiss(eq(alphaIdentifier), anyLong());
+        verify(metrics).onResolutionCacheHit(alphaIdentifier);
+        verify(metrics, times(2)).onInstantiation(eq(alphaIdentifier), anyLong());
+        verify(metrics).onHandlerResolve(
+            any(DefaultInjectionProvider.class), eq(alphaIdentifier), eq(true), anyLong());
+        verify(metrics)
+            .onPostProcess(any(PostConstructMethodInvoker.class), eq(PostConstructTestClass.class), anyLong());
+        verify(metrics, never()).onPostProcess(any(Handler.class), eq(AlphaService.class), anyLong());
+        verify(metrics, never()).onSingletonCreationWait(any(Class.class), anyLong());
+    }
+
+    private <T> void addResolutionHandler(Class<T> clazz, Supplier<T> supplier) {
+        Resolution<T> resolution = new Resolution<T>() {
+            @Override
+            public List<ObjectIdentifier> getDependencies() {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public T instantiateWith(Object... values) {
+                return supplier.get();
+            }
+
+            @Override
+            public boolean isInstantiation() {
+                return true;
+            }
+        };
+        config.getHandlers().add(0, new Handler() {
+            @Override
+            public Resolution<?> resolve(ResolutionContext context) {
+                return context.getIdentifier().getTypeAsClass() == clazz ? resolution : null;
+            }
+        });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private static void assertAreAllSameInstance(Object... objects) {
         assertThat(Stream.of(objects).map(System::identityHashCode).distinct().count(), equalTo(1L));
     }
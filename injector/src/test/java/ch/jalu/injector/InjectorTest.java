@@ -0,0 +1,145 @@
+package ch.jalu.injector;
+
+import ch.jalu.injector.exceptions.InjectorException;
+import ch.jalu.injector.samples.AlphaService;
+import ch.jalu.injector.samples.BetaManager;
+import ch.jalu.injector.samples.ProvidedClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Provider;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Test for the default methods of {@link Injector}, using an implementation which only implements the methods
+ * of version 1.0.
+ */
+class InjectorTest {
+
+    private Injector injector;
+
+    @BeforeEach
+    void createInjector() {
+        injector = new ForwardingInjector(new InjectorBuilder().addDefaultHandlers("ch.jalu.injector").create());
+    }
+
+    @Test
+    void shouldRegisterAsyncProviderAsProvider() {
+        // given
+        ProvidedClass providedClass = new ProvidedClass("");
+
+        // when
+        injector.registerAsyncProvider(ProvidedClass.class, () -> CompletableFuture.completedFuture(providedClass));
+
+        // then
+        assertThat(injector.getSingleton(ProvidedClass.class), sameInstance(providedClass));
+    }
+
+    @Test
+    void shouldGetSingletonAsync() throws Exception {
+        // given
+        injector.register(ProvidedClass.class, new ProvidedClass(""));
+
+        // when
+        AlphaService alphaService = injector.getSingletonAsync(AlphaService.class).get();
+
+        // then
+        assertThat(alphaService, sameInstance(injector.getSingleton(AlphaService.class)));
+    }
+
+    @Test
+    void shouldInitializeAllSequentially() {
+        // given
+        injector.register(ProvidedClass.class, new ProvidedClass(""));
+        Executor executor = mock(Executor.class);
+
+        // when
+        injector.initializeAll(Arrays.asList(AlphaService.class, BetaManager.class), executor);
+
+        // then
+        assertThat(injector.getIfAvailable(AlphaService.class), not(nullValue()));
+        assertThat(injector.getIfAvailable(BetaManager.class), not(nullValue()));
+        verifyNoInteractions(executor);
+    }
+
+    @Test
+    void shouldThrowForUnsupportedMethods() {
+        // given / when
+        InjectorException freezeException = assertThrows(InjectorException.class, injector::freeze);
+        InjectorException diagnosticsException = assertThrows(InjectorException.class, injector::getDiagnostics);
+
+        // then
+        assertThat(freezeException.getMessage(), containsString("not supported by " + ForwardingInjector.class));
+        assertThat(diagnosticsException.getMessage(), containsString("not supported by " + ForwardingInjector.class));
+    }
+
+    /**
+     * Decorator implementing the methods of {@link Injector} as of version 1.0.
+     */
+    private static final class ForwardingInjector implements Injector {
+
+        private final Injector delegate;
+
+        ForwardingInjector(Injector delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public <T> void register(Class<? super T> clazz, T object) {
+            delegate.register(clazz, object);
+        }
+
+        @Override
+        public <T> void registerProvider(Class<T> clazz, Provider<? extends T> provider) {
+            delegate.registerProvider(clazz, provider);
+        }
+
+        @Override
+        public <T, P extends Provider<? extends T>> void registerProvider(Class<T> clazz, Class<P> providerClass) {
+            delegate.registerProvider(clazz, providerClass);
+        }
+
+        @Override
+        public void provide(Class<? extends Annotation> annotation, Object object) {
+            delegate.provide(annotation, object);
+        }
+
+        @Override
+        public <T> T getSingleton(Class<T> clazz) {
+            return delegate.getSingleton(clazz);
+        }
+
+        @Override
+        public <T> T newInstance(Class<T> clazz) {
+            return delegate.newInstance(clazz);
+        }
+
+        @Override
+        public <T> T getIfAvailable(Class<T> clazz) {
+            return delegate.getIfAvailable(clazz);
+        }
+
+        @Override
+        public <T> T createIfHasDependencies(Class<T> clazz) {
+            return delegate.createIfHasDependencies(clazz);
+        }
+
+        @Override
+        public <T> Collection<T> retrieveAllOfType(Class<T> clazz) {
+            return delegate.retrieveAllOfType(clazz);
+        }
+    }
+}
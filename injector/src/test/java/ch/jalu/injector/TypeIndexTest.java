@@ -0,0 +1,150 @@
+package ch.jalu.injector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link TypeIndex}.
+ */
+class TypeIndexTest {
+
+    @Test
+    void shouldReturnObjectsOfType() {
+        // given
+        List<Object> objects = new ArrayList<>(Arrays.asList("test", 3, 4.5, 'c'));
+        TypeIndex typeIndex = new TypeIndex(objects);
+
+        // when
+        List<Number> numbers = typeIndex.getAllOfType(Number.class);
+        List<CharSequence> charSequences = typeIndex.getAllOfType(CharSequence.class);
+        List<Runnable> runnables = typeIndex.getAllOfType(Runnable.class);
+
+        // then
+        assertThat(numbers, containsInAnyOrder(3, 4.5));
+        assertThat(charSequences, contains("test"));
+        assertThat(runnables, empty());
+        assertThat(typeIndex.getAllOfType(Number.class), sameInstance(numbers));
+        assertThrows(UnsupportedOperationException.class, () -> numbers.add(1));
+    }
+
+    @Test
+    void shouldUpdateListsOfMatchingTypes() {
+        // given
+        List<Object> objects = new ArrayList<>(Arrays.asList("test", 3));
+        TypeIndex typeIndex = new TypeIndex(objects);
+        List<Number> numbers = typeIndex.getAllOfType(Number.class);
+        List<String> strings = typeIndex.getAllOfType(String.class);
+
+        // when
+        objects.add(7L);
+        typeIndex.add(7L);
+
+        // then
+        assertThat(typeIndex.getAllOfType(Number.class), contains(3, 7L));
+        assertThat(typeIndex.getAllOfType(String.class), sameInstance(strings));
+        assertThat(typeIndex.getAllOfType(Long.class), contains(7L));
+        assertThat(numbers, contains(3)); // returned lists are not modified
+    }
+
+    @Test
+    void shouldIndexTypesWithoutObjects() {
+        // given
+        List<Object> objects = new ArrayList<>(Arrays.asList("test", 3));
+        TypeIndex typeIndex = new TypeIndex(objects);
+        typeIndex.getAllOfType(Number.class);
+
+        // when
+        List<Runnable> runnables = typeIndex.getAllOfType(Runnable.class);
+
+        // then
+        assertThat(runnables, empty());
+        assertThat(typeIndex.getIndexedTypeCount(), equalTo(2));
+        // Served from the index: the objects are not scanned again
+        objects.add((Runnable) () -> { });
+        assertThat(typeIndex.getAllOfType(Runnable.class), sameInstance(runnables));
+        objects.remove(2);
+
+        // when
+        Runnable runnable = () -> { };
+        objects.add(runnable);
+        typeIndex.add(runnable);
+
+        // then
+        assertThat(typeIndex.getAllOfType(Runnable.class), contains(runnable));
+    }
+
+    @Test
+    void shouldLimitNumberOfTypesWithoutObjects() {
+        // given
+        List<Object> objects = new ArrayList<>(Arrays.asList("test", 3));
+        TypeIndex typeIndex = new TypeIndex(objects, 2);
+        typeIndex.getAllOfType(Runnable.class);
+        typeIndex.getAllOfType(Thread.class);
+        typeIndex.getAllOfType(Number.class);
+        Runnable runnable = () -> { };
+        objects.add(runnable);
+        typeIndex.add(runnable); // Runnable no longer counts as type without objects
+
+        // when
+        typeIndex.getAllOfType(Long.class);
+        typeIndex.getAllOfType(Boolean.class);
+
+        // then
+        // Runnable and Number have objects; Thread was removed as the oldest type without objects
+        assertThat(typeIndex.getIndexedTypeCount(), equalTo(4));
+        assertThat(typeIndex.getAllOfType(Runnable.class), contains(runnable));
+        assertThat(typeIndex.getAllOfType(Long.class), empty());
+    }
+
+    @Test
+    void shouldAppendManyObjects() {
+        // given
+        List<Object> objects = new ArrayList<>();
+        TypeIndex typeIndex = new TypeIndex(objects);
+        List<Integer> initialIntegers = typeIndex.getAllOfType(Integer.class);
+
+        // when
+        for (int i = 0; i < 100; ++i) {
+            objects.add(i);
+            typeIndex.add(i);
+        }
+
+        // then
+        List<Integer> integers = typeIndex.getAllOfType(Integer.class);
+        assertThat(integers, hasSize(100));
+        assertThat(integers.get(99), equalTo(99));
+        assertThat(initialIntegers, empty());
+        assertThrows(IndexOutOfBoundsException.class, () -> integers.get(100));
+    }
+
+    @Test
+    void shouldAddArraysToListsOfCovariantArrayTypes() {
+        // given
+        List<Object> objects = new ArrayList<>();
+        objects.add(new Object[]{ 1 });
+        TypeIndex typeIndex = new TypeIndex(objects);
+        typeIndex.getAllOfType(Object[].class);
+        String[] strings = { "test" };
+
+        // when
+        objects.add(strings);
+        typeIndex.add(strings);
+
+        // then
+        assertThat(typeIndex.getAllOfType(Object[].class), hasItem(sameInstance(strings)));
+        assertThat(typeIndex.getAllOfType(Object[].class), hasSize(2));
+    }
+}
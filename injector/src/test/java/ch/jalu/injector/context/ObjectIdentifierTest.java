@@ -18,6 +18,7 @@ import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -78,6 +79,23 @@ class ObjectIdentifierTest {
         assertThat(ex.getMessage(), containsString("Unknown type"));
     }
 
+    @Test
+    void shouldBeEqualForSameValues() {
+        // given
+        Type type = createParameterizedType(List.class, Double.class);
+        Size size = newSizeAnnotation("20");
+        ObjectIdentifier identifier1 = new ObjectIdentifier(StandardResolutionType.SINGLETON, type, size);
+        ObjectIdentifier identifier2 = new ObjectIdentifier(StandardResolutionType.SINGLETON, type, size);
+        ObjectIdentifier identifier3 = new ObjectIdentifier(StandardResolutionType.REQUEST_SCOPED, type, size);
+        ObjectIdentifier identifier4 = new ObjectIdentifier(StandardResolutionType.SINGLETON, type);
+
+        // when / then
+        assertThat(identifier1, equalTo(identifier2));
+        assertThat(identifier1.hashCode(), equalTo(identifier2.hashCode()));
+        assertThat(identifier1, not(equalTo(identifier3)));
+        assertThat(identifier1, not(equalTo(identifier4)));
+    }
+
     private static final class WildcardTypeImpl implements WildcardType {
         @Override
         public Type[] getUpperBounds() {
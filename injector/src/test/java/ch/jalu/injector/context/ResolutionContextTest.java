@@ -3,7 +3,11 @@ package ch.jalu.injector.context;
 import ch.jalu.injector.exceptions.InjectorException;
 import org.junit.jupiter.api.Test;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -28,4 +32,25 @@ class ResolutionContextTest {
                 containsString("New mapped class '" + String.class + "' is not a child of original class"));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldKeepChainOfParents() {
+        // given
+        ResolutionContext root =
+            new ResolutionContext(null, new ObjectIdentifier(StandardResolutionType.SINGLETON, Number.class));
+        ResolutionContext child = root.createChildContext(
+            new ObjectIdentifier(StandardResolutionType.SINGLETON, Integer.class));
+
+        // when
+        ResolutionContext grandchild = child.createChildContext(
+            new ObjectIdentifier(StandardResolutionType.REQUEST_SCOPED, String.class));
+
+        // then
+        assertThat(grandchild.getParent(), sameInstance(child));
+        assertThat(grandchild.getRootContext(), sameInstance(root));
+        assertThat(grandchild.getParents(), contains(root, child));
+        assertThat(root.getParent(), nullValue());
+        assertThat(root.getRootContext(), sameInstance(root));
+        assertThat(root.getParents(), empty());
+    }
+}
@@ -0,0 +1,80 @@
+package ch.jalu.injector.handlers.dependency;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.context.ObjectIdentifier;
+import ch.jalu.injector.context.ResolutionContext;
+import ch.jalu.injector.exceptions.InjectorException;
+import ch.jalu.injector.samples.AlphaService;
+import ch.jalu.injector.samples.BetaManager;
+import ch.jalu.injector.samples.CircularClasses;
+import ch.jalu.injector.samples.GammaService;
+import ch.jalu.injector.samples.ProvidedClass;
+import org.junit.jupiter.api.Test;
+
+import static ch.jalu.injector.context.StandardResolutionType.SINGLETON;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link CyclicDependenciesDetector}.
+ */
+class CyclicDependenciesDetectorTest {
+
+    private CyclicDependenciesDetector detector = new CyclicDependenciesDetector();
+
+    @Test
+    void shouldThrowForTypeWhichIsResolvingItsDependencies() {
+        // given
+        ResolutionContext root = new ResolutionContext(null, new ObjectIdentifier(SINGLETON, BetaManager.class));
+        root.startDependencyResolution();
+        ResolutionContext child = root.createChildContext(new ObjectIdentifier(SINGLETON, GammaService.class));
+        child.startDependencyResolution();
+        ResolutionContext grandchild = child.createChildContext(new ObjectIdentifier(SINGLETON, BetaManager.class));
+
+        // when
+        InjectorException ex = assertThrows(InjectorException.class, () -> detector.resolve(grandchild));
+
+        // then
+        assertThat(ex.getMessage(), containsString("already traversed '" + root.getIdentifier() + "'"));
+        assertThat(ex.getMessage(), containsString("full traversal list: " + BetaManager.class.getName()
+            + " -> " + GammaService.class.getName() + " -> " + grandchild.getIdentifier()));
+    }
+
+    @Test
+    void shouldNotThrowForTypesWhichAreNoLongerResolvingDependencies() {
+        // given
+        ResolutionContext root = new ResolutionContext(null, new ObjectIdentifier(SINGLETON, BetaManager.class));
+        root.startDependencyResolution();
+        ResolutionContext child1 = root.createChildContext(new ObjectIdentifier(SINGLETON, AlphaService.class));
+        child1.startDependencyResolution();
+        child1.finishDependencyResolution();
+        ResolutionContext child2 = root.createChildContext(new ObjectIdentifier(SINGLETON, GammaService.class));
+        child2.startDependencyResolution();
+        ResolutionContext grandchild = child2.createChildContext(new ObjectIdentifier(SINGLETON, AlphaService.class));
+
+        // when / then
+        assertThat(detector.resolve(grandchild), nullValue());
+    }
+
+    @Test
+    void shouldDetectCycleInInjector() {
+        // given
+        Injector injector = new InjectorBuilder().addDefaultHandlers("ch.jalu.injector.samples").create();
+        injector.register(ProvidedClass.class, new ProvidedClass(""));
+
+        // when
+        InjectorException ex = assertThrows(InjectorException.class,
+            () -> injector.newInstance(CircularClasses.Circular2.class));
+
+        // then
+        assertThat(ex.getMessage(), containsString("Found cyclic dependency"));
+        assertThat(ex.getMessage(), containsString(CircularClasses.Circular2.class.getName() + " -> "
+            + CircularClasses.Circular1.class.getName() + " -> " + CircularClasses.Circular3.class.getName()));
+        // the same type may be resolved again after its dependencies have been resolved
+        assertThat(injector.newInstance(BetaManager.class), not(nullValue()));
+    }
+}
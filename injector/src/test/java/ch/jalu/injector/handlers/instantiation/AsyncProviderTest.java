@@ -0,0 +1,114 @@
+package ch.jalu.injector.handlers.instantiation;
+
+import ch.jalu.injector.exceptions.InjectorException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link AsyncProvider}.
+ */
+class AsyncProviderTest {
+
+    @Test
+    void shouldReturnResultOfCompletionStage() {
+        // given
+        AsyncProvider<String> provider = new AsyncProvider<>(String.class,
+            () -> CompletableFuture.supplyAsync(() -> "test"), 0);
+
+        // when
+        String result = provider.get();
+
+        // then
+        assertThat(result, equalTo("test"));
+    }
+
+    @Test
+    void shouldWrapExceptionOfCompletionStage() {
+        // given
+        CompletableFuture<String> future = new CompletableFuture<>();
+        future.completeExceptionally(new IllegalStateException());
+        AsyncProvider<String> provider = new AsyncProvider<>(String.class, () -> future, 1000);
+
+        // when
+        InjectorException ex = assertThrows(InjectorException.class, provider::get);
+
+        // then
+        assertThat(ex.getMessage(), containsString("The async provider for 'class java.lang.String' failed"));
+        assertThat(ex.getCause(), instanceOf(IllegalStateException.class));
+    }
+
+    @Test
+    void shouldThrowForNullCompletionStage() {
+        // given
+        AsyncProvider<String> provider = new AsyncProvider<>(String.class, () -> null, 0);
+
+        // when
+        InjectorException ex = assertThrows(InjectorException.class, provider::get);
+
+        // then
+        assertThat(ex.getMessage(), containsString("returned null"));
+    }
+
+    @Test
+    void shouldUsePrefetchedStage() {
+        // given
+        AtomicInteger supplierCalls = new AtomicInteger();
+        CompletableFuture<String> future = new CompletableFuture<>();
+        AsyncProvider<String> provider = new AsyncProvider<>(String.class, () -> {
+            supplierCalls.incrementAndGet();
+            return future;
+        }, 0);
+
+        // when
+        CompletableFuture<? extends String> prefetch = provider.prefetch();
+        boolean isDoneBeforeCompletion = prefetch.isDone();
+        future.complete("test");
+
+        // then
+        assertThat(isDoneBeforeCompletion, equalTo(false));
+        assertThat(prefetch.isDone(), equalTo(true));
+        assertThat(provider.getPrefetched(prefetch), equalTo("test"));
+        assertThat(supplierCalls.get(), equalTo(1));
+    }
+
+    @Test
+    void shouldNotReturnStagePrefetchedByOtherCaller() {
+        // given
+        AtomicInteger supplierCalls = new AtomicInteger();
+        AsyncProvider<Integer> provider = new AsyncProvider<>(Integer.class,
+            () -> CompletableFuture.completedFuture(supplierCalls.incrementAndGet()), 0);
+        CompletableFuture<? extends Integer> prefetch = provider.prefetch();
+
+        // when
+        Integer result = provider.get();
+
+        // then
+        assertThat(result, equalTo(2));
+        assertThat(provider.getPrefetched(prefetch), equalTo(1));
+    }
+
+    @Test
+    void shouldTimeOutPrefetchedStage() throws Exception {
+        // given
+        AsyncProvider<String> provider = new AsyncProvider<>(String.class, CompletableFuture::new, 20);
+
+        // when
+        CompletableFuture<? extends String> prefetch = provider.prefetch();
+        prefetch.handle((result, error) -> null).get(5, TimeUnit.SECONDS);
+        InjectorException ex = assertThrows(InjectorException.class, () -> provider.getPrefetched(prefetch));
+
+        // then
+        assertThat(ex.getMessage(), containsString("did not complete within 20 ms"));
+        assertThat(ex.getCause(), instanceOf(TimeoutException.class));
+    }
+}
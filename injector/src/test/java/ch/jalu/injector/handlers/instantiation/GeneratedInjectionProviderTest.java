@@ -0,0 +1,116 @@
+package ch.jalu.injector.handlers.instantiation;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.exceptions.InjectorException;
+import ch.jalu.injector.handlers.Handler;
+import ch.jalu.injector.samples.AlphaService;
+import ch.jalu.injector.samples.GammaService;
+import ch.jalu.injector.samples.ProvidedClass;
+import ch.jalu.injector.samples.generated.GeneratedSample;
+import ch.jalu.injector.samples.generated.GeneratedSample_InjectorFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link GeneratedInjectionProvider} and {@link GeneratedInjection}.
+ */
+class GeneratedInjectionProviderTest {
+
+    private GeneratedInjectionProvider provider = new GeneratedInjectionProvider("ch.jalu");
+
+    @Test
+    void shouldReturnGeneratedFactory() {
+        // given / when
+        Resolution<GeneratedSample> resolution = provider.safeGet(GeneratedSample.class);
+
+        // then
+        assertThat(resolution, instanceOf(GeneratedSample_InjectorFactory.class));
+        assertThat(resolution.getDependencies(),
+            equalTo(new StandardInjectionProvider().safeGet(GeneratedSample.class).getDependencies()));
+        assertThat(resolution.isCacheable(), equalTo(true));
+    }
+
+    @Test
+    void shouldReuseGeneratedFactory() {
+        // given
+        Resolution<GeneratedSample> resolution = provider.safeGet(GeneratedSample.class);
+
+        // when
+        Resolution<GeneratedSample> resolution2 = new GeneratedInjectionProvider("ch.jalu")
+            .safeGet(GeneratedSample.class);
+
+        // then
+        assertThat(resolution2, sameInstance(resolution));
+    }
+
+    @Test
+    void shouldFallBackToReflection() {
+        // given / when
+        Resolution<GammaService> resolution = provider.safeGet(GammaService.class);
+
+        // then
+        assertThat(resolution, instanceOf(StandardInjection.class));
+    }
+
+    @Test
+    void shouldThrowForClassOutsideOfRootPackage() {
+        // given
+        GeneratedInjectionProvider provider = new GeneratedInjectionProvider("ch.jalu.injector.samples.other");
+
+        // when
+        InjectorException ex = assertThrows(InjectorException.class, () -> provider.safeGet(GeneratedSample.class));
+
+        // then
+        assertThat(ex.getMessage(), containsString("outside of the allowed packages"));
+    }
+
+    @Test
+    void shouldThrowForWrongNumberOfValues() {
+        // given
+        Resolution<GeneratedSample> resolution = provider.safeGet(GeneratedSample.class);
+
+        // when
+        InjectorException ex = assertThrows(InjectorException.class,
+            () -> resolution.instantiateWith(new ProvidedClass("")));
+
+        // then
+        assertThat(ex.getMessage(), equalTo("Number of values does not correspond to the expected number"));
+    }
+
+    @Test
+    void shouldCreateObjectsWithInjector() {
+        // given
+        List<Handler> handlers = InjectorBuilder.createDefaultHandlers("ch.jalu");
+        handlers.replaceAll(h -> h instanceof DefaultInjectionProvider ? provider : h);
+        Injector injector = new InjectorBuilder().addHandlers(handlers).create();
+        ProvidedClass providedClass = new ProvidedClass("");
+        injector.register(ProvidedClass.class, providedClass);
+
+        // when
+        GeneratedSample sample = injector.getSingleton(GeneratedSample.class);
+
+        // then
+        assertThat(sample.getProvidedClass(), sameInstance(providedClass));
+        assertThat(sample.getAlphaService(), sameInstance(injector.getSingleton(AlphaService.class)));
+    }
+
+    @Test
+    void shouldReturnFactoryClassName() {
+        // given / when / then
+        assertThat(GeneratedInjection.getFactoryClassName("com.acme.Service"),
+            equalTo("com.acme.Service_InjectorFactory"));
+        assertThat(GeneratedInjection.getFactoryClassName("com.acme.Outer$Inner"),
+            equalTo("com.acme.Outer$Inner_InjectorFactory"));
+        assertThat(GeneratedInjection.getFactoryClassName("com.acme.Outer_Inner"),
+            equalTo("com.acme.Outer_Inner_InjectorFactory"));
+    }
+}
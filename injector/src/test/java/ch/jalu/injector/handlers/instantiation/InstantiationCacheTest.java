@@ -2,28 +2,32 @@ package ch.jalu.injector.handlers.instantiation;
 
 import ch.jalu.injector.Injector;
 import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.context.ObjectIdentifier;
+import ch.jalu.injector.context.ResolutionContext;
+import ch.jalu.injector.context.StandardResolutionType;
+import ch.jalu.injector.exceptions.InjectorException;
 import ch.jalu.injector.handlers.Handler;
 import ch.jalu.injector.samples.AlphaService;
 import ch.jalu.injector.samples.BetaManager;
 import ch.jalu.injector.samples.GammaService;
 import ch.jalu.injector.samples.ProvidedClass;
-import ch.jalu.injector.utils.ReflectionUtils;
+import ch.jalu.injector.utils.MemoryEstimates;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
-import java.lang.ref.WeakReference;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
-import static org.hamcrest.Matchers.aMapWithSize;
-import static org.hamcrest.Matchers.anEmptyMap;
+import static ch.jalu.injector.TestUtils.createParameterizedType;
+import static ch.jalu.injector.context.StandardResolutionType.REQUEST_SCOPED;
+import static ch.jalu.injector.context.StandardResolutionType.SINGLETON;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -65,7 +69,7 @@ class InstantiationCacheTest {
         injector.getSingleton(AlphaService.class);
 
         // when / then
-        assertThat(getCacheMap(), anEmptyMap());
+        assertThat(instantiationCache.size(), equalTo(0));
     }
 
     @Test
@@ -81,18 +85,116 @@ class InstantiationCacheTest {
 
         // then
         assertThat(manager1, not(sameInstance(manager2)));
-        assertThat(getCacheMap(), aMapWithSize(1));
-        assertThat(getCacheMap().get(BetaManager.class), not(nullValue()));
+        assertThat(instantiationCache.size(), equalTo(1));
+        // StandardInjection is cacheable, so the second request is served by the injector without calling handlers
+        assertThat(instantiationCache.getMissCount(), equalTo(1L));
+        assertThat(instantiationCache.getHitCount(), equalTo(0L));
         verify(defaultInjectionProvider, times(1)).safeGet(any(Class.class));
     }
 
-    private Map<Class, WeakReference<Resolution>> getCacheMap() {
-        try {
-            Field field = InstantiationCache.class.getDeclaredField("entries");
-            return (Map) ReflectionUtils.getFieldValue(field, instantiationCache);
-        } catch (NoSuchFieldException e) {
-            throw new IllegalStateException(e);
-        }
+    @Test
+    void shouldKeyOnFullIdentifier() {
+        // given
+        InstantiationCache cache = new InstantiationCache();
+        ObjectIdentifier stringList =
+            new ObjectIdentifier(REQUEST_SCOPED, createParameterizedType(List.class, String.class));
+        ObjectIdentifier integerList =
+            new ObjectIdentifier(REQUEST_SCOPED, createParameterizedType(List.class, Integer.class));
+        Resolution<?> stringListResolution = new SimpleResolution<>(new ArrayList<String>());
+
+        // when
+        cache.postProcess(null, new ResolutionContext(null, stringList), stringListResolution);
+
+        // then
+        assertThat(cache.resolve(new ResolutionContext(null, stringList)), sameInstance(stringListResolution));
+        assertThat(cache.resolve(new ResolutionContext(null, integerList)), nullValue());
+        assertThat(cache.getHitCount(), equalTo(1L));
+        assertThat(cache.getMissCount(), equalTo(1L));
+    }
+
+    @Test
+    void shouldEvictEntryWhichWasNotUsedRecently() {
+        // given
+        InstantiationCache cache = new InstantiationCache(2, false);
+        ResolutionContext alphaContext = newContext(REQUEST_SCOPED, AlphaService.class);
+        ResolutionContext betaContext = newContext(REQUEST_SCOPED, BetaManager.class);
+        ResolutionContext gammaContext = newContext(REQUEST_SCOPED, GammaService.class);
+        cache.postProcess(null, alphaContext, new SimpleResolution<>(null));
+        cache.postProcess(null, betaContext, new SimpleResolution<>(null));
+        cache.resolve(alphaContext);
+
+        // when
+        cache.postProcess(null, gammaContext, new SimpleResolution<>(null));
+
+        // then
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.getEvictionCount(), equalTo(1L));
+        assertThat(cache.resolve(alphaContext), not(nullValue()));
+        assertThat(cache.resolve(gammaContext), not(nullValue()));
+        assertThat(cache.resolve(betaContext), nullValue());
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldEvictEntryIfAllEntriesWereUsed() {
+        // given
+        InstantiationCache cache = new InstantiationCache(2, false);
+        ResolutionContext alphaContext = newContext(REQUEST_SCOPED, AlphaService.class);
+        ResolutionContext betaContext = newContext(REQUEST_SCOPED, BetaManager.class);
+        ResolutionContext gammaContext = newContext(REQUEST_SCOPED, GammaService.class);
+        cache.postProcess(null, alphaContext, new SimpleResolution<>(null));
+        cache.postProcess(null, betaContext, new SimpleResolution<>(null));
+        cache.resolve(alphaContext);
+        cache.resolve(betaContext);
+
+        // when
+        cache.postProcess(null, gammaContext, new SimpleResolution<>(null));
+
+        // then
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.getEvictionCount(), equalTo(1L));
+    }
+
+    @Test
+    void shouldCacheSingletonsIfConfigured() {
+        // given
+        ResolutionContext singletonContext = newContext(SINGLETON, AlphaService.class);
+        InstantiationCache defaultCache = new InstantiationCache();
+        InstantiationCache singletonCache = new InstantiationCache(10, true);
+
+        // when
+        defaultCache.postProcess(null, singletonContext, new SimpleResolution<>(null));
+        singletonCache.postProcess(null, singletonContext, new SimpleResolution<>(null));
+
+        // then
+        assertThat(defaultCache.size(), equalTo(0));
+        assertThat(singletonCache.size(), equalTo(1));
+        assertThat(singletonCache.resolve(singletonContext), not(nullValue()));
+    }
+
+    @Test
+    void shouldEstimateRetainedBytesByEntries() {
+        // given
+        InstantiationCache cache = new InstantiationCache();
+        long emptyEstimate = cache.estimateRetainedBytes();
+        cache.postProcess(null, newContext(REQUEST_SCOPED, AlphaService.class), new SimpleResolution<>(null));
+        cache.postProcess(null, newContext(REQUEST_SCOPED, BetaManager.class), new SimpleResolution<>(null));
+
+        // when
+        long estimate = cache.estimateRetainedBytes();
+
+        // then
+        assertThat(emptyEstimate, equalTo(0L));
+        assertThat(estimate, equalTo(2L * (MemoryEstimates.HASH_MAP_ENTRY + MemoryEstimates.OBJECT_IDENTIFIER
+            + MemoryEstimates.object(2))));
+    }
+
+    @Test
+    void shouldRejectInvalidMaximumSize() {
+        // given / when / then
+        assertThrows(InjectorException.class, () -> new InstantiationCache(0, false));
+    }
+
+    private static ResolutionContext newContext(StandardResolutionType resolutionType, Class<?> type) {
+        return new ResolutionContext(null, new ObjectIdentifier(resolutionType, type));
+    }
+}
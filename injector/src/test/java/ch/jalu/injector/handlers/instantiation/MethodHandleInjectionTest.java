@@ -0,0 +1,169 @@
+package ch.jalu.injector.handlers.instantiation;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.exceptions.InjectorReflectionException;
+import ch.jalu.injector.handlers.Handler;
+import ch.jalu.injector.samples.AlphaService;
+import ch.jalu.injector.samples.BetaManager;
+import ch.jalu.injector.samples.ClassWithAnnotations;
+import ch.jalu.injector.samples.Duration;
+import ch.jalu.injector.samples.GammaService;
+import ch.jalu.injector.samples.ProvidedClass;
+import ch.jalu.injector.samples.Size;
+import ch.jalu.injector.samples.inheritance.Child;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link MethodHandleInjectionProvider} and {@link MethodHandleInjection}.
+ */
+class MethodHandleInjectionTest {
+
+    private MethodHandleInjectionProvider provider = new MethodHandleInjectionProvider("ch.jalu");
+
+    @Test
+    void shouldInstantiateWithConstructorInjection() {
+        // given
+        GammaService gammaService = new GammaService(
+            AlphaService.newInstance(new ProvidedClass("")));
+        Resolution<ClassWithAnnotations> injection = provider.safeGet(ClassWithAnnotations.class);
+
+        // when
+        ClassWithAnnotations instance = injection.instantiateWith(-112, gammaService, 19L);
+
+        // then
+        assertThat(injection, instanceOf(MethodHandleInjection.class));
+        assertThat(instance.getSize(), equalTo(-112));
+        assertThat(instance.getGammaService(), sameInstance(gammaService));
+        assertThat(instance.getDuration(), equalTo(19L));
+    }
+
+    @Test
+    void shouldInstantiateWithFieldInjection() {
+        // given
+        Resolution<BetaManager> injection = provider.safeGet(BetaManager.class);
+        ProvidedClass providedClass = new ProvidedClass("");
+        AlphaService alphaService = AlphaService.newInstance(providedClass);
+        GammaService gammaService = new GammaService(alphaService);
+
+        // when
+        BetaManager betaManager = injection.instantiateWith(providedClass, gammaService, alphaService);
+
+        // then
+        assertThat(betaManager.getDependencies(), arrayContaining(providedClass, gammaService, alphaService));
+    }
+
+    @Test
+    void shouldInstantiatePrivateClass() {
+        // given
+        Resolution<PrivateClass> injection = provider.safeGet(PrivateClass.class);
+        ProvidedClass providedClass = new ProvidedClass("");
+
+        // when
+        PrivateClass instance = injection.instantiateWith(providedClass);
+
+        // then
+        assertThat(instance.providedClass, sameInstance(providedClass));
+    }
+
+    @Test
+    void shouldSetStaticField() throws NoSuchMethodException, NoSuchFieldException {
+        // given
+        Resolution<StaticFieldClass> injection = new MethodHandleInjection<>(
+            StaticFieldClass.class.getDeclaredConstructor(),
+            singletonList(StaticFieldClass.class.getDeclaredField("providedClass")));
+        ProvidedClass providedClass = new ProvidedClass("");
+
+        // when
+        StaticFieldClass instance = injection.instantiateWith(providedClass);
+
+        // then
+        assertThat(instance, not(nullValue()));
+        assertThat(StaticFieldClass.providedClass, sameInstance(providedClass));
+    }
+
+    @Test
+    void shouldForwardExceptionDuringInstantiation() {
+        // given
+        Resolution<ThrowingConstructor> injection = provider.safeGet(ThrowingConstructor.class);
+
+        // when
+        InjectorReflectionException ex = assertThrows(InjectorReflectionException.class,
+            () -> injection.instantiateWith(new ProvidedClass("")));
+
+        // then
+        assertThat(ex.getCause(), instanceOf(InvocationTargetException.class));
+        assertThat(ex.getCause().getCause().getMessage(), equalTo("Exception in constructor"));
+    }
+
+    @Test
+    void shouldThrowForInvalidFieldValue() {
+        // given
+        ProvidedClass providedClass = new ProvidedClass("");
+        AlphaService alphaService = AlphaService.newInstance(providedClass);
+        GammaService gammaService = new GammaService(alphaService);
+        Resolution<BetaManager> injection = provider.safeGet(BetaManager.class);
+
+        // when
+        // Correct order is provided, gamma, alpha
+        InjectorReflectionException ex = assertThrows(InjectorReflectionException.class,
+            () -> injection.instantiateWith(providedClass, alphaService, gammaService));
+
+        // then
+        assertThat(ex.getCause(), instanceOf(ClassCastException.class));
+    }
+
+    @Test
+    void shouldCreateObjectsWithInjector() {
+        // given
+        List<Handler> handlers = InjectorBuilder.createDefaultHandlers("ch.jalu");
+        handlers.replaceAll(h -> h instanceof DefaultInjectionProvider ? provider : h);
+        Injector injector = new InjectorBuilder().addHandlers(handlers).create();
+        injector.register(ProvidedClass.class, new ProvidedClass(""));
+        injector.provide(Size.class, 2);
+        injector.provide(Duration.class, 5L);
+
+        // when
+        Child child = injector.getSingleton(Child.class);
+
+        // then
+        assertThat(child.getChildGammaService(), sameInstance(injector.getSingleton(GammaService.class)));
+        assertThat(child.isPostConstructRunAfterParent(), equalTo(true));
+    }
+
+    private static final class PrivateClass {
+        @Inject
+        private ProvidedClass providedClass;
+
+        private PrivateClass() {
+        }
+    }
+
+    private static final class StaticFieldClass {
+        @Inject
+        private static ProvidedClass providedClass;
+    }
+
+    private static final class ThrowingConstructor {
+        @Inject
+        private ProvidedClass providedClass;
+
+        ThrowingConstructor() {
+            throw new UnsupportedOperationException("Exception in constructor");
+        }
+    }
+}
@@ -27,6 +27,8 @@ import org.junit.jupiter.api.Test;
 
 import javax.inject.Inject;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 
@@ -39,6 +41,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -314,6 +317,64 @@ class StandardInjectionTest {
         assertThat(ex.getMessage(), containsString("@Inject on methods is not supported"));
     }
 
+    @Test
+    void shouldShareDependenciesOfClassAcrossProviders() {
+        // given
+        Resolution<Child> resolution = provider.safeGet(Child.class);
+
+        // when
+        Resolution<Child> otherResolution = new StandardInjectionProvider().safeGet(Child.class);
+        Resolution<Child> methodHandleResolution = new MethodHandleInjectionProvider("ch.jalu").safeGet(Child.class);
+
+        // then
+        assertThat(otherResolution, not(sameInstance(resolution)));
+        assertThat(otherResolution.getDependencies(), sameInstance(resolution.getDependencies()));
+        assertThat(methodHandleResolution.getDependencies(), sameInstance(resolution.getDependencies()));
+        assertThrows(UnsupportedOperationException.class, () -> resolution.getDependencies().clear());
+        assertThat(provider.safeGet(InvalidNoArgConstructorClass.class), nullValue());
+    }
+
+    @Test
+    void shouldApplyValidationOfEachProvider() {
+        // given
+        class FieldInjectionProvider extends StandardInjectionProvider {
+            private final boolean allowFieldInjection;
+
+            FieldInjectionProvider(boolean allowFieldInjection) {
+                this.allowFieldInjection = allowFieldInjection;
+            }
+
+            @Override
+            protected void validateInjection(Class<?> clazz, Constructor<?> constructor, List<Field> fields) {
+                super.validateInjection(clazz, constructor, fields);
+                if (!allowFieldInjection && !fields.isEmpty()) {
+                    throw new InjectorException("Field injection is not allowed");
+                }
+            }
+        }
+        StandardInjectionProvider lenientProvider = new FieldInjectionProvider(true);
+        StandardInjectionProvider strictProvider = new FieldInjectionProvider(false);
+
+        // when
+        Resolution<Child> resolution = lenientProvider.safeGet(Child.class);
+        InjectorException ex = assertThrows(InjectorException.class, () -> strictProvider.safeGet(Child.class));
+
+        // then
+        assertThat(resolution, not(nullValue()));
+        assertThat(ex.getMessage(), equalTo("Field injection is not allowed"));
+        // The members of the class are shared by all providers and are not counted by any of them
+        assertThat(lenientProvider.estimateRetainedBytes(), equalTo(0L));
+    }
+
+    @Test
+    void shouldThrowForInvalidClassOnEveryCall() {
+        // given
+        assertThrows(InjectorException.class, () -> provider.safeGet(InvalidFinalInjectField.class));
+
+        // when / then
+        assertThrows(InjectorException.class, () -> provider.safeGet(InvalidFinalInjectField.class));
+    }
+
     @SafeVarargs
     private static void assertDependencyEqualTo(ObjectIdentifier dependency, Class<?> type,
                                                 Class<? extends Annotation>... annotations) {
@@ -8,7 +8,10 @@ import ch.jalu.injector.samples.ProvidedClass;
 import org.junit.jupiter.api.Test;
 
 import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -33,6 +36,13 @@ class PostConstructMethodInvokerTest {
         assertThat(testClass.wasPostConstructCalled(), equalTo(true));
     }
 
+    @Test
+    void shouldSkipClassesWithoutPostConstructMethods() {
+        // given / when / then
+        assertThat(postConstructInvoker.canSkipPostProcessing(BetaManager.class), equalTo(true));
+        assertThat(postConstructInvoker.canSkipPostProcessing(PostConstructTestClass.class), equalTo(false));
+    }
+
     @Test
     void shouldThrowForInvalidPostConstructMethod() {
         // given
@@ -111,6 +121,22 @@ class PostConstructMethodInvokerTest {
         assertThat(childClass.wasChildPostConstCalled, equalTo(true));
         assertThat(childClass.wasParentPostConstCalled, equalTo(true));
     }
+
+    @Test
+    void shouldInvokeParentPostConstructFirstForEveryInstance() {
+        // given
+        OrderedChild child1 = new OrderedChild();
+        OrderedChild child2 = new OrderedChild();
+
+        // when
+        postConstructInvoker.postProcess(child1, null, null);
+        postConstructInvoker.postProcess(child2, null, null);
+
+        // then
+        assertThat(child1.calls, contains("parent", "child"));
+        assertThat(child2.calls, contains("parent", "child"));
+        assertThat(postConstructInvoker.canSkipPostProcessing(OrderedChild.class), equalTo(false));
+    }
     
     
     // ---------------
@@ -182,4 +208,20 @@ class PostConstructMethodInvokerTest {
             wasChildPostConstCalled = true;
         }
     }
+
+    private static class OrderedParent {
+        final List<String> calls = new ArrayList<>();
+
+        @PostConstruct
+        protected void parentPostConstruct() {
+            calls.add("parent");
+        }
+    }
+
+    private static final class OrderedChild extends OrderedParent {
+        @PostConstruct
+        public void childPostConstruct() {
+            calls.add("child");
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,224 @@
+package ch.jalu.injector.jfr;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.context.ObjectIdentifier;
+import ch.jalu.injector.context.ResolutionContext;
+import ch.jalu.injector.exceptions.InjectorException;
+import ch.jalu.injector.handlers.dependency.CyclicDependenciesDetector;
+import ch.jalu.injector.handlers.instantiation.DefaultInjectionProvider;
+import ch.jalu.injector.handlers.instantiation.StandardInjection;
+import ch.jalu.injector.handlers.postconstruct.PostConstructMethodInvoker;
+import ch.jalu.injector.samples.AlphaService;
+import ch.jalu.injector.samples.BetaManager;
+import ch.jalu.injector.samples.CircularClasses;
+import ch.jalu.injector.samples.GammaService;
+import ch.jalu.injector.samples.PostConstructTestClass;
+import ch.jalu.injector.samples.ProvidedClass;
+import ch.jalu.injector.samples.Size;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static ch.jalu.injector.context.StandardResolutionType.SINGLETON;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link InjectorEvents}.
+ */
+class InjectorEventsTest {
+
+    private static final String[] EVENT_NAMES = {"SingletonCreated", "InstanceCreated", "HandlerResolved",
+        "PostConstructExecuted", "CycleDetected"};
+
+    @TempDir
+    Path tempDir;
+
+    private Injector injector;
+
+    @BeforeEach
+    void initInjector() {
+        injector = new InjectorBuilder()
+            .addDefaultHandlers("ch.jalu.injector.samples")
+            .create();
+        injector.register(ProvidedClass.class, new ProvidedClass(""));
+        injector.provide(Size.class, 3);
+    }
+
+    @Test
+    void shouldRecordCreationEvents() throws IOException {
+        // given / when
+        List<RecordedEvent> events = record(() -> {
+            injector.getSingleton(BetaManager.class);
+            injector.newInstance(PostConstructTestClass.class);
+        });
+
+        // then
+        List<RecordedEvent> singletonEvents = filter(events, "SingletonCreated");
+        assertThat(singletonEvents, hasSize(3)); // Alpha, Gamma, Beta
+        RecordedEvent betaEvent = findByType(singletonEvents, BetaManager.class);
+        assertThat(betaEvent.getString("resolutionType"), equalTo("SINGLETON"));
+        assertThat(betaEvent.getInt("depth"), equalTo(0));
+        assertThat(betaEvent.getClass("resolution").getName(), equalTo(StandardInjection.class.getName()));
+        RecordedEvent gammaEvent = findByType(singletonEvents, GammaService.class);
+        assertThat(gammaEvent.getInt("depth"), equalTo(1));
+        assertThat(findByType(singletonEvents, AlphaService.class).getInt("depth"), equalTo(2)); // via Gamma
+        // Beta's creation includes the creation of its dependencies
+        assertThat(betaEvent.getDuration().compareTo(gammaEvent.getDuration()) >= 0, equalTo(true));
+
+        RecordedEvent instanceEvent = findByType(filter(events, "InstanceCreated"), PostConstructTestClass.class);
+        assertThat(instanceEvent.getString("resolutionType"), equalTo("REQUEST_SCOPED"));
+
+        RecordedEvent handlerEvent = findByType(filter(events, "HandlerResolved"), BetaManager.class);
+        assertThat(handlerEvent.getClass("handler").getName(), equalTo(DefaultInjectionProvider.class.getName()));
+
+        List<RecordedEvent> postConstructEvents = filter(events, "PostConstructExecuted");
+        assertThat(postConstructEvents, hasSize(1));
+        assertThat(postConstructEvents.get(0).getClass("handler").getName(),
+            equalTo(PostConstructMethodInvoker.class.getName()));
+        assertThat(filter(events, "CycleDetected"), empty());
+    }
+
+    @Test
+    void shouldRecordCycle() throws IOException {
+        // given / when
+        List<RecordedEvent> events = record(() -> assertThrows(InjectorException.class,
+            () -> injector.getSingleton(CircularClasses.Circular1.class)));
+
+        // then
+        List<RecordedEvent> cycleEvents = filter(events, "CycleDetected");
+        assertThat(cycleEvents, hasSize(1));
+        RecordedEvent cycleEvent = cycleEvents.get(0);
+        assertThat(cycleEvent.getClass("handler").getName(), equalTo(CyclicDependenciesDetector.class.getName()));
+        assertThat(cycleEvent.getInt("depth"), equalTo(3));
+        assertThat(cycleEvent.getString("message"), containsString("Found cyclic dependency"));
+        assertThat(filter(events, "SingletonCreated").stream()
+            .noneMatch(e -> e.getClass("type").getName().startsWith(CircularClasses.class.getName())), equalTo(true));
+    }
+
+    @Test
+    void shouldNotBeginEventsWithoutRecording() {
+        // given / when / then
+        assertThat(InjectorEvents.beginSingletonCreated() == null, equalTo(true));
+        assertThat(InjectorEvents.beginInstanceCreated() == null, equalTo(true));
+        assertThat(InjectorEvents.beginHandlerResolved() == null, equalTo(true));
+        assertThat(InjectorEvents.beginPostConstructExecuted() == null, equalTo(true));
+    }
+
+    @Test
+    void shouldNotEmitEventsWithoutFlightRecorder() throws Exception {
+        // given
+        Class<?> eventsClass = Class.forName(InjectorEvents.class.getName(), true,
+            new ClassLoaderWithoutFlightRecorder(getClass().getClassLoader()));
+        ResolutionContext context = new ResolutionContext(injector, new ObjectIdentifier(SINGLETON, Size.class));
+
+        // when
+        Object event = eventsClass.getMethod("beginSingletonCreated").invoke(null);
+        eventsClass.getMethod("commit", Object.class, ResolutionContext.class, Class.class)
+            .invoke(null, event, context, getClass());
+        eventsClass.getMethod("cycleDetected", ResolutionContext.class, Class.class, String.class)
+            .invoke(null, context, getClass(), "message");
+
+        // then
+        assertThat(event == null, equalTo(true));
+        assertThat(eventsClass.getClassLoader() instanceof ClassLoaderWithoutFlightRecorder, equalTo(true));
+    }
+
+    private List<RecordedEvent> record(Runnable action) throws IOException {
+        Path file = tempDir.resolve("recording.jfr");
+        Instant start;
+        try (Recording recording = new Recording()) {
+            for (String name : EVENT_NAMES) {
+                recording.enable(InjectorEvents.NAME_PREFIX + name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            start = recording.getStartTime();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        // The dump may contain events of previous recordings which were written to the same chunk
+        return RecordingFile.readAllEvents(file).stream()
+            .filter(e -> !e.getStartTime().isBefore(start))
+            .collect(Collectors.toList());
+    }
+
+    private static List<RecordedEvent> filter(List<RecordedEvent> events, String name) {
+        return events.stream()
+            .filter(e -> e.getEventType().getName().equals(InjectorEvents.NAME_PREFIX + name))
+            .collect(Collectors.toList());
+    }
+
+    private static RecordedEvent findByType(List<RecordedEvent> events, Class<?> type) {
+        Predicate<RecordedEvent> hasType = e -> {
+            RecordedClass recordedType = e.getClass("type");
+            return recordedType != null && recordedType.getName().equals(type.getName());
+        };
+        Optional<RecordedEvent> event = events.stream().filter(hasType).findFirst();
+        return event.orElseThrow(() -> new AssertionError("No event for " + type + " in " + events));
+    }
+
+    /**
+     * Class loader which behaves like a JVM without JFR: the jdk.jfr classes cannot be loaded, and the classes of
+     * the jfr package are defined by this loader so that they are linked against it.
+     */
+    private static final class ClassLoaderWithoutFlightRecorder extends ClassLoader {
+
+        ClassLoaderWithoutFlightRecorder(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.startsWith("jdk.jfr.")) {
+                throw new ClassNotFoundException(name);
+            } else if (!name.startsWith(InjectorEvents.class.getPackage().getName() + ".")) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> clazz = findLoadedClass(name);
+                if (clazz == null) {
+                    clazz = defineFromParent(name);
+                }
+                return clazz;
+            }
+        }
+
+        private Class<?> defineFromParent(String name) throws ClassNotFoundException {
+            try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                if (in == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    bytes.write(buffer, 0, read);
+                }
+                return defineClass(name, bytes.toByteArray(), 0, bytes.size());
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ch.jalu.injector.metrics;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.exceptions.InjectorException;
+import ch.jalu.injector.samples.BetaManager;
+import ch.jalu.injector.samples.ProvidedClass;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link CompositeInjectorMetrics}.
+ */
+class CompositeInjectorMetricsTest {
+
+    @Test
+    void shouldNotifyAllListeners() {
+        // given
+        MetricsRecorder recorder = new MetricsRecorder();
+        StartupTimeline timeline = new StartupTimeline();
+        Injector injector = new InjectorBuilder()
+            .addDefaultHandlers("ch.jalu.injector.samples")
+            .setMetrics(InjectorMetrics.composite(recorder, timeline))
+            .create();
+        injector.register(ProvidedClass.class, new ProvidedClass(""));
+
+        // when
+        injector.getSingleton(BetaManager.class);
+
+        // then
+        assertThat(recorder.getSingletonRegistrationCount(), equalTo(4L)); // Provided, Alpha, Gamma, Beta
+        assertThat(timeline.createReport().getNodes(), hasSize(3)); // Alpha, Gamma, Beta
+    }
+
+    @Test
+    void shouldNotWrapSingleListener() {
+        // given
+        MetricsRecorder recorder = new MetricsRecorder();
+
+        // when
+        InjectorMetrics composite = InjectorMetrics.composite(InjectorMetrics.NO_OP, recorder);
+        InjectorMetrics empty = InjectorMetrics.composite();
+        InjectorMetrics multiple = InjectorMetrics.composite(recorder, new StartupTimeline());
+
+        // then
+        assertThat(composite, sameInstance(recorder));
+        assertThat(empty, sameInstance(InjectorMetrics.NO_OP));
+        assertThat(multiple, instanceOf(CompositeInjectorMetrics.class));
+    }
+
+    @Test
+    void shouldRejectNullListener() {
+        // given / when / then
+        assertThrows(InjectorException.class,
+            () -> InjectorMetrics.composite(new MetricsRecorder(), null));
+    }
+}
@@ -0,0 +1,72 @@
+package ch.jalu.injector.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test for {@link LatencyHistogram}.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void shouldRecordDurations() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // when
+        histogram.record(100);
+        histogram.record(300);
+        histogram.record(-5);
+
+        // then
+        assertThat(histogram.getCount(), equalTo(3L));
+        assertThat(histogram.getTotalNanos(), equalTo(400L));
+        assertThat(histogram.getMaxNanos(), equalTo(300L));
+        assertThat(histogram.getMeanNanos(), closeTo(133.3, 0.1));
+    }
+
+    @Test
+    void shouldReturnApproximatePercentiles() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; ++i) {
+            histogram.record(1000); // bucket 512 - 1023
+        }
+        histogram.record(50_000);
+
+        // when / then
+        assertThat(histogram.getPercentileNanos(0), equalTo(1023L));
+        assertThat(histogram.getPercentileNanos(50), equalTo(1023L));
+        assertThat(histogram.getPercentileNanos(99), equalTo(1023L));
+        assertThat(histogram.getPercentileNanos(100), equalTo(50_000L)); // capped by the max
+    }
+
+    @Test
+    void shouldHandleEmptyHistogram() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // when / then
+        assertThat(histogram.getCount(), equalTo(0L));
+        assertThat(histogram.getMeanNanos(), equalTo(0.0));
+        assertThat(histogram.getPercentileNanos(50), equalTo(0L));
+        assertThat(histogram.getMaxNanos(), equalTo(0L));
+    }
+
+    @Test
+    void shouldHandleExtremeDurations() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // when
+        histogram.record(0);
+        histogram.record(Long.MAX_VALUE);
+
+        // then
+        assertThat(histogram.getPercentileNanos(50), equalTo(0L));
+        assertThat(histogram.getPercentileNanos(100), equalTo(Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,118 @@
+package ch.jalu.injector.metrics;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.context.ResolutionContext;
+import ch.jalu.injector.handlers.Handler;
+import ch.jalu.injector.handlers.instantiation.DefaultInjectionProvider;
+import ch.jalu.injector.handlers.instantiation.Resolution;
+import ch.jalu.injector.handlers.instantiation.SimpleResolution;
+import ch.jalu.injector.handlers.postconstruct.PostConstructMethodInvoker;
+import ch.jalu.injector.samples.AlphaService;
+import ch.jalu.injector.samples.BetaManager;
+import ch.jalu.injector.samples.GammaService;
+import ch.jalu.injector.samples.ProvidedClass;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Test for {@link MetricsRecorder}.
+ */
+class MetricsRecorderTest {
+
+    private static final String ALLOWED_PACKAGE = "ch.jalu.injector.samples";
+
+    @Test
+    void shouldRecordInjectorWork() {
+        // given
+        MetricsRecorder metrics = new MetricsRecorder();
+        Injector injector = new InjectorBuilder()
+            .addDefaultHandlers(ALLOWED_PACKAGE)
+            .setMetrics(metrics)
+            .create();
+        injector.register(ProvidedClass.class, new ProvidedClass(""));
+
+        // when
+        injector.getSingleton(BetaManager.class);
+        injector.newInstance(BetaManager.class);
+        injector.newInstance(BetaManager.class);
+
+        // then
+        assertThat(metrics.getSingletonRegistrationCount(), equalTo(4L)); // Provided, Alpha, Gamma, Beta
+        assertThat(metrics.getInstantiationsByType().get(BetaManager.class).getCount(), equalTo(3L));
+        assertThat(metrics.getInstantiationsByType().get(AlphaService.class).getCount(), equalTo(1L));
+        assertThat(metrics.getInstantiationsByType(), not(hasKey(ProvidedClass.class)));
+        assertThat(metrics.getResolutionCacheMissCount(), equalTo(4L)); // Alpha, Gamma and Beta as singleton + new
+        assertThat(metrics.getResolutionCacheHitCount(), equalTo(1L)); // second newInstance call
+        assertThat(metrics.getResolveTimesByHandler().get(DefaultInjectionProvider.class).getCount(), equalTo(4L));
+        // None of the classes has a @PostConstruct method, so PostConstructMethodInvoker is skipped
+        assertThat(metrics.getPostProcessTimesByHandler(), not(hasKey(PostConstructMethodInvoker.class)));
+        assertThat(metrics.getSingletonWaitsByType().isEmpty(), equalTo(true));
+    }
+
+    @Test
+    void shouldRecordWaitForSingletonCreatedByOtherThread() throws Exception {
+        // given
+        CountDownLatch creationStarted = new CountDownLatch(1);
+        Resolution<GammaService> slowResolution = new SimpleResolution<GammaService>(null) {
+            @Override
+            public GammaService instantiateWith(Object... values) {
+                creationStarted.countDown();
+                sleep(100);
+                return new GammaService(null);
+            }
+
+            @Override
+            public boolean isInstantiation() {
+                return true;
+            }
+        };
+        MetricsRecorder metrics = new MetricsRecorder();
+        Injector injector = new InjectorBuilder()
+            .addHandlers(new Handler() {
+                @Override
+                public Resolution<?> resolve(ResolutionContext context) {
+                    return context.getIdentifier().getTypeAsClass() == GammaService.class ? slowResolution : null;
+                }
+            })
+            .addDefaultHandlers(ALLOWED_PACKAGE)
+            .setMetrics(metrics)
+            .create();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // when
+            Future<GammaService> otherThreadResult = executor.submit(() -> injector.getSingleton(GammaService.class));
+            creationStarted.await(5, TimeUnit.SECONDS);
+            GammaService gammaService = injector.getSingleton(GammaService.class);
+
+            // then
+            assertThat(otherThreadResult.get(5, TimeUnit.SECONDS), sameInstance(gammaService));
+            LatencyHistogram waits = metrics.getSingletonWaitsByType().get(GammaService.class);
+            assertThat(waits.getCount(), equalTo(1L));
+            assertThat(waits.getMaxNanos(), greaterThan(TimeUnit.MILLISECONDS.toNanos(10)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
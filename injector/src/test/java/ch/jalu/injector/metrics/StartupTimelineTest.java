@@ -0,0 +1,131 @@
+package ch.jalu.injector.metrics;
+
+import ch.jalu.injector.Injector;
+import ch.jalu.injector.InjectorBuilder;
+import ch.jalu.injector.samples.AlphaService;
+import ch.jalu.injector.samples.BetaManager;
+import ch.jalu.injector.samples.GammaService;
+import ch.jalu.injector.samples.ProvidedClass;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Test for {@link StartupTimeline}.
+ */
+class StartupTimelineTest {
+
+    @Test
+    void shouldRecordCreatedObjectsWithParents() {
+        // given
+        StartupTimeline timeline = new StartupTimeline();
+        Injector injector = new InjectorBuilder()
+            .addDefaultHandlers("ch.jalu.injector.samples")
+            .setMetrics(timeline)
+            .create();
+        injector.register(ProvidedClass.class, new ProvidedClass(""));
+
+        // when
+        injector.getSingleton(BetaManager.class);
+        TimelineReport report = timeline.createReport();
+
+        // then
+        // ProvidedClass was registered and not created by the injector, so it is not in the timeline
+        assertThat(types(report.getNodes()), contains(BetaManager.class, GammaService.class, AlphaService.class));
+        TimelineReport.Node beta = report.getNodes().get(0);
+        TimelineReport.Node gamma = report.getNodes().get(1);
+        TimelineReport.Node alpha = report.getNodes().get(2);
+        assertThat(beta.getParent(), nullValue());
+        assertThat(beta.getStartNanos(), equalTo(0L));
+        assertThat(beta.getChildren(), contains(gamma));
+        assertThat(gamma.getParent(), sameInstance(beta));
+        assertThat(alpha.getParent(), sameInstance(gamma));
+        // alpha already existed when beta's other dependencies were resolved
+        assertThat(beta.getDependencies(), contains(gamma, alpha));
+        assertThat(alpha.getResolutionType(), equalTo("SINGLETON"));
+        assertThat(alpha.getThread(), equalTo(Thread.currentThread().getName()));
+        assertThat(beta.getSelfNanos(), lessThanOrEqualTo(beta.getInclusiveNanos()));
+        assertThat(gamma.getInclusiveNanos(), lessThanOrEqualTo(beta.getInclusiveNanos()));
+        assertThat(report.getTotalNanos(), equalTo(beta.getEndNanos()));
+        assertThat(report.getRoots(), contains(beta));
+        assertThat(report.getCriticalPath(), contains(beta, gamma, alpha));
+    }
+
+    @Test
+    void shouldLinkSingletonsInitializedSeparatelyByTheirDependencies() {
+        // given
+        StartupTimeline timeline = new StartupTimeline();
+        Injector injector = new InjectorBuilder()
+            .addDefaultHandlers("ch.jalu.injector.samples")
+            .setMetrics(timeline)
+            .create();
+        injector.register(ProvidedClass.class, new ProvidedClass(""));
+
+        // when
+        injector.initializeAll(Arrays.asList(BetaManager.class, GammaService.class, AlphaService.class),
+            Runnable::run);
+        TimelineReport report = timeline.createReport();
+
+        // then
+        // Each singleton is created separately once its dependencies exist, so none of them has a parent
+        assertThat(types(report.getNodes()), contains(AlphaService.class, GammaService.class, BetaManager.class));
+        TimelineReport.Node alpha = report.getNodes().get(0);
+        TimelineReport.Node gamma = report.getNodes().get(1);
+        TimelineReport.Node beta = report.getNodes().get(2);
+        assertThat(report.getRoots(), contains(alpha, gamma, beta));
+        assertThat(beta.getChildren(), empty());
+        assertThat(beta.getDependencies(), contains(gamma, alpha));
+        assertThat(gamma.getDependencies(), contains(alpha));
+        assertThat(report.getCriticalPath(), contains(beta, gamma, alpha));
+    }
+
+    @Test
+    void shouldRecordRequestScopedObjects() {
+        // given
+        StartupTimeline timeline = new StartupTimeline();
+        Injector injector = new InjectorBuilder()
+            .addDefaultHandlers("ch.jalu.injector.samples")
+            .setMetrics(timeline)
+            .create();
+        injector.register(ProvidedClass.class, new ProvidedClass(""));
+        injector.getSingleton(AlphaService.class);
+        timeline.clear();
+
+        // when
+        injector.newInstance(GammaService.class);
+        TimelineReport report = timeline.createReport();
+
+        // then
+        assertThat(types(report.getNodes()), contains(GammaService.class));
+        assertThat(report.getNodes().get(0).getResolutionType(), equalTo("REQUEST_SCOPED"));
+        assertThat(report.getNodes().get(0).getChildren(), empty());
+    }
+
+    @Test
+    void shouldCreateEmptyReport() {
+        // given
+        StartupTimeline timeline = new StartupTimeline();
+
+        // when
+        TimelineReport report = timeline.createReport();
+
+        // then
+        assertThat(report.getNodes(), empty());
+        assertThat(report.getCriticalPath(), empty());
+        assertThat(report.getTotalNanos(), equalTo(0L));
+    }
+
+    private static List<Class<?>> types(List<TimelineReport.Node> nodes) {
+        return nodes.stream().map(TimelineReport.Node::getType).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,140 @@
+package ch.jalu.injector.metrics;
+
+import ch.jalu.injector.samples.AlphaService;
+import ch.jalu.injector.samples.BetaManager;
+import ch.jalu.injector.samples.GammaService;
+import ch.jalu.injector.samples.ProvidedClass;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Test for {@link TimelineReport}.
+ */
+class TimelineReportTest {
+
+    @Test
+    void shouldDetermineSelfTimeAndCriticalPath() {
+        // given
+        TimelineReport.Node beta = new TimelineReport.Node(BetaManager.class, "SINGLETON", "main", 0, 10_000_000);
+        TimelineReport.Node gamma = new TimelineReport.Node(GammaService.class, "SINGLETON", "main", 1_000_000,
+            7_000_000);
+        TimelineReport.Node alpha = new TimelineReport.Node(AlphaService.class, "SINGLETON", "main", 7_500_000,
+            9_500_000);
+        TimelineReport.Node other = new TimelineReport.Node(ProvidedClass.class, "REQUEST_SCOPED", "worker",
+            500_000, 2_500_000);
+        beta.addChild(gamma);
+        beta.addChild(alpha);
+
+        // when
+        TimelineReport report = new TimelineReport(Arrays.asList(beta, gamma, alpha, other));
+
+        // then
+        assertThat(report.getNodes(), contains(beta, other, gamma, alpha));
+        assertThat(report.getRoots(), contains(beta, other));
+        assertThat(beta.getInclusiveNanos(), equalTo(10_000_000L));
+        assertThat(beta.getSelfNanos(), equalTo(2_000_000L));
+        assertThat(gamma.getSelfNanos(), equalTo(6_000_000L));
+        // alpha finished after gamma, so beta waited for alpha
+        assertThat(report.getCriticalPath(), contains(beta, alpha));
+        assertThat(report.getTotalNanos(), equalTo(10_000_000L));
+    }
+
+    @Test
+    void shouldExportJson() {
+        // given
+        TimelineReport.Node beta = new TimelineReport.Node(BetaManager.class, "SINGLETON", "main", 0, 3000);
+        TimelineReport.Node gamma = new TimelineReport.Node(GammaService.class, "SINGLETON", "main \"1\"\n", 1000,
+            2000);
+        beta.addChild(gamma);
+        TimelineReport report = new TimelineReport(Arrays.asList(gamma, beta));
+
+        // when
+        String json = report.toJson();
+
+        // then
+        assertThat(json, equalTo("{\n"
+            + "  \"totalNanos\": 3000,\n"
+            + "  \"nodes\": [\n"
+            + "    {\"id\": 0, \"type\": \"ch.jalu.injector.samples.BetaManager\", \"resolutionType\": \"SINGLETON\", "
+            + "\"thread\": \"main\", \"startNanos\": 0, \"endNanos\": 3000, \"inclusiveNanos\": 3000, "
+            + "\"selfNanos\": 2000, \"parent\": null, \"children\": [1], \"dependencies\": [1]},\n"
+            + "    {\"id\": 1, \"type\": \"ch.jalu.injector.samples.GammaService\", \"resolutionType\": \"SINGLETON\", "
+            + "\"thread\": \"main \\\"1\\\"\\u000a\", \"startNanos\": 1000, \"endNanos\": 2000, "
+            + "\"inclusiveNanos\": 1000, \"selfNanos\": 1000, \"parent\": 0, \"children\": [], \"dependencies\": []}\n"
+            + "  ],\n"
+            + "  \"criticalPath\": [0, 1]\n"
+            + "}\n"));
+    }
+
+    @Test
+    void shouldExportEmptyReportAsJson() {
+        // given
+        TimelineReport report = new TimelineReport(Arrays.asList());
+
+        // when
+        String json = report.toJson();
+
+        // then
+        assertThat(json, equalTo("{\n  \"totalNanos\": 0,\n  \"nodes\": [],\n  \"criticalPath\": []\n}\n"));
+    }
+
+    @Test
+    void shouldExportDotWithHighlightedCriticalPath() {
+        // given
+        TimelineReport.Node beta = new TimelineReport.Node(BetaManager.class, "SINGLETON", "main", 0, 3_000_000);
+        TimelineReport.Node gamma = new TimelineReport.Node(GammaService.class, "SINGLETON", "main", 0, 2_000_000);
+        TimelineReport.Node alpha = new TimelineReport.Node(AlphaService.class, "SINGLETON", "main", 2_000_000,
+            2_500_000);
+        beta.addChild(gamma);
+        beta.addChild(alpha);
+        TimelineReport report = new TimelineReport(Arrays.asList(beta, gamma, alpha));
+
+        // when
+        String dot = report.toDot();
+
+        // then
+        assertThat(dot, containsString("digraph startup {\n"));
+        assertThat(dot, containsString("  n0 [label=\"BetaManager\\n3.000 ms (self 0.500 ms)\\nmain\", "
+            + "tooltip=\"ch.jalu.injector.samples.BetaManager\", color=red, penwidth=2];\n"));
+        assertThat(dot, containsString("  n1 [label=\"GammaService\\n2.000 ms (self 2.000 ms)\\nmain\", "
+            + "tooltip=\"ch.jalu.injector.samples.GammaService\"];\n"));
+        assertThat(dot, containsString("  n0 -> n1;\n"));
+        assertThat(dot, containsString("  n0 -> n2 [color=red, penwidth=2];\n"));
+        assertThat(dot, not(containsString("n1 [color")));
+    }
+
+    @Test
+    void shouldFollowDependenciesWhichWereCreatedBeforehand() {
+        // given
+        // Singletons created one after the other, e.g. by Injector#initializeAll: no object has children
+        TimelineReport.Node alpha = new TimelineReport.Node(AlphaService.class, "SINGLETON", "worker-1", 0, 4_000);
+        TimelineReport.Node other = new TimelineReport.Node(ProvidedClass.class, "SINGLETON", "worker-2", 0, 1_000);
+        TimelineReport.Node gamma = new TimelineReport.Node(GammaService.class, "SINGLETON", "worker-1", 4_000,
+            5_000);
+        TimelineReport.Node beta = new TimelineReport.Node(BetaManager.class, "SINGLETON", "worker-2", 5_000, 6_000);
+        gamma.addDependency(alpha);
+        beta.addDependency(gamma);
+        beta.addDependency(other);
+
+        // when
+        TimelineReport report = new TimelineReport(Arrays.asList(alpha, other, gamma, beta));
+
+        // then
+        assertThat(report.getRoots(), contains(alpha, other, gamma, beta));
+        assertThat(beta.getChildren(), empty());
+        assertThat(beta.getDependencies(), contains(gamma, other));
+        assertThat(beta.getSelfNanos(), equalTo(1_000L));
+        assertThat(report.getCriticalPath(), contains(beta, gamma, alpha));
+        String dot = report.toDot();
+        assertThat(dot, containsString("  n3 -> n2 [style=dashed, color=red, penwidth=2];\n"));
+        assertThat(dot, containsString("  n3 -> n1 [style=dashed];\n"));
+    }
+}
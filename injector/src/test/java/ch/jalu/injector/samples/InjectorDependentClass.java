@@ -0,0 +1,22 @@
+package ch.jalu.injector.samples;
+
+import ch.jalu.injector.Injector;
+
+import javax.inject.Inject;
+
+/**
+ * Sample - class with the injector as dependency.
+ */
+public class InjectorDependentClass {
+
+    private final Injector injector;
+
+    @Inject
+    public InjectorDependentClass(Injector injector) {
+        this.injector = injector;
+    }
+
+    public Injector getInjector() {
+        return injector;
+    }
+}
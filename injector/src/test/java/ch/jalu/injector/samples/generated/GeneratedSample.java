@@ -0,0 +1,29 @@
+package ch.jalu.injector.samples.generated;
+
+import ch.jalu.injector.samples.AlphaService;
+import ch.jalu.injector.samples.ProvidedClass;
+
+import javax.inject.Inject;
+
+/**
+ * Sample - class with a factory as it is generated by the annotation processor.
+ */
+public class GeneratedSample {
+
+    private final ProvidedClass providedClass;
+    private final AlphaService alphaService;
+
+    @Inject
+    GeneratedSample(ProvidedClass providedClass, AlphaService alphaService) {
+        this.providedClass = providedClass;
+        this.alphaService = alphaService;
+    }
+
+    public ProvidedClass getProvidedClass() {
+        return providedClass;
+    }
+
+    public AlphaService getAlphaService() {
+        return alphaService;
+    }
+}
@@ -0,0 +1,25 @@
+package ch.jalu.injector.samples.generated;
+
+import ch.jalu.injector.context.ObjectIdentifier;
+import ch.jalu.injector.handlers.instantiation.GeneratedInjection;
+import ch.jalu.injector.samples.AlphaService;
+import ch.jalu.injector.samples.ProvidedClass;
+
+import java.util.List;
+
+/**
+ * Sample - factory of {@link GeneratedSample}, as the annotation processor would generate it.
+ */
+public final class GeneratedSample_InjectorFactory extends GeneratedInjection<GeneratedSample> {
+
+    @Override
+    protected List<ObjectIdentifier> createDependencies() throws ReflectiveOperationException {
+        return dependenciesOf(GeneratedSample.class.getDeclaredConstructor(ProvidedClass.class, AlphaService.class));
+    }
+
+    @Override
+    public GeneratedSample instantiateWith(Object... values) {
+        checkNumberOfValues(values, 2);
+        return new GeneratedSample((ProvidedClass) values[0], (AlphaService) values[1]);
+    }
+}
@@ -0,0 +1,60 @@
+package ch.jalu.injector.utils;
+
+import ch.jalu.injector.context.ObjectIdentifier;
+import ch.jalu.injector.context.StandardResolutionType;
+import ch.jalu.injector.handlers.instantiation.Resolution;
+import ch.jalu.injector.handlers.instantiation.SimpleResolution;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test for {@link MemoryEstimates}.
+ */
+class MemoryEstimatesTest {
+
+    @Test
+    void shouldAlignSizes() {
+        // given / when / then
+        assertThat(MemoryEstimates.align(0), equalTo(0L));
+        assertThat(MemoryEstimates.align(1), equalTo(8L));
+        assertThat(MemoryEstimates.align(16), equalTo(16L));
+        assertThat(MemoryEstimates.align(17), equalTo(24L));
+    }
+
+    @Test
+    void shouldEstimateObjectsAndArrays() {
+        // given / when / then
+        assertThat(MemoryEstimates.object(0), equalTo(16L));
+        assertThat(MemoryEstimates.object(1), equalTo(16L));
+        assertThat(MemoryEstimates.object(3), equalTo(24L));
+        assertThat(MemoryEstimates.array(0), equalTo(16L));
+        assertThat(MemoryEstimates.array(3), equalTo(32L));
+        assertThat(MemoryEstimates.list(3), equalTo(56L));
+    }
+
+    @Test
+    void shouldEstimateResolution() {
+        // given
+        Resolution<?> noDependencies = new SimpleResolution<>("test");
+        Resolution<?> twoDependencies = mock(Resolution.class);
+        List<ObjectIdentifier> dependencies = Arrays.asList(
+            new ObjectIdentifier(StandardResolutionType.SINGLETON, String.class),
+            new ObjectIdentifier(StandardResolutionType.SINGLETON, Integer.class));
+        given(twoDependencies.getDependencies()).willReturn(dependencies);
+
+        // when
+        long noDependenciesSize = MemoryEstimates.resolution(noDependencies);
+        long twoDependenciesSize = MemoryEstimates.resolution(twoDependencies);
+
+        // then
+        assertThat(noDependenciesSize, equalTo(88L));
+        assertThat(twoDependenciesSize, equalTo(noDependenciesSize + 8 + 2 * MemoryEstimates.OBJECT_IDENTIFIER));
+    }
+}